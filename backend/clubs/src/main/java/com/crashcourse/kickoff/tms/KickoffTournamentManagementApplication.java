@@ -51,7 +51,7 @@ public class KickoffTournamentManagementApplication {
 				players.add(i + (7 * k));
 			}
 
-			Club newClub = new Club(i, "Club " + i, 500 + i*200, 50, i, players, demoClubDescriptions[((int)i) - 1], new ArrayList<Long>(), new ClubPenaltyStatus(null, PenaltyType.NONE));
+			Club newClub = new Club(i, "Club " + i, 500 + i*200, 50, 0, i, players, demoClubDescriptions[((int)i) - 1], new ArrayList<Long>(), new ClubPenaltyStatus(null, PenaltyType.NONE));
 			try {
 				clubService.createClub(newClub, i);
 System.out.println("[Added club]: " + newClub.getName());
@@ -1,8 +1,10 @@
 package com.crashcourse.kickoff.tms.club.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,11 +17,15 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.crashcourse.kickoff.tms.club.dto.ApplicationUpdateDTO;
 import com.crashcourse.kickoff.tms.club.dto.CaptainTransferRequest;
 import com.crashcourse.kickoff.tms.club.dto.ClubCreationRequest;
+import com.crashcourse.kickoff.tms.club.dto.ClubRankDTO;
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingBatchItemDTO;
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingProfileDTO;
 import com.crashcourse.kickoff.tms.club.dto.ClubRatingUpdateDTO;
 import com.crashcourse.kickoff.tms.club.dto.PlayerApplicationDTO;
 import com.crashcourse.kickoff.tms.club.dto.PlayerInviteRequest;
@@ -31,6 +37,8 @@ import com.crashcourse.kickoff.tms.club.model.Club;
 import com.crashcourse.kickoff.tms.club.model.ClubPenaltyStatus;
 import com.crashcourse.kickoff.tms.club.model.ClubProfile;
 import com.crashcourse.kickoff.tms.club.model.PlayerApplication;
+import com.crashcourse.kickoff.tms.club.service.ClubLeaderboardService;
+import com.crashcourse.kickoff.tms.club.service.ClubRatingHistoryService;
 import com.crashcourse.kickoff.tms.club.service.ClubServiceImpl;
 import com.crashcourse.kickoff.tms.security.JwtAuthService;
 import com.crashcourse.kickoff.tms.security.JwtUtil;
@@ -46,6 +54,12 @@ public class ClubController {
     private final ClubServiceImpl clubService;
     private final JwtUtil jwtUtil; // final for constructor injection
     private final JwtAuthService jwtAuthService;
+    private final ClubRatingHistoryService clubRatingHistoryService;
+    private final ClubLeaderboardService clubLeaderboardService;
+
+    public static final int MAX_RATING_BATCH_SIZE = 1000;
+    public static final int MAX_RATING_HISTORY_SIZE = 1000;
+    public static final int MAX_LEADERBOARD_SIZE = 100;
 
     /**
      * Create a new Club.
@@ -293,6 +307,83 @@ public class ClubController {
         }
     }
 
+    /**
+     * Retrieve the rating profiles of several Clubs in one request.
+     * Missing Clubs are reported per item with found set to false.
+     *
+     * @param ids IDs of the clubs.
+     * @return ResponseEntity with one ClubRatingProfileDTO per requested ID and HTTP status.
+     */
+    @GetMapping("/ratings")
+    public ResponseEntity<List<ClubRatingProfileDTO>> getClubRatingProfiles(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(clubService.getClubRatingProfiles(ids));
+    }
+
+    /**
+     * Retrieve the rating history of a Club, for charting its form. Returns
+     * the newest points within the time range, oldest first.
+     *
+     * @param clubId ID of the club.
+     * @param from   Earliest time to include, if any.
+     * @param to     Latest time to include, if any.
+     * @param limit  Maximum number of points, at most MAX_RATING_HISTORY_SIZE.
+     * @return ResponseEntity with the list of ClubRatingPointDTO and HTTP status.
+     */
+    @GetMapping("/{clubId}/ratings/history")
+    public ResponseEntity<?> getClubRatingHistory(@PathVariable Long clubId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_RATING_HISTORY_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body("Limit must be between 1 and " + MAX_RATING_HISTORY_SIZE + ".");
+        }
+        return ResponseEntity.ok(clubRatingHistoryService.getRatingHistory(clubId, from, to, limit));
+    }
+
+    /**
+     * Retrieve the highest rated Clubs.
+     *
+     * @param limit Number of clubs, at most MAX_LEADERBOARD_SIZE.
+     * @return ResponseEntity with the list of ClubRankDTO and HTTP status.
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<?> getLeaderboard(@RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_LEADERBOARD_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body("Limit must be between 1 and " + MAX_LEADERBOARD_SIZE + ".");
+        }
+        return ResponseEntity.ok(clubLeaderboardService.getTopClubs(limit));
+    }
+
+    /**
+     * Retrieve a Club's place on the leaderboard.
+     *
+     * @param clubId ID of the club.
+     * @return ResponseEntity with the ClubRankDTO and HTTP status.
+     */
+    @GetMapping("/{clubId}/rank")
+    public ResponseEntity<ClubRankDTO> getClubRank(@PathVariable Long clubId) {
+        return ResponseEntity.ok(clubLeaderboardService.getClubRank(clubId));
+    }
+
+    /**
+     * Retrieve the part of the leaderboard around a Club.
+     *
+     * @param clubId ID of the club.
+     * @param radius Number of clubs to include above and below it.
+     * @return ResponseEntity with the list of ClubRankDTO and HTTP status.
+     */
+    @GetMapping("/{clubId}/leaderboard")
+    public ResponseEntity<?> getLeaderboardAroundClub(@PathVariable Long clubId,
+            @RequestParam(defaultValue = "5") int radius) {
+        if (radius < 0 || 2 * radius + 1 > MAX_LEADERBOARD_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body("Radius must be between 0 and " + (MAX_LEADERBOARD_SIZE - 1) / 2 + ".");
+        }
+        return ResponseEntity.ok(clubLeaderboardService.getClubsAround(clubId, radius));
+    }
+
     /**
      * Retrieve the Club associated with a Player.
      *
@@ -401,6 +492,24 @@ public class ClubController {
         }
     }
 
+    /**
+     * Update the ratings of several Clubs in one request, for example after a
+     * full round of a tournament. Items that conflict with a newer rating,
+     * name a missing Club or are malformed are reported per item and do not
+     * stop the others.
+     *
+     * @param items Rating changes, applied in order.
+     * @return ResponseEntity with one ClubRatingBatchResultDTO per item and HTTP status.
+     */
+    @PutMapping("/ratings")
+    public ResponseEntity<?> updateClubRatings(@RequestBody List<ClubRatingBatchItemDTO> items) {
+        if (items.size() > MAX_RATING_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body("A batch may update at most " + MAX_RATING_BATCH_SIZE + " ratings.");
+        }
+        return ResponseEntity.ok(clubService.updateClubRatings(items));
+    }
+
     /**
      * Update the rating of a Club.
      *
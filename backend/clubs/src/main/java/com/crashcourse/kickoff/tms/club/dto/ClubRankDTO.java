@@ -0,0 +1,19 @@
+package com.crashcourse.kickoff.tms.club.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A Club's place on the Elo leaderboard. Rank 1 is the highest rated
+ * club; clubs on the same rating are ranked by ID.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClubRankDTO {
+    private int rank;
+    private Long clubId;
+    private String name;
+    private double elo;
+}
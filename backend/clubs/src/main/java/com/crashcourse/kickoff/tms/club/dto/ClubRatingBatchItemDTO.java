@@ -0,0 +1,53 @@
+package com.crashcourse.kickoff.tms.club.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One club's rating change in a batch update. Either sets the rating and
+ * rating deviation outright, or moves them by a delta.
+ *
+ * A set with expectedVersion is only applied if the club's rating version
+ * is still that version; without it, the last write wins. A delta is
+ * applied to whatever the rating is when the update runs, so concurrent
+ * deltas for the same club all count.
+ *
+ * An item with an idempotencyKey is applied at most once per club: sent
+ * again with the same key, it changes nothing and is reported as DUPLICATE.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClubRatingBatchItemDTO {
+    @NotNull(message = "Club ID is required")
+    private Long clubId;
+
+    private Long expectedVersion;
+
+    private Double rating;
+    private Double ratingDeviation;
+
+    private Double ratingDelta;
+    private Double ratingDeviationDelta;
+
+    /*
+     * Match that caused the change, recorded in the rating history
+     */
+    private Long matchId;
+
+    private String idempotencyKey;
+
+    @JsonIgnore
+    public boolean isSet() {
+        return rating != null && ratingDeviation != null && ratingDelta == null && ratingDeviationDelta == null;
+    }
+
+    @JsonIgnore
+    public boolean isDelta() {
+        return ratingDelta != null && rating == null && ratingDeviation == null;
+    }
+}
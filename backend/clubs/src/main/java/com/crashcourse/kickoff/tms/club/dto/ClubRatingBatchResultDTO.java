@@ -0,0 +1,22 @@
+package com.crashcourse.kickoff.tms.club.dto;
+
+import com.crashcourse.kickoff.tms.club.model.ClubRatingUpdateStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch rating update, in request order.
+ * ratingVersion is the club's version after a versioned update, or its
+ * current version when the update conflicted or was a duplicate; otherwise
+ * it is null.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClubRatingBatchResultDTO {
+    private Long clubId;
+    private ClubRatingUpdateStatus status;
+    private Long ratingVersion;
+}
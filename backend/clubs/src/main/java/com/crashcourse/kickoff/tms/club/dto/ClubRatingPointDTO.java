@@ -0,0 +1,31 @@
+package com.crashcourse.kickoff.tms.club.dto;
+
+import java.time.LocalDateTime;
+
+import com.crashcourse.kickoff.tms.club.model.ClubRatingEntry;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One point of a club's rating history, for charts.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClubRatingPointDTO {
+    private Long entryId;
+    private Long matchId;
+    private LocalDateTime recordedAt;
+
+    private double eloBefore;
+    private double eloAfter;
+    private double ratingDeviationBefore;
+    private double ratingDeviationAfter;
+
+    public static ClubRatingPointDTO of(ClubRatingEntry entry) {
+        return new ClubRatingPointDTO(entry.getId(), entry.getMatchId(), entry.getRecordedAt(),
+                entry.getEloBefore(), entry.getEloAfter(), entry.getRatingDeviationBefore(), entry.getRatingDeviationAfter());
+    }
+}
@@ -0,0 +1,51 @@
+package com.crashcourse.kickoff.tms.club.dto;
+
+import java.time.LocalDateTime;
+
+import com.crashcourse.kickoff.tms.club.model.ClubPenaltyStatus;
+import com.crashcourse.kickoff.tms.club.model.ClubPenaltyStatus.PenaltyType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Slim view of a Club's rating, returned by the bulk lookup endpoint.
+ * Unlike ClubProfile it leaves out the players list and description.
+ * Requested IDs that do not exist come back with found = false.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClubRatingProfileDTO {
+    private Long id;
+    private boolean found;
+    private String name;
+    private Double elo;
+    private Double ratingDeviation;
+    private Long ratingVersion;
+    private Long captainId;
+    private boolean penalised;
+
+    /*
+     * Used by the constructor expression in ClubRepository
+     */
+    public ClubRatingProfileDTO(Long id, String name, double elo, double ratingDeviation, long ratingVersion,
+            Long captainId, LocalDateTime banUntil, PenaltyType penaltyType) {
+        this.id = id;
+        this.found = true;
+        this.name = name;
+        this.elo = elo;
+        this.ratingDeviation = ratingDeviation;
+        this.ratingVersion = ratingVersion;
+        this.captainId = captainId;
+        this.penalised = new ClubPenaltyStatus(banUntil, penaltyType).hasActivePenalty();
+    }
+
+    public static ClubRatingProfileDTO notFound(Long id) {
+        ClubRatingProfileDTO profile = new ClubRatingProfileDTO();
+        profile.setId(id);
+        profile.setFound(false);
+        return profile;
+    }
+}
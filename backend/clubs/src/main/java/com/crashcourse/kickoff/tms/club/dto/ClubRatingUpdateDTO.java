@@ -6,4 +6,9 @@ import lombok.Data;
 public class ClubRatingUpdateDTO {
     private double rating;
     private double ratingDeviation;
+
+    /*
+     * Match that caused the change, recorded in the rating history
+     */
+    private Long matchId;
 }
\ No newline at end of file
@@ -43,6 +43,12 @@ public class Club {
     private double elo;
     private double ratingDeviation;
 
+    /*
+     * Bumped by every rating write, so a batch update can check that
+     * the rating it started from is still current
+     */
+    private long ratingVersion;
+
     private Long captainId;
     
     @ElementCollection
@@ -0,0 +1,46 @@
+package com.crashcourse.kickoff.tms.club.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A run of consecutive ledger entries of one club, packed by
+ * ClubRatingSegmentCodec. The entries themselves are deleted from the ledger
+ * once their segment is saved.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "club_rating_archive", indexes = @Index(name = "idx_club_rating_archive_club", columnList = "club_id, last_entry_id"))
+public class ClubRatingArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long clubId;
+
+    /*
+     * Range of the segment, so a query can skip segments it does not need
+     * without decoding them
+     */
+    private Long firstEntryId;
+    private Long lastEntryId;
+    private LocalDateTime firstRecordedAt;
+    private LocalDateTime lastRecordedAt;
+    private int entryCount;
+
+    @Lob
+    @Column(length = 16_777_215)
+    private byte[] data;
+}
@@ -0,0 +1,65 @@
+package com.crashcourse.kickoff.tms.club.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One change to a club's rating, in the append-only rating ledger.
+ *
+ * Entries are written with JDBC (see ClubRatingBatchRepository) and never
+ * updated. Once a club has built up enough of them, the oldest are moved
+ * into compact ClubRatingArchive segments.
+ *
+ * An entry written for a keyed update keeps its key, and a club cannot have
+ * two entries with the same key, so an update sent again after its response
+ * was lost is recognised as already applied. Keys are only kept on live
+ * entries, which go back far further than any sender retries.
+ */
+@Entity
+@Immutable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Table(name = "club_rating_ledger",
+        indexes = @Index(name = "idx_club_rating_ledger_club", columnList = "club_id, id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_club_rating_ledger_key", columnNames = { "club_id", "idempotency_key" }))
+public class ClubRatingEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long clubId;
+
+    /*
+     * Match that caused the change, if the caller said
+     */
+    private Long matchId;
+
+    private LocalDateTime recordedAt;
+
+    private double eloBefore;
+    private double eloAfter;
+    private double ratingDeviationBefore;
+    private double ratingDeviationAfter;
+
+    /*
+     * Idempotency key of the update, if the caller gave one
+     */
+    @Column(length = 100)
+    private String idempotencyKey;
+}
@@ -0,0 +1,9 @@
+package com.crashcourse.kickoff.tms.club.model;
+
+public enum ClubRatingUpdateStatus {
+    UPDATED,
+    CONFLICT,
+    DUPLICATE,
+    NOT_FOUND,
+    INVALID
+}
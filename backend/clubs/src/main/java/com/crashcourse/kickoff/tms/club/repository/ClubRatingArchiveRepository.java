@@ -0,0 +1,24 @@
+package com.crashcourse.kickoff.tms.club.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.crashcourse.kickoff.tms.club.model.ClubRatingArchive;
+
+@Repository
+public interface ClubRatingArchiveRepository extends JpaRepository<ClubRatingArchive, Long> {
+
+    /*
+     * Newest segments first that start before the cursor and overlap the time range
+     */
+    @Query("SELECT a FROM ClubRatingArchive a WHERE a.clubId = :clubId AND a.firstEntryId < :beforeId "
+            + "AND a.firstRecordedAt <= :to AND a.lastRecordedAt >= :from ORDER BY a.lastEntryId DESC")
+    List<ClubRatingArchive> findOverlapping(@Param("clubId") Long clubId, @Param("beforeId") Long beforeId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Limit limit);
+}
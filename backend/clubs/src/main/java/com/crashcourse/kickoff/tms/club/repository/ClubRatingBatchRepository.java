@@ -0,0 +1,210 @@
+package com.crashcourse.kickoff.tms.club.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingBatchItemDTO;
+import com.crashcourse.kickoff.tms.club.model.ClubRatingEntry;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Applies rating changes to many clubs as one JDBC batch of a single
+ * UPDATE statement, so a whole batch costs one round trip to the database
+ * (with rewriteBatchedStatements on MySQL). Callers are expected to run
+ * this inside their own transaction.
+ *
+ * Each update is relative to the row as it is when the statement runs, so
+ * concurrent deltas cannot overwrite each other, and a set with an
+ * expected version changes nothing if the version has moved on.
+ *
+ * The rating ledger is appended to here as well, in one batch per call.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClubRatingBatchRepository {
+
+    /*
+     * A null rating means "move by the delta"; an expected version of -1
+     * means "whatever the current version is"
+     */
+    private static final String UPDATE_RATING =
+            "UPDATE club SET elo = COALESCE(?, elo + ?), rating_deviation = COALESCE(?, rating_deviation + ?), "
+                    + "rating_version = rating_version + 1 "
+                    + "WHERE id = ? AND (? < 0 OR rating_version = ?)";
+
+    private static final long ANY_VERSION = -1;
+
+    /*
+     * Locks are taken in primary key order whatever order the batch is in,
+     * so two batches over the same clubs cannot deadlock
+     */
+    private static final String LOCK_RATINGS =
+            "SELECT id, elo, rating_deviation FROM club WHERE id IN (%s) ORDER BY id FOR UPDATE";
+
+    private static final String INSERT_ENTRY =
+            "INSERT INTO club_rating_ledger (club_id, match_id, recorded_at, elo_before, elo_after, "
+                    + "rating_deviation_before, rating_deviation_after, idempotency_key) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String FIND_KEYS =
+            "SELECT club_id, idempotency_key FROM club_rating_ledger WHERE idempotency_key IN (%s)";
+
+    private static final String DELETE_ENTRIES =
+            "DELETE FROM club_rating_ledger WHERE club_id = ? AND id BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Applies every item, in order.
+     *
+     * @param items Valid items, each either a set or a delta.
+     * @return The number of rows each item updated: 1 if applied, 0 if the
+     *         club does not exist or its version did not match.
+     */
+    public int[] applyRatings(List<ClubRatingBatchItemDTO> items) {
+        if (items.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(UPDATE_RATING, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ClubRatingBatchItemDTO item = items.get(i);
+                boolean delta = item.isDelta();
+                setNullableDouble(ps, 1, delta ? null : item.getRating());
+                ps.setDouble(2, delta ? item.getRatingDelta() : 0);
+                setNullableDouble(ps, 3, delta ? null : item.getRatingDeviation());
+                ps.setDouble(4, delta && item.getRatingDeviationDelta() != null ? item.getRatingDeviationDelta() : 0);
+                ps.setLong(5, item.getClubId());
+                long expectedVersion = item.getExpectedVersion() != null ? item.getExpectedVersion() : ANY_VERSION;
+                ps.setLong(6, expectedVersion);
+                ps.setLong(7, expectedVersion);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return items.size();
+            }
+        });
+    }
+
+    /**
+     * Reads the current ratings of the given clubs and locks their rows until
+     * the caller's transaction ends, so the ratings cannot change in between.
+     *
+     * @param clubIds IDs of the clubs.
+     * @return Elo and rating deviation of each club that exists.
+     */
+    public Map<Long, double[]> lockRatings(Collection<Long> clubIds) {
+        Map<Long, double[]> ratings = new HashMap<>();
+        if (clubIds.isEmpty()) {
+            return ratings;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(clubIds.size(), "?"));
+        jdbcTemplate.query(String.format(LOCK_RATINGS, placeholders),
+                (RowCallbackHandler) rs -> ratings.put(rs.getLong(1), new double[] { rs.getDouble(2), rs.getDouble(3) }),
+                clubIds.toArray());
+        return ratings;
+    }
+
+    /**
+     * Finds which of the given idempotency keys the ledger already holds.
+     * Read after lockRatings, so a concurrent update with the same key has
+     * either committed its entry or not started.
+     *
+     * @param keys Idempotency keys.
+     * @return The keys already recorded for each club.
+     */
+    public Map<Long, Set<String>> findAppliedKeys(Collection<String> keys) {
+        Map<Long, Set<String>> applied = new HashMap<>();
+        if (keys.isEmpty()) {
+            return applied;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(keys.size(), "?"));
+        jdbcTemplate.query(String.format(FIND_KEYS, placeholders),
+                (RowCallbackHandler) rs -> applied.computeIfAbsent(rs.getLong(1), clubId -> new HashSet<>()).add(rs.getString(2)),
+                keys.toArray());
+        return applied;
+    }
+
+    /**
+     * Appends entries to the rating ledger in one batch.
+     *
+     * @param entries Entries without IDs.
+     * @return The same entries with the IDs they were given, in order.
+     */
+    public List<ClubRatingEntry> insertEntries(List<ClubRatingEntry> entries) {
+        if (entries.isEmpty()) {
+            return entries;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_ENTRY, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ClubRatingEntry entry = entries.get(i);
+                        ps.setLong(1, entry.getClubId());
+                        if (entry.getMatchId() == null) {
+                            ps.setNull(2, Types.BIGINT);
+                        } else {
+                            ps.setLong(2, entry.getMatchId());
+                        }
+                        ps.setTimestamp(3, Timestamp.valueOf(entry.getRecordedAt()));
+                        ps.setDouble(4, entry.getEloBefore());
+                        ps.setDouble(5, entry.getEloAfter());
+                        ps.setDouble(6, entry.getRatingDeviationBefore());
+                        ps.setDouble(7, entry.getRatingDeviationAfter());
+                        ps.setString(8, entry.getIdempotencyKey());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return entries.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<ClubRatingEntry> saved = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            ClubRatingEntry entry = entries.get(i);
+            Long id = ((Number) keys.get(i).values().iterator().next()).longValue();
+            saved.add(new ClubRatingEntry(id, entry.getClubId(), entry.getMatchId(), entry.getRecordedAt(),
+                    entry.getEloBefore(), entry.getEloAfter(),
+                    entry.getRatingDeviationBefore(), entry.getRatingDeviationAfter(), entry.getIdempotencyKey()));
+        }
+        return saved;
+    }
+
+    /**
+     * Deletes a run of one club's ledger entries once they are archived.
+     *
+     * @return The number of entries deleted.
+     */
+    public int deleteEntries(Long clubId, long firstEntryId, long lastEntryId) {
+        return jdbcTemplate.update(DELETE_ENTRIES, clubId, firstEntryId, lastEntryId);
+    }
+
+    private static void setNullableDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.DOUBLE);
+        } else {
+            ps.setDouble(index, value);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.crashcourse.kickoff.tms.club.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.crashcourse.kickoff.tms.club.model.ClubRatingEntry;
+
+/**
+ * Reads the rating ledger. Entries are appended through ClubRatingBatchRepository.
+ * Every query here uses the (club_id, id) index.
+ */
+@Repository
+public interface ClubRatingEntryRepository extends JpaRepository<ClubRatingEntry, Long> {
+
+    /*
+     * Newest entries first, older than the cursor and within the time range
+     */
+    List<ClubRatingEntry> findByClubIdAndIdLessThanAndRecordedAtBetweenOrderByIdDesc(Long clubId, Long id,
+            LocalDateTime from, LocalDateTime to, Limit limit);
+
+    /*
+     * Newest entries first, newer than the cursor
+     */
+    List<ClubRatingEntry> findByClubIdAndIdGreaterThanOrderByIdDesc(Long clubId, Long id, Limit limit);
+
+    /*
+     * Oldest entries first, for archiving
+     */
+    List<ClubRatingEntry> findByClubIdOrderByIdAsc(Long clubId, Limit limit);
+
+    long countByClubId(Long clubId);
+
+    @Query("SELECT e.clubId FROM ClubRatingEntry e GROUP BY e.clubId HAVING COUNT(e) >= :entries")
+    List<Long> findClubIdsWithAtLeast(@Param("entries") long entries);
+}
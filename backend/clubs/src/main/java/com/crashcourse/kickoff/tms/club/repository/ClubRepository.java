@@ -1,5 +1,7 @@
 package com.crashcourse.kickoff.tms.club.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingProfileDTO;
 import com.crashcourse.kickoff.tms.club.model.Club;
 
 @Repository
@@ -16,4 +19,18 @@ public interface ClubRepository extends JpaRepository<Club, Long> {
 
     @Query(value = "SELECT c.* FROM club c JOIN club_players cp ON c.id = cp.club_id WHERE cp.players = :playerId", nativeQuery = true)
     Optional<Club> findClubByPlayerId(@Param("playerId") Long playerId);
-}
\ No newline at end of file
+
+    // Rating projections only, so the players and applicants collections are never loaded
+    @Query("SELECT new com.crashcourse.kickoff.tms.club.dto.ClubRatingProfileDTO("
+            + "c.id, c.name, c.elo, c.ratingDeviation, c.ratingVersion, c.captainId, c.penaltyStatus.banUntil, c.penaltyStatus.penaltyType) "
+            + "FROM Club c WHERE c.id IN :clubIds")
+    List<ClubRatingProfileDTO> findRatingProfilesByIdIn(@Param("clubIds") Collection<Long> clubIds);
+
+    // ID and rating version of each club, for reporting batch update conflicts
+    @Query("SELECT c.id, c.ratingVersion FROM Club c WHERE c.id IN :clubIds")
+    List<Object[]> findRatingVersionsByIdIn(@Param("clubIds") Collection<Long> clubIds);
+
+    // ID, name and Elo of every club, for building the leaderboard
+    @Query("SELECT c.id, c.name, c.elo FROM Club c")
+    List<Object[]> findAllRatings();
+}
@@ -0,0 +1,23 @@
+package com.crashcourse.kickoff.tms.club.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.crashcourse.kickoff.tms.club.dto.ClubRankDTO;
+
+public interface ClubLeaderboardService {
+
+    List<ClubRankDTO> getTopClubs(int limit);
+
+    ClubRankDTO getClubRank(Long clubId);
+
+    List<ClubRankDTO> getClubsAround(Long clubId, int radius);
+
+    void putClubAfterCommit(Long clubId, String name, double elo);
+
+    void updateRatingsAfterCommit(Map<Long, Double> elos);
+
+    void removeClubAfterCommit(Long clubId);
+
+    void rebuild();
+}
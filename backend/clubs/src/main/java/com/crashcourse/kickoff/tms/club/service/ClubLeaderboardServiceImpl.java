@@ -0,0 +1,267 @@
+package com.crashcourse.kickoff.tms.club.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.crashcourse.kickoff.tms.club.dto.ClubRankDTO;
+import com.crashcourse.kickoff.tms.club.exception.ClubNotFoundException;
+import com.crashcourse.kickoff.tms.club.repository.ClubRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ranks clubs by Elo from memory, so reading the leaderboard or a club's
+ * rank never touches the database.
+ *
+ * The ranking is built from the database when the application starts, and
+ * kept up to date as clubs are created, rated and deleted through this
+ * instance, each change applied once its transaction commits. It is rebuilt
+ * every REFRESH_MILLIS as well, which picks up changes made through other
+ * instances.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClubLeaderboardServiceImpl implements ClubLeaderboardService {
+
+    static final long REFRESH_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final ClubRepository clubRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /*
+     * Guarded by lock. While a rebuild reads the database, changes are also
+     * logged here, to be applied again to the rebuilt ranking
+     */
+    private ClubRankingTree tree = new ClubRankingTree();
+    private List<Change> changesDuringRebuild;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("club-leaderboard-refresh").factory());
+
+    /*
+     * A null elo removes the club; a null name keeps the one it has
+     */
+    private record Change(Long clubId, String name, Double elo) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuild();
+        executor.scheduleWithFixedDelay(this::refresh, REFRESH_MILLIS, REFRESH_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void refresh() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            /*
+             * The current ranking is kept until the next refresh
+             */
+            log.warn("Club leaderboard refresh failed", e);
+        }
+    }
+
+    /**
+     * Rebuild the ranking from every club in the database. Reads are served
+     * from the old ranking until the new one is ready.
+     */
+    @Override
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Object[]> rows;
+        try {
+            rows = clubRepository.findAllRatings();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        ClubRankingTree rebuilt = new ClubRankingTree();
+        for (Object[] row : rows) {
+            rebuilt.put((Long) row[0], (Double) row[2], (String) row[1]);
+        }
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild.forEach(change -> apply(rebuilt, change));
+            changesDuringRebuild = null;
+            tree = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieve the highest rated Clubs.
+     *
+     * @param limit Maximum number of clubs.
+     * @return Up to limit ClubRankDTOs, highest rank first.
+     */
+    @Override
+    public List<ClubRankDTO> getTopClubs(int limit) {
+        lock.readLock().lock();
+        try {
+            return ranks(1, Math.min(limit, tree.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieve a Club's place on the leaderboard.
+     *
+     * @param clubId ID of the club.
+     * @return The club's ClubRankDTO.
+     * @throws ClubNotFoundException If the club is not ranked.
+     */
+    @Override
+    public ClubRankDTO getClubRank(Long clubId) {
+        lock.readLock().lock();
+        try {
+            int rank = tree.rankOf(clubId);
+            if (rank == 0) {
+                throw new ClubNotFoundException(clubId);
+            }
+            return rankDTO(rank);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieve the Clubs ranked just above and below a Club, and the Club
+     * itself.
+     *
+     * @param clubId ID of the club.
+     * @param radius Number of clubs to include on each side.
+     * @return Up to 2 * radius + 1 ClubRankDTOs, highest rank first.
+     * @throws ClubNotFoundException If the club is not ranked.
+     */
+    @Override
+    public List<ClubRankDTO> getClubsAround(Long clubId, int radius) {
+        lock.readLock().lock();
+        try {
+            int rank = tree.rankOf(clubId);
+            if (rank == 0) {
+                throw new ClubNotFoundException(clubId);
+            }
+            int first = Math.max(1, rank - radius);
+            int last = Math.min(tree.size(), rank + radius);
+            return ranks(first, last);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rank a new or renamed Club once the current transaction commits.
+     */
+    @Override
+    public void putClubAfterCommit(Long clubId, String name, double elo) {
+        afterCommit(List.of(new Change(clubId, name, elo)));
+    }
+
+    /**
+     * Move Clubs to their new ratings once the current transaction commits.
+     * A club that is not ranked yet is ranked without a name until the next
+     * rebuild.
+     *
+     * @param elos New Elo of each club.
+     */
+    @Override
+    public void updateRatingsAfterCommit(Map<Long, Double> elos) {
+        List<Change> changes = new ArrayList<>(elos.size());
+        elos.forEach((clubId, elo) -> changes.add(new Change(clubId, null, elo)));
+        afterCommit(changes);
+    }
+
+    /**
+     * Drop a Club from the ranking once the current transaction commits.
+     */
+    @Override
+    public void removeClubAfterCommit(Long clubId) {
+        afterCommit(List.of(new Change(clubId, null, null)));
+    }
+
+    private void afterCommit(List<Change> changes) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyAll(changes);
+                }
+            });
+        } else {
+            applyAll(changes);
+        }
+    }
+
+    private void applyAll(List<Change> changes) {
+        lock.writeLock().lock();
+        try {
+            for (Change change : changes) {
+                apply(tree, change);
+                if (changesDuringRebuild != null) {
+                    changesDuringRebuild.add(change);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(ClubRankingTree target, Change change) {
+        if (change.elo() == null) {
+            target.remove(change.clubId());
+        } else {
+            target.put(change.clubId(), change.elo(), change.name());
+        }
+    }
+
+    /*
+     * Callers hold the read lock
+     */
+    private List<ClubRankDTO> ranks(int first, int last) {
+        List<ClubRankDTO> ranks = new ArrayList<>(Math.max(0, last - first + 1));
+        for (int rank = first; rank <= last; rank++) {
+            ranks.add(rankDTO(rank));
+        }
+        return ranks;
+    }
+
+    private ClubRankDTO rankDTO(int rank) {
+        ClubRankingTree.Node node = tree.atRank(rank);
+        return new ClubRankDTO(rank, node.clubId, node.name, node.elo);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,181 @@
+package com.crashcourse.kickoff.tms.club.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Clubs ordered by Elo, highest first and then by ID, with the rank of any
+ * club and the club at any rank found in O(log n).
+ *
+ * A treap: a binary search tree on (elo, id) that is kept balanced by
+ * random heap priorities, with each node counting the nodes under it so a
+ * rank can be read off on the way down. A ConcurrentSkipListMap has the
+ * same ordering but can only count the clubs ahead of one by walking them.
+ *
+ * Not thread-safe; ClubLeaderboardServiceImpl guards it.
+ */
+final class ClubRankingTree {
+
+    static final class Node {
+        final long clubId;
+        final double elo;
+        final String name;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long clubId, double elo, String name) {
+            this.clubId = clubId;
+            this.elo = elo;
+            this.name = name;
+        }
+    }
+
+    private Node root;
+    private final Map<Long, Node> byClubId = new HashMap<>();
+
+    int size() {
+        return byClubId.size();
+    }
+
+    /**
+     * Adds a club, or moves it to its new rating. A null name keeps the
+     * name it had.
+     */
+    void put(long clubId, double elo, String name) {
+        Node old = byClubId.get(clubId);
+        if (old != null) {
+            if (name == null) {
+                name = old.name;
+            }
+            if (old.elo == elo && Objects.equals(old.name, name)) {
+                return;
+            }
+            remove(clubId);
+        }
+        Node node = new Node(clubId, elo, name);
+        Node[] parts = split(root, elo, clubId);
+        root = merge(merge(parts[0], node), parts[1]);
+        byClubId.put(clubId, node);
+    }
+
+    void remove(long clubId) {
+        Node node = byClubId.remove(clubId);
+        if (node == null) {
+            return;
+        }
+        Node[] before = split(root, node.elo, node.clubId);
+        /*
+         * The club is the first node of the second part
+         */
+        root = merge(before[0], removeFirst(before[1]));
+    }
+
+    /**
+     * @return The club's rank, counting from 1, or 0 if it is not ranked.
+     */
+    int rankOf(long clubId) {
+        Node target = byClubId.get(clubId);
+        if (target == null) {
+            return 0;
+        }
+        int ahead = 0;
+        Node node = root;
+        while (node != null) {
+            if (node == target) {
+                return ahead + size(node.left) + 1;
+            }
+            if (before(target.elo, target.clubId, node.elo, node.clubId)) {
+                node = node.left;
+            } else {
+                ahead += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        throw new IllegalStateException("Club " + clubId + " is indexed but not in the tree");
+    }
+
+    /**
+     * @param rank Rank counting from 1, at most size().
+     */
+    Node atRank(int rank) {
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (rank <= leftSize) {
+                node = node.left;
+            } else if (rank == leftSize + 1) {
+                return node;
+            } else {
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        throw new IndexOutOfBoundsException("No club at rank " + rank);
+    }
+
+    /*
+     * Splits into the nodes ranked ahead of (elo, clubId) and the rest
+     */
+    private static Node[] split(Node node, double elo, long clubId) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (before(node.elo, node.clubId, elo, clubId)) {
+            Node[] parts = split(node.right, elo, clubId);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+        Node[] parts = split(node.left, elo, clubId);
+        node.left = parts[1];
+        update(node);
+        parts[1] = node;
+        return parts;
+    }
+
+    /*
+     * True if the first club ranks ahead of the second
+     */
+    private static boolean before(double elo, long clubId, double otherElo, long otherClubId) {
+        return elo > otherElo || (elo == otherElo && clubId < otherClubId);
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node removeFirst(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeFirst(node.left);
+        update(node);
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+}
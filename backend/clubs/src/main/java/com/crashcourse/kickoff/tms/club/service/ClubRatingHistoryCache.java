@@ -0,0 +1,156 @@
+package com.crashcourse.kickoff.tms.club.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingPointDTO;
+import com.crashcourse.kickoff.tms.club.model.ClubRatingEntry;
+
+/**
+ * The newest rating history points of recently charted clubs, so that
+ * drawing a club's recent form does not need the database.
+ *
+ * A club gets a ring of its newest RING_SIZE points when it is first
+ * charted; the least recently charted club is dropped once MAX_HOT_CLUBS
+ * have one. Ratings written by this instance are added to existing rings
+ * as they commit. Rings are topped up from the ledger every REFRESH_MILLIS,
+ * which picks up writes that went through other instances.
+ */
+@Component
+public class ClubRatingHistoryCache {
+
+    static final int RING_SIZE = 128;
+    static final int MAX_HOT_CLUBS = 1000;
+    static final long REFRESH_MILLIS = 5000;
+
+    /*
+     * Access ordered, so the eldest entry is the least recently charted club;
+     * guarded by itself
+     */
+    private final Map<Long, Ring> rings = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Ring> eldest) {
+            return size() > MAX_HOT_CLUBS;
+        }
+    };
+
+    boolean isHot(Long clubId) {
+        synchronized (rings) {
+            return rings.containsKey(clubId);
+        }
+    }
+
+    /**
+     * @return The club's ring, new and empty if the club was not hot.
+     */
+    Ring ring(Long clubId) {
+        synchronized (rings) {
+            return rings.computeIfAbsent(clubId, id -> new Ring());
+        }
+    }
+
+    /**
+     * Adds committed points to the rings of clubs that have one.
+     */
+    void append(List<ClubRatingEntry> entries) {
+        for (ClubRatingEntry entry : entries) {
+            Ring ring;
+            synchronized (rings) {
+                ring = rings.get(entry.getClubId());
+            }
+            if (ring != null) {
+                ring.add(ClubRatingPointDTO.of(entry));
+            }
+        }
+    }
+
+    /**
+     * The newest points of one club, oldest first. Every point newer than
+     * the oldest one held is held, except writes from other instances that
+     * have not been synced yet.
+     */
+    static final class Ring {
+        private final List<ClubRatingPointDTO> points = new ArrayList<>(RING_SIZE + 1);
+
+        /*
+         * Newest entry ID read from the ledger; everything up to it is held
+         */
+        private long syncedId;
+        private long syncedAt;
+        private boolean loaded;
+
+        /*
+         * True while the ring holds the club's entire history
+         */
+        private boolean complete;
+
+        synchronized boolean needsSync(long now) {
+            return !loaded || now - syncedAt >= REFRESH_MILLIS;
+        }
+
+        synchronized long syncedId() {
+            return syncedId;
+        }
+
+        /**
+         * Merges points read from the ledger.
+         *
+         * @param newer Every entry newer than syncedId, up to RING_SIZE of them.
+         */
+        synchronized void sync(List<ClubRatingPointDTO> newer, long now) {
+            if (!loaded) {
+                complete = newer.size() < RING_SIZE;
+            }
+            for (ClubRatingPointDTO point : newer) {
+                insert(point);
+                syncedId = Math.max(syncedId, point.getEntryId());
+            }
+            loaded = true;
+            syncedAt = now;
+        }
+
+        synchronized void add(ClubRatingPointDTO point) {
+            insert(point);
+        }
+
+        synchronized boolean isComplete() {
+            return complete;
+        }
+
+        /**
+         * @return A copy of the points, newest first.
+         */
+        synchronized List<ClubRatingPointDTO> newestFirst() {
+            return new ArrayList<>(points.reversed());
+        }
+
+        /*
+         * Entries usually commit in ID order, so this almost always appends
+         */
+        private void insert(ClubRatingPointDTO point) {
+            int index = points.size();
+            while (index > 0 && points.get(index - 1).getEntryId() >= point.getEntryId()) {
+                if (points.get(index - 1).getEntryId().equals(point.getEntryId())) {
+                    return;
+                }
+                index--;
+            }
+            if (index == 0 && points.size() == RING_SIZE) {
+                /*
+                 * Older than anything held, and there is no room for it
+                 */
+                complete = false;
+                return;
+            }
+            points.add(index, point);
+            if (points.size() > RING_SIZE) {
+                points.remove(0);
+                complete = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.crashcourse.kickoff.tms.club.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingPointDTO;
+import com.crashcourse.kickoff.tms.club.model.ClubRatingEntry;
+
+public interface ClubRatingHistoryService {
+
+    List<ClubRatingEntry> record(List<ClubRatingEntry> entries);
+
+    List<ClubRatingPointDTO> getRatingHistory(Long clubId, LocalDateTime from, LocalDateTime to, int limit);
+}
@@ -0,0 +1,177 @@
+package com.crashcourse.kickoff.tms.club.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingPointDTO;
+import com.crashcourse.kickoff.tms.club.exception.ClubNotFoundException;
+import com.crashcourse.kickoff.tms.club.model.ClubRatingArchive;
+import com.crashcourse.kickoff.tms.club.model.ClubRatingEntry;
+import com.crashcourse.kickoff.tms.club.repository.ClubRatingArchiveRepository;
+import com.crashcourse.kickoff.tms.club.repository.ClubRatingBatchRepository;
+import com.crashcourse.kickoff.tms.club.repository.ClubRatingEntryRepository;
+import com.crashcourse.kickoff.tms.club.repository.ClubRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class ClubRatingHistoryServiceImpl implements ClubRatingHistoryService {
+
+    /*
+     * Stand-ins for an open-ended range that every database can compare against
+     */
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private static final int ARCHIVE_PAGE_SIZE = 8;
+
+    private final ClubRepository clubRepository;
+    private final ClubRatingBatchRepository clubRatingBatchRepository;
+    private final ClubRatingEntryRepository clubRatingEntryRepository;
+    private final ClubRatingArchiveRepository clubRatingArchiveRepository;
+    private final ClubRatingHistoryCache clubRatingHistoryCache;
+
+    /**
+     * Append entries to the rating ledger, as part of the caller's
+     * transaction if there is one. The entries reach the history cache once
+     * that transaction commits, so a rolled back change is never charted.
+     *
+     * @param entries Entries without IDs.
+     * @return The entries with the IDs they were given.
+     */
+    @Override
+    public List<ClubRatingEntry> record(List<ClubRatingEntry> entries) {
+        List<ClubRatingEntry> saved = clubRatingBatchRepository.insertEntries(entries);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clubRatingHistoryCache.append(saved);
+                }
+            });
+        } else {
+            clubRatingHistoryCache.append(saved);
+        }
+        return saved;
+    }
+
+    /**
+     * Retrieve the newest rating history points of a Club within a time
+     * range. Recent points come from the history cache; older ones from the
+     * ledger, then from archived segments, only when the cache runs out.
+     *
+     * @param clubId ID of the club.
+     * @param from   Earliest time to include, or null for no bound.
+     * @param to     Latest time to include, or null for no bound.
+     * @param limit  Maximum number of points.
+     * @return Up to limit points, oldest first.
+     * @throws ClubNotFoundException If the club is not found.
+     */
+    @Override
+    public List<ClubRatingPointDTO> getRatingHistory(Long clubId, LocalDateTime from, LocalDateTime to, int limit) {
+        if (!clubRatingHistoryCache.isHot(clubId) && !clubRepository.existsById(clubId)) {
+            throw new ClubNotFoundException(clubId);
+        }
+        LocalDateTime start = from != null ? from : EARLIEST;
+        LocalDateTime end = to != null ? to : LATEST;
+
+        ClubRatingHistoryCache.Ring ring = clubRatingHistoryCache.ring(clubId);
+        syncRing(clubId, ring);
+
+        /*
+         * Collected newest first; cursor is the oldest entry ID looked at so far
+         */
+        List<ClubRatingPointDTO> points = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        long cursor = Long.MAX_VALUE;
+        boolean passedStart = false;
+        for (ClubRatingPointDTO point : ring.newestFirst()) {
+            if (points.size() >= limit) {
+                return oldestFirst(points);
+            }
+            cursor = point.getEntryId();
+            if (point.getRecordedAt().isBefore(start)) {
+                passedStart = true;
+                break;
+            }
+            if (!point.getRecordedAt().isAfter(end)) {
+                addPoint(points, seen, point);
+            }
+        }
+        if (points.size() >= limit || passedStart || ring.isComplete()) {
+            return oldestFirst(points);
+        }
+
+        for (ClubRatingEntry entry : clubRatingEntryRepository.findByClubIdAndIdLessThanAndRecordedAtBetweenOrderByIdDesc(
+                clubId, cursor, start, end, Limit.of(limit - points.size()))) {
+            addPoint(points, seen, ClubRatingPointDTO.of(entry));
+        }
+
+        /*
+         * Archived entries are all older than the live ones. Points already
+         * taken from the ledger are skipped, in case they were archived in
+         * the meantime.
+         */
+        long beforeId = cursor;
+        while (points.size() < limit) {
+            List<ClubRatingArchive> page = clubRatingArchiveRepository.findOverlapping(clubId, beforeId, start, end,
+                    Limit.of(ARCHIVE_PAGE_SIZE));
+            for (ClubRatingArchive archive : page) {
+                List<ClubRatingPointDTO> segment = ClubRatingSegmentCodec.decode(archive.getData());
+                for (ClubRatingPointDTO point : segment.reversed()) {
+                    if (points.size() >= limit) {
+                        break;
+                    }
+                    if (point.getEntryId() < cursor && !point.getRecordedAt().isBefore(start)
+                            && !point.getRecordedAt().isAfter(end)) {
+                        addPoint(points, seen, point);
+                    }
+                }
+                beforeId = Math.min(beforeId, archive.getFirstEntryId());
+            }
+            if (page.size() < ARCHIVE_PAGE_SIZE) {
+                break;
+            }
+        }
+        return oldestFirst(points);
+    }
+
+    /*
+     * Tops the ring up with entries committed since it was last synced,
+     * including any written through other instances
+     */
+    private void syncRing(Long clubId, ClubRatingHistoryCache.Ring ring) {
+        long now = System.currentTimeMillis();
+        if (!ring.needsSync(now)) {
+            return;
+        }
+        List<ClubRatingPointDTO> newer = clubRatingEntryRepository
+                .findByClubIdAndIdGreaterThanOrderByIdDesc(clubId, ring.syncedId(),
+                        Limit.of(ClubRatingHistoryCache.RING_SIZE))
+                .stream()
+                .map(ClubRatingPointDTO::of)
+                .toList();
+        ring.sync(newer, now);
+    }
+
+    private static void addPoint(List<ClubRatingPointDTO> points, Set<Long> seen, ClubRatingPointDTO point) {
+        if (seen.add(point.getEntryId())) {
+            points.add(point);
+        }
+    }
+
+    private static List<ClubRatingPointDTO> oldestFirst(List<ClubRatingPointDTO> points) {
+        points.sort(Comparator.comparing(ClubRatingPointDTO::getEntryId));
+        return points;
+    }
+}
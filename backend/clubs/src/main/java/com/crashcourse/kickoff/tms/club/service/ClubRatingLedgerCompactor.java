@@ -0,0 +1,123 @@
+package com.crashcourse.kickoff.tms.club.service;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crashcourse.kickoff.tms.club.model.ClubRatingArchive;
+import com.crashcourse.kickoff.tms.club.model.ClubRatingEntry;
+import com.crashcourse.kickoff.tms.club.repository.ClubRatingArchiveRepository;
+import com.crashcourse.kickoff.tms.club.repository.ClubRatingBatchRepository;
+import com.crashcourse.kickoff.tms.club.repository.ClubRatingEntryRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves old rating ledger entries into archived segments in the background.
+ *
+ * Each club keeps at least LIVE_ENTRIES entries in the ledger, which is
+ * what charts of recent form read. Older entries are packed SEGMENT_SIZE at
+ * a time into a ClubRatingArchive and deleted from the ledger in the same
+ * transaction, so history is never lost or doubled. If another instance
+ * archives the same entries first, the delete comes up short and the
+ * segment is rolled back.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClubRatingLedgerCompactor {
+
+    static final int LIVE_ENTRIES = 256;
+    static final int SEGMENT_SIZE = 256;
+    static final long INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final ClubRatingEntryRepository clubRatingEntryRepository;
+    private final ClubRatingArchiveRepository clubRatingArchiveRepository;
+    private final ClubRatingBatchRepository clubRatingBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ratings.ledger.compactor.enabled:true}")
+    private boolean enabled;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("club-rating-ledger-compactor").factory());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            executor.scheduleWithFixedDelay(this::run, INTERVAL_MILLIS, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void run() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            /*
+             * Whatever was not archived is tried again next time
+             */
+            log.warn("Club rating ledger compaction failed", e);
+        }
+    }
+
+    /**
+     * Archives every club's entries beyond the newest LIVE_ENTRIES, in whole
+     * segments.
+     *
+     * @return The number of segments archived.
+     */
+    public int compact() {
+        int archived = 0;
+        for (Long clubId : clubRatingEntryRepository.findClubIdsWithAtLeast(LIVE_ENTRIES + SEGMENT_SIZE)) {
+            while (clubRatingEntryRepository.countByClubId(clubId) >= LIVE_ENTRIES + SEGMENT_SIZE) {
+                if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                    if (archiveOldestSegment(clubId)) {
+                        return true;
+                    }
+                    status.setRollbackOnly();
+                    return false;
+                }))) {
+                    break;
+                }
+                archived++;
+            }
+        }
+        return archived;
+    }
+
+    private boolean archiveOldestSegment(Long clubId) {
+        List<ClubRatingEntry> segment = clubRatingEntryRepository.findByClubIdOrderByIdAsc(clubId, Limit.of(SEGMENT_SIZE));
+        if (segment.size() < SEGMENT_SIZE) {
+            return false;
+        }
+        ClubRatingEntry first = segment.get(0);
+        ClubRatingEntry last = segment.get(segment.size() - 1);
+
+        ClubRatingArchive archive = new ClubRatingArchive();
+        archive.setClubId(clubId);
+        archive.setFirstEntryId(first.getId());
+        archive.setLastEntryId(last.getId());
+        archive.setFirstRecordedAt(segment.stream().map(ClubRatingEntry::getRecordedAt).min(Comparable::compareTo).get());
+        archive.setLastRecordedAt(segment.stream().map(ClubRatingEntry::getRecordedAt).max(Comparable::compareTo).get());
+        archive.setEntryCount(segment.size());
+        archive.setData(ClubRatingSegmentCodec.encode(segment));
+        clubRatingArchiveRepository.save(archive);
+
+        return clubRatingBatchRepository.deleteEntries(clubId, first.getId(), last.getId()) == segment.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
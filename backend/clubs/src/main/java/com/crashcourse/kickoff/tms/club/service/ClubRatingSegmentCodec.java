@@ -0,0 +1,135 @@
+package com.crashcourse.kickoff.tms.club.service;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingPointDTO;
+import com.crashcourse.kickoff.tms.club.model.ClubRatingEntry;
+
+/**
+ * Packs a run of ledger entries of one club into a few bytes each.
+ *
+ * Every field is written as a delta from the entry before, zigzag-encoded
+ * into a varint. Consecutive entries are close together: IDs a few apart,
+ * timestamps minutes apart, each rating starting where the last one ended.
+ * So most fields take one or two bytes, and an entry about ten, against
+ * the ~60 bytes of a ledger row. Ratings are kept to RATING_SCALE, which is
+ * far finer than any chart or audit needs.
+ */
+final class ClubRatingSegmentCodec {
+
+    static final double RATING_SCALE = 10_000;
+
+    private ClubRatingSegmentCodec() {
+    }
+
+    /**
+     * @param entries Entries of one club, oldest first.
+     */
+    static byte[] encode(List<ClubRatingEntry> entries) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(entries.size() * 12);
+        writeVarint(out, entries.size());
+
+        long id = 0;
+        long time = 0;
+        long matchId = 0;
+        long rating = 0;
+        long ratingDeviation = 0;
+        for (ClubRatingEntry entry : entries) {
+            long entryTime = entry.getRecordedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+            /*
+             * Match IDs are shifted by one so that 0 can stand for none
+             */
+            long entryMatchId = entry.getMatchId() == null ? 0 : entry.getMatchId() + 1;
+            long eloBefore = fixed(entry.getEloBefore());
+            long eloAfter = fixed(entry.getEloAfter());
+            long ratingDeviationBefore = fixed(entry.getRatingDeviationBefore());
+            long ratingDeviationAfter = fixed(entry.getRatingDeviationAfter());
+
+            writeSigned(out, entry.getId() - id);
+            writeSigned(out, entryTime - time);
+            writeSigned(out, entryMatchId - matchId);
+            writeSigned(out, eloBefore - rating);
+            writeSigned(out, eloAfter - eloBefore);
+            writeSigned(out, ratingDeviationBefore - ratingDeviation);
+            writeSigned(out, ratingDeviationAfter - ratingDeviationBefore);
+
+            id = entry.getId();
+            time = entryTime;
+            matchId = entryMatchId;
+            rating = eloAfter;
+            ratingDeviation = ratingDeviationAfter;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return The points of the segment, oldest first.
+     */
+    static List<ClubRatingPointDTO> decode(byte[] data) {
+        int[] position = { 0 };
+        int count = (int) readVarint(data, position);
+        List<ClubRatingPointDTO> points = new ArrayList<>(count);
+
+        long id = 0;
+        long time = 0;
+        long matchId = 0;
+        long rating = 0;
+        long ratingDeviation = 0;
+        for (int i = 0; i < count; i++) {
+            id += readSigned(data, position);
+            time += readSigned(data, position);
+            matchId += readSigned(data, position);
+            long eloBefore = rating + readSigned(data, position);
+            long eloAfter = eloBefore + readSigned(data, position);
+            long ratingDeviationBefore = ratingDeviation + readSigned(data, position);
+            long ratingDeviationAfter = ratingDeviationBefore + readSigned(data, position);
+
+            points.add(new ClubRatingPointDTO(id, matchId == 0 ? null : matchId - 1,
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneOffset.UTC),
+                    eloBefore / RATING_SCALE, eloAfter / RATING_SCALE,
+                    ratingDeviationBefore / RATING_SCALE, ratingDeviationAfter / RATING_SCALE));
+
+            rating = eloAfter;
+            ratingDeviation = ratingDeviationAfter;
+        }
+        return points;
+    }
+
+    private static long fixed(double value) {
+        return Math.round(value * RATING_SCALE);
+    }
+
+    private static void writeSigned(ByteArrayOutputStream out, long value) {
+        writeVarint(out, (value << 1) ^ (value >> 63));
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readSigned(byte[] data, int[] position) {
+        long value = readVarint(data, position);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long readVarint(byte[] data, int[] position) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
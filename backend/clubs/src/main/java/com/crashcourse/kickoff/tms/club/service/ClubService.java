@@ -1,8 +1,12 @@
 package com.crashcourse.kickoff.tms.club.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingBatchItemDTO;
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingBatchResultDTO;
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingProfileDTO;
 import com.crashcourse.kickoff.tms.club.dto.ClubRatingUpdateDTO;
 import com.crashcourse.kickoff.tms.club.dto.PlayerApplicationDTO;
 import com.crashcourse.kickoff.tms.club.exception.ClubNotFoundException;
@@ -28,6 +32,8 @@ public interface ClubService {
 
     List<Club> getClubsByIds(List<Long> clubIds);
 
+    List<ClubRatingProfileDTO> getClubRatingProfiles(Collection<Long> clubIds);
+
     Optional<Club> getClubByPlayerId(Long playerId);
 
     Club updateClubDescription(Long id,  String clubDescription);
@@ -73,6 +79,8 @@ public interface ClubService {
 
     void updateClubRating(Long clubId, ClubRatingUpdateDTO ratingUpdateDTO);
 
+    List<ClubRatingBatchResultDTO> updateClubRatings(List<ClubRatingBatchItemDTO> items);
+
     ClubProfile updateClubPenaltyStatus(Long clubId, ClubPenaltyStatus newStatus)
             throws ClubNotFoundException, PenaltyNotFoundException;
 
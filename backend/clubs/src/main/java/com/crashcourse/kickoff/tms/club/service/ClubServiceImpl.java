@@ -2,11 +2,23 @@ package com.crashcourse.kickoff.tms.club.service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingBatchItemDTO;
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingBatchResultDTO;
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingProfileDTO;
 import com.crashcourse.kickoff.tms.club.dto.ClubRatingUpdateDTO;
 import com.crashcourse.kickoff.tms.club.dto.PlayerApplicationDTO;
 import com.crashcourse.kickoff.tms.club.exception.ClubAlreadyExistsException;
@@ -21,8 +33,11 @@ import com.crashcourse.kickoff.tms.club.model.ClubInvitation;
 import com.crashcourse.kickoff.tms.club.model.ClubPenaltyStatus;
 import com.crashcourse.kickoff.tms.club.model.ClubPenaltyStatus.PenaltyType;
 import com.crashcourse.kickoff.tms.club.model.ClubProfile;
+import com.crashcourse.kickoff.tms.club.model.ClubRatingEntry;
+import com.crashcourse.kickoff.tms.club.model.ClubRatingUpdateStatus;
 import com.crashcourse.kickoff.tms.club.model.PlayerApplication;
 import com.crashcourse.kickoff.tms.club.repository.ClubInvitationRepository;
+import com.crashcourse.kickoff.tms.club.repository.ClubRatingBatchRepository;
 import com.crashcourse.kickoff.tms.club.repository.ClubRepository;
 import com.crashcourse.kickoff.tms.club.repository.PlayerApplicationRepository;
 
@@ -38,6 +53,9 @@ public class ClubServiceImpl implements ClubService {
     private final ClubRepository clubRepository;
     private final PlayerApplicationRepository applicationRepository;
     private final ClubInvitationRepository clubInvitationRepository;
+    private final ClubRatingBatchRepository clubRatingBatchRepository;
+    private final ClubRatingHistoryService clubRatingHistoryService;
+    private final ClubLeaderboardService clubLeaderboardService;
 
     /**
      * Create a new Club.
@@ -69,7 +87,9 @@ public class ClubServiceImpl implements ClubService {
         }
 
         club = addPlayerToClub(club.getId(), creatorId);
-        return clubRepository.save(club);
+        club = clubRepository.save(club);
+        clubLeaderboardService.putClubAfterCommit(club.getId(), club.getName(), club.getElo());
+        return club;
     }
 
     /**
@@ -111,6 +131,31 @@ public class ClubServiceImpl implements ClubService {
         return clubs;
     }
 
+    /**
+     * Retrieve slim rating profiles for a set of Clubs in one query.
+     * IDs that do not match a Club are reported as not found instead of
+     * failing the whole lookup.
+     *
+     * @param clubIds IDs of the Clubs.
+     * @return One ClubRatingProfileDTO per distinct ID, in the order requested.
+     */
+    public List<ClubRatingProfileDTO> getClubRatingProfiles(Collection<Long> clubIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(clubIds);
+        if (distinctIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, ClubRatingProfileDTO> profilesById = clubRepository.findRatingProfilesByIdIn(distinctIds).stream()
+                .collect(Collectors.toMap(ClubRatingProfileDTO::getId, Function.identity()));
+
+        List<ClubRatingProfileDTO> profiles = new ArrayList<>(distinctIds.size());
+        for (Long clubId : distinctIds) {
+            ClubRatingProfileDTO profile = profilesById.get(clubId);
+            profiles.add(profile != null ? profile : ClubRatingProfileDTO.notFound(clubId));
+        }
+        return profiles;
+    }
+
     /**
      * Retrieve a Club by a Player's ID.
      *
@@ -153,6 +198,7 @@ public class ClubServiceImpl implements ClubService {
             throw new ClubNotFoundException(id);
         }
         clubRepository.deleteById(id);
+        clubLeaderboardService.removeClubAfterCommit(id);
     }
 
     /**
@@ -550,21 +596,149 @@ public class ClubServiceImpl implements ClubService {
     }
 
     /**
-     * Update the rating of a Club.
+     * Update the rating of a Club, and record the change in its rating history.
      *
      * @param clubId          ID of the club.
      * @param ratingUpdateDTO DTO containing rating update data.
      * @throws ClubNotFoundException If the club is not found.
      */
     @Override
+    @Transactional
     public void updateClubRating(Long clubId, ClubRatingUpdateDTO ratingUpdateDTO) {
+        /*
+         * Locked like a batch update, so the rating recorded as the one
+         * before cannot change before this update is written
+         */
+        clubRatingBatchRepository.lockRatings(List.of(clubId));
         Club club = clubRepository.findById(clubId)
                 .orElseThrow(() -> new ClubNotFoundException(clubId));
 
+        ClubRatingEntry entry = new ClubRatingEntry(null, clubId, ratingUpdateDTO.getMatchId(), LocalDateTime.now(),
+                club.getElo(), ratingUpdateDTO.getRating(),
+                club.getRatingDeviation(), ratingUpdateDTO.getRatingDeviation(), null);
+
         club.setElo(ratingUpdateDTO.getRating());
         club.setRatingDeviation(ratingUpdateDTO.getRatingDeviation());
+        club.setRatingVersion(club.getRatingVersion() + 1);
 
         clubRepository.save(club);
+        clubRatingHistoryService.record(List.of(entry));
+        clubLeaderboardService.putClubAfterCommit(clubId, club.getName(), club.getElo());
+    }
+
+    /**
+     * Update the ratings of several Clubs in one transaction, with a single
+     * batch of UPDATE statements. Each item is applied or rejected on its
+     * own, and the outcome is reported per item. An item whose idempotency
+     * key the club's rating history already holds is not applied again.
+     *
+     * @param items Rating changes, applied in order.
+     * @return One ClubRatingBatchResultDTO per item, in the order given.
+     */
+    @Override
+    @Transactional
+    public List<ClubRatingBatchResultDTO> updateClubRatings(List<ClubRatingBatchItemDTO> items) {
+        List<ClubRatingBatchResultDTO> results = new ArrayList<>(items.size());
+        List<ClubRatingBatchItemDTO> validItems = new ArrayList<>();
+        List<ClubRatingBatchResultDTO> validResults = new ArrayList<>();
+        for (ClubRatingBatchItemDTO item : items) {
+            ClubRatingBatchResultDTO result = new ClubRatingBatchResultDTO(item.getClubId(), ClubRatingUpdateStatus.INVALID, null);
+            if (item.getClubId() != null && (item.isSet() || item.isDelta())) {
+                validItems.add(item);
+                validResults.add(result);
+            }
+            results.add(result);
+        }
+        if (validItems.isEmpty()) {
+            return results;
+        }
+
+        /*
+         * The rows are locked first so that the ratings read here are the
+         * ones the updates start from, for the rating history, and so that
+         * a retry of an update still in flight finds its key once it is in
+         */
+        Map<Long, double[]> ratings = clubRatingBatchRepository.lockRatings(
+                validItems.stream().map(ClubRatingBatchItemDTO::getClubId).collect(Collectors.toCollection(LinkedHashSet::new)));
+        Map<Long, Set<String>> appliedKeys = clubRatingBatchRepository.findAppliedKeys(validItems.stream()
+                .map(ClubRatingBatchItemDTO::getIdempotencyKey).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        List<ClubRatingBatchItemDTO> newItems = new ArrayList<>();
+        List<ClubRatingBatchResultDTO> newResults = new ArrayList<>();
+        Set<Long> readBackIds = new LinkedHashSet<>();
+        for (int i = 0; i < validItems.size(); i++) {
+            ClubRatingBatchItemDTO item = validItems.get(i);
+            String key = item.getIdempotencyKey();
+            if (key != null && !appliedKeys.computeIfAbsent(item.getClubId(), clubId -> new HashSet<>()).add(key)) {
+                validResults.get(i).setStatus(ClubRatingUpdateStatus.DUPLICATE);
+                readBackIds.add(item.getClubId());
+                continue;
+            }
+            newItems.add(item);
+            newResults.add(validResults.get(i));
+        }
+        int[] updated = clubRatingBatchRepository.applyRatings(newItems);
+
+        LocalDateTime recordedAt = LocalDateTime.now();
+        List<ClubRatingEntry> entries = new ArrayList<>();
+        for (int i = 0; i < newItems.size(); i++) {
+            ClubRatingBatchItemDTO item = newItems.get(i);
+            ClubRatingBatchResultDTO result = newResults.get(i);
+            if (updated[i] > 0) {
+                result.setStatus(ClubRatingUpdateStatus.UPDATED);
+                if (item.getExpectedVersion() != null) {
+                    result.setRatingVersion(item.getExpectedVersion() + 1);
+                }
+                entries.add(ratingEntry(item, ratings.get(item.getClubId()), recordedAt));
+            } else {
+                readBackIds.add(item.getClubId());
+            }
+        }
+        clubRatingHistoryService.record(entries);
+        Map<Long, Double> elos = new HashMap<>();
+        entries.forEach(entry -> elos.put(entry.getClubId(), entry.getEloAfter()));
+        clubLeaderboardService.updateRatingsAfterCommit(elos);
+        if (readBackIds.isEmpty()) {
+            return results;
+        }
+
+        /*
+         * Only read back when something was rejected or repeated: a club
+         * that exists had moved on from the expected version, or already
+         * had this update
+         */
+        Map<Long, Long> versions = new HashMap<>();
+        for (Object[] row : clubRepository.findRatingVersionsByIdIn(readBackIds)) {
+            versions.put((Long) row[0], (Long) row[1]);
+        }
+        for (ClubRatingBatchResultDTO result : validResults) {
+            if (result.getStatus() == ClubRatingUpdateStatus.DUPLICATE) {
+                result.setRatingVersion(versions.get(result.getClubId()));
+            } else if (result.getStatus() != ClubRatingUpdateStatus.UPDATED) {
+                Long version = versions.get(result.getClubId());
+                result.setStatus(version != null ? ClubRatingUpdateStatus.CONFLICT : ClubRatingUpdateStatus.NOT_FOUND);
+                result.setRatingVersion(version);
+            }
+        }
+        return results;
+    }
+
+    /*
+     * Works out what an applied item changed the rating from and to, and
+     * moves the club's rating on for the next item of the same club
+     */
+    private static ClubRatingEntry ratingEntry(ClubRatingBatchItemDTO item, double[] rating, LocalDateTime recordedAt) {
+        double eloBefore = rating[0];
+        double ratingDeviationBefore = rating[1];
+        if (item.isDelta()) {
+            rating[0] += item.getRatingDelta();
+            rating[1] += item.getRatingDeviationDelta() != null ? item.getRatingDeviationDelta() : 0;
+        } else {
+            rating[0] = item.getRating();
+            rating[1] = item.getRatingDeviation();
+        }
+        return new ClubRatingEntry(null, item.getClubId(), item.getMatchId(), recordedAt,
+                eloBefore, rating[0], ratingDeviationBefore, rating[1], item.getIdempotencyKey());
     }
 
     /**
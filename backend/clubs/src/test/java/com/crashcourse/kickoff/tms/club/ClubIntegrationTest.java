@@ -18,6 +18,7 @@ import org.springframework.core.ParameterizedTypeReference;
 
 import java.util.*;
 
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingProfileDTO;
 import com.crashcourse.kickoff.tms.club.repository.ClubRepository;
 import com.crashcourse.kickoff.tms.club.model.*;
 
@@ -48,7 +49,7 @@ class ClubIntegrationTest {
 				players.add(i + (7 * k));
 			}
 
-			Club newClub = new Club((Long) i, "Club " + i, 500 + i*200, 50, (Long) i, players, "", new ArrayList<Long>(), null);
+			Club newClub = new Club((Long) i, "Club " + i, 500 + i*200, 50, 0, (Long) i, players, "", new ArrayList<Long>(), null);
 			try {
 				clubRepository.save(newClub);
 				System.out.println("[Added club]: " + newClub.getName());
@@ -132,4 +133,22 @@ class ClubIntegrationTest {
         assertNotNull(clubProfile);
         assertEquals(null, clubProfile.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getClubRatingProfiles_Success() throws Exception {
+        Long existingId = clubRepository.findAll().get(0).getId();
+        Long missingId = 10000L;
+        URI uri = new URI(baseUrl + port + "/api/v1/clubs/ratings?ids=" + existingId + "," + missingId);
+
+        ResponseEntity<ClubRatingProfileDTO[]> response = restTemplate.getForEntity(uri, ClubRatingProfileDTO[].class);
+        ClubRatingProfileDTO[] profiles = response.getBody();
+
+        assertEquals(200, response.getStatusCode().value());
+        assertNotNull(profiles);
+        assertEquals(2, profiles.length);
+        assertEquals(existingId, profiles[0].getId());
+        assertTrue(profiles[0].isFound());
+        assertEquals(missingId, profiles[1].getId());
+        assertFalse(profiles[1].isFound());
+    }
+}
@@ -0,0 +1,114 @@
+package com.crashcourse.kickoff.tms.club;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.crashcourse.kickoff.tms.club.dto.ClubRankDTO;
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingBatchItemDTO;
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingUpdateDTO;
+import com.crashcourse.kickoff.tms.club.exception.ClubNotFoundException;
+import com.crashcourse.kickoff.tms.club.model.Club;
+import com.crashcourse.kickoff.tms.club.repository.ClubRepository;
+import com.crashcourse.kickoff.tms.club.service.ClubLeaderboardService;
+import com.crashcourse.kickoff.tms.club.service.ClubService;
+
+/**
+ * Integration tests for the leaderboard. Other tests share the database, so
+ * the clubs here are rated far above any others to own the top ranks.
+ */
+@SpringBootTest
+class ClubLeaderboardTest {
+
+    @Autowired
+    private ClubService clubService;
+
+    @Autowired
+    private ClubLeaderboardService clubLeaderboardService;
+
+    @Autowired
+    private ClubRepository clubRepository;
+
+    private static final double TOP_ELO = 1_000_000;
+
+    private final List<Long> clubIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 3; i++) {
+            Club club = new Club();
+            club.setName("Leaderboard Club " + i);
+            club.setElo(TOP_ELO + i * 10);
+            club.setRatingDeviation(200);
+            club.setCaptainId(9200L + i);
+            clubIds.add(clubRepository.save(club).getId());
+        }
+        clubLeaderboardService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clubIds.forEach(clubService::deleteClub);
+        clubIds.clear();
+    }
+
+    private static List<Long> clubIdsOf(List<ClubRankDTO> ranks) {
+        return ranks.stream().map(ClubRankDTO::getClubId).toList();
+    }
+
+    @Test
+    void getTopClubs_AfterRebuild_HighestEloFirst() {
+        List<ClubRankDTO> top = clubLeaderboardService.getTopClubs(3);
+
+        assertEquals(List.of(clubIds.get(2), clubIds.get(1), clubIds.get(0)), clubIdsOf(top));
+        assertEquals(1, top.get(0).getRank());
+        assertEquals("Leaderboard Club 3", top.get(0).getName());
+        assertEquals(TOP_ELO + 30, top.get(0).getElo());
+        assertEquals(3, clubLeaderboardService.getClubRank(clubIds.get(0)).getRank());
+    }
+
+    @Test
+    void updateClubRating_MovesClubUp_TiesRankedById() {
+        ClubRatingUpdateDTO update = new ClubRatingUpdateDTO();
+        update.setRating(TOP_ELO + 30);
+        update.setRatingDeviation(150);
+
+        clubService.updateClubRating(clubIds.get(0), update);
+
+        assertEquals(1, clubLeaderboardService.getClubRank(clubIds.get(0)).getRank());
+        assertEquals(2, clubLeaderboardService.getClubRank(clubIds.get(2)).getRank());
+        assertEquals(3, clubLeaderboardService.getClubRank(clubIds.get(1)).getRank());
+    }
+
+    @Test
+    void updateClubRatings_Batch_ReflectedWithoutRebuild() {
+        clubService.updateClubRatings(List.of(
+                new ClubRatingBatchItemDTO(clubIds.get(2), null, null, null, -25.0, null, null, null)));
+
+        assertEquals(List.of(clubIds.get(1), clubIds.get(0), clubIds.get(2)),
+                clubIdsOf(clubLeaderboardService.getTopClubs(3)));
+    }
+
+    @Test
+    void getClubsAround_TopClub_OnlyClubsBelow() {
+        assertEquals(List.of(clubIds.get(2), clubIds.get(1)),
+                clubIdsOf(clubLeaderboardService.getClubsAround(clubIds.get(2), 1)));
+        assertEquals(List.of(clubIds.get(2), clubIds.get(1), clubIds.get(0)),
+                clubIdsOf(clubLeaderboardService.getClubsAround(clubIds.get(1), 1)));
+    }
+
+    @Test
+    void deleteClub_RemovedFromLeaderboard() {
+        Long clubId = clubIds.remove(2);
+        clubService.deleteClub(clubId);
+
+        assertThrows(ClubNotFoundException.class, () -> clubLeaderboardService.getClubRank(clubId));
+        assertEquals(1, clubLeaderboardService.getClubRank(clubIds.get(1)).getRank());
+    }
+}
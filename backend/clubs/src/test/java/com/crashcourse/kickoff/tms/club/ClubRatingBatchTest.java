@@ -0,0 +1,174 @@
+package com.crashcourse.kickoff.tms.club;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingBatchItemDTO;
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingBatchResultDTO;
+import com.crashcourse.kickoff.tms.club.model.Club;
+import com.crashcourse.kickoff.tms.club.model.ClubRatingUpdateStatus;
+import com.crashcourse.kickoff.tms.club.repository.ClubRatingEntryRepository;
+import com.crashcourse.kickoff.tms.club.repository.ClubRepository;
+import com.crashcourse.kickoff.tms.club.service.ClubService;
+
+/**
+ * Integration tests for batch rating updates, run against the database so
+ * the version checks and relative updates are exercised for real.
+ */
+@SpringBootTest
+class ClubRatingBatchTest {
+
+    @Autowired
+    private ClubService clubService;
+
+    @Autowired
+    private ClubRepository clubRepository;
+
+    @Autowired
+    private ClubRatingEntryRepository clubRatingEntryRepository;
+
+    private final List<Long> clubIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 3; i++) {
+            Club club = new Club();
+            club.setName("Batch Rating Club " + i);
+            club.setElo(1500);
+            club.setRatingDeviation(200);
+            club.setCaptainId(9000L + i);
+            clubIds.add(clubRepository.save(club).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        clubRepository.deleteAllById(clubIds);
+        clubIds.clear();
+    }
+
+    private static ClubRatingBatchItemDTO set(Long clubId, Long expectedVersion, double rating, double ratingDeviation) {
+        return new ClubRatingBatchItemDTO(clubId, expectedVersion, rating, ratingDeviation, null, null, null, null);
+    }
+
+    private static ClubRatingBatchItemDTO delta(Long clubId, double ratingDelta, double ratingDeviationDelta) {
+        return new ClubRatingBatchItemDTO(clubId, null, null, null, ratingDelta, ratingDeviationDelta, null, null);
+    }
+
+    private Club reload(Long clubId) {
+        return clubRepository.findById(clubId).orElseThrow();
+    }
+
+    @Test
+    void updateClubRatings_VersionedSets_AllAppliedInOneBatch() {
+        List<ClubRatingBatchResultDTO> results = clubService.updateClubRatings(List.of(
+                set(clubIds.get(0), 0L, 1520.0, 190.0),
+                set(clubIds.get(1), 0L, 1480.0, 190.0),
+                set(clubIds.get(2), null, 1510.0, 180.0)));
+
+        assertEquals(3, results.size());
+        results.forEach(result -> assertEquals(ClubRatingUpdateStatus.UPDATED, result.getStatus()));
+        assertEquals(1L, results.get(0).getRatingVersion());
+        assertNull(results.get(2).getRatingVersion());
+
+        Club club = reload(clubIds.get(0));
+        assertEquals(1520.0, club.getElo());
+        assertEquals(190.0, club.getRatingDeviation());
+        assertEquals(1L, club.getRatingVersion());
+        assertEquals(1L, reload(clubIds.get(2)).getRatingVersion());
+    }
+
+    @Test
+    void updateClubRatings_StaleVersion_ConflictWithCurrentVersion() {
+        Long clubId = clubIds.get(0);
+        clubService.updateClubRatings(List.of(set(clubId, 0L, 1600.0, 150.0)));
+
+        List<ClubRatingBatchResultDTO> results = clubService.updateClubRatings(List.of(
+                set(clubId, 0L, 1400.0, 150.0),
+                set(clubIds.get(1), 0L, 1450.0, 150.0)));
+
+        assertEquals(ClubRatingUpdateStatus.CONFLICT, results.get(0).getStatus());
+        assertEquals(1L, results.get(0).getRatingVersion());
+        assertEquals(ClubRatingUpdateStatus.UPDATED, results.get(1).getStatus(),
+                "A conflict should not stop the rest of the batch");
+        assertEquals(1600.0, reload(clubId).getElo());
+    }
+
+    @Test
+    void updateClubRatings_SentAgainAfterLostResponse_AppliedOnce() {
+        Long clubId = clubIds.get(0);
+        ClubRatingBatchItemDTO item = set(clubId, 0L, 1540.0, 180.0);
+        item.setMatchId(41L);
+        item.setIdempotencyKey("rating-update-7-0");
+
+        /*
+         * The first response never reaches the sender, which sends the same item again
+         */
+        clubService.updateClubRatings(List.of(item));
+        List<ClubRatingBatchResultDTO> results = clubService.updateClubRatings(List.of(item,
+                set(clubIds.get(1), 0L, 1460.0, 180.0)));
+
+        assertEquals(ClubRatingUpdateStatus.DUPLICATE, results.get(0).getStatus());
+        assertEquals(1L, results.get(0).getRatingVersion());
+        assertEquals(ClubRatingUpdateStatus.UPDATED, results.get(1).getStatus());
+        Club club = reload(clubId);
+        assertEquals(1540.0, club.getElo());
+        assertEquals(1L, club.getRatingVersion());
+        assertEquals(1, clubRatingEntryRepository.countByClubId(clubId));
+    }
+
+    @Test
+    void updateClubRatings_MissingAndMalformedItems_ReportedPerItem() {
+        ClubRatingBatchItemDTO setAndDelta = new ClubRatingBatchItemDTO(clubIds.get(1), null, 1500.0, 200.0, 5.0, null, null, null);
+
+        List<ClubRatingBatchResultDTO> results = clubService.updateClubRatings(List.of(
+                set(Long.MAX_VALUE, null, 1500.0, 200.0),
+                setAndDelta,
+                new ClubRatingBatchItemDTO(clubIds.get(1), null, 1500.0, null, null, null, null, null),
+                delta(clubIds.get(2), 10.0, -5.0)));
+
+        assertEquals(ClubRatingUpdateStatus.NOT_FOUND, results.get(0).getStatus());
+        assertEquals(ClubRatingUpdateStatus.INVALID, results.get(1).getStatus());
+        assertEquals(ClubRatingUpdateStatus.INVALID, results.get(2).getStatus());
+        assertEquals(ClubRatingUpdateStatus.UPDATED, results.get(3).getStatus());
+        assertEquals(0L, reload(clubIds.get(1)).getRatingVersion());
+    }
+
+    @Test
+    void updateClubRatings_ConcurrentDeltas_NoneLost() throws Exception {
+        Long clubId = clubIds.get(0);
+        int writers = 8;
+        int batchesPerWriter = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            tasks.add(executor.submit(() -> {
+                start.await();
+                for (int b = 0; b < batchesPerWriter; b++) {
+                    clubService.updateClubRatings(List.of(delta(clubId, 1.0, -0.5)));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        Club club = reload(clubId);
+        int updates = writers * batchesPerWriter;
+        assertEquals(1500.0 + updates, club.getElo());
+        assertEquals(200.0 - 0.5 * updates, club.getRatingDeviation());
+        assertEquals(updates, club.getRatingVersion());
+    }
+}
@@ -0,0 +1,183 @@
+package com.crashcourse.kickoff.tms.club;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingBatchItemDTO;
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingPointDTO;
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingUpdateDTO;
+import com.crashcourse.kickoff.tms.club.exception.ClubNotFoundException;
+import com.crashcourse.kickoff.tms.club.model.Club;
+import com.crashcourse.kickoff.tms.club.model.ClubRatingArchive;
+import com.crashcourse.kickoff.tms.club.model.ClubRatingEntry;
+import com.crashcourse.kickoff.tms.club.repository.ClubRatingArchiveRepository;
+import com.crashcourse.kickoff.tms.club.repository.ClubRatingEntryRepository;
+import com.crashcourse.kickoff.tms.club.repository.ClubRepository;
+import com.crashcourse.kickoff.tms.club.service.ClubRatingHistoryService;
+import com.crashcourse.kickoff.tms.club.service.ClubRatingLedgerCompactor;
+import com.crashcourse.kickoff.tms.club.service.ClubService;
+
+/**
+ * Integration tests for the rating ledger: entries written by rating
+ * updates, and history read back across the cache, the ledger and archived
+ * segments.
+ */
+@SpringBootTest
+class ClubRatingHistoryTest {
+
+    @Autowired
+    private ClubService clubService;
+
+    @Autowired
+    private ClubRatingHistoryService clubRatingHistoryService;
+
+    @Autowired
+    private ClubRatingLedgerCompactor clubRatingLedgerCompactor;
+
+    @Autowired
+    private ClubRepository clubRepository;
+
+    @Autowired
+    private ClubRatingEntryRepository clubRatingEntryRepository;
+
+    @Autowired
+    private ClubRatingArchiveRepository clubRatingArchiveRepository;
+
+    private final List<Long> clubIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 2; i++) {
+            Club club = new Club();
+            club.setName("Rating History Club " + i);
+            club.setElo(500);
+            club.setRatingDeviation(200);
+            club.setCaptainId(9100L + i);
+            clubIds.add(clubRepository.save(club).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Long clubId : clubIds) {
+            clubRatingEntryRepository.deleteAllInBatch(
+                    clubRatingEntryRepository.findByClubIdOrderByIdAsc(clubId, Limit.unlimited()));
+        }
+        clubRatingArchiveRepository.deleteAllInBatch(clubRatingArchiveRepository.findAll().stream()
+                .filter(archive -> clubIds.contains(archive.getClubId()))
+                .toList());
+        clubRepository.deleteAllById(clubIds);
+        clubIds.clear();
+    }
+
+    private List<ClubRatingPointDTO> history(Long clubId, LocalDateTime from, LocalDateTime to, int limit) {
+        return clubRatingHistoryService.getRatingHistory(clubId, from, to, limit);
+    }
+
+    @Test
+    void updateClubRatings_DeltasForOneClub_EachEntryStartsWhereTheLastEnded() {
+        Long clubId = clubIds.get(0);
+        /*
+         * Charted before the update, so the new entries reach the cache on commit
+         */
+        assertTrue(history(clubId, null, null, 100).isEmpty());
+
+        clubService.updateClubRatings(List.of(
+                new ClubRatingBatchItemDTO(clubId, null, null, null, 20.0, -10.0, 7L, null),
+                new ClubRatingBatchItemDTO(clubId, null, null, null, -5.0, null, 8L, null),
+                new ClubRatingBatchItemDTO(clubIds.get(1), null, 480.0, 190.0, null, null, 7L, null)));
+
+        List<ClubRatingPointDTO> points = history(clubId, null, null, 100);
+        assertEquals(2, points.size());
+        assertEquals(7L, points.get(0).getMatchId());
+        assertEquals(500.0, points.get(0).getEloBefore());
+        assertEquals(520.0, points.get(0).getEloAfter());
+        assertEquals(200.0, points.get(0).getRatingDeviationBefore());
+        assertEquals(190.0, points.get(0).getRatingDeviationAfter());
+        assertEquals(520.0, points.get(1).getEloBefore());
+        assertEquals(515.0, points.get(1).getEloAfter());
+        assertEquals(190.0, points.get(1).getRatingDeviationAfter());
+
+        ClubRatingPointDTO other = history(clubIds.get(1), null, null, 100).get(0);
+        assertEquals(500.0, other.getEloBefore());
+        assertEquals(480.0, other.getEloAfter());
+    }
+
+    @Test
+    void updateClubRating_RecordedAndFilteredByTime() {
+        Long clubId = clubIds.get(0);
+        ClubRatingUpdateDTO update = new ClubRatingUpdateDTO();
+        update.setRating(530);
+        update.setRatingDeviation(180);
+        update.setMatchId(3L);
+
+        clubService.updateClubRating(clubId, update);
+
+        List<ClubRatingPointDTO> points = history(clubId, null, null, 100);
+        assertEquals(1, points.size());
+        assertEquals(500.0, points.get(0).getEloBefore());
+        assertEquals(530.0, points.get(0).getEloAfter());
+        assertTrue(history(clubId, LocalDateTime.now().plusDays(1), null, 100).isEmpty());
+        assertTrue(history(clubId, null, LocalDateTime.now().minusDays(1), 100).isEmpty());
+    }
+
+    @Test
+    void compact_OldEntriesArchived_HistoryStillReadsAcrossSegments() {
+        Long clubId = clubIds.get(0);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<ClubRatingEntry> entries = new ArrayList<>();
+        double elo = 500;
+        for (int i = 0; i < 600; i++) {
+            double next = elo + (i % 7) * 1.25 - 3.5;
+            entries.add(new ClubRatingEntry(null, clubId, i % 3 == 0 ? null : (long) i, start.plusMinutes(i),
+                    elo, next, 200 - i * 0.1, 200 - (i + 1) * 0.1, null));
+            elo = next;
+        }
+        List<ClubRatingEntry> saved = clubRatingHistoryService.record(entries);
+
+        assertEquals(1, clubRatingLedgerCompactor.compact());
+        assertEquals(344, clubRatingEntryRepository.countByClubId(clubId));
+        ClubRatingArchive archive = clubRatingArchiveRepository.findAll().stream()
+                .filter(candidate -> candidate.getClubId().equals(clubId))
+                .findFirst().orElseThrow();
+        assertEquals(saved.get(0).getId(), archive.getFirstEntryId());
+        assertEquals(256, archive.getEntryCount());
+        assertTrue(archive.getData().length < 256 * 16, "Archived entries should take a few bytes each");
+
+        List<ClubRatingPointDTO> all = history(clubId, null, null, 1000);
+        assertEquals(600, all.size());
+        for (int i = 0; i < 600; i++) {
+            ClubRatingEntry expected = saved.get(i);
+            ClubRatingPointDTO point = all.get(i);
+            assertEquals(expected.getId(), point.getEntryId());
+            assertEquals(expected.getMatchId(), point.getMatchId());
+            assertEquals(expected.getRecordedAt(), point.getRecordedAt());
+            assertEquals(expected.getEloBefore(), point.getEloBefore(), 1e-4);
+            assertEquals(expected.getEloAfter(), point.getEloAfter(), 1e-4);
+            assertEquals(expected.getRatingDeviationAfter(), point.getRatingDeviationAfter(), 1e-4);
+        }
+
+        List<ClubRatingPointDTO> range = history(clubId, start.plusMinutes(10), start.plusMinutes(300), 1000);
+        assertEquals(291, range.size());
+        assertEquals(saved.get(10).getId(), range.get(0).getEntryId());
+        assertEquals(saved.get(300).getId(), range.get(290).getEntryId());
+
+        List<ClubRatingPointDTO> newest = history(clubId, null, start.plusMinutes(300), 5);
+        assertEquals(saved.get(296).getId(), newest.get(0).getEntryId());
+        assertEquals(saved.get(300).getId(), newest.get(4).getEntryId());
+    }
+
+    @Test
+    void getRatingHistory_UnknownClub_ThrowsClubNotFoundException() {
+        assertThrows(ClubNotFoundException.class, () -> history(Long.MAX_VALUE, null, null, 100));
+    }
+}
@@ -12,12 +12,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.crashcourse.kickoff.tms.club.dto.ClubRatingProfileDTO;
 import com.crashcourse.kickoff.tms.club.dto.ClubRatingUpdateDTO;
 import com.crashcourse.kickoff.tms.club.dto.PlayerApplicationDTO;
 import com.crashcourse.kickoff.tms.club.exception.ClubAlreadyExistsException;
@@ -32,8 +34,11 @@ import com.crashcourse.kickoff.tms.club.model.ClubPenaltyStatus.PenaltyType;
 import com.crashcourse.kickoff.tms.club.model.ClubProfile;
 import com.crashcourse.kickoff.tms.club.model.PlayerApplication;
 import com.crashcourse.kickoff.tms.club.repository.ClubInvitationRepository;
+import com.crashcourse.kickoff.tms.club.repository.ClubRatingBatchRepository;
 import com.crashcourse.kickoff.tms.club.repository.ClubRepository;
 import com.crashcourse.kickoff.tms.club.repository.PlayerApplicationRepository;
+import com.crashcourse.kickoff.tms.club.service.ClubLeaderboardService;
+import com.crashcourse.kickoff.tms.club.service.ClubRatingHistoryService;
 import com.crashcourse.kickoff.tms.club.service.ClubServiceImpl;
 import com.crashcourse.kickoff.tms.player.PlayerPosition;
 
@@ -49,6 +54,15 @@ class ClubServiceTest {
     @Mock
     private ClubInvitationRepository clubInvitationRepository;
 
+    @Mock
+    private ClubRatingBatchRepository clubRatingBatchRepository;
+
+    @Mock
+    private ClubRatingHistoryService clubRatingHistoryService;
+
+    @Mock
+    private ClubLeaderboardService clubLeaderboardService;
+
     @InjectMocks
     private ClubServiceImpl clubService;
 
@@ -131,6 +145,33 @@ class ClubServiceTest {
 
 
 
+    // ================== getClubRatingProfiles ==================
+    @Test
+    void getClubRatingProfiles_SomeIdsMissing_ReportsMissingPerItem() {
+        // Arrange
+        List<Long> clubIds = Arrays.asList(2L, 99L, 1L, 2L);
+        ClubRatingProfileDTO club1 = new ClubRatingProfileDTO(1L, "Club 1", 1200, 80, 0, 10L, null, null);
+        ClubRatingProfileDTO club2 = new ClubRatingProfileDTO(2L, "Club 2", 1400, 60, 0, 20L,
+                LocalDateTime.now().plusDays(1), PenaltyType.BLACKLISTED);
+
+        when(clubRepository.findRatingProfilesByIdIn(any())).thenReturn(Arrays.asList(club1, club2));
+
+        // Act
+        List<ClubRatingProfileDTO> result = clubService.getClubRatingProfiles(clubIds);
+
+        // Assert
+        assertEquals(3, result.size(), "Duplicate IDs should be collapsed");
+        assertEquals(2L, result.get(0).getId());
+        assertTrue(result.get(0).isFound());
+        assertTrue(result.get(0).isPenalised());
+        assertEquals(99L, result.get(1).getId());
+        assertFalse(result.get(1).isFound());
+        assertNull(result.get(1).getElo());
+        assertEquals(1L, result.get(2).getId());
+        assertFalse(result.get(2).isPenalised());
+        verify(clubRepository, times(1)).findRatingProfilesByIdIn(any());
+    }
+
     // ================== deleteClub ==================
     @Test
     void deleteClub_ExistingId_DeletesClubSuccessfully() {
@@ -1204,7 +1245,11 @@ class ClubServiceTest {
         // Assert
         assertEquals(1600, club.getElo());
         assertEquals(180, club.getRatingDeviation());
+        verify(clubRatingBatchRepository).lockRatings(List.of(clubId));
         verify(clubRepository).save(club);
+        verify(clubRatingHistoryService).record(argThat(entries -> entries.size() == 1
+                && entries.get(0).getEloBefore() == 1500 && entries.get(0).getEloAfter() == 1600
+                && entries.get(0).getRatingDeviationBefore() == 200 && entries.get(0).getRatingDeviationAfter() == 180));
     }
 
     @Test
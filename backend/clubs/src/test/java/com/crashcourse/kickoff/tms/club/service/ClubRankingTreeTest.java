@@ -0,0 +1,62 @@
+package com.crashcourse.kickoff.tms.club.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class ClubRankingTreeTest {
+
+    private static final Comparator<double[]> RANK_ORDER = Comparator
+            .<double[]>comparingDouble(club -> -club[1])
+            .thenComparingDouble(club -> club[0]);
+
+    @Test
+    void rankOf_RandomChanges_MatchesSortedOrder() {
+        Random random = new Random(3);
+        ClubRankingTree tree = new ClubRankingTree();
+        Map<Long, Double> elos = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            long clubId = random.nextInt(2_000);
+            if (random.nextInt(10) == 0) {
+                tree.remove(clubId);
+                elos.remove(clubId);
+            } else {
+                /*
+                 * Few distinct ratings, so plenty of ties
+                 */
+                double elo = 400 + random.nextInt(50) * 5;
+                tree.put(clubId, elo, "Club " + clubId);
+                elos.put(clubId, elo);
+            }
+        }
+
+        List<double[]> expected = new ArrayList<>();
+        elos.forEach((clubId, elo) -> expected.add(new double[] { clubId, elo }));
+        expected.sort(RANK_ORDER);
+
+        assertEquals(expected.size(), tree.size());
+        for (int i = 0; i < expected.size(); i++) {
+            long clubId = (long) expected.get(i)[0];
+            ClubRankingTree.Node node = tree.atRank(i + 1);
+            assertEquals(clubId, node.clubId);
+            assertEquals(expected.get(i)[1], node.elo);
+            assertEquals(i + 1, tree.rankOf(clubId));
+        }
+        assertEquals(0, tree.rankOf(5_000));
+    }
+
+    @Test
+    void put_NullName_KeepsName() {
+        ClubRankingTree tree = new ClubRankingTree();
+        tree.put(1, 500, "Kickers");
+        tree.put(2, 510, "Strikers");
+
+        tree.put(1, 520, null);
+
+        assertEquals(1, tree.rankOf(1));
+        assertEquals("Kickers", tree.atRank(1).name);
+        assertEquals(2, tree.size());
+    }
+}
@@ -23,6 +23,7 @@ import com.crashcourse.kickoff.tms.tournament.dto.PlayerAvailabilityDTO;
 import com.crashcourse.kickoff.tms.tournament.dto.TournamentCreateDTO;
 import com.crashcourse.kickoff.tms.tournament.dto.TournamentJoinDTO;
 import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.SeedingMethod;
 import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
 import com.crashcourse.kickoff.tms.tournament.service.TournamentService;
 import com.crashcourse.kickoff.tms.security.JwtUtil;
@@ -83,7 +84,7 @@ public class KickoffTournamentManagementApplication {
             LocalDateTime.of(2024, 10, 19, 10, 0, 0), 
             LocalDateTime.of(2024, 10, 19, 18, 0, 0), 
             location3, 8, TournamentFormat.FIVE_SIDE, KnockoutFormat.SINGLE_ELIM, 
-            new ArrayList<Float>(), 500, 2000);
+            new ArrayList<Float>(), 500, 2000, SeedingMethod.ELO);
         tournamentService.createTournament(tournament1DTO, 1L);
 System.out.println("[Added tournament 1]");
 
@@ -91,7 +92,7 @@ System.out.println("[Added tournament 1]");
             LocalDateTime.of(2024, 10, 20, 19, 0, 0), 
             LocalDateTime.of(2024, 10, 20, 23, 0, 0), 
             location2, 4, TournamentFormat.FIVE_SIDE, KnockoutFormat.SINGLE_ELIM, 
-            new ArrayList<Float>(), 500, 2000);
+            new ArrayList<Float>(), 500, 2000, SeedingMethod.ELO);
         tournamentService.createTournament(tournament2DTO, 2L);
 System.out.println("[Added tournament 2]");
 
@@ -99,7 +100,7 @@ System.out.println("[Added tournament 2]");
             LocalDateTime.of(2024, 10, 26, 8, 0, 0), 
             LocalDateTime.of(2024, 10, 26, 13, 0, 0), 
             location1, 16, TournamentFormat.FIVE_SIDE, KnockoutFormat.DOUBLE_ELIM, 
-            new ArrayList<Float>(), 500, 2000);
+            new ArrayList<Float>(), 500, 2000, SeedingMethod.ELO);
         tournamentService.createTournament(tournament3DTO, 3L);
 System.out.println("[Added tournament 3]");
 
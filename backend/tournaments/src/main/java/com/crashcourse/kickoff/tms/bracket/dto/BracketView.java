@@ -0,0 +1,105 @@
+package com.crashcourse.kickoff.tms.bracket.dto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.crashcourse.kickoff.tms.bracket.model.Bracket;
+import com.crashcourse.kickoff.tms.bracket.model.BracketStage;
+import com.crashcourse.kickoff.tms.bracket.model.Match;
+import com.crashcourse.kickoff.tms.bracket.model.Round;
+
+import lombok.Value;
+
+/**
+ * Read-only snapshot of a bracket, with the same JSON shape as the Bracket
+ * entity. Built once and then patched as results come in, so serving it
+ * never goes back to the database.
+ */
+@Value
+public class BracketView {
+
+    Long id;
+    String type;
+    Long winningClubId;
+    List<RoundView> rounds;
+
+    @Value
+    public static class RoundView {
+        Long id;
+        Long roundNumber;
+        BracketStage stage;
+        List<MatchView> matches;
+    }
+
+    @Value
+    public static class MatchView {
+        Long id;
+        Long matchNumber;
+        Long club1Id;
+        Long club2Id;
+        int club1Score;
+        int club2Score;
+        Long winningClubId;
+        boolean over;
+        Long bracketPosition;
+
+        public static MatchView of(Match match) {
+            return new MatchView(match.getId(), match.getMatchNumber(), match.getClub1Id(), match.getClub2Id(),
+                    match.getClub1Score(), match.getClub2Score(), match.getWinningClubId(), match.isOver(),
+                    match.getBracketPosition());
+        }
+    }
+
+    /**
+     * Builds the view from a bracket, its rounds and all of its matches.
+     * Matches are grouped by round here rather than loaded round by round.
+     */
+    public static BracketView of(Bracket bracket, List<Round> rounds, List<Match> matches) {
+        Map<Long, List<MatchView>> matchesByRound = new HashMap<>();
+        matches.stream()
+                .sorted(Comparator.comparing(Match::getId))
+                .forEach(match -> matchesByRound
+                        .computeIfAbsent(match.getRound().getId(), roundId -> new ArrayList<>())
+                        .add(MatchView.of(match)));
+
+        List<RoundView> roundViews = new ArrayList<>(rounds.size());
+        for (Round round : rounds) {
+            List<MatchView> roundMatches = matchesByRound.getOrDefault(round.getId(), List.of());
+            roundViews.add(new RoundView(round.getId(), round.getRoundNumber(), round.getStage(), List.copyOf(roundMatches)));
+        }
+        return new BracketView(bracket.getId(), bracket.getClass().getSimpleName(), bracket.getWinningClubId(),
+                List.copyOf(roundViews));
+    }
+
+    /**
+     * Returns a copy with the given matches replaced. Rounds that none of
+     * them belong to are shared with this view rather than copied.
+     */
+    public BracketView patch(Collection<MatchView> changedMatches, Long newWinningClubId) {
+        Map<Long, MatchView> changedById = new HashMap<>();
+        for (MatchView match : changedMatches) {
+            changedById.put(match.getId(), match);
+        }
+
+        List<RoundView> patchedRounds = new ArrayList<>(rounds.size());
+        for (RoundView round : rounds) {
+            List<MatchView> patchedMatches = null;
+            for (int i = 0; i < round.getMatches().size(); i++) {
+                MatchView changed = changedById.get(round.getMatches().get(i).getId());
+                if (changed != null) {
+                    if (patchedMatches == null) {
+                        patchedMatches = new ArrayList<>(round.getMatches());
+                    }
+                    patchedMatches.set(i, changed);
+                }
+            }
+            patchedRounds.add(patchedMatches == null ? round
+                    : new RoundView(round.getId(), round.getRoundNumber(), round.getStage(), List.copyOf(patchedMatches)));
+        }
+        return new BracketView(id, type, newWinningClubId, List.copyOf(patchedRounds));
+    }
+}
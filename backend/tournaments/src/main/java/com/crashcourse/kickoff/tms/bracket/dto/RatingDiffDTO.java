@@ -0,0 +1,25 @@
+package com.crashcourse.kickoff.tms.bracket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One club's current rating in the clubs service next to the rating a
+ * replay of the match history gives it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingDiffDTO {
+    private Long clubId;
+
+    private double currentElo;
+    private double currentRatingDeviation;
+
+    private double replayedElo;
+    private double replayedRatingDeviation;
+
+    private double eloChange;
+    private double ratingDeviationChange;
+}
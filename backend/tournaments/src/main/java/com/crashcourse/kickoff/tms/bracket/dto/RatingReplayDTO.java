@@ -0,0 +1,39 @@
+package com.crashcourse.kickoff.tms.bracket.dto;
+
+import java.util.List;
+
+import com.crashcourse.kickoff.tms.bracket.model.RatingParameters;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of replaying the match history, compared with the ratings the
+ * clubs service holds now. Nothing is written back.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingReplayDTO {
+    private RatingParameters parameters;
+
+    private int matches;
+    private int clubs;
+    private int components;
+    private int largestComponentMatches;
+    private long replayMillis;
+
+    /*
+     * Clubs that played but are no longer in the clubs service
+     */
+    private int clubsMissing;
+    private int clubsChanged;
+    private double maxAbsoluteEloChange;
+    private double meanAbsoluteEloChange;
+
+    /*
+     * Largest Elo changes first, at most the requested number
+     */
+    private List<RatingDiffDTO> diffs;
+}
@@ -2,6 +2,9 @@ package com.crashcourse.kickoff.tms.bracket.model;
 
 import com.crashcourse.kickoff.tms.tournament.model.Tournament;
 
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
@@ -26,6 +29,7 @@ public class Bracket {
     private Long winningClubId;
 
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
-    @JoinColumn(name = "bracket_id") 
+    @JoinColumn(name = "bracket_id")
+    @Fetch(FetchMode.SUBSELECT)
     private List<Round> rounds;
 }
@@ -0,0 +1,9 @@
+package com.crashcourse.kickoff.tms.bracket.model;
+
+/*
+ * Which part of a double-elimination bracket a Round belongs to.
+ * Rounds of a single-elimination bracket have no stage.
+ */
+public enum BracketStage {
+    WINNERS, LOSERS, GRAND_FINAL;
+}
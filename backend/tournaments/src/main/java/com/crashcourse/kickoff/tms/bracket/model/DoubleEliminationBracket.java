@@ -0,0 +1,12 @@
+package com.crashcourse.kickoff.tms.bracket.model;
+
+import jakarta.persistence.*;
+
+/*
+ * A bracket with a winners side, a losers side and a grand final.
+ * Its matches carry explicit winner and loser routing, since the
+ * heap-style numbering used for single elimination does not apply.
+ */
+@Entity
+public class DoubleEliminationBracket extends Bracket {
+}
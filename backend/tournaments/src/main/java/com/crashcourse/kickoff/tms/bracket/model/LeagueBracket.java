@@ -0,0 +1,11 @@
+package com.crashcourse.kickoff.tms.bracket.model;
+
+import jakarta.persistence.*;
+
+/*
+ * A round-robin league. Each round is a matchday, numbered upwards from 1,
+ * and the winner is whoever tops the standings once every fixture is played.
+ */
+@Entity
+public class LeagueBracket extends Bracket {
+}
@@ -0,0 +1,42 @@
+package com.crashcourse.kickoff.tms.bracket.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * One club's row in a league table. Rows are kept up to date as results
+ * come in, so reading the table never has to go back over the fixtures.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "league_standing",
+        uniqueConstraints = @UniqueConstraint(columnNames = { "tournament_id", "club_id" }))
+public class LeagueStanding {
+
+    public static final int POINTS_FOR_WIN = 3;
+    public static final int POINTS_FOR_DRAW = 1;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tournament_id")
+    private Long tournamentId;
+
+    @Column(name = "club_id")
+    private Long clubId;
+
+    private int played;
+    private int won;
+    private int drawn;
+    private int lost;
+    private int goalsFor;
+    private int goalsAgainst;
+    private int points;
+
+    public int getGoalDifference() {
+        return goalsFor - goalsAgainst;
+    }
+}
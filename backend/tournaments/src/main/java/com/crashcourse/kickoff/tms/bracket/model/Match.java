@@ -1,13 +1,17 @@
 package com.crashcourse.kickoff.tms.bracket.model;
 
+import java.time.LocalDateTime;
+
 import jakarta.persistence.*;import lombok.Data;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 
 @Entity
 @Data
-@Table(name = "GAME") // Match is a reserved SQL keyword
+@Table(name = "GAME", // Match is a reserved SQL keyword
+        indexes = @Index(name = "idx_game_bracket_position", columnList = "bracket_id, bracket_position", unique = true))
 public class Match {
 
     @Id
@@ -36,4 +40,55 @@ public class Match {
 
     private Long winningClubId;
 
+    /*
+     * When the result was first entered, so results can be replayed in the
+     * order they were played. Null for matches finished before it was stored.
+     */
+    private LocalDateTime completedAt;
+
+    /*
+     * Coordinates in the bracket, as a heap-style index: the final is 1
+     * and the matches feeding position p are 2p and 2p + 1. A winner
+     * moves on to position p / 2, into slot 1 if p is even and slot 2 if odd.
+     * Null for matches created before positions were stored.
+     */
+    @JsonIgnore
+    private Long bracketId;
+    private Long bracketPosition;
+
+    /*
+     * Double-elimination matches are numbered in play order instead, and say
+     * outright where the winner and loser go next. A null next position means
+     * the winner takes the bracket, or the loser is knocked out.
+     */
+    private Long winnerNextPosition;
+    private Integer winnerNextSlot;
+    private Long loserNextPosition;
+    private Integer loserNextSlot;
+
+    /**
+     * Heap index of the match in the round with the given number
+     * (counting down, so the final is round 1).
+     */
+    public static long bracketPositionOf(long roundNumber, long matchNumber) {
+        return (1L << (roundNumber - 1)) + matchNumber - 1;
+    }
+
+    @JsonIgnore
+    public boolean isFinal() {
+        return bracketPosition != null && bracketPosition == 1L;
+    }
+
+    @JsonIgnore
+    public Long getNextBracketPosition() {
+        return bracketPosition == null ? null : bracketPosition / 2;
+    }
+
+    /**
+     * @return 1 if the winner goes into club1 of the next match, 2 if club2.
+     */
+    @JsonIgnore
+    public int getNextMatchSlot() {
+        return bracketPosition % 2 == 0 ? 1 : 2;
+    }
 }
@@ -0,0 +1,93 @@
+package com.crashcourse.kickoff.tms.bracket.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.crashcourse.kickoff.tms.bracket.service.RatingCalculator;
+
+/**
+ * Finished matches in the order they were played, held as primitive
+ * columns so that a million of them take a few tens of megabytes.
+ *
+ * Clubs are numbered 0 to clubCount - 1 in the order they first appear,
+ * and matches refer to clubs by that number.
+ */
+public class MatchHistory {
+
+    private final Map<Long, Integer> clubIndex = new HashMap<>();
+    private long[] clubIds = new long[64];
+    private int clubCount;
+
+    private int[] club1 = new int[1024];
+    private int[] club2 = new int[1024];
+    private int[] club1Score = new int[1024];
+    private int[] club2Score = new int[1024];
+    private byte[] outcome = new byte[1024];
+    private int size;
+
+    /**
+     * Appends a match; it is taken to be played after every match already added.
+     */
+    public void add(long club1Id, long club2Id, int club1Score, int club2Score, Long winningClubId) {
+        if (size == club1.length) {
+            int capacity = size * 2;
+            club1 = Arrays.copyOf(club1, capacity);
+            club2 = Arrays.copyOf(club2, capacity);
+            this.club1Score = Arrays.copyOf(this.club1Score, capacity);
+            this.club2Score = Arrays.copyOf(this.club2Score, capacity);
+            outcome = Arrays.copyOf(outcome, capacity);
+        }
+        club1[size] = indexOf(club1Id);
+        club2[size] = indexOf(club2Id);
+        this.club1Score[size] = club1Score;
+        this.club2Score[size] = club2Score;
+        outcome[size] = RatingCalculator.outcomeOf(club1Id, winningClubId);
+        size++;
+    }
+
+    private int indexOf(long clubId) {
+        Integer index = clubIndex.get(clubId);
+        if (index != null) {
+            return index;
+        }
+        if (clubCount == clubIds.length) {
+            clubIds = Arrays.copyOf(clubIds, clubCount * 2);
+        }
+        clubIds[clubCount] = clubId;
+        clubIndex.put(clubId, clubCount);
+        return clubCount++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int clubCount() {
+        return clubCount;
+    }
+
+    public long clubId(int club) {
+        return clubIds[club];
+    }
+
+    public int club1(int match) {
+        return club1[match];
+    }
+
+    public int club2(int match) {
+        return club2[match];
+    }
+
+    public int club1Score(int match) {
+        return club1Score[match];
+    }
+
+    public int club2Score(int match) {
+        return club2Score[match];
+    }
+
+    public byte outcome(int match) {
+        return outcome[match];
+    }
+}
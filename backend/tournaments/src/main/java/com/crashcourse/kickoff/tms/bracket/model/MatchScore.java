@@ -0,0 +1,27 @@
+package com.crashcourse.kickoff.tms.bracket.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/*
+ * Snapshot of a finished match's score, taken before the match is updated,
+ * so a corrected result can be taken back out of the league standings
+ */
+@Data
+@AllArgsConstructor
+public class MatchScore {
+    private Long club1Id;
+    private Long club2Id;
+    private int club1Score;
+    private int club2Score;
+
+    /**
+     * @return The current score of the match, or null if it is not over yet.
+     */
+    public static MatchScore of(Match match) {
+        if (!match.isOver()) {
+            return null;
+        }
+        return new MatchScore(match.getClub1Id(), match.getClub2Id(), match.getClub1Score(), match.getClub2Score());
+    }
+}
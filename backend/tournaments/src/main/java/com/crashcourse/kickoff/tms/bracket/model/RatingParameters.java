@@ -0,0 +1,45 @@
+package com.crashcourse.kickoff.tms.bracket.model;
+
+/**
+ * Constants of the Glicko-like rating system, see RatingCalculator.
+ *
+ * DEFAULT is what live results are rated with. A replay can be run with
+ * other values to see how every club's rating would change under them.
+ *
+ * @param eloSensitivityBase       Base sensitivity to Elo change (K at the reference RD).
+ * @param scoreSensitivity         Shifts the sigmoid applied to the score difference.
+ * @param ratingDeviationBase      Reference RD that K is scaled against.
+ * @param expectedScoreDenominator Rating scale of the expected score.
+ * @param minimumEloGain           Least a winner gains and a loser drops.
+ * @param minimumRatingDeviationDecrease Least a club's RD falls after a match.
+ * @param ratingDeviationCap       Lowest RD a club can reach.
+ * @param initialElo               Elo a club starts with.
+ * @param initialRatingDeviation   RD a club starts with.
+ */
+public record RatingParameters(
+        double eloSensitivityBase,
+        int scoreSensitivity,
+        double ratingDeviationBase,
+        int expectedScoreDenominator,
+        double minimumEloGain,
+        double minimumRatingDeviationDecrease,
+        double ratingDeviationCap,
+        double initialElo,
+        double initialRatingDeviation) {
+
+    /*
+     * Each of these divides somewhere in the formula
+     */
+    public RatingParameters {
+        if (ratingDeviationBase <= 0 || expectedScoreDenominator <= 0 || ratingDeviationCap <= 0
+                || initialRatingDeviation <= 0) {
+            throw new IllegalArgumentException(
+                    "Rating deviation base, expected score denominator, rating deviation cap and initial rating deviation must be positive.");
+        }
+    }
+
+    /*
+     * Clubs are created with 500 / 200, see CreateClub in the frontend
+     */
+    public static final RatingParameters DEFAULT = new RatingParameters(30, 0, 50, 400, 1.0, 0.5, 30.0, 500, 200);
+}
@@ -0,0 +1,92 @@
+package com.crashcourse.kickoff.tms.bracket.model;
+
+import java.time.LocalDateTime;
+
+import com.crashcourse.kickoff.tms.bracket.dto.MatchUpdateDTO;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * A match result whose Elo changes still have to reach the clubs service.
+ * It is written in the same transaction as the result, and delivered
+ * later by RatingUpdateDispatcher. The new ratings are worked out once and
+ * stored before they are sent, so a retry sends exactly the same values.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "rating_update_outbox",
+        indexes = @Index(name = "idx_rating_update_status_id", columnList = "status, id"))
+public class RatingUpdateEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long matchId;
+
+    /*
+     * The result; no winning club means a draw
+     */
+    private Long club1Id;
+    private Long club2Id;
+    private int club1Score;
+    private int club2Score;
+    private Long winningClubId;
+
+    /*
+     * New ratings, null until they have been worked out
+     */
+    private Double club1Elo;
+    private Double club1RatingDeviation;
+    private Double club2Elo;
+    private Double club2RatingDeviation;
+
+    /*
+     * Rating version each club's new rating was worked out from, sent as
+     * the version the clubs service must still have
+     */
+    private Long club1RatingVersion;
+    private Long club2RatingVersion;
+
+    /*
+     * Whether each club's new rating has reached the clubs service,
+     * so that a retry only sends the one that has not
+     */
+    private boolean club1Sent;
+    private boolean club2Sent;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private RatingUpdateStatus status = RatingUpdateStatus.PENDING;
+
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+
+    public static RatingUpdateEvent of(Long matchId, MatchUpdateDTO result) {
+        RatingUpdateEvent event = new RatingUpdateEvent();
+        event.setMatchId(matchId);
+        event.setClub1Id(result.getClub1Id());
+        event.setClub2Id(result.getClub2Id());
+        event.setClub1Score(result.getClub1Score());
+        event.setClub2Score(result.getClub2Score());
+        event.setWinningClubId(result.getWinningClubId());
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+
+    public MatchUpdateDTO toMatchUpdate() {
+        return new MatchUpdateDTO(true, club1Id, club2Id, club1Score, club2Score, winningClubId);
+    }
+
+    public boolean isRated() {
+        return club1Elo != null;
+    }
+}
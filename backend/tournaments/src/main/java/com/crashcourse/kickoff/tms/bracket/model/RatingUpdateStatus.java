@@ -0,0 +1,7 @@
+package com.crashcourse.kickoff.tms.bracket.model;
+
+public enum RatingUpdateStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -4,6 +4,9 @@ import java.util.*;
 
 import com.crashcourse.kickoff.tms.tournament.model.Tournament;
 
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -20,6 +23,9 @@ public class Round {
     
     private Long roundNumber;
 
+    @Enumerated(EnumType.STRING)
+    private BracketStage stage;
+
     @JsonIgnore
     @ManyToOne
     @JoinColumn(name = "tournament_id")
@@ -27,5 +33,6 @@ public class Round {
 
     @JsonManagedReference
     @OneToMany(mappedBy = "round", cascade = CascadeType.ALL)
+    @Fetch(FetchMode.SUBSELECT)
     private List<Match> matches;
 }
@@ -0,0 +1,18 @@
+package com.crashcourse.kickoff.tms.bracket.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/*
+ * A Swiss-system tournament. Nobody is knocked out: each round pairs clubs
+ * on the same score, and round N + 1 is only drawn once round N is over.
+ * Rounds count up from 1, and points are kept in the league standings.
+ */
+@Entity
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class SwissBracket extends Bracket {
+
+    private Integer numberOfRounds;
+}
@@ -0,0 +1,182 @@
+package com.crashcourse.kickoff.tms.bracket.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.crashcourse.kickoff.tms.bracket.model.Bracket;
+import com.crashcourse.kickoff.tms.bracket.model.Match;
+import com.crashcourse.kickoff.tms.bracket.model.Round;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes a fully built Bracket/Round/Match graph with JDBC batches.
+ *
+ * The graph is inserted with a fixed number of statements no matter how
+ * many clubs are in the bracket: one insert for the bracket, one batch for
+ * its rounds, one select to read the round IDs back and one batch for every
+ * match, winners and losers sides alike. Callers are expected to run this
+ * inside their own transaction.
+ *
+ * The lower-level insert methods let a caller stream matches in chunks of
+ * its own choosing instead of holding the whole graph in memory.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BracketBatchRepository {
+
+    private static final String INSERT_BRACKET =
+            "INSERT INTO bracket (bracket_type, tournament_id, winning_club_id) VALUES (?, ?, ?)";
+    private static final String INSERT_ROUND =
+            "INSERT INTO round (round_number, stage, tournament_id, bracket_id) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_ROUND_IDS =
+            "SELECT id, round_number, stage FROM round WHERE bracket_id = ?";
+    private static final String INSERT_MATCH =
+            "INSERT INTO game (is_over, match_number, round_id, club1id, club2id, club1score, club2score, winning_club_id, "
+                    + "bracket_id, bracket_position, winner_next_position, winner_next_slot, loser_next_position, loser_next_slot) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_STANDING =
+            "INSERT INTO league_standing (tournament_id, club_id, played, won, drawn, lost, goals_for, goals_against, points) "
+                    + "VALUES (?, ?, 0, 0, 0, 0, 0, 0, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the bracket, its rounds and their matches.
+     *
+     * @param bracket Bracket built in memory, with rounds and matches attached.
+     * @return ID of the inserted bracket.
+     */
+    public Long insertBracket(Bracket bracket) {
+        Long bracketId = insertBracketRow(bracket);
+        Map<Round, Long> roundIds = insertRounds(bracketId, bracket.getRounds());
+
+        List<Match> matches = new ArrayList<>();
+        for (Round round : bracket.getRounds()) {
+            matches.addAll(round.getMatches());
+        }
+        insertMatches(bracketId, roundIds, matches);
+
+        return bracketId;
+    }
+
+    /**
+     * Inserts only the bracket row, for callers that write rounds and
+     * matches themselves.
+     *
+     * @return ID of the inserted bracket.
+     */
+    public Long insertBracketRow(Bracket bracket) {
+        Long tournamentId = tournamentIdOf(bracket);
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_BRACKET, new String[] { "id" });
+            ps.setString(1, bracket.getClass().getSimpleName());
+            setNullableLong(ps, 2, tournamentId);
+            setNullableLong(ps, 3, bracket.getWinningClubId());
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    /**
+     * Inserts the rounds of a bracket in one batch and reads their IDs back.
+     *
+     * @return The generated ID of each round, keyed by the Round instance passed in.
+     */
+    public Map<Round, Long> insertRounds(Long bracketId, List<Round> rounds) {
+        List<Object[]> roundRows = new ArrayList<>(rounds.size());
+        for (Round round : rounds) {
+            Long tournamentId = round.getTournament() != null ? round.getTournament().getId() : null;
+            roundRows.add(new Object[] { round.getRoundNumber(), stageName(round), tournamentId, bracketId });
+        }
+        jdbcTemplate.batchUpdate(INSERT_ROUND, roundRows);
+
+        Map<String, Long> idsByKey = new HashMap<>();
+        jdbcTemplate.query(SELECT_ROUND_IDS,
+                rs -> {
+                    idsByKey.put(roundKey(rs.getString("stage"), rs.getLong("round_number")), rs.getLong("id"));
+                },
+                bracketId);
+
+        Map<Round, Long> roundIds = new IdentityHashMap<>();
+        for (Round round : rounds) {
+            roundIds.put(round, idsByKey.get(roundKey(stageName(round), round.getRoundNumber())));
+        }
+        return roundIds;
+    }
+
+    /**
+     * Inserts matches in one batch. Each match must point at one of the
+     * rounds returned by insertRounds.
+     */
+    public void insertMatches(Long bracketId, Map<Round, Long> roundIds, List<Match> matches) {
+        List<Object[]> matchRows = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            matchRows.add(new Object[] {
+                    match.isOver(),
+                    match.getMatchNumber(),
+                    roundIds.get(match.getRound()),
+                    match.getClub1Id(),
+                    match.getClub2Id(),
+                    match.getClub1Score(),
+                    match.getClub2Score(),
+                    match.getWinningClubId(),
+                    bracketId,
+                    match.getBracketPosition(),
+                    match.getWinnerNextPosition(),
+                    match.getWinnerNextSlot(),
+                    match.getLoserNextPosition(),
+                    match.getLoserNextSlot()
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_MATCH, matchRows);
+    }
+
+    /**
+     * Inserts an empty league table row for each club, in one batch.
+     */
+    public void insertStandings(Long tournamentId, List<Long> clubIds) {
+        List<Object[]> standingRows = new ArrayList<>(clubIds.size());
+        for (Long clubId : clubIds) {
+            standingRows.add(new Object[] { tournamentId, clubId });
+        }
+        jdbcTemplate.batchUpdate(INSERT_STANDING, standingRows);
+    }
+
+    private static Long tournamentIdOf(Bracket bracket) {
+        return bracket.getTournament() != null ? bracket.getTournament().getId() : null;
+    }
+
+    /*
+     * Round numbers only repeat across the stages of a double-elimination bracket
+     */
+    private static String stageName(Round round) {
+        return round.getStage() != null ? round.getStage().name() : null;
+    }
+
+    private static String roundKey(String stage, long roundNumber) {
+        return stage + ":" + roundNumber;
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.crashcourse.kickoff.tms.bracket.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.crashcourse.kickoff.tms.bracket.model.LeagueStanding;
+
+/**
+ * Repository interface for LeagueStanding entities.
+ */
+@Repository
+public interface LeagueStandingRepository extends JpaRepository<LeagueStanding, Long> {
+
+    /*
+     * Ordered by points, goal difference and goals scored;
+     * head-to-head ties are broken by the caller
+     */
+    @Query("SELECT s FROM LeagueStanding s WHERE s.tournamentId = :tournamentId "
+            + "ORDER BY s.points DESC, (s.goalsFor - s.goalsAgainst) DESC, s.goalsFor DESC, s.clubId ASC")
+    List<LeagueStanding> findTable(@Param("tournamentId") Long tournamentId);
+
+    /*
+     * Applied as a single relative update so concurrent results
+     * for the same club cannot overwrite each other
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LeagueStanding s SET s.played = s.played + :played, s.won = s.won + :won, "
+            + "s.drawn = s.drawn + :drawn, s.lost = s.lost + :lost, s.goalsFor = s.goalsFor + :goalsFor, "
+            + "s.goalsAgainst = s.goalsAgainst + :goalsAgainst, s.points = s.points + :points "
+            + "WHERE s.tournamentId = :tournamentId AND s.clubId = :clubId")
+    int applyResult(@Param("tournamentId") Long tournamentId, @Param("clubId") Long clubId,
+            @Param("played") int played, @Param("won") int won, @Param("drawn") int drawn, @Param("lost") int lost,
+            @Param("goalsFor") int goalsFor, @Param("goalsAgainst") int goalsAgainst, @Param("points") int points);
+}
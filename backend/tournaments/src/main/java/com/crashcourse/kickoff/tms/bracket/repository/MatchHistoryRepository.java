@@ -0,0 +1,54 @@
+package com.crashcourse.kickoff.tms.bracket.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.crashcourse.kickoff.tms.bracket.model.MatchHistory;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reads every finished match with JDBC, straight into a MatchHistory,
+ * without building a Match entity per row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MatchHistoryRepository {
+
+    /*
+     * Byes have no second club and were never rated. Matches finished before
+     * completed_at was stored sort first, in the order they were created;
+     * that is spelled out, since databases disagree on where NULLs sort.
+     */
+    private static final String SELECT_COMPLETED =
+            "SELECT club1id, club2id, club1score, club2score, winning_club_id FROM game "
+                    + "WHERE is_over = TRUE AND club1id IS NOT NULL AND club2id IS NOT NULL "
+                    + "ORDER BY CASE WHEN completed_at IS NULL THEN 0 ELSE 1 END, completed_at, id";
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return Every finished match between two clubs, in the order they were played.
+     */
+    public MatchHistory findCompletedMatches() {
+        MatchHistory history = new MatchHistory();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_COMPLETED,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> history.add(
+                rs.getLong(1),
+                rs.getLong(2),
+                rs.getInt(3),
+                rs.getInt(4),
+                rs.getObject(5, Long.class)));
+        return history;
+    }
+}
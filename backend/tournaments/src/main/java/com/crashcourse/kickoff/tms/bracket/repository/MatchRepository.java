@@ -1,7 +1,13 @@
 package com.crashcourse.kickoff.tms.bracket.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import com.crashcourse.kickoff.tms.bracket.model.Match;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,5 +15,33 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface MatchRepository extends JpaRepository<Match, Long> {
-    // Add custom query methods if needed
+
+    /*
+     * Uses the (bracket_id, bracket_position) index
+     */
+    Optional<Match> findByBracketIdAndBracketPosition(Long bracketId, Long bracketPosition);
+
+    @Query("SELECT COUNT(m) FROM Match m WHERE m.bracketId = :bracketId AND m.isOver = false")
+    long countUnplayed(@Param("bracketId") Long bracketId);
+
+    @Query("SELECT COUNT(m) FROM Match m WHERE m.round.id = :roundId AND m.isOver = false")
+    long countUnplayedInRound(@Param("roundId") Long roundId);
+
+    List<Match> findByBracketId(Long bracketId);
+
+    /*
+     * Rounds are fetched in the same select, for building bracket views
+     */
+    @Query("SELECT m FROM Match m JOIN FETCH m.round WHERE m.bracketId = :bracketId")
+    List<Match> findWithRoundByBracketId(@Param("bracketId") Long bracketId);
+
+    @Query("SELECT m FROM Match m JOIN FETCH m.round WHERE m.bracketId IN :bracketIds")
+    List<Match> findWithRoundByBracketIdIn(@Param("bracketIds") Collection<Long> bracketIds);
+
+    /*
+     * Finished matches played between clubs of the given group, for head-to-head tiebreaks
+     */
+    @Query("SELECT m FROM Match m WHERE m.bracketId = :bracketId AND m.isOver = true "
+            + "AND m.club1Id IN :clubIds AND m.club2Id IN :clubIds")
+    List<Match> findPlayedBetween(@Param("bracketId") Long bracketId, @Param("clubIds") Collection<Long> clubIds);
 }
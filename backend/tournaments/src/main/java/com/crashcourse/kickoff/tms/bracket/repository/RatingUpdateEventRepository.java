@@ -0,0 +1,22 @@
+package com.crashcourse.kickoff.tms.bracket.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.crashcourse.kickoff.tms.bracket.model.RatingUpdateEvent;
+import com.crashcourse.kickoff.tms.bracket.model.RatingUpdateStatus;
+
+/**
+ * Repository interface for the rating update outbox.
+ */
+@Repository
+public interface RatingUpdateEventRepository extends JpaRepository<RatingUpdateEvent, Long> {
+
+    /*
+     * Oldest first, so each club's results are applied in the order they were entered
+     */
+    List<RatingUpdateEvent> findByStatusOrderByIdAsc(RatingUpdateStatus status, Limit limit);
+}
@@ -0,0 +1,13 @@
+package com.crashcourse.kickoff.tms.bracket.seeding;
+
+/**
+ * Seeds clubs from highest to lowest Elo. Clubs on the same rating keep
+ * the order they were given in.
+ */
+public class EloSeeding implements SeedingStrategy {
+
+    @Override
+    public int[] rank(double[] ratings) {
+        return RatingSort.descending(ratings);
+    }
+}
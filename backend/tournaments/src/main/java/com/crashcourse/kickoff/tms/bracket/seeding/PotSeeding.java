@@ -0,0 +1,45 @@
+package com.crashcourse.kickoff.tms.bracket.seeding;
+
+import java.util.SplittableRandom;
+
+/**
+ * Splits clubs into pots by Elo and draws at random within each pot, so the
+ * strongest pot takes the top seeds in some random order, then the next pot,
+ * and so on. The same random seed always gives the same draw.
+ */
+public class PotSeeding implements SeedingStrategy {
+
+    public static final int DEFAULT_NUMBER_OF_POTS = 4;
+
+    private final int numberOfPots;
+    private final long randomSeed;
+
+    public PotSeeding(int numberOfPots, long randomSeed) {
+        if (numberOfPots < 1) {
+            throw new IllegalArgumentException("There must be at least one pot");
+        }
+        this.numberOfPots = numberOfPots;
+        this.randomSeed = randomSeed;
+    }
+
+    @Override
+    public int[] rank(double[] ratings) {
+        int[] order = RatingSort.descending(ratings);
+        SplittableRandom random = new SplittableRandom(randomSeed);
+
+        /*
+         * Pots are as even as possible; the first ones take one extra club
+         * when the clubs do not divide evenly
+         */
+        int pots = Math.min(numberOfPots, Math.max(order.length, 1));
+        int potSize = order.length / pots;
+        int larger = order.length % pots;
+        int from = 0;
+        for (int pot = 0; pot < pots; pot++) {
+            int to = from + potSize + (pot < larger ? 1 : 0);
+            RandomSeeding.shuffle(order, from, to, random);
+            from = to;
+        }
+        return order;
+    }
+}
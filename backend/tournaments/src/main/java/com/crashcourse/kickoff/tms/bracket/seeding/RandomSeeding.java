@@ -0,0 +1,38 @@
+package com.crashcourse.kickoff.tms.bracket.seeding;
+
+import java.util.SplittableRandom;
+
+/**
+ * An open draw: every club is equally likely to get any seed. The same
+ * random seed always gives the same draw.
+ */
+public class RandomSeeding implements SeedingStrategy {
+
+    private final long randomSeed;
+
+    public RandomSeeding(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    @Override
+    public int[] rank(double[] ratings) {
+        int[] order = new int[ratings.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        shuffle(order, 0, order.length, new SplittableRandom(randomSeed));
+        return order;
+    }
+
+    /*
+     * Fisher-Yates over order[from, to)
+     */
+    static void shuffle(int[] order, int from, int to, SplittableRandom random) {
+        for (int i = to - 1; i > from; i--) {
+            int j = from + random.nextInt(i - from + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.crashcourse.kickoff.tms.bracket.seeding;
+
+/**
+ * Orders club indices by rating without boxing them.
+ */
+public final class RatingSort {
+
+    private RatingSort() {
+    }
+
+    /**
+     * @return Indices into ratings, highest rating first. Equal ratings keep
+     *         their original order.
+     */
+    public static int[] descending(double[] ratings) {
+        int n = ratings.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+
+        /*
+         * Bottom-up merge sort, which is stable. The ratings are moved along
+         * with the indices so comparisons read them in sequence
+         */
+        double[] keys = ratings.clone();
+        int[] orderBuffer = new int[n];
+        double[] keyBuffer = new double[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int left = 0; left < n - width; left += 2 * width) {
+                int middle = left + width;
+                int right = Math.min(left + 2 * width, n);
+                int i = left;
+                int j = middle;
+                int k = left;
+                while (i < middle && j < right) {
+                    if (keys[j] > keys[i]) {
+                        keyBuffer[k] = keys[j];
+                        orderBuffer[k++] = order[j++];
+                    } else {
+                        keyBuffer[k] = keys[i];
+                        orderBuffer[k++] = order[i++];
+                    }
+                }
+                while (i < middle) {
+                    keyBuffer[k] = keys[i];
+                    orderBuffer[k++] = order[i++];
+                }
+                while (j < right) {
+                    keyBuffer[k] = keys[j];
+                    orderBuffer[k++] = order[j++];
+                }
+                System.arraycopy(orderBuffer, left, order, left, right - left);
+                System.arraycopy(keyBuffer, left, keys, left, right - left);
+            }
+        }
+        return order;
+    }
+}
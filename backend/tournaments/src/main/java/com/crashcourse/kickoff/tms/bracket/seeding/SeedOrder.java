@@ -0,0 +1,67 @@
+package com.crashcourse.kickoff.tms.bracket.seeding;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Standard seed order for a bracket: which seed goes in each first-round slot,
+ * so that seed 1 meets seed n, and seeds 1 and 2 can only meet in the final.
+ *
+ * Each table is built once per power-of-two bracket size, by doubling the
+ * table for the size below, and shared from then on.
+ */
+public final class SeedOrder {
+
+    private static final int MAX_SIZE_EXPONENT = 30;
+
+    private static final AtomicReferenceArray<int[]> TABLES = new AtomicReferenceArray<>(MAX_SIZE_EXPONENT + 1);
+
+    private SeedOrder() {
+    }
+
+    /**
+     * Returns the shared seed order for the bracket size. Slot i (0-based)
+     * holds the seed (1-based) placed there. Callers must not modify it.
+     *
+     * @param bracketSize A power of 2.
+     */
+    public static int[] of(int bracketSize) {
+        if (bracketSize < 1 || (bracketSize & (bracketSize - 1)) != 0) {
+            throw new IllegalArgumentException("Bracket size must be a power of 2");
+        }
+        int exponent = Integer.numberOfTrailingZeros(bracketSize);
+        int[] table = TABLES.get(exponent);
+        if (table == null) {
+            /*
+             * Two threads may build the same table at once; both results are identical
+             */
+            table = build(bracketSize);
+            TABLES.compareAndSet(exponent, null, table);
+            table = TABLES.get(exponent);
+        }
+        return table;
+    }
+
+    /**
+     * Smallest power of 2 that fits the given number of clubs.
+     */
+    public static int bracketSizeFor(int numberOfClubs) {
+        return numberOfClubs <= 1 ? 1 : Integer.highestOneBit(numberOfClubs - 1) << 1;
+    }
+
+    /*
+     * Each seed s of the smaller bracket is followed by its opponent,
+     * size + 1 - s, in the larger one
+     */
+    private static int[] build(int bracketSize) {
+        if (bracketSize == 1) {
+            return new int[] { 1 };
+        }
+        int[] half = of(bracketSize / 2);
+        int[] table = new int[bracketSize];
+        for (int i = 0; i < half.length; i++) {
+            table[2 * i] = half[i];
+            table[2 * i + 1] = bracketSize + 1 - half[i];
+        }
+        return table;
+    }
+}
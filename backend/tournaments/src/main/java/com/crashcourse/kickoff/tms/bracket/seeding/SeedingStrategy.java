@@ -0,0 +1,34 @@
+package com.crashcourse.kickoff.tms.bracket.seeding;
+
+import com.crashcourse.kickoff.tms.tournament.model.SeedingMethod;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+
+/**
+ * Decides which club gets which seed.
+ *
+ * Clubs are referred to by their index in the ratings array. Where each seed
+ * is placed in the bracket is not up to the strategy; that comes from the
+ * standard seed order in SeedOrder, so seeds 1 and 2 can only meet in the final.
+ */
+public interface SeedingStrategy {
+
+    /**
+     * @param ratings Elo rating of each club, by index.
+     * @return Club indices in seed order: element 0 is seed 1.
+     */
+    int[] rank(double[] ratings);
+
+    /**
+     * Strategy chosen by the tournament. Random draws are seeded with the
+     * tournament's ID, so drawing the same tournament again gives the same bracket.
+     */
+    static SeedingStrategy forTournament(Tournament tournament) {
+        SeedingMethod method = tournament.getSeedingMethod() != null ? tournament.getSeedingMethod() : SeedingMethod.ELO;
+        long randomSeed = tournament.getId() != null ? tournament.getId() : 0L;
+        return switch (method) {
+            case ELO -> new EloSeeding();
+            case RANDOM -> new RandomSeeding(randomSeed);
+            case POTS -> new PotSeeding(PotSeeding.DEFAULT_NUMBER_OF_POTS, randomSeed);
+        };
+    }
+}
@@ -4,10 +4,13 @@ import java.util.*;
 
 import com.crashcourse.kickoff.tms.bracket.model.*;
 import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.bracket.dto.BracketView;
 import com.crashcourse.kickoff.tms.bracket.dto.MatchUpdateDTO;
 
 public interface BracketService {
     Bracket createBracket(Long tournamentId, List<Long> joinedClubIds, String jwtToken);
     Match updateMatch(Tournament tournament, Match match, MatchUpdateDTO matchUpdateDTO);
     void seedClubs(Round firstRound, List<Long> clubIds, String jwtToken);
+    BracketView getBracketView(Tournament tournament);
+    Map<Long, BracketView> getBracketViews(List<Tournament> tournaments);
 }
\ No newline at end of file
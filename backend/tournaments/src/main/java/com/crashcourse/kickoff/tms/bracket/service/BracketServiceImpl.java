@@ -1,19 +1,27 @@
 package com.crashcourse.kickoff.tms.bracket.service;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.crashcourse.kickoff.tms.client.ClubServiceClient;
-import com.crashcourse.kickoff.tms.club.ClubProfile;
+import com.crashcourse.kickoff.tms.club.ClubRatingProfile;
 
+import com.crashcourse.kickoff.tms.bracket.dto.BracketView;
+import com.crashcourse.kickoff.tms.bracket.dto.BracketView.MatchView;
 import com.crashcourse.kickoff.tms.bracket.dto.MatchUpdateDTO;
 import com.crashcourse.kickoff.tms.bracket.model.*;
 import com.crashcourse.kickoff.tms.bracket.repository.*;
 import com.crashcourse.kickoff.tms.bracket.exception.*;
+import com.crashcourse.kickoff.tms.bracket.seeding.SeedOrder;
+import com.crashcourse.kickoff.tms.bracket.seeding.SeedingStrategy;
 
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
 import com.crashcourse.kickoff.tms.tournament.model.Tournament;
 import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
 
@@ -26,12 +34,22 @@ public class BracketServiceImpl implements BracketService {
 
     private final TournamentRepository tournamentRepository;
     private final BracketRepository bracketRepository;
-    private final RoundRepository roundRepository;
     private final MatchRepository matchRepository;
-    private final RoundService roundService;
+    private final BracketBatchRepository bracketBatchRepository;
+    private final LeagueService leagueService;
+    private final SwissService swissService;
     private final ClubServiceClient clubServiceClient;
-
+    private final BracketViewCache bracketViewCache;
+
+    /**
+     * Creates the bracket for a tournament in the format it asks for: single
+     * or double elimination, a league, or Swiss rounds. Knockout brackets are
+     * built whole in memory - rounds, matches, seeding and byes - and then
+     * written in one go with JDBC batches, so the number of statements does
+     * not grow with the number of clubs.
+     */
     @Override
+    @Transactional
     public Bracket createBracket(Long tournamentId, List<Long> joinedClubIds, String jwtToken) {
         /*
          * Validation
@@ -44,133 +62,236 @@ public class BracketServiceImpl implements BracketService {
             .orElseThrow(() -> new EntityNotFoundException("Tournament not found with id: " + tournamentId));
         
         /*
-         * Create Bracket
+         * Leagues stream their fixtures straight to the database
          */
-        int numberOfRounds = (int) Math.ceil(Math.log(numberOfClubs) / Math.log(2));
-        Bracket bracket = new Bracket();
-        List<Round> bracketRounds = new ArrayList<>();
+        if (tournament.getKnockoutFormat() == KnockoutFormat.ROUND_ROBIN) {
+            Bracket league = leagueService.createLeague(tournament, joinedClubIds);
+            tournament.setBracket(league);
+            bracketViewCache.evict(tournamentId);
+            return league;
+        }
 
-        while (numberOfRounds > 0) {
-            int size = (int) Math.pow(2, numberOfRounds - 1.0);
-            bracketRounds.add(roundService.createRound(size, numberOfRounds));
-            numberOfRounds--;
+        /*
+         * Swiss rounds are drawn one at a time as results come in
+         */
+        if (tournament.getKnockoutFormat() == KnockoutFormat.SWISS) {
+            Bracket swiss = swissService.createSwiss(tournament, joinedClubIds, jwtToken);
+            tournament.setBracket(swiss);
+            bracketViewCache.evict(tournamentId);
+            return swiss;
         }
 
-        bracket.setRounds(bracketRounds);
-        Round firstRound = bracketRounds.get(0);
-        seedClubs(firstRound, joinedClubIds, jwtToken);
-        promoteByes(bracket, bracketRounds.get(0), bracketRounds.get(1));
-        bracketRepository.save(bracket);        
+        /*
+         * Create Bracket
+         */
+        int numberOfRounds = Math.max(1, (int) Math.ceil(Math.log(numberOfClubs) / Math.log(2)));
+        Bracket bracket;
+        if (tournament.getKnockoutFormat() == KnockoutFormat.DOUBLE_ELIM) {
+            bracket = buildDoubleEliminationBracket(tournament, 1 << numberOfRounds, joinedClubIds, jwtToken);
+        } else {
+            bracket = buildSingleEliminationBracket(tournament, numberOfRounds, joinedClubIds, jwtToken);
+        }
 
-        bracket.setTournament(tournament);
-        tournament.setBracket(bracket);
+        /*
+         * Persist the whole graph, then hand back a managed copy
+         */
+        Long bracketId = bracketBatchRepository.insertBracket(bracket);
+        Bracket savedBracket = bracketRepository.findById(bracketId)
+            .orElseThrow(() -> new EntityNotFoundException("Bracket not found with id: " + bracketId));
+        tournament.setBracket(savedBracket);
+        bracketViewCache.put(tournamentId, buildView(savedBracket));
 
-        return bracket;
+        return savedBracket;
     }
 
-    /*
-     * Seeding Algorithm
+    /**
+     * Returns the tournament's bracket as a read-only view, from the cache
+     * if it is there. Only a cache miss reads rounds and matches, with one
+     * query each.
+     *
+     * @return The bracket view, or null if the tournament has not started.
      */
-    private List<Integer> generateStandardSeedOrder(int bracketSize) {
-        if ((bracketSize & (bracketSize - 1)) != 0) {
-            throw new IllegalArgumentException("Bracket size must be a power of 2");
+    @Override
+    @Transactional(readOnly = true)
+    public BracketView getBracketView(Tournament tournament) {
+        Bracket bracket = tournament.getBracket();
+        if (bracket == null) {
+            return null;
         }
-        return generateSeedsRecursively(bracketSize);
+        return bracketViewCache.get(tournament.getId(), () -> buildView(bracket));
     }
 
-    private List<Integer> generateSeedsRecursively(int bracketSize) {
-        if (bracketSize == 1) {
-            List<Integer> seed = new ArrayList<>();
-            seed.add(1);
-            return seed;
+    /**
+     * Returns the bracket views of several tournaments at once, keyed by
+     * tournament ID. Views missing from the cache are built together, with one
+     * query for all of their rounds and one for all of their matches.
+     *
+     * @return The views of the tournaments that have a bracket.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, BracketView> getBracketViews(List<Tournament> tournaments) {
+        Map<Long, Bracket> bracketsByTournamentId = new HashMap<>();
+        for (Tournament tournament : tournaments) {
+            if (tournament.getBracket() != null) {
+                bracketsByTournamentId.put(tournament.getId(), tournament.getBracket());
+            }
         }
+        if (bracketsByTournamentId.isEmpty()) {
+            return Map.of();
+        }
+        return bracketViewCache.getAll(bracketsByTournamentId.keySet(),
+                missing -> buildViews(missing, bracketsByTournamentId));
+    }
 
-        List<Integer> prevSeeds = generateSeedsRecursively(bracketSize / 2);
-        List<Integer> mirroredSeeds = new ArrayList<>();
-
-        for (int seed : prevSeeds) {
-            mirroredSeeds.add(bracketSize + 1 - seed);
+    private Map<Long, BracketView> buildViews(Set<Long> tournamentIds, Map<Long, Bracket> bracketsByTournamentId) {
+        List<Long> bracketIds = new ArrayList<>(tournamentIds.size());
+        for (Long tournamentId : tournamentIds) {
+            bracketIds.add(bracketsByTournamentId.get(tournamentId).getId());
         }
 
-        List<Integer> combinedSeeds = new ArrayList<>();
-        for (int i = 0; i < prevSeeds.size(); i++) {
-            combinedSeeds.add(prevSeeds.get(i));
-            combinedSeeds.add(mirroredSeeds.get(i));
+        Map<Long, List<Match>> matchesByBracketId = new HashMap<>();
+        for (Match match : matchRepository.findWithRoundByBracketIdIn(bracketIds)) {
+            matchesByBracketId.computeIfAbsent(match.getBracketId(), bracketId -> new ArrayList<>()).add(match);
         }
 
-        return combinedSeeds;
+        Map<Long, BracketView> views = new HashMap<>();
+        for (Long tournamentId : tournamentIds) {
+            Bracket bracket = bracketsByTournamentId.get(tournamentId);
+            views.put(tournamentId, buildView(bracket, matchesByBracketId.getOrDefault(bracket.getId(), List.of())));
+        }
+        return views;
     }
 
-    public void seedIntoMatches(List<Match> matches, List<Integer> seedPositions, List<ClubProfile> clubs, int byes) {
-        int seedIndex = 0;
-    
-        for (Match match : matches) {
+    private BracketView buildView(Bracket bracket) {
+        return buildView(bracket, matchRepository.findWithRoundByBracketId(bracket.getId()));
+    }
 
-            boolean byeRound1 = assignClubToMatch(match, seedPositions, clubs, seedIndex, 1);
-            if (byeRound1) {
-                byes--;
-            }
-            seedIndex++;
-    
-            if (seedIndex < seedPositions.size()) {
-                boolean byeRound2 = assignClubToMatch(match, seedPositions, clubs, seedIndex, 2);
-                if (byeRound2) {
-                    byes--;
-                }
-                seedIndex++;
+    /*
+     * Matches saved before they carried a bracket ID are read round by round instead
+     */
+    private BracketView buildView(Bracket bracket, List<Match> matches) {
+        List<Round> rounds = bracket.getRounds() != null ? bracket.getRounds() : List.of();
+        if (matches.isEmpty()) {
+            matches = new ArrayList<>();
+            for (Round round : rounds) {
+                matches.addAll(round.getMatches());
             }
-    
-            matchRepository.save(match);
         }
+        return BracketView.of(bracket, rounds, matches);
     }
 
-    private boolean assignClubToMatch(Match match, List<Integer> seedPositions,  List<ClubProfile> clubs,
-                                        int seedIndex, int clubPosition) {
-        if (seedIndex >= seedPositions.size()) {
-            return false;
+    private Bracket buildSingleEliminationBracket(Tournament tournament, int numberOfRounds,
+            List<Long> joinedClubIds, String jwtToken) {
+        Bracket bracket = new Bracket();
+        bracket.setTournament(tournament);
+        List<Round> bracketRounds = new ArrayList<>();
+
+        while (numberOfRounds > 0) {
+            int size = (int) Math.pow(2, numberOfRounds - 1.0);
+            bracketRounds.add(buildRound(tournament, size, numberOfRounds));
+            numberOfRounds--;
         }
-        int numberOfClubs = clubs.size();
 
-        int seed = seedPositions.get(seedIndex);
-        Long clubId = (seed <= numberOfClubs) ? clubs.get(seed - 1).getId() : null;
+        bracket.setRounds(bracketRounds);
+        Round firstRound = bracketRounds.get(0);
+        Round secondRound = bracketRounds.size() > 1 ? bracketRounds.get(1) : null;
+        seedClubs(firstRound, joinedClubIds, jwtToken);
+        promoteByes(bracket, firstRound, secondRound);
+        return bracket;
+    }
 
-        if (clubPosition == 1) {
-            match.setClub1Id(clubId);
-        } else {
-            match.setClub2Id(clubId);
+    /*
+     * Winner and loser routes are worked out once here, with byes already
+     * settled, so a result is processed in O(1) however deep the losers side goes
+     */
+    private Bracket buildDoubleEliminationBracket(Tournament tournament, int bracketSize,
+            List<Long> joinedClubIds, String jwtToken) {
+        Bracket bracket = new DoubleEliminationBracket();
+        bracket.setTournament(tournament);
+
+        DoubleEliminationLayout layout = new DoubleEliminationLayout(bracketSize);
+        List<Round> bracketRounds = layout.buildRounds(tournament);
+        bracket.setRounds(bracketRounds);
+
+        seedClubs(bracketRounds.get(0), joinedClubIds, jwtToken);
+
+        List<Match> matches = new ArrayList<>(layout.getMatchCount());
+        for (Round round : bracketRounds) {
+            matches.addAll(round.getMatches());
         }
+        bracket.setWinningClubId(layout.resolveByes(matches));
+        layout.applyRouting(matches);
+        return bracket;
+    }
 
-        return clubId == null;
+    /*
+     * Rounds and matches are only assembled here; nothing is saved
+     * until the whole bracket has been seeded
+     */
+    private Round buildRound(Tournament tournament, int numberOfMatches, int roundNumber) {
+        Round round = new Round();
+        round.setRoundNumber(Long.valueOf(roundNumber));
+        round.setTournament(tournament);
+
+        List<Match> matches = new ArrayList<>(numberOfMatches);
+        for (int i = 0; i < numberOfMatches; i++) {
+            Match match = new Match();
+            match.setMatchNumber(1L + i);
+            match.setBracketPosition(Match.bracketPositionOf(roundNumber, 1L + i));
+            match.setRound(round);
+            matches.add(match);
+        }
+
+        round.setMatches(matches);
+        return round;
     }
 
+    /**
+     * Seeds the clubs into the first round. The tournament's seeding strategy
+     * decides who gets which seed, and the cached standard seed order decides
+     * where each seed goes.
+     */
     @Override
     public void seedClubs(Round firstRound, List<Long> clubIds, String jwtToken) {
-        List<ClubProfile> clubs = new ArrayList<>();
-        for (Long id : clubIds) {
-            ClubProfile club = clubServiceClient.getClubProfileById(id, jwtToken);
-            if (club != null) {
+        /*
+         * One bulk lookup instead of a GET per club;
+         * clubs that no longer exist are left out of the seeding
+         */
+        List<ClubRatingProfile> clubs = new ArrayList<>();
+        for (ClubRatingProfile club : clubServiceClient.getClubRatingProfiles(clubIds, jwtToken)) {
+            if (club.isFound()) {
                 clubs.add(club);
             }
         }
 
-        clubs.sort(Comparator.comparingDouble(ClubProfile::getElo).reversed());
-
         int numberOfClubs = clubs.size();
-        int bracketSize = (int) Math.pow(2, Math.ceil(Math.log(numberOfClubs) / Math.log(2)));
-        int byes = bracketSize - numberOfClubs;
+        double[] ratings = new double[numberOfClubs];
+        for (int i = 0; i < numberOfClubs; i++) {
+            ratings[i] = clubs.get(i).getElo();
+        }
 
+        int[] seedOrder = SeedOrder.of(SeedOrder.bracketSizeFor(numberOfClubs));
         List<Match> matches = firstRound.getMatches();
-        int totalMatches = matches.size();
-
-
-        List<Integer> seedPositions = generateStandardSeedOrder(bracketSize);
-        if (totalMatches * 2 < seedPositions.size()) {
+        if (matches.size() * 2 < seedOrder.length) {
             throw new InsufficientMatchesException();
         }
 
-        seedIntoMatches(matches, seedPositions, clubs, byes);
+        int[] clubBySeed = SeedingStrategy.forTournament(firstRound.getTournament()).rank(ratings);
 
-        roundRepository.save(firstRound);
+        /*
+         * Slots past the number of clubs are byes
+         */
+        for (int slot = 0; slot < seedOrder.length; slot++) {
+            int seed = seedOrder[slot];
+            Long clubId = seed <= numberOfClubs ? clubs.get(clubBySeed[seed - 1]).getId() : null;
+            Match match = matches.get(slot / 2);
+            if (slot % 2 == 0) {
+                match.setClub1Id(clubId);
+            } else {
+                match.setClub2Id(clubId);
+            }
+        }
     }
 
     public void promoteByes(Bracket bracket, Round firstRound, Round secondRound) {
@@ -198,11 +319,9 @@ public class BracketServiceImpl implements BracketService {
 
         match.setOver(true);
         match.setWinningClubId(winningClubId);
-        matchRepository.save(match);
     
         if (secondRound == null) {
             bracket.setWinningClubId(winningClubId);
-            bracketRepository.save(bracket);
         } else {
             promoteToNextRound(match.getMatchNumber(), winningClubId, secondRound);
         }
@@ -221,19 +340,15 @@ public class BracketServiceImpl implements BracketService {
         } else {
             nextMatch.setClub2Id(winningClubId);
         }
-
-        matchRepository.save(nextMatch);
     }
 
     @Override
     public Match updateMatch(Tournament tournament, Match match, MatchUpdateDTO matchUpdateDTO) {
 
-        Bracket bracket = tournament.getBracket();
-
-        Long matchNumber = match.getMatchNumber();
         Long club1Id = matchUpdateDTO.getClub1Id();
         Long club2Id = matchUpdateDTO.getClub2Id();
         Long winningClubId = matchUpdateDTO.getWinningClubId();
+        List<Match> changedMatches = new ArrayList<>();
 
         /*
          * If over, send winner to next round
@@ -249,46 +364,123 @@ public class BracketServiceImpl implements BracketService {
             }
 
             match.setOver(true);
-            
-            /*
-             * Note that roundNumber counts downwards 
-             * so we know if its the last round
-             */
-            if (match.getRound().getRoundNumber() == 1) {
-                bracket.setWinningClubId(winningClubId);
-                bracketRepository.save(bracket);
-                tournament.setOver(true);
-                tournamentRepository.save(tournament);
 
+            if (tournament.getBracket() instanceof DoubleEliminationBracket) {
+                routeDoubleElimination(tournament, match, winningClubId, changedMatches);
+            } else if (match.getBracketPosition() == null) {
+                propagateByRoundScan(tournament, match, winningClubId, changedMatches);
+            } else if (match.isFinal()) {
+                finishBracket(tournament, winningClubId);
             } else {
                 /*
-                 * -1 for next round, -1 since we use 1 index
+                 * The next match is found from the stored position,
+                 * without loading the bracket's rounds
                  */
-                List<Round> rounds = bracket.getRounds();
-                Long currentRoundNumber = match.getRound().getRoundNumber();
-                
-                Round nextRound = rounds.stream()
-                    .filter(r -> r.getRoundNumber() == currentRoundNumber - 1)
-                    .findFirst()
-                    .orElseThrow(NextRoundNotFoundException::new);
+                Match nextMatch = findByPosition(match, match.getNextBracketPosition());
+                placeWinner(nextMatch, match.getNextMatchSlot(), winningClubId, changedMatches);
+            }
+        }
 
-                List<Match> matches = nextRound.getMatches();
+        /*
+         * Patch the cached view rather than rebuilding it
+         */
+        Match savedMatch = matchRepository.save(match);
+        changedMatches.add(savedMatch);
+        bracketViewCache.patch(tournament.getId(), changedMatches.stream().map(MatchView::of).toList(),
+                tournament.getBracket().getWinningClubId());
+        return savedMatch;
+    }
 
-                /*
-                 * -1 to account for 1 indexing again
-                 */
-                Match nextMatch = matches.get((int)Math.ceil(matchNumber/2.0) - 1);
-                
-                if (matchNumber % 2 == 1) {
-                    nextMatch.setClub1Id(winningClubId);
-                } else {
-                    nextMatch.setClub2Id(winningClubId);
-                }
-                matchRepository.save(nextMatch);
-            }
+    /*
+     * Both destinations were precomputed when the bracket was created
+     */
+    private void routeDoubleElimination(Tournament tournament, Match match, Long winningClubId,
+            List<Match> changedMatches) {
+        Long losingClubId = winningClubId.equals(match.getClub1Id()) ? match.getClub2Id() : match.getClub1Id();
+
+        /*
+         * Slot 1 of the grand final holds the club from the winners side. If
+         * it wins, nobody is left with fewer than two losses and the reset is
+         * settled unplayed; otherwise both clubs have one loss and play it
+         */
+        if (isGrandFinalWithReset(match) && winningClubId.equals(match.getClub1Id())) {
+            Match reset = findByPosition(match, match.getWinnerNextPosition());
+            reset.setOver(true);
+            changedMatches.add(matchRepository.save(reset));
+            finishBracket(tournament, winningClubId);
+            return;
         }
-        
-        return matchRepository.save(match);
+
+        if (match.getWinnerNextPosition() == null) {
+            finishBracket(tournament, winningClubId);
+        } else {
+            placeWinner(findByPosition(match, match.getWinnerNextPosition()), match.getWinnerNextSlot(), winningClubId,
+                    changedMatches);
+        }
+
+        if (match.getLoserNextPosition() != null) {
+            placeWinner(findByPosition(match, match.getLoserNextPosition()), match.getLoserNextSlot(), losingClubId,
+                    changedMatches);
+        }
+    }
+
+    /*
+     * Brackets created before resets were added have a grand final with no
+     * onward route, which still just ends the bracket
+     */
+    private static boolean isGrandFinalWithReset(Match match) {
+        return match.getRound().getStage() == BracketStage.GRAND_FINAL && match.getWinnerNextPosition() != null;
+    }
+
+    private Match findByPosition(Match match, Long bracketPosition) {
+        return matchRepository.findByBracketIdAndBracketPosition(match.getBracketId(), bracketPosition)
+            .orElseThrow(NextRoundNotFoundException::new);
+    }
+
+    private void finishBracket(Tournament tournament, Long winningClubId) {
+        Bracket bracket = tournament.getBracket();
+        bracket.setWinningClubId(winningClubId);
+        bracketRepository.save(bracket);
+        tournament.setOver(true);
+        tournamentRepository.save(tournament);
+    }
+
+    private void placeWinner(Match nextMatch, int slot, Long clubId, List<Match> changedMatches) {
+        if (slot == 1) {
+            nextMatch.setClub1Id(clubId);
+        } else {
+            nextMatch.setClub2Id(clubId);
+        }
+        changedMatches.add(matchRepository.save(nextMatch));
+    }
+
+    /*
+     * Matches written before bracket positions were stored have no
+     * coordinates, so walk the rounds to find the next match instead
+     */
+    private void propagateByRoundScan(Tournament tournament, Match match, Long winningClubId,
+            List<Match> changedMatches) {
+        /*
+         * Note that roundNumber counts downwards 
+         * so we know if its the last round
+         */
+        Long currentRoundNumber = match.getRound().getRoundNumber();
+        if (currentRoundNumber == 1) {
+            finishBracket(tournament, winningClubId);
+            return;
+        }
+
+        /*
+         * -1 for next round, -1 since we use 1 index
+         */
+        Round nextRound = tournament.getBracket().getRounds().stream()
+            .filter(r -> r.getRoundNumber() == currentRoundNumber - 1)
+            .findFirst()
+            .orElseThrow(NextRoundNotFoundException::new);
+
+        Long matchNumber = match.getMatchNumber();
+        Match nextMatch = nextRound.getMatches().get((int) Math.ceil(matchNumber / 2.0) - 1);
+        placeWinner(nextMatch, matchNumber % 2 == 1 ? 1 : 2, winningClubId, changedMatches);
     }
 
 }
@@ -0,0 +1,151 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.crashcourse.kickoff.tms.bracket.dto.BracketView;
+import com.crashcourse.kickoff.tms.bracket.dto.BracketView.MatchView;
+
+/**
+ * Bounded, in-process cache of bracket views, keyed by tournament ID.
+ *
+ * Writes are applied after the surrounding transaction commits, so a view
+ * never shows a result that was rolled back. A view built on a read is only
+ * stored if no write happened while it was being built; otherwise it could
+ * hold data from before that write.
+ */
+@Component
+public class BracketViewCache {
+
+    static final int MAX_ENTRIES = 512;
+
+    private final Map<Long, BracketView> views = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BracketView> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private long writes;
+
+    /**
+     * Returns the cached view, or builds it with the loader and caches it.
+     */
+    public BracketView get(Long tournamentId, Supplier<BracketView> loader) {
+        long writesBeforeLoad;
+        synchronized (this) {
+            BracketView view = views.get(tournamentId);
+            if (view != null) {
+                return view;
+            }
+            writesBeforeLoad = writes;
+        }
+
+        BracketView view = loader.get();
+        synchronized (this) {
+            if (view != null && writes == writesBeforeLoad) {
+                views.putIfAbsent(tournamentId, view);
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Returns the cached views of several tournaments, building every missing
+     * one with a single call to the loader.
+     */
+    public Map<Long, BracketView> getAll(Collection<Long> tournamentIds,
+            Function<Set<Long>, Map<Long, BracketView>> loader) {
+        Map<Long, BracketView> found = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        long writesBeforeLoad;
+        synchronized (this) {
+            for (Long tournamentId : tournamentIds) {
+                BracketView view = views.get(tournamentId);
+                if (view != null) {
+                    found.put(tournamentId, view);
+                } else {
+                    missing.add(tournamentId);
+                }
+            }
+            writesBeforeLoad = writes;
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        Map<Long, BracketView> loaded = loader.apply(missing);
+        synchronized (this) {
+            if (writes == writesBeforeLoad) {
+                loaded.forEach(views::putIfAbsent);
+            }
+        }
+        found.putAll(loaded);
+        return found;
+    }
+
+    /**
+     * Replaces the view once the current transaction commits.
+     */
+    public void put(Long tournamentId, BracketView view) {
+        afterCommit(() -> {
+            synchronized (this) {
+                writes++;
+                views.put(tournamentId, view);
+            }
+        });
+    }
+
+    /**
+     * Patches the changed matches into the cached view once the current
+     * transaction commits. If the tournament is not cached, nothing is done
+     * and the next read builds the view from scratch.
+     */
+    public void patch(Long tournamentId, List<MatchView> changedMatches, Long winningClubId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                writes++;
+                BracketView view = views.get(tournamentId);
+                if (view != null) {
+                    views.put(tournamentId, view.patch(changedMatches, winningClubId));
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops the view once the current transaction commits.
+     */
+    public void evict(Long tournamentId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                writes++;
+                views.remove(tournamentId);
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,309 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.crashcourse.kickoff.tms.bracket.model.BracketStage;
+import com.crashcourse.kickoff.tms.bracket.model.Match;
+import com.crashcourse.kickoff.tms.bracket.model.Round;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+
+/**
+ * Shape and routing tables of a double-elimination bracket.
+ *
+ * Matches are numbered 1..(2N - 1) in play order: the winners rounds, then
+ * the losers rounds, then the grand final and its reset. Every route points
+ * to a later position, so byes can be resolved in a single forward pass.
+ *
+ * For a bracket of N = 2^k clubs:
+ * - winners round r (1..k) has N / 2^r matches, and its final feeds the grand final
+ * - losers round 1 takes the losers of winners round 1, two by two
+ * - losers round 2j pairs the winners of losers round 2j - 1 (slot 1) with the
+ *   losers of winners round j + 1 (slot 2), in reversed order on every other round
+ *   to avoid early rematches
+ * - losers round 2j + 1 pairs the winners of losers round 2j
+ * - the last losers round feeds slot 2 of the grand final
+ * - both clubs of the grand final go on to the reset, which is only played if
+ *   the club from the winners side loses the grand final, its first loss
+ */
+final class DoubleEliminationLayout {
+
+    private static final int NONE = 0;
+
+    private final int bracketSize;
+    private final int winnersRounds;
+    private final int losersRounds;
+    private final int matchCount;
+    private final int grandFinal;
+    private final int reset;
+
+    /*
+     * All tables are indexed by position; index 0 is unused
+     */
+    private final BracketStage[] stage;
+    private final int[] stageRound;
+    private final int[] matchNumber;
+    private final int[] winnerTo;
+    private final byte[] winnerSlot;
+    private final int[] loserTo;
+    private final byte[] loserSlot;
+
+    /*
+     * feeder[2p + slot - 1] encodes the route feeding that slot:
+     * source position * 2, plus 1 if it is the source's loser
+     */
+    private final int[] feeder;
+
+    private final int[] winnersRoundStart;
+    private final int[] losersRoundStart;
+
+    DoubleEliminationLayout(int bracketSize) {
+        if (bracketSize < 2 || (bracketSize & (bracketSize - 1)) != 0) {
+            throw new IllegalArgumentException("Bracket size must be a power of 2 and at least 2");
+        }
+        this.bracketSize = bracketSize;
+        this.winnersRounds = Integer.numberOfTrailingZeros(bracketSize);
+        this.losersRounds = 2 * (winnersRounds - 1);
+        this.matchCount = 2 * bracketSize - 1;
+        this.grandFinal = matchCount - 1;
+        this.reset = matchCount;
+
+        stage = new BracketStage[matchCount + 1];
+        stageRound = new int[matchCount + 1];
+        matchNumber = new int[matchCount + 1];
+        winnerTo = new int[matchCount + 1];
+        winnerSlot = new byte[matchCount + 1];
+        loserTo = new int[matchCount + 1];
+        loserSlot = new byte[matchCount + 1];
+        feeder = new int[2 * (matchCount + 1)];
+        winnersRoundStart = new int[winnersRounds + 1];
+        losersRoundStart = new int[losersRounds + 1];
+
+        int position = 1;
+        for (int r = 1; r <= winnersRounds; r++) {
+            winnersRoundStart[r] = position;
+            position = number(position, BracketStage.WINNERS, r, winnersRoundSize(r));
+        }
+        for (int l = 1; l <= losersRounds; l++) {
+            losersRoundStart[l] = position;
+            position = number(position, BracketStage.LOSERS, l, losersRoundSize(l));
+        }
+        position = number(position, BracketStage.GRAND_FINAL, 1, 1);
+        number(position, BracketStage.GRAND_FINAL, 2, 1);
+
+        buildWinnersRoutes();
+        buildLosersRoutes();
+        routeWinner(grandFinal, reset, 1);
+        routeLoser(grandFinal, reset, 2);
+    }
+
+    private int winnersRoundSize(int round) {
+        return bracketSize >> round;
+    }
+
+    private int losersRoundSize(int round) {
+        return bracketSize >> ((round + 1) / 2 + 1);
+    }
+
+    private int number(int position, BracketStage roundStage, int round, int size) {
+        for (int m = 1; m <= size; m++, position++) {
+            stage[position] = roundStage;
+            stageRound[position] = round;
+            matchNumber[position] = m;
+        }
+        return position;
+    }
+
+    private void buildWinnersRoutes() {
+        for (int r = 1; r <= winnersRounds; r++) {
+            int size = winnersRoundSize(r);
+            for (int m = 1; m <= size; m++) {
+                int position = winnersRoundStart[r] + m - 1;
+
+                if (r < winnersRounds) {
+                    routeWinner(position, winnersRoundStart[r + 1] + (m - 1) / 2, m % 2 == 1 ? 1 : 2);
+                } else {
+                    routeWinner(position, grandFinal, 1);
+                }
+
+                if (winnersRounds == 1) {
+                    routeLoser(position, grandFinal, 2);
+                } else if (r == 1) {
+                    routeLoser(position, losersRoundStart[1] + (m - 1) / 2, m % 2 == 1 ? 1 : 2);
+                } else {
+                    int target = (r % 2 == 0) ? size - m + 1 : m;
+                    routeLoser(position, losersRoundStart[2 * (r - 1)] + target - 1, 2);
+                }
+            }
+        }
+    }
+
+    private void buildLosersRoutes() {
+        for (int l = 1; l <= losersRounds; l++) {
+            int size = losersRoundSize(l);
+            for (int m = 1; m <= size; m++) {
+                int position = losersRoundStart[l] + m - 1;
+
+                if (l == losersRounds) {
+                    routeWinner(position, grandFinal, 2);
+                } else if (l % 2 == 1) {
+                    routeWinner(position, losersRoundStart[l + 1] + m - 1, 1);
+                } else {
+                    routeWinner(position, losersRoundStart[l + 1] + (m - 1) / 2, m % 2 == 1 ? 1 : 2);
+                }
+            }
+        }
+    }
+
+    private void routeWinner(int from, int to, int slot) {
+        winnerTo[from] = to;
+        winnerSlot[from] = (byte) slot;
+        feeder[slotIndex(to, slot)] = from * 2;
+    }
+
+    private void routeLoser(int from, int to, int slot) {
+        loserTo[from] = to;
+        loserSlot[from] = (byte) slot;
+        feeder[slotIndex(to, slot)] = from * 2 + 1;
+    }
+
+    private static int slotIndex(int position, int slot) {
+        return 2 * position + slot - 1;
+    }
+
+    int getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Builds the rounds in play order, so the first round returned is the
+     * first winners round. Round numbers count down within each stage, the
+     * same way they do in a single-elimination bracket.
+     */
+    List<Round> buildRounds(Tournament tournament) {
+        List<Round> rounds = new ArrayList<>();
+        Round round = null;
+        for (int position = 1; position <= matchCount; position++) {
+            if (round == null || matchNumber[position] == 1) {
+                round = new Round();
+                round.setStage(stage[position]);
+                round.setRoundNumber((long) (roundsInStage(stage[position]) - stageRound[position] + 1));
+                round.setTournament(tournament);
+                round.setMatches(new ArrayList<>());
+                rounds.add(round);
+            }
+
+            Match match = new Match();
+            match.setMatchNumber((long) matchNumber[position]);
+            match.setBracketPosition((long) position);
+            match.setRound(round);
+            round.getMatches().add(match);
+        }
+        return rounds;
+    }
+
+    private int roundsInStage(BracketStage roundStage) {
+        return switch (roundStage) {
+            case WINNERS -> winnersRounds;
+            case LOSERS -> losersRounds;
+            case GRAND_FINAL -> 2;
+        };
+    }
+
+    /**
+     * Settles every match that a bye decides, given seeded first-round matches.
+     *
+     * A match with one club and one empty slot is won outright. A match still
+     * waiting on one club while its other slot can never be filled is skipped:
+     * the route feeding it is pointed straight at its winner's destination.
+     * Afterwards every route that remains leads to a match that will be played.
+     *
+     * @param matches All matches, ordered by position.
+     * @return The bracket winner if byes alone decide it, otherwise null.
+     */
+    Long resolveByes(List<Match> matches) {
+        boolean[] empty = new boolean[2 * (matchCount + 1)];
+        for (int position = winnersRoundStart[1]; position < winnersRoundStart[1] + winnersRoundSize(1); position++) {
+            Match match = matches.get(position - 1);
+            empty[slotIndex(position, 1)] = match.getClub1Id() == null;
+            empty[slotIndex(position, 2)] = match.getClub2Id() == null;
+        }
+
+        Long bracketWinner = null;
+        for (int position = 1; position <= matchCount; position++) {
+            boolean empty1 = empty[slotIndex(position, 1)];
+            boolean empty2 = empty[slotIndex(position, 2)];
+            if (!empty1 && !empty2) {
+                continue;
+            }
+
+            Match match = matches.get(position - 1);
+            match.setOver(true);
+            markEmpty(empty, loserTo[position], loserSlot[position]);
+
+            if (empty1 && empty2) {
+                markEmpty(empty, winnerTo[position], winnerSlot[position]);
+                continue;
+            }
+
+            Long remainingClubId = empty1 ? match.getClub2Id() : match.getClub1Id();
+            if (remainingClubId != null) {
+                match.setWinningClubId(remainingClubId);
+                if (winnerTo[position] == NONE) {
+                    bracketWinner = remainingClubId;
+                } else {
+                    placeClub(matches.get(winnerTo[position] - 1), winnerSlot[position], remainingClubId);
+                }
+            } else {
+                int route = feeder[slotIndex(position, empty1 ? 2 : 1)];
+                reroute(route, winnerTo[position], winnerSlot[position]);
+            }
+        }
+        return bracketWinner;
+    }
+
+    private void markEmpty(boolean[] empty, int position, int slot) {
+        if (position != NONE) {
+            empty[slotIndex(position, slot)] = true;
+        }
+    }
+
+    private void reroute(int route, int to, int slot) {
+        int from = route / 2;
+        if (route % 2 == 0) {
+            winnerTo[from] = to;
+            winnerSlot[from] = (byte) slot;
+        } else {
+            loserTo[from] = to;
+            loserSlot[from] = (byte) slot;
+        }
+        if (to != NONE) {
+            feeder[slotIndex(to, slot)] = route;
+        }
+    }
+
+    private static void placeClub(Match match, int slot, Long clubId) {
+        if (slot == 1) {
+            match.setClub1Id(clubId);
+        } else {
+            match.setClub2Id(clubId);
+        }
+    }
+
+    /**
+     * Copies the routing tables onto the matches so they are stored with them.
+     */
+    void applyRouting(List<Match> matches) {
+        for (int position = 1; position <= matchCount; position++) {
+            Match match = matches.get(position - 1);
+            if (winnerTo[position] != NONE) {
+                match.setWinnerNextPosition((long) winnerTo[position]);
+                match.setWinnerNextSlot((int) winnerSlot[position]);
+            }
+            if (loserTo[position] != NONE) {
+                match.setLoserNextPosition((long) loserTo[position]);
+                match.setLoserNextSlot((int) loserSlot[position]);
+            }
+        }
+    }
+}
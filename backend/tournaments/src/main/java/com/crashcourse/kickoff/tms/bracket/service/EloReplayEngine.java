@@ -0,0 +1,176 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.crashcourse.kickoff.tms.bracket.model.MatchHistory;
+import com.crashcourse.kickoff.tms.bracket.model.RatingParameters;
+
+/**
+ * Recomputes every club's rating from scratch by replaying the whole match
+ * history, for example to see what a change to the rating constants would do.
+ *
+ * A match only touches the ratings of its two clubs, so clubs that never
+ * met, directly or through common opponents, can be replayed independently.
+ * The clubs are split into these connected components with a union-find;
+ * each component is replayed in chronological order on one thread, and the
+ * components are shared out over a fork-join pool. A component's matches are
+ * gathered with a counting sort, which keeps them in the order played.
+ *
+ * Ratings live in two double arrays indexed by club, and components never
+ * share a club, so the threads write to disjoint slots without locking.
+ * A history dominated by one large component replays at the speed of a
+ * single thread, which is still a few million matches a second.
+ */
+public final class EloReplayEngine {
+
+    /*
+     * Below this many matches a task replays its components itself
+     * rather than splitting further
+     */
+    static final int SEQUENTIAL_MATCHES = 8192;
+
+    private EloReplayEngine() {
+    }
+
+    /**
+     * @param elo                     Replayed Elo of every club, by club index in the history.
+     * @param ratingDeviation         Replayed rating deviation of every club.
+     * @param components              Number of independent groups of clubs.
+     * @param largestComponentMatches Matches in the largest group, which bounds the replay time.
+     */
+    public record Result(double[] elo, double[] ratingDeviation, int components, int largestComponentMatches) {
+    }
+
+    /**
+     * Replays every match in the history, starting each club from the initial rating.
+     *
+     * @param history Finished matches in the order they were played.
+     * @param params  Rating constants to replay with.
+     * @param pool    Pool to replay the components on.
+     * @return The final rating of every club.
+     */
+    public static Result replay(MatchHistory history, RatingParameters params, ForkJoinPool pool) {
+        int clubs = history.clubCount();
+        int matches = history.size();
+        double[] elo = new double[clubs];
+        double[] ratingDeviation = new double[clubs];
+        Arrays.fill(elo, params.initialElo());
+        Arrays.fill(ratingDeviation, params.initialRatingDeviation());
+
+        /*
+         * Union-find over clubs, joined by every match
+         */
+        int[] parent = new int[clubs];
+        int[] size = new int[clubs];
+        for (int club = 0; club < clubs; club++) {
+            parent[club] = club;
+            size[club] = 1;
+        }
+        for (int match = 0; match < matches; match++) {
+            int root1 = find(parent, history.club1(match));
+            int root2 = find(parent, history.club2(match));
+            if (root1 != root2) {
+                if (size[root1] < size[root2]) {
+                    int swap = root1;
+                    root1 = root2;
+                    root2 = swap;
+                }
+                parent[root2] = root1;
+                size[root1] += size[root2];
+            }
+        }
+
+        /*
+         * Number the components, then bucket the matches by component,
+         * keeping each bucket in the order played
+         */
+        int[] componentOfRoot = new int[clubs];
+        Arrays.fill(componentOfRoot, -1);
+        int[] componentOfClub = new int[clubs];
+        int components = 0;
+        for (int club = 0; club < clubs; club++) {
+            int root = find(parent, club);
+            if (componentOfRoot[root] < 0) {
+                componentOfRoot[root] = components++;
+            }
+            componentOfClub[club] = componentOfRoot[root];
+        }
+
+        int[] start = new int[components + 1];
+        for (int match = 0; match < matches; match++) {
+            start[componentOfClub[history.club1(match)] + 1]++;
+        }
+        int largestComponentMatches = 0;
+        for (int component = 0; component < components; component++) {
+            largestComponentMatches = Math.max(largestComponentMatches, start[component + 1]);
+            start[component + 1] += start[component];
+        }
+        int[] next = Arrays.copyOf(start, components);
+        int[] order = new int[matches];
+        for (int match = 0; match < matches; match++) {
+            order[next[componentOfClub[history.club1(match)]]++] = match;
+        }
+
+        if (components > 0) {
+            pool.invoke(new ReplayTask(history, params, elo, ratingDeviation, order, start, 0, components));
+        }
+        return new Result(elo, ratingDeviation, components, largestComponentMatches);
+    }
+
+    private static int find(int[] parent, int club) {
+        while (parent[club] != club) {
+            parent[club] = parent[parent[club]];
+            club = parent[club];
+        }
+        return club;
+    }
+
+    /*
+     * Replays components [from, to), splitting them roughly in half by match count
+     */
+    private static final class ReplayTask extends RecursiveAction {
+        private final MatchHistory history;
+        private final RatingParameters params;
+        private final double[] elo;
+        private final double[] ratingDeviation;
+        private final int[] order;
+        private final int[] start;
+        private final int from;
+        private final int to;
+
+        private ReplayTask(MatchHistory history, RatingParameters params, double[] elo, double[] ratingDeviation,
+                int[] order, int[] start, int from, int to) {
+            this.history = history;
+            this.params = params;
+            this.elo = elo;
+            this.ratingDeviation = ratingDeviation;
+            this.order = order;
+            this.start = start;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1 || start[to] - start[from] <= SEQUENTIAL_MATCHES) {
+                for (int i = start[from]; i < start[to]; i++) {
+                    int match = order[i];
+                    RatingCalculator.rate(params, elo, ratingDeviation, history.club1(match), history.club2(match),
+                            history.club1Score(match), history.club2Score(match), history.outcome(match));
+                }
+                return;
+            }
+
+            int half = (start[from] + start[to]) >>> 1;
+            int split = Arrays.binarySearch(start, from + 1, to, half);
+            if (split < 0) {
+                split = -split - 1;
+            }
+            split = Math.max(from + 1, Math.min(split, to - 1));
+            invokeAll(new ReplayTask(history, params, elo, ratingDeviation, order, start, from, split),
+                    new ReplayTask(history, params, elo, ratingDeviation, order, start, split, to));
+        }
+    }
+}
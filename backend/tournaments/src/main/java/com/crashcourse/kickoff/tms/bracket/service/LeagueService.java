@@ -0,0 +1,13 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import java.util.List;
+
+import com.crashcourse.kickoff.tms.bracket.model.*;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+
+public interface LeagueService {
+    Bracket createLeague(Tournament tournament, List<Long> clubIds);
+    Match recordResult(Tournament tournament, Match match, MatchScore previousScore);
+    List<LeagueStanding> getStandings(Tournament tournament);
+    void updateStandings(Long tournamentId, MatchScore previousScore, MatchScore score);
+}
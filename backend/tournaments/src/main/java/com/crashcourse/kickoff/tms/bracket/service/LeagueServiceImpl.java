@@ -0,0 +1,213 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.crashcourse.kickoff.tms.bracket.model.*;
+import com.crashcourse.kickoff.tms.bracket.repository.*;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class LeagueServiceImpl implements LeagueService {
+
+    /*
+     * Fixtures are written in batches of this size as they are generated,
+     * so a large league is never held in memory all at once
+     */
+    static final int FIXTURE_BATCH_SIZE = 256;
+
+    private final TournamentRepository tournamentRepository;
+    private final BracketRepository bracketRepository;
+    private final BracketBatchRepository bracketBatchRepository;
+    private final MatchRepository matchRepository;
+    private final LeagueStandingRepository leagueStandingRepository;
+    private final BracketViewCache bracketViewCache;
+
+    /**
+     * Creates a round-robin league: one round per matchday, n(n-1)/2 fixtures
+     * and an empty league table row for every club.
+     *
+     * @param tournament Tournament the league belongs to.
+     * @param clubIds    IDs of the clubs taking part.
+     * @return The saved league bracket.
+     */
+    @Override
+    @Transactional
+    public Bracket createLeague(Tournament tournament, List<Long> clubIds) {
+        LeagueBracket bracket = new LeagueBracket();
+        bracket.setTournament(tournament);
+        if (clubIds.size() == 1) {
+            bracket.setWinningClubId(clubIds.get(0));
+        }
+
+        RoundRobinSchedule schedule = new RoundRobinSchedule(clubIds);
+        List<Round> rounds = new ArrayList<>(schedule.getNumberOfRounds());
+        for (int roundNumber = 1; roundNumber <= schedule.getNumberOfRounds(); roundNumber++) {
+            Round round = new Round();
+            round.setRoundNumber(Long.valueOf(roundNumber));
+            round.setTournament(tournament);
+            rounds.add(round);
+        }
+
+        Long bracketId = bracketBatchRepository.insertBracketRow(bracket);
+        Map<Round, Long> roundIds = bracketBatchRepository.insertRounds(bracketId, rounds);
+
+        List<Match> batch = new ArrayList<>(FIXTURE_BATCH_SIZE);
+        schedule.forEachFixture((roundNumber, matchNumber, homeClubId, awayClubId) -> {
+            Match match = new Match();
+            match.setRound(rounds.get(roundNumber - 1));
+            match.setMatchNumber(Long.valueOf(matchNumber));
+            match.setClub1Id(homeClubId);
+            match.setClub2Id(awayClubId);
+            batch.add(match);
+
+            if (batch.size() == FIXTURE_BATCH_SIZE) {
+                bracketBatchRepository.insertMatches(bracketId, roundIds, batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            bracketBatchRepository.insertMatches(bracketId, roundIds, batch);
+        }
+
+        bracketBatchRepository.insertStandings(tournament.getId(), clubIds);
+
+        return bracketRepository.findById(bracketId)
+            .orElseThrow(() -> new EntityNotFoundException("Bracket not found with id: " + bracketId));
+    }
+
+    /**
+     * Saves a league result and moves both clubs' standings by the difference
+     * it makes. If the match already had a result, that result is taken back
+     * out first, so corrections are not counted twice.
+     *
+     * @param tournament    Tournament the match belongs to.
+     * @param match         Match with its new score already set.
+     * @param previousScore Score the match had before this update, or null if it was not over.
+     * @return The saved match.
+     */
+    @Override
+    @Transactional
+    public Match recordResult(Tournament tournament, Match match, MatchScore previousScore) {
+        MatchScore score = MatchScore.of(match);
+        updateStandings(tournament.getId(), previousScore, score);
+
+        Match savedMatch = matchRepository.save(match);
+        bracketViewCache.evict(tournament.getId());
+
+        /*
+         * Once the last fixture is in, the top of the table wins the league;
+         * a correction after that may change who is on top
+         */
+        if (score != null && matchRepository.countUnplayed(match.getBracketId()) == 0) {
+            Bracket bracket = tournament.getBracket();
+            bracket.setWinningClubId(getStandings(tournament).get(0).getClubId());
+            bracketRepository.save(bracket);
+            tournament.setOver(true);
+            tournamentRepository.save(tournament);
+        }
+        return savedMatch;
+    }
+
+    /**
+     * Takes the previous score of a match out of both clubs' standings and
+     * puts the new one in. Either score may be null.
+     *
+     * @param tournamentId  Tournament whose standings are updated.
+     * @param previousScore Score the match had before, or null if it was not over.
+     * @param score         Score the match has now, or null if it is not over.
+     */
+    @Override
+    @Transactional
+    public void updateStandings(Long tournamentId, MatchScore previousScore, MatchScore score) {
+        if (previousScore != null) {
+            applyScore(tournamentId, previousScore, -1);
+        }
+        if (score != null) {
+            applyScore(tournamentId, score, 1);
+        }
+    }
+
+    private void applyScore(Long tournamentId, MatchScore score, int sign) {
+        applyForClub(tournamentId, score.getClub1Id(), score.getClub1Score(), score.getClub2Score(), sign);
+        applyForClub(tournamentId, score.getClub2Id(), score.getClub2Score(), score.getClub1Score(), sign);
+    }
+
+    private void applyForClub(Long tournamentId, Long clubId, int goalsFor, int goalsAgainst, int sign) {
+        int won = goalsFor > goalsAgainst ? 1 : 0;
+        int drawn = goalsFor == goalsAgainst ? 1 : 0;
+        int lost = goalsFor < goalsAgainst ? 1 : 0;
+        int points = won * LeagueStanding.POINTS_FOR_WIN + drawn * LeagueStanding.POINTS_FOR_DRAW;
+
+        leagueStandingRepository.applyResult(tournamentId, clubId,
+                sign, sign * won, sign * drawn, sign * lost,
+                sign * goalsFor, sign * goalsAgainst, sign * points);
+    }
+
+    /**
+     * Returns the league table, ordered by points, goal difference and goals
+     * scored. Clubs still level on all three are ordered by the points they
+     * took off each other.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<LeagueStanding> getStandings(Tournament tournament) {
+        List<LeagueStanding> table = new ArrayList<>(leagueStandingRepository.findTable(tournament.getId()));
+        Bracket bracket = tournament.getBracket();
+        if (bracket == null) {
+            return table;
+        }
+
+        int start = 0;
+        while (start < table.size()) {
+            int end = start + 1;
+            while (end < table.size() && isLevel(table.get(start), table.get(end))) {
+                end++;
+            }
+            if (end - start > 1) {
+                breakHeadToHeadTie(bracket.getId(), table.subList(start, end));
+            }
+            start = end;
+        }
+        return table;
+    }
+
+    private static boolean isLevel(LeagueStanding a, LeagueStanding b) {
+        return a.getPoints() == b.getPoints()
+                && a.getGoalDifference() == b.getGoalDifference()
+                && a.getGoalsFor() == b.getGoalsFor();
+    }
+
+    /*
+     * Only the matches among the tied clubs are read, never the whole league
+     */
+    private void breakHeadToHeadTie(Long bracketId, List<LeagueStanding> tiedClubs) {
+        List<Long> clubIds = tiedClubs.stream().map(LeagueStanding::getClubId).toList();
+        Map<Long, Integer> headToHeadPoints = new HashMap<>();
+        for (Match match : matchRepository.findPlayedBetween(bracketId, clubIds)) {
+            int club1Score = match.getClub1Score();
+            int club2Score = match.getClub2Score();
+            if (club1Score > club2Score) {
+                headToHeadPoints.merge(match.getClub1Id(), LeagueStanding.POINTS_FOR_WIN, Integer::sum);
+            } else if (club1Score < club2Score) {
+                headToHeadPoints.merge(match.getClub2Id(), LeagueStanding.POINTS_FOR_WIN, Integer::sum);
+            } else {
+                headToHeadPoints.merge(match.getClub1Id(), LeagueStanding.POINTS_FOR_DRAW, Integer::sum);
+                headToHeadPoints.merge(match.getClub2Id(), LeagueStanding.POINTS_FOR_DRAW, Integer::sum);
+            }
+        }
+        tiedClubs.sort(Comparator.comparing(
+                (LeagueStanding standing) -> headToHeadPoints.getOrDefault(standing.getClubId(), 0)).reversed());
+    }
+}
@@ -6,5 +6,7 @@ import com.crashcourse.kickoff.tms.bracket.model.Match;
 public interface MatchService {
     Match createMatch(Long tournamentId, Long matchNumber);
     Match getMatchById(Long id);
-    void updateElo(MatchUpdateDTO matchUpdateDTO, String jwtToken);
+    void queueEloUpdate(Long matchId, MatchUpdateDTO matchUpdateDTO);
+    double[] calculateNewRatings(MatchUpdateDTO matchUpdateDTO, double club1Elo, double club1RatingDeviation,
+            double club2Elo, double club2RatingDeviation);
 }
@@ -0,0 +1,154 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import com.crashcourse.kickoff.tms.bracket.model.RatingParameters;
+
+/**
+ * The rating formula, shared by live results (MatchServiceImpl) and
+ * history replays (EloReplayEngine) so that both give the same numbers.
+ *
+ * Ratings are read from and written back to arrays indexed by club, so a
+ * replay of many matches allocates nothing per match.
+ */
+public final class RatingCalculator {
+
+    public static final byte DRAW = 0;
+    public static final byte CLUB1_WON = 1;
+    public static final byte CLUB2_WON = 2;
+
+    private RatingCalculator() {
+    }
+
+    /**
+     * @return The outcome of a match for club 1; no winner is a draw.
+     */
+    public static byte outcomeOf(Long club1Id, Long winningClubId) {
+        if (winningClubId == null) {
+            return DRAW;
+        }
+        return club1Id.equals(winningClubId) ? CLUB1_WON : CLUB2_WON;
+    }
+
+    /**
+     * Rates one match, replacing both clubs' Elo and rating deviation.
+     *
+     * @param params     Rating constants.
+     * @param elo        Elo of every club, by index.
+     * @param rd         Rating deviation of every club, by index.
+     * @param club1      Index of club 1.
+     * @param club2      Index of club 2.
+     * @param club1Score Score of club 1.
+     * @param club2Score Score of club 2.
+     * @param outcome    DRAW, CLUB1_WON or CLUB2_WON.
+     */
+    public static void rate(RatingParameters params, double[] elo, double[] rd, int club1, int club2,
+            int club1Score, int club2Score, byte outcome) {
+        double club1Elo = elo[club1];
+        double club1RatingDeviation = rd[club1];
+        double club2Elo = elo[club2];
+        double club2RatingDeviation = rd[club2];
+        boolean draw = outcome == DRAW;
+        boolean club1Won = outcome == CLUB1_WON;
+
+        /*
+         * Both clubs are rated from the ratings they had before the match
+         */
+        rateClub(params, elo, rd, club1, club1Elo, club1RatingDeviation, club2Elo, club2RatingDeviation,
+                club1Score, club2Score, club1Won, draw);
+        rateClub(params, elo, rd, club2, club2Elo, club2RatingDeviation, club1Elo, club1RatingDeviation,
+                club2Score, club1Score, !club1Won, draw);
+    }
+
+    /**
+     * Calculates the new Elo rating and rating deviation for a club based on the match result,
+     * then applies the minimum changes: the winning team always gains at least
+     * minimumEloGain (no winner in a draw), and the RD decreases by at least
+     * minimumRatingDeviationDecrease, capped at ratingDeviationCap.
+     */
+    private static void rateClub(RatingParameters params, double[] elo, double[] rd, int club,
+            double clubElo, double clubRatingDeviation, double opponentElo, double opponentRatingDeviation,
+            int clubScore, int opponentScore, boolean clubWon, boolean draw) {
+        final double qScalingFactor = Math.log(10) / params.expectedScoreDenominator();
+
+        // Calculate the g(RD) function
+        double gFunction = 1 / Math.sqrt(1 + (3 * Math.pow(qScalingFactor * opponentRatingDeviation, 2)) / Math.pow(Math.PI, 2));
+
+        // Calculate the expected score
+        double expectedScore = 1 / (1 + Math.pow(10, gFunction * (opponentElo - clubElo) / params.expectedScoreDenominator()));
+
+        // Calculate the score difference
+        int scoreDifference = clubScore - opponentScore;
+
+        // Account for draws with a declared winner
+        if (scoreDifference == 0 && !draw) {
+            scoreDifference = clubWon ? 1 : -1;
+        }
+
+        // Calculate the adjusted match score
+        double adjustedMatchScore = adjustedScore(scoreDifference, params.scoreSensitivity());
+
+        // Adjust K based on the player's RD
+        double eloSensitivity = params.eloSensitivityBase() * (clubRatingDeviation / params.ratingDeviationBase());
+
+        // Update the club's Elo rating
+        double eloChange = eloSensitivity * gFunction * (adjustedMatchScore - expectedScore);
+        double newElo = clubElo + eloChange;
+
+        // Calculate the variance (dSquared)
+        double dSquared = 1 / (Math.pow(qScalingFactor, 2) * Math.pow(gFunction, 2) * expectedScore * (1 - expectedScore));
+
+        // Update the club's rating deviation
+        double newRatingDeviation = Math.sqrt(1 / ((1 / Math.pow(clubRatingDeviation, 2)) + (1 / dSquared)));
+
+        if (!draw) {
+            newElo = applyMinimumEloChange(params, clubWon, clubElo, newElo);
+        }
+        elo[club] = newElo;
+        rd[club] = applyMinimumRatingDeviationChange(params, clubRatingDeviation, newRatingDeviation);
+    }
+
+    /**
+     * Calculates the adjusted score using a sigmoid function based on the score difference.
+     *
+     * @param scoreDifference The difference between the scores of the two clubs (homeScore - awayScore).
+     * @param scoreSensitivity The sensitivity parameter for the score difference; increasing this makes the function less sensitive.
+     * @return The adjusted score as a double between 0 and 1.
+     */
+    private static double adjustedScore(int scoreDifference, int scoreSensitivity) {
+        // Adjusted score using a sigmoid function; scoreSensitivity shifts the sigmoid curve
+        return 1 / (1 + Math.exp(-(scoreDifference - scoreSensitivity)));
+    }
+
+    /**
+     * Ensures the winning team gains at least a minimum Elo increase or that the losing team loses at least the minimum Elo.
+     *
+     * @param isWinningTeam   Boolean indicating if the club is the winning team.
+     * @param clubElo         The original Elo of the club.
+     * @param newClubElo      The newly calculated Elo of the club.
+     * @return                The adjusted Elo value.
+     */
+    private static double applyMinimumEloChange(RatingParameters params, boolean isWinningTeam, double clubElo,
+            double newClubElo) {
+        double eloChange = newClubElo - clubElo;
+        if (isWinningTeam && eloChange < params.minimumEloGain()) {
+            return clubElo + params.minimumEloGain();
+        } else if (!isWinningTeam && eloChange > -params.minimumEloGain()) {
+            return clubElo - params.minimumEloGain();
+        }
+        return newClubElo;
+    }
+
+    /**
+     * Ensures that the rating deviation decreases by at least the minimum amount and caps it at a specified minimum RD cap.
+     *
+     * @param originalRD     The original rating deviation.
+     * @param newRD          The newly calculated rating deviation.
+     * @return               The adjusted rating deviation value.
+     */
+    private static double applyMinimumRatingDeviationChange(RatingParameters params, double originalRD, double newRD) {
+        double rdDecrease = originalRD - newRD;
+        if (rdDecrease < params.minimumRatingDeviationDecrease()) {
+            newRD = originalRD - params.minimumRatingDeviationDecrease();
+        }
+        return Math.max(newRD, params.ratingDeviationCap());
+    }
+}
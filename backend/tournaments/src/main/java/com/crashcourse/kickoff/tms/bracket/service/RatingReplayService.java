@@ -0,0 +1,8 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import com.crashcourse.kickoff.tms.bracket.dto.RatingReplayDTO;
+import com.crashcourse.kickoff.tms.bracket.model.RatingParameters;
+
+public interface RatingReplayService {
+    RatingReplayDTO replay(RatingParameters parameters, int limit, String jwtToken);
+}
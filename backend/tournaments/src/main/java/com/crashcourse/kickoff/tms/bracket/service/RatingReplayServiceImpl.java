@@ -0,0 +1,98 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.stereotype.Service;
+
+import com.crashcourse.kickoff.tms.bracket.dto.RatingDiffDTO;
+import com.crashcourse.kickoff.tms.bracket.dto.RatingReplayDTO;
+import com.crashcourse.kickoff.tms.bracket.model.MatchHistory;
+import com.crashcourse.kickoff.tms.bracket.model.RatingParameters;
+import com.crashcourse.kickoff.tms.bracket.repository.MatchHistoryRepository;
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.club.ClubRatingProfile;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class RatingReplayServiceImpl implements RatingReplayService {
+
+    /*
+     * Clubs per bulk rating lookup, to keep the query string short
+     */
+    static final int LOOKUP_CHUNK = 500;
+
+    private static final double EPSILON = 1e-6;
+
+    private final MatchHistoryRepository matchHistoryRepository;
+    private final ClubServiceClient clubServiceClient;
+
+    /**
+     * Replays every finished match with the given rating constants and
+     * compares the result with the clubs' current ratings.
+     *
+     * @param parameters Rating constants to replay with.
+     * @param limit      Most diffs to return, largest Elo change first.
+     * @param jwtToken   Token forwarded to the clubs service.
+     * @return The replay summary and diffs.
+     */
+    @Override
+    public RatingReplayDTO replay(RatingParameters parameters, int limit, String jwtToken) {
+        MatchHistory history = matchHistoryRepository.findCompletedMatches();
+
+        long startedAt = System.nanoTime();
+        EloReplayEngine.Result result = EloReplayEngine.replay(history, parameters, ForkJoinPool.commonPool());
+        long replayMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        Map<Long, ClubRatingProfile> current = new HashMap<>();
+        List<Long> clubIds = new ArrayList<>(LOOKUP_CHUNK);
+        for (int club = 0; club < history.clubCount(); club++) {
+            clubIds.add(history.clubId(club));
+            if (clubIds.size() == LOOKUP_CHUNK || club == history.clubCount() - 1) {
+                for (ClubRatingProfile profile : clubServiceClient.getClubRatingProfiles(clubIds, jwtToken)) {
+                    if (profile.isFound()) {
+                        current.put(profile.getId(), profile);
+                    }
+                }
+                clubIds.clear();
+            }
+        }
+
+        List<RatingDiffDTO> diffs = new ArrayList<>();
+        int clubsMissing = 0;
+        double maxAbsoluteEloChange = 0;
+        double totalAbsoluteEloChange = 0;
+        for (int club = 0; club < history.clubCount(); club++) {
+            ClubRatingProfile profile = current.get(history.clubId(club));
+            if (profile == null) {
+                clubsMissing++;
+                continue;
+            }
+            double eloChange = result.elo()[club] - profile.getElo();
+            double ratingDeviationChange = result.ratingDeviation()[club] - profile.getRatingDeviation();
+            maxAbsoluteEloChange = Math.max(maxAbsoluteEloChange, Math.abs(eloChange));
+            totalAbsoluteEloChange += Math.abs(eloChange);
+            if (Math.abs(eloChange) > EPSILON || Math.abs(ratingDeviationChange) > EPSILON) {
+                diffs.add(new RatingDiffDTO(profile.getId(), profile.getElo(), profile.getRatingDeviation(),
+                        result.elo()[club], result.ratingDeviation()[club], eloChange, ratingDeviationChange));
+            }
+        }
+        int clubsCompared = history.clubCount() - clubsMissing;
+        int clubsChanged = diffs.size();
+
+        diffs.sort(Comparator.comparingDouble((RatingDiffDTO diff) -> Math.abs(diff.getEloChange())).reversed());
+        if (diffs.size() > limit) {
+            diffs = new ArrayList<>(diffs.subList(0, limit));
+        }
+
+        return new RatingReplayDTO(parameters, history.size(), history.clubCount(), result.components(),
+                result.largestComponentMatches(), replayMillis, clubsMissing, clubsChanged, maxAbsoluteEloChange,
+                clubsCompared == 0 ? 0 : totalAbsoluteEloChange / clubsCompared, diffs);
+    }
+}
@@ -0,0 +1,388 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.crashcourse.kickoff.tms.bracket.model.RatingUpdateEvent;
+import com.crashcourse.kickoff.tms.bracket.model.RatingUpdateStatus;
+import com.crashcourse.kickoff.tms.bracket.repository.RatingUpdateEventRepository;
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.club.ClubRatingProfile;
+import com.crashcourse.kickoff.tms.club.ClubRatingUpdate;
+import com.crashcourse.kickoff.tms.club.ClubRatingUpdateResult;
+import com.crashcourse.kickoff.tms.security.JwtUtil;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the rating update outbox to the clubs service in the background.
+ *
+ * Events are taken oldest first, a batch at a time. The current ratings of
+ * every club in the batch are read in one request, and the events are rated
+ * in order, each starting from the ratings the one before it left behind.
+ * The new ratings are stored on the events before anything is sent, then
+ * each club's latest rating is sent, the whole batch in one request.
+ * Ratings are sent as absolute values under an idempotency key made of the
+ * event and the rating version the update expects, so an update sent again
+ * after its response was lost is reported as a duplicate instead of being
+ * applied twice. Each one carries the rating version it was worked out
+ * from; if another write got to a club first, the clubs service reports a
+ * conflict, and the batch's results are rated again from the club's new
+ * rating and resent, up to MAX_CONFLICT_ROUNDS times. The version is
+ * stored with the ratings, so an event sent again in a later batch still
+ * expects the version it was rated from, and a club that moved on in
+ * between is rated again rather than overwritten.
+ *
+ * A single thread runs the dispatcher, woken whenever a result commits and
+ * otherwise every few seconds; results that commit while a pass is already
+ * waiting to run share that pass. When the clubs service fails it backs off,
+ * and an event that still cannot be sent after MAX_ATTEMPTS is set aside
+ * as FAILED.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RatingUpdateDispatcher {
+
+    static final int BATCH_SIZE = 50;
+    static final int MAX_ATTEMPTS = 20;
+    static final int MAX_CONFLICT_ROUNDS = 3;
+    static final long POLL_INTERVAL_MILLIS = 5000;
+    static final long MIN_BACKOFF_MILLIS = 1000;
+    static final long MAX_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final RatingUpdateEventRepository ratingUpdateEventRepository;
+    private final MatchService matchService;
+    private final ClubServiceClient clubServiceClient;
+    private final JwtUtil jwtUtil;
+
+    @Value("${ratings.outbox.dispatcher.enabled:true}")
+    private boolean enabled;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("rating-update-dispatcher").factory());
+
+    /*
+     * Set while a pass is queued and has not started yet
+     */
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    /*
+     * Only touched on the dispatcher thread
+     */
+    private int consecutiveFailures;
+    private long resumeAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            executor.scheduleWithFixedDelay(this::drain, 0, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /*
+     * Sends a new result's ratings as soon as it commits, instead of at the next poll
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQueued(RatingUpdateEvent event) {
+        if (enabled && drainScheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        if (System.currentTimeMillis() < resumeAt) {
+            return;
+        }
+        try {
+            BatchResult result;
+            do {
+                result = dispatchBatch();
+            } while (result.failed() == 0 && result.taken() == BATCH_SIZE);
+
+            if (result.failed() == 0) {
+                consecutiveFailures = 0;
+                return;
+            }
+        } catch (RuntimeException e) {
+            /*
+             * Nothing was sent; the events are taken again after the backoff
+             */
+            log.warn("Rating update outbox pass failed", e);
+        }
+        consecutiveFailures++;
+        long backoff = MIN_BACKOFF_MILLIS << Math.min(consecutiveFailures - 1, 16);
+        resumeAt = System.currentTimeMillis() + Math.min(backoff, MAX_BACKOFF_MILLIS);
+    }
+
+    /**
+     * Sends one batch of pending events to the clubs service.
+     *
+     * @return How many events were taken, and how many of them could not be sent.
+     */
+    BatchResult dispatchBatch() {
+        List<RatingUpdateEvent> events = ratingUpdateEventRepository
+                .findByStatusOrderByIdAsc(RatingUpdateStatus.PENDING, Limit.of(BATCH_SIZE));
+        if (events.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+        String token = ClubServiceClient.BEARER_PREFIX + jwtUtil.generateToken();
+
+        /*
+         * Events rated in an earlier batch are sent first, on their own and
+         * exactly as they were sent before, so that a write that already
+         * went through is recognised by its key. New events for a club whose
+         * earlier rating still has not gone through wait for a later batch
+         */
+        int failed = 0;
+        Set<Long> waitingClubs = new HashSet<>();
+        List<RatingUpdateEvent> resent = events.stream().filter(RatingUpdateEvent::isRated).toList();
+        if (!resent.isEmpty()) {
+            failed += send(resent, token);
+            for (RatingUpdateEvent event : resent) {
+                if (event.getStatus() == RatingUpdateStatus.PENDING) {
+                    if (!event.isClub1Sent()) {
+                        waitingClubs.add(event.getClub1Id());
+                    }
+                    if (!event.isClub2Sent()) {
+                        waitingClubs.add(event.getClub2Id());
+                    }
+                }
+            }
+        }
+        List<RatingUpdateEvent> fresh = events.stream()
+                .filter(event -> !event.isRated())
+                .filter(event -> !waitingClubs.contains(event.getClub1Id()) && !waitingClubs.contains(event.getClub2Id()))
+                .toList();
+        if (!fresh.isEmpty()) {
+            failed += send(fresh, token);
+        }
+        return new BatchResult(events.size(), failed);
+    }
+
+    /*
+     * Rates the events that are not rated yet, sends each club's latest
+     * rating in one request, and records what went through
+     *
+     * @return How many of the events could not be sent.
+     */
+    private int send(List<RatingUpdateEvent> events, String token) {
+        Set<Long> clubIds = new LinkedHashSet<>();
+        for (RatingUpdateEvent event : events) {
+            clubIds.add(event.getClub1Id());
+            clubIds.add(event.getClub2Id());
+        }
+        Map<Long, double[]> currentRatings = new HashMap<>();
+        Map<Long, Long> versions = new HashMap<>();
+        readRatings(clubServiceClient.getClubRatingProfiles(clubIds, token), currentRatings, versions);
+
+        /*
+         * Rated in this batch, so rated again if a club turns out to have
+         * moved on before its new rating was written
+         */
+        Set<RatingUpdateEvent> ratedHere = Collections.newSetFromMap(new IdentityHashMap<>());
+        events.stream().filter(event -> !event.isRated()).forEach(ratedHere::add);
+
+        /*
+         * Clubs another write moved on since they were rated. An event rated
+         * in an earlier batch keeps its other club's rating, which may
+         * already be written, and rates only these clubs again
+         */
+        Set<Long> movedClubs = new HashSet<>();
+
+        Map<Long, ClubRatingUpdate> applied = new HashMap<>();
+        Map<Long, String> failedClubs = new HashMap<>();
+        for (int round = 1; ; round++) {
+            /*
+             * Rate the events in order, each rating starting from the one
+             * before it and expecting the version that rating came from
+             */
+            Map<Long, double[]> ratings = new HashMap<>();
+            currentRatings.forEach((clubId, rating) -> ratings.put(clubId, rating.clone()));
+            Map<Long, Long> baseVersions = new HashMap<>(versions);
+            Map<Long, RatingUpdateEvent> latestEventForClub = new LinkedHashMap<>();
+            for (RatingUpdateEvent event : events) {
+                if (event.getStatus() != RatingUpdateStatus.PENDING) {
+                    continue;
+                }
+                boolean rateClub1 = ratedHere.contains(event) || (!event.isClub1Sent() && movedClubs.contains(event.getClub1Id()));
+                boolean rateClub2 = ratedHere.contains(event) || (!event.isClub2Sent() && movedClubs.contains(event.getClub2Id()));
+                if (rateClub1 || rateClub2) {
+                    double[] club1 = ratings.get(event.getClub1Id());
+                    double[] club2 = ratings.get(event.getClub2Id());
+                    if (club1 == null || club2 == null) {
+                        event.setStatus(RatingUpdateStatus.FAILED);
+                        event.setLastError("Club profile not found.");
+                        continue;
+                    }
+                    double[] rated = matchService.calculateNewRatings(event.toMatchUpdate(),
+                            club1[0], club1[1], club2[0], club2[1]);
+                    if (rateClub1) {
+                        event.setClub1Elo(rated[0]);
+                        event.setClub1RatingDeviation(rated[1]);
+                        event.setClub1RatingVersion(baseVersions.get(event.getClub1Id()));
+                    }
+                    if (rateClub2) {
+                        event.setClub2Elo(rated[2]);
+                        event.setClub2RatingDeviation(rated[3]);
+                        event.setClub2RatingVersion(baseVersions.get(event.getClub2Id()));
+                    }
+                }
+                if (!event.isClub1Sent()) {
+                    ratings.put(event.getClub1Id(), new double[] { event.getClub1Elo(), event.getClub1RatingDeviation() });
+                    baseVersions.put(event.getClub1Id(), event.getClub1RatingVersion());
+                    latestEventForClub.put(event.getClub1Id(), event);
+                }
+                if (!event.isClub2Sent()) {
+                    ratings.put(event.getClub2Id(), new double[] { event.getClub2Elo(), event.getClub2RatingDeviation() });
+                    baseVersions.put(event.getClub2Id(), event.getClub2RatingVersion());
+                    latestEventForClub.put(event.getClub2Id(), event);
+                }
+            }
+            ratingUpdateEventRepository.saveAll(events);
+
+            /*
+             * Each club's latest rating, all in one request, credited in the
+             * club's rating history to the latest match, and only applied if
+             * the club is still at the version that rating was worked out
+             * from. A club whose rating was already written this round is
+             * left out
+             */
+            List<ClubRatingUpdate> updates = new ArrayList<>();
+            latestEventForClub.forEach((clubId, event) -> {
+                double[] rating = ratings.get(clubId);
+                Long expectedVersion = baseVersions.get(clubId);
+                ClubRatingUpdate update = new ClubRatingUpdate(clubId, rating[0], rating[1], event.getMatchId(),
+                        expectedVersion, idempotencyKey(event, expectedVersion));
+                if (!isSameRating(update, applied.get(clubId))) {
+                    updates.add(update);
+                }
+            });
+            if (updates.isEmpty()) {
+                break;
+            }
+
+            Set<Long> conflicts = new LinkedHashSet<>();
+            try {
+                List<ClubRatingUpdateResult> results = clubServiceClient.updateClubRatings(updates, token);
+                for (int i = 0; i < updates.size(); i++) {
+                    ClubRatingUpdate update = updates.get(i);
+                    ClubRatingUpdateResult result = i < results.size() ? results.get(i) : null;
+                    if (result != null && (ClubRatingUpdateResult.UPDATED.equals(result.getStatus())
+                            || ClubRatingUpdateResult.DUPLICATE.equals(result.getStatus()))) {
+                        applied.put(update.getClubId(), update);
+                        versions.put(update.getClubId(), result.getRatingVersion());
+                        movedClubs.remove(update.getClubId());
+                        failedClubs.remove(update.getClubId());
+                        continue;
+                    }
+                    applied.remove(update.getClubId());
+                    if (result != null && ClubRatingUpdateResult.CONFLICT.equals(result.getStatus())) {
+                        conflicts.add(update.getClubId());
+                    }
+                    failedClubs.put(update.getClubId(),
+                            "Rating not updated: " + (result == null ? "no result" : result.getStatus()));
+                }
+            } catch (RuntimeException e) {
+                updates.forEach(update -> failedClubs.put(update.getClubId(), e.getMessage()));
+                break;
+            }
+            if (conflicts.isEmpty() || round == MAX_CONFLICT_ROUNDS) {
+                break;
+            }
+
+            /*
+             * Another write moved these clubs on after they were read: read
+             * them again and rate their results from where they are now.
+             * Clubs already written for events rated in this batch are sent
+             * again under their new version if that changes their rating
+             */
+            readRatings(clubServiceClient.getClubRatingProfiles(conflicts, token), currentRatings, versions);
+            movedClubs.addAll(conflicts);
+        }
+
+        int failed = 0;
+        for (RatingUpdateEvent event : events) {
+            if (event.getStatus() != RatingUpdateStatus.PENDING) {
+                continue;
+            }
+            /*
+             * A club's request carried its latest rating, which covers every
+             * event in the batch for that club
+             */
+            event.setClub1Sent(event.isClub1Sent() || !failedClubs.containsKey(event.getClub1Id()));
+            event.setClub2Sent(event.isClub2Sent() || !failedClubs.containsKey(event.getClub2Id()));
+            if (event.isClub1Sent() && event.isClub2Sent()) {
+                event.setStatus(RatingUpdateStatus.SENT);
+                event.setSentAt(LocalDateTime.now());
+                continue;
+            }
+            failed++;
+            event.setAttempts(event.getAttempts() + 1);
+            String error = failedClubs.get(event.isClub1Sent() ? event.getClub2Id() : event.getClub1Id());
+            event.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (event.getAttempts() >= MAX_ATTEMPTS) {
+                event.setStatus(RatingUpdateStatus.FAILED);
+            }
+        }
+        ratingUpdateEventRepository.saveAll(events);
+        return failed;
+    }
+
+    private static void readRatings(List<ClubRatingProfile> profiles, Map<Long, double[]> ratings,
+            Map<Long, Long> versions) {
+        for (ClubRatingProfile profile : profiles) {
+            if (profile.isFound()) {
+                ratings.put(profile.getId(), new double[] { profile.getElo(), profile.getRatingDeviation() });
+                versions.put(profile.getId(), profile.getRatingVersion());
+            }
+        }
+    }
+
+    /*
+     * Rewriting a club under a newer version is a new update; sending the
+     * same update again is not
+     */
+    static String idempotencyKey(RatingUpdateEvent event, Long expectedVersion) {
+        return "rating-update-" + event.getId() + "-" + expectedVersion;
+    }
+
+    private static boolean isSameRating(ClubRatingUpdate update, ClubRatingUpdate applied) {
+        return applied != null
+                && applied.getRating().equals(update.getRating())
+                && applied.getRatingDeviation().equals(update.getRatingDeviation())
+                && Objects.equals(applied.getMatchId(), update.getMatchId());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    record BatchResult(int taken, int failed) {
+    }
+}
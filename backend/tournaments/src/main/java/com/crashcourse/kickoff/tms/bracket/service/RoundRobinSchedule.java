@@ -0,0 +1,70 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import java.util.List;
+
+/**
+ * Round-robin fixtures generated with the circle method.
+ *
+ * The first club stays put while the others rotate one place each round, so
+ * every pair of clubs meets exactly once over n - 1 rounds (n rounded up to
+ * even, with a bye for the club drawn against the empty slot). Fixtures are
+ * handed out one at a time rather than collected into a list.
+ */
+final class RoundRobinSchedule {
+
+    private static final long BYE = -1;
+
+    @FunctionalInterface
+    interface FixtureConsumer {
+        void accept(int roundNumber, int matchNumber, long homeClubId, long awayClubId);
+    }
+
+    private final long[] slots;
+
+    RoundRobinSchedule(List<Long> clubIds) {
+        int numberOfClubs = clubIds.size();
+        slots = new long[numberOfClubs % 2 == 0 ? numberOfClubs : numberOfClubs + 1];
+        for (int i = 0; i < numberOfClubs; i++) {
+            slots[i] = clubIds.get(i);
+        }
+        if (numberOfClubs % 2 != 0) {
+            slots[numberOfClubs] = BYE;
+        }
+    }
+
+    int getNumberOfRounds() {
+        return slots.length - 1;
+    }
+
+    /**
+     * Calls the consumer for every fixture, round by round. Home and away
+     * alternate between rounds so no club is always at home.
+     */
+    void forEachFixture(FixtureConsumer consumer) {
+        int half = slots.length / 2;
+        for (int round = 0; round < getNumberOfRounds(); round++) {
+            int matchNumber = 1;
+            for (int i = 0; i < half; i++) {
+                long home = slotAt(i, round);
+                long away = slotAt(slots.length - 1 - i, round);
+                if (home == BYE || away == BYE) {
+                    continue;
+                }
+                if ((round + i) % 2 == 1) {
+                    long swap = home;
+                    home = away;
+                    away = swap;
+                }
+                consumer.accept(round + 1, matchNumber++, home, away);
+            }
+        }
+    }
+
+    private long slotAt(int index, int round) {
+        if (index == 0) {
+            return slots[0];
+        }
+        int rotating = slots.length - 1;
+        return slots[1 + (index - 1 + round) % rotating];
+    }
+}
@@ -0,0 +1,201 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import com.crashcourse.kickoff.tms.bracket.seeding.RatingSort;
+
+/**
+ * Pairs one round of a Swiss-system tournament.
+ *
+ * Clubs are referred to by index 0..n-1 throughout. Previous opponents are
+ * kept in a bit matrix, so checking for a rematch is a single bit test, and
+ * the standings are ranked by sorting an index array rather than objects.
+ *
+ * Clubs are ranked by points, then Elo. Within each score group the top half
+ * is paired against the bottom half; a club that cannot be paired inside its
+ * group floats down to the next one. The search backtracks only when it runs
+ * into a rematch, which in practice happens near the bottom of the table.
+ */
+final class SwissPairing {
+
+    static final int BYE = -1;
+
+    /*
+     * Caps the backtracking search; a valid pairing exists well within this
+     * for the ceil(log2 n) rounds a Swiss tournament is played over
+     */
+    private static final long MAX_SEARCH_STEPS = 10_000_000L;
+
+    private final int numberOfClubs;
+    private final long[] playedBits;
+    private final boolean[] hadBye;
+
+    /*
+     * Working state for one call to pair()
+     */
+    private int[] order;
+    private int[] preferred;
+    private boolean[] paired;
+    private int[] opponent;
+    private long searchSteps;
+
+    SwissPairing(int numberOfClubs) {
+        this.numberOfClubs = numberOfClubs;
+        this.playedBits = new long[(int) (((long) numberOfClubs * numberOfClubs + 63) >>> 6)];
+        this.hadBye = new boolean[numberOfClubs];
+    }
+
+    /**
+     * Number of rounds needed to separate a clear winner: ceil(log2 n).
+     */
+    static int numberOfRounds(int numberOfClubs) {
+        if (numberOfClubs < 2) {
+            return 0;
+        }
+        return 32 - Integer.numberOfLeadingZeros(numberOfClubs - 1);
+    }
+
+    void recordPairing(int club1, int club2) {
+        setPlayed(club1, club2);
+        setPlayed(club2, club1);
+    }
+
+    void recordBye(int club) {
+        hadBye[club] = true;
+    }
+
+    boolean havePlayed(int club1, int club2) {
+        long bit = (long) club1 * numberOfClubs + club2;
+        return (playedBits[(int) (bit >>> 6)] & (1L << bit)) != 0;
+    }
+
+    private void setPlayed(int club1, int club2) {
+        long bit = (long) club1 * numberOfClubs + club2;
+        playedBits[(int) (bit >>> 6)] |= 1L << bit;
+    }
+
+    /**
+     * Pairs the next round.
+     *
+     * @param points Current points of each club, by index.
+     * @param elo    Current Elo of each club, by index; breaks ties on points.
+     * @return Opponent of each club by index, or BYE for the club sitting out.
+     * @throws IllegalStateException if every pairing would repeat a match.
+     */
+    int[] pair(int[] points, double[] elo) {
+        order = rank(points, elo);
+        preferred = preferredPartners(points);
+        paired = new boolean[numberOfClubs];
+        opponent = new int[numberOfClubs];
+        searchSteps = 0;
+
+        if (numberOfClubs % 2 == 0) {
+            if (pairFrom(0)) {
+                return opponent;
+            }
+        } else {
+            /*
+             * The lowest-ranked club that has not sat out yet gets the bye
+             */
+            for (int position = numberOfClubs - 1; position >= 0; position--) {
+                int club = order[position];
+                if (hadBye[club]) {
+                    continue;
+                }
+                paired[club] = true;
+                opponent[club] = BYE;
+                if (pairFrom(0)) {
+                    return opponent;
+                }
+                paired[club] = false;
+            }
+        }
+        throw new IllegalStateException("No pairing without a rematch for " + numberOfClubs + " clubs");
+    }
+
+    private boolean pairFrom(int position) {
+        while (position < numberOfClubs && paired[order[position]]) {
+            position++;
+        }
+        if (position == numberOfClubs) {
+            return true;
+        }
+        if (++searchSteps > MAX_SEARCH_STEPS) {
+            return false;
+        }
+
+        int club = order[position];
+        paired[club] = true;
+
+        int preferredPosition = preferred[position];
+        if (preferredPosition > position && tryPair(position, preferredPosition)) {
+            return true;
+        }
+        for (int candidate = position + 1; candidate < numberOfClubs; candidate++) {
+            if (candidate != preferredPosition && tryPair(position, candidate)) {
+                return true;
+            }
+        }
+
+        paired[club] = false;
+        return false;
+    }
+
+    private boolean tryPair(int position, int candidatePosition) {
+        int club = order[position];
+        int candidate = order[candidatePosition];
+        if (paired[candidate] || havePlayed(club, candidate)) {
+            return false;
+        }
+
+        paired[candidate] = true;
+        opponent[club] = candidate;
+        opponent[candidate] = club;
+        if (pairFrom(position + 1)) {
+            return true;
+        }
+        paired[candidate] = false;
+        return false;
+    }
+
+    /*
+     * preferred[p] is the position of the club that p meets in the top-half
+     * against bottom-half split of its score group, or -1 for the bottom half
+     */
+    private int[] preferredPartners(int[] points) {
+        int[] partners = new int[numberOfClubs];
+        int groupStart = 0;
+        while (groupStart < numberOfClubs) {
+            int groupEnd = groupStart + 1;
+            while (groupEnd < numberOfClubs && points[order[groupEnd]] == points[order[groupStart]]) {
+                groupEnd++;
+            }
+
+            int half = (groupEnd - groupStart) / 2;
+            for (int position = groupStart; position < groupEnd; position++) {
+                int offset = position - groupStart;
+                partners[position] = offset < half ? position + half : -1;
+            }
+            groupStart = groupEnd;
+        }
+        return partners;
+    }
+
+    /*
+     * Club indices ordered by points, then Elo, then index. RatingSort is
+     * stable, so ranking by Elo and then by points keeps clubs on the same
+     * points in Elo order
+     */
+    private int[] rank(int[] points, double[] elo) {
+        int[] byElo = RatingSort.descending(elo);
+        double[] pointsByElo = new double[numberOfClubs];
+        for (int i = 0; i < numberOfClubs; i++) {
+            pointsByElo[i] = points[byElo[i]];
+        }
+
+        int[] byPoints = RatingSort.descending(pointsByElo);
+        int[] ranked = new int[numberOfClubs];
+        for (int i = 0; i < numberOfClubs; i++) {
+            ranked[i] = byElo[byPoints[i]];
+        }
+        return ranked;
+    }
+}
@@ -0,0 +1,11 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import java.util.List;
+
+import com.crashcourse.kickoff.tms.bracket.model.*;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+
+public interface SwissService {
+    Bracket createSwiss(Tournament tournament, List<Long> clubIds, String jwtToken);
+    Match recordResult(Tournament tournament, Match match, MatchScore previousScore, String jwtToken);
+}
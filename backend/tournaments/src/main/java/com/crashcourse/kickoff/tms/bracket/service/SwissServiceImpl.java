@@ -0,0 +1,186 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.crashcourse.kickoff.tms.bracket.model.*;
+import com.crashcourse.kickoff.tms.bracket.repository.*;
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.club.ClubRatingProfile;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class SwissServiceImpl implements SwissService {
+
+    private final TournamentRepository tournamentRepository;
+    private final BracketRepository bracketRepository;
+    private final BracketBatchRepository bracketBatchRepository;
+    private final MatchRepository matchRepository;
+    private final LeagueStandingRepository leagueStandingRepository;
+    private final LeagueService leagueService;
+    private final ClubServiceClient clubServiceClient;
+    private final BracketViewCache bracketViewCache;
+
+    /**
+     * Creates a Swiss tournament of ceil(log2 n) rounds and draws the first
+     * one. Later rounds are drawn as the previous round finishes.
+     *
+     * @param tournament Tournament the bracket belongs to.
+     * @param clubIds    IDs of the clubs taking part.
+     * @param jwtToken   JWT token for the clubs service.
+     * @return The saved Swiss bracket.
+     */
+    @Override
+    @Transactional
+    public Bracket createSwiss(Tournament tournament, List<Long> clubIds, String jwtToken) {
+        SwissBracket bracket = new SwissBracket();
+        bracket.setTournament(tournament);
+        bracket.setNumberOfRounds(SwissPairing.numberOfRounds(clubIds.size()));
+        if (clubIds.size() == 1) {
+            bracket.setWinningClubId(clubIds.get(0));
+        }
+        SwissBracket savedBracket = bracketRepository.save(bracket);
+
+        bracketBatchRepository.insertStandings(tournament.getId(), clubIds);
+        if (clubIds.size() > 1) {
+            drawRound(tournament, savedBracket.getId(), 1, clubIds, new int[clubIds.size()],
+                    new SwissPairing(clubIds.size()), jwtToken);
+        }
+        return savedBracket;
+    }
+
+    /**
+     * Saves a Swiss result and updates the standings. When it completes the
+     * latest round, the next round is drawn; when every round is over, the
+     * top of the standings wins.
+     *
+     * @param tournament    Tournament the match belongs to.
+     * @param match         Match with its new score already set.
+     * @param previousScore Score the match had before this update, or null if it was not over.
+     * @param jwtToken      JWT token for the clubs service, to read current Elo ratings.
+     * @return The saved match.
+     */
+    @Override
+    @Transactional
+    public Match recordResult(Tournament tournament, Match match, MatchScore previousScore, String jwtToken) {
+        MatchScore score = MatchScore.of(match);
+        leagueService.updateStandings(tournament.getId(), previousScore, score);
+
+        Match savedMatch = matchRepository.save(match);
+        bracketViewCache.evict(tournament.getId());
+        if (score == null) {
+            return savedMatch;
+        }
+
+        SwissBracket bracket = (SwissBracket) tournament.getBracket();
+        int roundsDrawn = bracket.getRounds().size();
+
+        if (roundsDrawn >= bracket.getNumberOfRounds()) {
+            /*
+             * Same as a league: a correction after the last round may change the winner
+             */
+            if (matchRepository.countUnplayed(bracket.getId()) == 0) {
+                bracket.setWinningClubId(leagueService.getStandings(tournament).get(0).getClubId());
+                bracketRepository.save(bracket);
+                tournament.setOver(true);
+                tournamentRepository.save(tournament);
+            }
+        } else if (match.getRound().getRoundNumber() == roundsDrawn
+                && matchRepository.countUnplayedInRound(match.getRound().getId()) == 0) {
+            drawNextRound(tournament, bracket, roundsDrawn + 1, jwtToken);
+        }
+        return savedMatch;
+    }
+
+    /*
+     * Points come from the standings and previous opponents from the matches
+     * already played; both are turned into club indices for the pairing
+     */
+    private void drawNextRound(Tournament tournament, SwissBracket bracket, int roundNumber, String jwtToken) {
+        List<LeagueStanding> table = leagueStandingRepository.findTable(tournament.getId());
+        int numberOfClubs = table.size();
+
+        List<Long> clubIds = new ArrayList<>(numberOfClubs);
+        int[] points = new int[numberOfClubs];
+        Map<Long, Integer> indexOf = new HashMap<>();
+        for (int i = 0; i < numberOfClubs; i++) {
+            LeagueStanding standing = table.get(i);
+            clubIds.add(standing.getClubId());
+            points[i] = standing.getPoints();
+            indexOf.put(standing.getClubId(), i);
+        }
+
+        SwissPairing pairing = new SwissPairing(numberOfClubs);
+        for (Match played : matchRepository.findByBracketId(bracket.getId())) {
+            Integer club1 = indexOf.get(played.getClub1Id());
+            Integer club2 = played.getClub2Id() == null ? null : indexOf.get(played.getClub2Id());
+            if (club1 != null && club2 != null) {
+                pairing.recordPairing(club1, club2);
+            } else if (club1 != null) {
+                pairing.recordBye(club1);
+            }
+        }
+
+        drawRound(tournament, bracket.getId(), roundNumber, clubIds, points, pairing, jwtToken);
+    }
+
+    private void drawRound(Tournament tournament, Long bracketId, int roundNumber, List<Long> clubIds,
+            int[] points, SwissPairing pairing, String jwtToken) {
+        /*
+         * Current Elo ratings break ties within a score group;
+         * clubs the clubs service no longer knows rank last
+         */
+        Map<Long, Double> eloByClubId = new HashMap<>();
+        for (ClubRatingProfile club : clubServiceClient.getClubRatingProfiles(clubIds, jwtToken)) {
+            if (club.isFound()) {
+                eloByClubId.put(club.getId(), club.getElo());
+            }
+        }
+        double[] elo = new double[clubIds.size()];
+        for (int i = 0; i < elo.length; i++) {
+            elo[i] = eloByClubId.getOrDefault(clubIds.get(i), 0.0);
+        }
+
+        int[] opponent = pairing.pair(points, elo);
+
+        Round round = new Round();
+        round.setRoundNumber(Long.valueOf(roundNumber));
+        round.setTournament(tournament);
+
+        List<Match> matches = new ArrayList<>(clubIds.size() / 2 + 1);
+        for (int club = 0; club < opponent.length; club++) {
+            if (opponent[club] != SwissPairing.BYE && opponent[club] < club) {
+                continue;
+            }
+            Match match = new Match();
+            match.setRound(round);
+            match.setMatchNumber(matches.size() + 1L);
+            match.setClub1Id(clubIds.get(club));
+
+            if (opponent[club] == SwissPairing.BYE) {
+                /*
+                 * A bye counts as a win, and is settled straight away
+                 */
+                match.setOver(true);
+                match.setWinningClubId(clubIds.get(club));
+                leagueStandingRepository.applyResult(tournament.getId(), clubIds.get(club),
+                        1, 1, 0, 0, 0, 0, LeagueStanding.POINTS_FOR_WIN);
+            } else {
+                match.setClub2Id(clubIds.get(opponent[club]));
+            }
+            matches.add(match);
+        }
+
+        Map<Round, Long> roundIds = bracketBatchRepository.insertRounds(bracketId, List.of(round));
+        bracketBatchRepository.insertMatches(bracketId, roundIds, matches);
+    }
+}
@@ -1,94 +0,0 @@
-package com.crashcourse.kickoff.tms.client;
-
-import java.io.*;
-import java.util.Date;
-
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
-
-import jakarta.annotation.PostConstruct;
-import com.amazonaws.auth.AWSCredentials;
-import com.amazonaws.auth.BasicAWSCredentials;
-import com.amazonaws.auth.AWSStaticCredentialsProvider;
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.AmazonS3ClientBuilder;
-import com.amazonaws.services.s3.model.CannedAccessControlList;
-import com.amazonaws.services.s3.model.DeleteObjectRequest;
-import com.amazonaws.services.s3.model.PutObjectRequest;
-
-@Service
-public class AmazonClient {
-    private AmazonS3 s3client;
-
-    @Value("${amazonProperties.endpointUrl}")
-    private String endpointUrl;
-
-    @Value("${amazonProperties.bucketName}")
-    private String bucketName;
-
-    @Value("${amazonProperties.accessKey}")
-    private String accessKey;
-
-    @Value("${amazonProperties.secretKey}")
-    private String secretKey;
-
-    @PostConstruct
-    private void initializeAmazon() {
-        AWSCredentials credentials = new BasicAWSCredentials(this.accessKey, this.secretKey);
-        this.s3client = AmazonS3ClientBuilder.standard()
-                .withCredentials(new AWSStaticCredentialsProvider(credentials))
-                .withRegion("ap-southeast-1") // Specify the appropriate region here
-                .build();
-    }
-
-    private File convertMultiPartToFile(MultipartFile file) throws IOException {
-        File convFile = null;
-        FileOutputStream fos = null;
-        try {
-            convFile = new File("verification");
-            fos = new FileOutputStream(convFile);
-            fos.write(file.getBytes());
-        } finally {
-            if (fos != null) {
-                fos.close();
-            }
-        }
-        return convFile;
-    }
-
-    private String generateFileName(MultipartFile multiPart) {
-        if (multiPart == null || multiPart.getOriginalFilename() == null) {
-            return null;
-        }
-        return new Date().getTime() + "-" + multiPart.getOriginalFilename().replace(" ", "_");
-    }
-
-    private void uploadFileTos3bucket(String fileName, File file) {
-        s3client.putObject(new PutObjectRequest(bucketName, fileName, file)
-                .withCannedAcl(CannedAccessControlList.PublicRead));
-    }
-
-    public String uploadFile(MultipartFile multipartFile) {
-        String fileUrl = "";
-        try {
-            File file = convertMultiPartToFile(multipartFile);
-            String fileName = generateFileName(multipartFile);
-            fileUrl = endpointUrl + "/" + bucketName + "/" + fileName;
-            uploadFileTos3bucket(fileName, file);
-            if (!file.delete()) {
-                throw new FileNotFoundException("File not found");
-            }
-        } catch (Exception e) {
-            return e.getMessage();
-        }
-        return fileUrl;
-    }
-
-    public String deleteFileFromS3Bucket(String fileUrl) {
-        String fileName = fileUrl.substring(fileUrl.lastIndexOf("/") + 1);
-        s3client.deleteObject(new DeleteObjectRequest(bucketName + "/", fileName));
-        return "Successfully deleted";
-    }
-
-}
\ No newline at end of file
@@ -1,7 +1,21 @@
 package com.crashcourse.kickoff.tms.client;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -16,8 +30,13 @@ import com.crashcourse.kickoff.tms.client.exception.ClubProfileNotFoundAtClientE
 import com.crashcourse.kickoff.tms.client.exception.ClubRatingUpdateFailedException;
 import com.crashcourse.kickoff.tms.client.exception.PenaltyStatusVerificationException;
 import com.crashcourse.kickoff.tms.club.ClubProfile;
+import com.crashcourse.kickoff.tms.club.ClubRatingProfile;
+import com.crashcourse.kickoff.tms.club.ClubRatingUpdate;
+import com.crashcourse.kickoff.tms.club.ClubRatingUpdateResult;
 import com.crashcourse.kickoff.tms.security.JwtTokenProvider;
 
+import jakarta.annotation.PreDestroy;
+
 @Component
 public class ClubServiceClient {
 
@@ -31,6 +50,20 @@ public class ClubServiceClient {
 
     public static final String BEARER_PREFIX = "Bearer ";
 
+    /*
+     * Async calls run on virtual threads, but no more than
+     * MAX_CONCURRENT_CALLS are in flight against the clubs service at once
+     */
+    private static final int MAX_CONCURRENT_CALLS = 16;
+
+    /**
+     * Time budget of all the clubs service calls made for one request.
+     */
+    public static final long REQUEST_DEADLINE_MILLIS = 5000;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits = new Semaphore(MAX_CONCURRENT_CALLS);
+
     public ClubServiceClient(RestTemplate restTemplate, JwtTokenProvider jwtTokenProvider) {
         if (System.getenv("CLUBS_SERVICE_BASE_URL") != null) {
             clubUrl = System.getenv("CLUBS_SERVICE_BASE_URL");
@@ -63,6 +96,35 @@ public class ClubServiceClient {
         }
     }
 
+    /**
+     * Fetches the rating profiles of several clubs in a single request.
+     * Clubs that do not exist come back with found set to false.
+     */
+    public List<ClubRatingProfile> getClubRatingProfiles(Collection<Long> clubIds, String token) {
+        String ids = clubIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        String url = clubUrl + "ratings?ids=" + ids;
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", jwtTokenProvider.getToken(token));
+
+        HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
+
+        try {
+            ResponseEntity<ClubRatingProfile[]> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    requestEntity,
+                    ClubRatingProfile[].class);
+
+            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+                return Arrays.asList(response.getBody());
+            } else {
+                throw new ClubProfileNotFoundAtClientException(clubIds, "Bulk lookup failed.");
+            }
+        } catch (HttpClientErrorException e) {
+            throw new ClubProfileNotFoundAtClientException(clubIds, e.getMessage());
+        }
+    }
+
     public void updateClubRating(Long clubId, double newRating, double newRD, String token) {
         String url = clubUrl + clubId + "/rating";
         HttpHeaders headers = new HttpHeaders();
@@ -89,6 +151,36 @@ public class ClubServiceClient {
         }
     }
 
+    /**
+     * Sets the ratings of several clubs in a single request. The clubs
+     * service applies the updates one by one and reports each outcome, in
+     * the order sent; a club it could not update does not fail the request.
+     */
+    public List<ClubRatingUpdateResult> updateClubRatings(List<ClubRatingUpdate> updates, String token) {
+        List<Long> clubIds = updates.stream().map(ClubRatingUpdate::getClubId).toList();
+        String url = clubUrl + "ratings";
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", BEARER_PREFIX + jwtTokenProvider.getToken(token));
+
+        HttpEntity<List<ClubRatingUpdate>> requestEntity = new HttpEntity<>(updates, headers);
+
+        try {
+            ResponseEntity<ClubRatingUpdateResult[]> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.PUT,
+                    requestEntity,
+                    ClubRatingUpdateResult[].class);
+
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                return Arrays.asList(response.getBody());
+            } else {
+                throw new ClubRatingUpdateFailedException(clubIds, "Batch update failed.");
+            }
+        } catch (HttpClientErrorException e) {
+            throw new ClubRatingUpdateFailedException(clubIds, e.getMessage());
+        }
+    }
+
     public boolean verifyNoPenaltyStatus(Long clubId) throws PenaltyStatusVerificationException {
         String url = clubUrl + clubId + "/penaltystatus";
         HttpHeaders headers = new HttpHeaders();
@@ -111,4 +203,101 @@ public class ClubServiceClient {
             throw new PenaltyStatusVerificationException(clubId, e.getMessage());
         }
     }
+
+    /**
+     * Starts the time budget for the clubs service calls of one request.
+     */
+    public static Deadline newDeadline() {
+        return Deadline.in(REQUEST_DEADLINE_MILLIS);
+    }
+
+    /**
+     * Async version of getClubProfileById, with a deadline of its own.
+     */
+    public CompletableFuture<ClubProfile> getClubProfileByIdAsync(Long clubId, String token) {
+        return getClubProfileByIdAsync(clubId, token, newDeadline());
+    }
+
+    /**
+     * Async version of getClubProfileById. Calls given the same deadline
+     * fail together once it passes, so waiting on several of them costs at
+     * most the one deadline.
+     */
+    public CompletableFuture<ClubProfile> getClubProfileByIdAsync(Long clubId, String token, Deadline deadline) {
+        return submit(() -> getClubProfileById(clubId, token), deadline,
+                message -> new ClubProfileNotFoundAtClientException(clubId, message));
+    }
+
+    /**
+     * Async version of verifyNoPenaltyStatus.
+     */
+    public CompletableFuture<Boolean> verifyNoPenaltyStatusAsync(Long clubId, Deadline deadline) {
+        return submit(() -> verifyNoPenaltyStatus(clubId), deadline,
+                message -> new PenaltyStatusVerificationException(clubId, message));
+    }
+
+    /**
+     * Waits for a call started with one of the async methods and returns its
+     * result. Failures are rethrown as the same exceptions the blocking
+     * methods throw, so callers can handle both the same way.
+     */
+    public static <T> T await(CompletableFuture<T> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /*
+     * Waiting for a permit counts against the deadline, and a call that
+     * has run out of time is interrupted, which on a virtual thread closes
+     * its socket, so it gives its permit back at once. The RestTemplate's
+     * own timeouts bound any call that is never waited on
+     */
+    private <T> CompletableFuture<T> submit(Supplier<T> call, Deadline deadline,
+            Function<String, RuntimeException> onTimeout) {
+        String timeoutMessage = "Clubs service did not respond within " + REQUEST_DEADLINE_MILLIS + "ms.";
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                if (deadline.hasPassed()
+                        || !permits.tryAcquire(deadline.remainingNanos(), TimeUnit.NANOSECONDS)) {
+                    result.completeExceptionally(onTimeout.apply(timeoutMessage));
+                    return;
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                result.complete(call.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            } finally {
+                permits.release();
+            }
+        });
+
+        return result
+                .orTimeout(deadline.remainingNanos(), TimeUnit.NANOSECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        task.cancel(true);
+                        throw onTimeout.apply(timeoutMessage);
+                    }
+                    if (cause instanceof RuntimeException runtimeException) {
+                        throw runtimeException;
+                    }
+                    throw new CompletionException(cause);
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
 }
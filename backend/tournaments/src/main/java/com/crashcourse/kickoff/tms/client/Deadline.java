@@ -0,0 +1,36 @@
+package com.crashcourse.kickoff.tms.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time by which a request's calls to another service must be
+ * done. One is started per request and handed to each call it makes, so
+ * the calls share one time budget however many there are, in parallel or
+ * one after another.
+ */
+public final class Deadline {
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * @return A deadline the given number of milliseconds from now.
+     */
+    public static Deadline in(long millis) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * @return Time left before the deadline, or zero once it has passed.
+     */
+    public long remainingNanos() {
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    public boolean hasPassed() {
+        return remainingNanos() == 0;
+    }
+}
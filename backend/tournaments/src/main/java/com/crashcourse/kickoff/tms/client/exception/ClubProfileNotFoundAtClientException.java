@@ -1,5 +1,7 @@
 package com.crashcourse.kickoff.tms.client.exception;
 
+import java.util.Collection;
+
 public class ClubProfileNotFoundAtClientException extends RuntimeException {
     public ClubProfileNotFoundAtClientException(Long clubId) {
         super("ClubProfile with ID " + clubId + " was not found.");
@@ -8,4 +10,8 @@ public class ClubProfileNotFoundAtClientException extends RuntimeException {
     public ClubProfileNotFoundAtClientException(Long clubId, String message) {
         super("ClubProfile with ID " + clubId + " was not found. " + message);
     }
-}
\ No newline at end of file
+
+    public ClubProfileNotFoundAtClientException(Collection<Long> clubIds, String message) {
+        super("ClubProfiles with IDs " + clubIds + " could not be retrieved. " + message);
+    }
+}
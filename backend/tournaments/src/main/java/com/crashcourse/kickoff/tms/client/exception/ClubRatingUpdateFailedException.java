@@ -1,5 +1,7 @@
 package com.crashcourse.kickoff.tms.client.exception;
 
+import java.util.Collection;
+
 public class ClubRatingUpdateFailedException extends RuntimeException {
     public ClubRatingUpdateFailedException(Long clubId) {
         super("Failed to update rating for Club ID: " + clubId);
@@ -8,4 +10,8 @@ public class ClubRatingUpdateFailedException extends RuntimeException {
     public ClubRatingUpdateFailedException(Long clubId, String message) {
         super("Failed to update rating for Club ID: " + clubId + ". " + message);
     }
-}
\ No newline at end of file
+
+    public ClubRatingUpdateFailedException(Collection<Long> clubIds, String message) {
+        super("Failed to update ratings for Club IDs: " + clubIds + ". " + message);
+    }
+}
@@ -0,0 +1,66 @@
+package com.crashcourse.kickoff.tms.client.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+
+/**
+ * Decodes base64 data URIs, such as "data:image/jpeg;base64,...", as a
+ * stream, so an upload sent as one can be stored without decoding it into
+ * an array first.
+ */
+public final class DataUri {
+
+    /*
+     * Longer than any media type the frontend sends
+     */
+    private static final int MAX_HEADER_LENGTH = 256;
+
+    private DataUri() {
+    }
+
+    /**
+     * Opens the content of a data URI held in a string.
+     *
+     * @throws IllegalArgumentException if it is not a data URI.
+     */
+    public static InputStream open(String dataUri) {
+        int comma = dataUri.indexOf(',');
+        if (!dataUri.startsWith("data:") || comma < 0 || comma > MAX_HEADER_LENGTH) {
+            throw new IllegalArgumentException("Not a data URI");
+        }
+        /*
+         * Read straight from the string rather than a copy of it
+         */
+        InputStream base64 = new InputStream() {
+            private int position = comma + 1;
+
+            @Override
+            public int read() {
+                return position < dataUri.length() ? dataUri.charAt(position++) & 0xFF : -1;
+            }
+        };
+        return Base64.getMimeDecoder().wrap(base64);
+    }
+
+    /**
+     * Opens the content of a data URI being read from a stream, reading only
+     * its header before returning.
+     *
+     * @throws IllegalArgumentException if it is not a data URI.
+     */
+    public static InputStream open(InputStream dataUri) throws IOException {
+        StringBuilder header = new StringBuilder();
+        int next;
+        while ((next = dataUri.read()) != ',') {
+            if (next < 0 || header.length() == MAX_HEADER_LENGTH) {
+                throw new IllegalArgumentException("Not a data URI");
+            }
+            header.append((char) next);
+        }
+        if (!header.toString().startsWith("data:")) {
+            throw new IllegalArgumentException("Not a data URI");
+        }
+        return Base64.getMimeDecoder().wrap(dataUri);
+    }
+}
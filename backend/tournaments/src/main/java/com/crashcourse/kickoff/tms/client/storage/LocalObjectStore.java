@@ -0,0 +1,59 @@
+package com.crashcourse.kickoff.tms.client.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores objects as files in a local directory, for development and load
+ * testing without S3. URLs are file: URLs unless storage.local.url gives a
+ * prefix the directory is served under.
+ *
+ * Content is streamed into a temporary file in the same directory, which is
+ * moved into place once complete, so a reader never sees half an object.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.backend", havingValue = "local")
+public class LocalObjectStore implements ObjectStore {
+
+    private final Path root;
+    private final String urlPrefix;
+
+    public LocalObjectStore(@Value("${storage.local.root:uploads}") String root,
+            @Value("${storage.local.url:}") String urlPrefix) throws IOException {
+        this.root = Files.createDirectories(Path.of(root)).toAbsolutePath().normalize();
+        this.urlPrefix = urlPrefix.isEmpty() ? this.root.toUri().toString() : urlPrefix;
+    }
+
+    @Override
+    public String put(String key, InputStream content, String contentType) throws IOException {
+        Path target = resolve(key);
+        Path partial = Files.createTempFile(root, ".upload-", ".tmp");
+        try {
+            Files.copy(content, partial, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        return urlPrefix + (urlPrefix.endsWith("/") ? "" : "/") + key;
+    }
+
+    @Override
+    public void delete(String url) throws IOException {
+        Files.deleteIfExists(resolve(ObjectStore.keyOf(url)));
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.getParent().equals(root)) {
+            throw new IllegalArgumentException("Invalid object key: " + key);
+        }
+        return path;
+    }
+}
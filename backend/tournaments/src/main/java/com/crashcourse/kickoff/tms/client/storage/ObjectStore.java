@@ -0,0 +1,53 @@
+package com.crashcourse.kickoff.tms.client.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Where uploaded files are kept. Implementations read the content as a
+ * stream and hold at most a fixed amount of it in memory, whatever its
+ * size, so uploads never need to be buffered whole.
+ *
+ * The backend is chosen with storage.backend: s3 (the default) or local.
+ */
+public interface ObjectStore {
+
+    /**
+     * Stores content under a key, reading the stream to its end.
+     *
+     * @param key         Key of the object, from newKey.
+     * @param content     The content; the caller closes it.
+     * @param contentType MIME type of the content.
+     * @return URL the object can be fetched from.
+     * @throws IOException if the content cannot be read or stored; nothing
+     *                     is left behind under the key.
+     */
+    String put(String key, InputStream content, String contentType) throws IOException;
+
+    /**
+     * Removes an object, if it exists.
+     *
+     * @param url URL returned when the object was stored.
+     */
+    void delete(String url) throws IOException;
+
+    /**
+     * Makes a key no other upload will have, so concurrent uploads of files
+     * with the same name never overwrite each other.
+     *
+     * @param filename Name the file was uploaded with.
+     * @return A unique key ending in the file name.
+     */
+    static String newKey(String filename) {
+        String safeName = filename == null ? "" : filename.replaceAll("[^A-Za-z0-9._-]", "_");
+        return UUID.randomUUID() + (safeName.isEmpty() ? "" : "-" + safeName);
+    }
+
+    /**
+     * @return The key at the end of an object's URL.
+     */
+    static String keyOf(String url) {
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,23 @@
+package com.crashcourse.kickoff.tms.club;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Slim rating view returned by the clubs service bulk lookup,
+ * see ClubController.getClubRatingProfiles in the clubs service
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClubRatingProfile {
+    private Long id;
+    private boolean found;
+    private String name;
+    private Double elo;
+    private Double ratingDeviation;
+    private Long ratingVersion;
+    private Long captainId;
+    private boolean penalised;
+}
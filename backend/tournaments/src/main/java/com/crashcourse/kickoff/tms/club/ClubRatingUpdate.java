@@ -0,0 +1,23 @@
+package com.crashcourse.kickoff.tms.club;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * One club's new rating in a batch sent to the clubs service,
+ * see ClubController.updateClubRatings in the clubs service. It is only
+ * applied while the club's rating version is still expectedVersion, and
+ * only once for its idempotency key
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClubRatingUpdate {
+    private Long clubId;
+    private Double rating;
+    private Double ratingDeviation;
+    private Long matchId;
+    private Long expectedVersion;
+    private String idempotencyKey;
+}
@@ -0,0 +1,24 @@
+package com.crashcourse.kickoff.tms.club;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Outcome of one item of a batch rating update, in the order sent
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClubRatingUpdateResult {
+    public static final String UPDATED = "UPDATED";
+    public static final String CONFLICT = "CONFLICT";
+    /*
+     * Already applied under the same idempotency key
+     */
+    public static final String DUPLICATE = "DUPLICATE";
+
+    private Long clubId;
+    private String status;
+    private Long ratingVersion;
+}
@@ -2,12 +2,25 @@ package com.crashcourse.kickoff.tms.tournament;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+
 @Configuration
 public class RestTemplateConfig {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+
+    /*
+     * No call may outlive the deadline of the request that made it, so a
+     * call nobody waits on any more still gives up its connection
+     */
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+        requestFactory.setReadTimeout((int) ClubServiceClient.REQUEST_DEADLINE_MILLIS);
+        return new RestTemplate(requestFactory);
     }
 }
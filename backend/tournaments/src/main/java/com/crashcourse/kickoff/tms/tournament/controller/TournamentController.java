@@ -1,16 +1,14 @@
 package com.crashcourse.kickoff.tms.tournament.controller;
 
-import java.util.Base64;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -21,31 +19,39 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
 
 import com.crashcourse.kickoff.tms.bracket.dto.MatchUpdateDTO;
+import com.crashcourse.kickoff.tms.bracket.model.LeagueStanding;
 import com.crashcourse.kickoff.tms.bracket.model.Match;
-import com.crashcourse.kickoff.tms.client.AmazonClient;
+import com.crashcourse.kickoff.tms.bracket.model.RatingParameters;
+import com.crashcourse.kickoff.tms.bracket.service.RatingReplayService;
 import com.crashcourse.kickoff.tms.client.exception.ClubProfileNotFoundAtClientException;
+import com.crashcourse.kickoff.tms.client.storage.DataUri;
+import com.crashcourse.kickoff.tms.client.storage.ObjectStore;
 import com.crashcourse.kickoff.tms.security.JwtUtil;
+import com.crashcourse.kickoff.tms.tournament.dto.JoinTicketDTO;
 import com.crashcourse.kickoff.tms.tournament.dto.PlayerAvailabilityDTO;
 import com.crashcourse.kickoff.tms.tournament.dto.TournamentCreateDTO;
 import com.crashcourse.kickoff.tms.tournament.dto.TournamentJoinDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentPageDTO;
 import com.crashcourse.kickoff.tms.tournament.dto.TournamentResponseDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentSearchCriteria;
 import com.crashcourse.kickoff.tms.tournament.dto.TournamentUpdateDTO;
 import com.crashcourse.kickoff.tms.tournament.dto.VerificationDataDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.VerificationPageDTO;
+import com.crashcourse.kickoff.tms.tournament.exception.InvalidPlayerAvailabilityException;
+import com.crashcourse.kickoff.tms.tournament.exception.InvalidPlayerAvailabilitySheetException;
 import com.crashcourse.kickoff.tms.tournament.exception.InvalidWinningClubException;
+import com.crashcourse.kickoff.tms.tournament.exception.JoinQueueFullException;
 import com.crashcourse.kickoff.tms.tournament.exception.MatchNotFoundException;
 import com.crashcourse.kickoff.tms.tournament.exception.TournamentNotFoundException;
 import com.crashcourse.kickoff.tms.tournament.model.Tournament;
 import com.crashcourse.kickoff.tms.tournament.model.TournamentFilter;
+import com.crashcourse.kickoff.tms.tournament.service.JoinAdmissionQueue;
+import com.crashcourse.kickoff.tms.tournament.service.StripeWebhookReceiver;
 import com.crashcourse.kickoff.tms.tournament.service.TournamentService;
 import com.stripe.exception.SignatureVerificationException;
-import com.stripe.model.Event;
-import com.stripe.model.checkout.Session;
-import com.stripe.net.Webhook;
 
-import io.github.cdimascio.dotenv.Dotenv;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -59,12 +65,16 @@ import lombok.RequiredArgsConstructor;
 public class TournamentController {
 
     private final TournamentService tournamentService;
+    private final JoinAdmissionQueue joinAdmissionQueue;
+    private final RatingReplayService ratingReplayService;
+    private final StripeWebhookReceiver stripeWebhookReceiver;
+    private final ObjectStore objectStore;
     private final JwtUtil jwtUtil;
 
     public static final String BEARER_PREFIX = "Bearer ";
 
-    @Autowired
-    private AmazonClient amazonClient;
+    static final int MAX_AVAILABILITY_SHEET_SIZE = 100;
+    static final int MAX_VERIFICATION_BATCH_SIZE = 500;
 
     /**
      * Create a new Tournament.
@@ -116,6 +126,41 @@ public class TournamentController {
         }
     }
 
+    /**
+     * Retrieve one page of tournament summaries, filtered and ordered by
+     * start time.
+     *
+     * @param criteria Optional filters: from, to, locationId, tournamentFormat,
+     *                 knockoutFormat, openSlots and elo.
+     * @param cursor   nextCursor of the previous page; omit for the first page.
+     * @param size     Number of tournaments per page.
+     * @return ResponseEntity with the page and HTTP status.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<TournamentPageDTO> searchTournaments(TournamentSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        TournamentPageDTO page = tournamentService.searchTournaments(criteria, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Retrieve one page of the upcoming tournaments with an open slot whose
+     * Elo range a club with the given Elo fits, in order of start time, so
+     * captains need not try joining to find out.
+     *
+     * @param elo    Elo of the club.
+     * @param cursor nextCursor of the previous page; omit for the first page.
+     * @param size   Number of tournaments per page.
+     * @return ResponseEntity with the page and HTTP status.
+     */
+    @GetMapping("/eligible")
+    public ResponseEntity<TournamentPageDTO> getEligibleTournaments(@RequestParam double elo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(tournamentService.getEligibleTournaments(elo, cursor, size));
+    }
+
     /**
      * Update an existing Tournament.
      *
@@ -191,6 +236,22 @@ public class TournamentController {
         }
     }
 
+    /**
+     * Retrieve the league table of a round-robin Tournament.
+     *
+     * @param id ID of the tournament.
+     * @return ResponseEntity with the standings, first place first.
+     */
+    @GetMapping("/{id}/standings")
+    public ResponseEntity<?> getLeagueStandings(@PathVariable Long id) {
+        try {
+            List<LeagueStanding> standings = tournamentService.getLeagueStandings(id);
+            return ResponseEntity.ok(standings);
+        } catch (TournamentNotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+
     /**
      * Delete a Tournament by its ID.
      *
@@ -207,7 +268,8 @@ public class TournamentController {
      * Join a Tournament.
      *
      * @param tournamentJoinDTO DTO containing tournament creation data.
-     * @return ResponseEntity with the new Tournament data and HTTP status.
+     * @return ResponseEntity with the new Tournament data, or with a ticket to
+     *         poll if the join is still queued, and HTTP status.
      */
     @PostMapping("/join")
     public ResponseEntity<?> joinTournamentAsClub(
@@ -218,13 +280,63 @@ public class TournamentController {
                     .body("Authorization token is missing or invalid" + token);
         }
 
-        TournamentResponseDTO joinedTournament = null;
+        JoinTicketDTO ticket;
         try {
-            joinedTournament = tournamentService.joinTournamentAsClub(tournamentJoinDTO, token);
-            return new ResponseEntity<>(joinedTournament, HttpStatus.CREATED);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
+            ticket = joinAdmissionQueue.admit(tournamentJoinDTO, token);
+        } catch (JoinQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(JoinAdmissionQueue.RETRY_AFTER_SECONDS))
+                    .body(e.getMessage());
+        }
+
+        /*
+         * Joins that finish while the request waits are answered as before;
+         * the rest get a ticket to poll
+         */
+        switch (ticket.getStatus()) {
+            case JOINED:
+                return new ResponseEntity<>(ticket.getTournament(), HttpStatus.CREATED);
+            case REJECTED:
+                return ResponseEntity.badRequest().body(ticket.getMessage());
+            default:
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .header(HttpHeaders.LOCATION, "/api/v1/tournaments/join/tickets/" + ticket.getTicketId())
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(JoinAdmissionQueue.RETRY_AFTER_SECONDS))
+                        .body(ticket);
+        }
+    }
+
+    /**
+     * Check on a queued request to join a Tournament.
+     *
+     * @param ticketId ID of the ticket returned when joining.
+     * @return ResponseEntity with the ticket and HTTP status.
+     */
+    @GetMapping("/join/tickets/{ticketId}")
+    public ResponseEntity<JoinTicketDTO> getJoinTicket(@PathVariable String ticketId) {
+        return ResponseEntity.ok(joinAdmissionQueue.getTicket(ticketId));
+    }
+
+    /**
+     * Replay every finished match from scratch and compare the resulting
+     * ratings with the clubs' current ones, without writing anything.
+     * Admins only.
+     *
+     * @param parameters Rating constants to replay with; the live ones if omitted.
+     * @param limit      Most clubs to list, largest Elo change first.
+     * @param token      Authorization token from the request header.
+     * @return ResponseEntity with the replay summary and HTTP status.
+     */
+    @PostMapping("/ratings/replay")
+    public ResponseEntity<?> replayRatings(
+            @RequestBody(required = false) RatingParameters parameters,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
+        if (limit < 0) {
+            return ResponseEntity.badRequest().body("Limit must not be negative.");
         }
+        return ResponseEntity.ok(ratingReplayService.replay(
+                parameters != null ? parameters : RatingParameters.DEFAULT, limit, token));
     }
 
     /**
@@ -294,6 +406,34 @@ public class TournamentController {
         return ResponseEntity.ok(tournamentService.updatePlayerAvailability(playerAvailabilityDTO));
     }
 
+    /**
+     * Update the availability of many players for a Tournament in one
+     * request, such as a club's whole squad. Either the whole sheet is saved
+     * or none of it is.
+     *
+     * @param tournamentId ID of the tournament.
+     * @param sheet        One PlayerAvailabilityDTO per player.
+     * @return ResponseEntity with the saved sheet, or the reason each refused
+     *         player was refused, and HTTP status.
+     */
+    @PutMapping("/{tournamentId}/availability")
+    public ResponseEntity<?> updatePlayerAvailabilities(@PathVariable Long tournamentId,
+            @RequestBody List<PlayerAvailabilityDTO> sheet) {
+        if (sheet.size() > MAX_AVAILABILITY_SHEET_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body("A sheet may update at most " + MAX_AVAILABILITY_SHEET_SIZE + " players.");
+        }
+        try {
+            return ResponseEntity.ok(tournamentService.updatePlayerAvailabilities(tournamentId, sheet));
+        } catch (InvalidPlayerAvailabilitySheetException e) {
+            return ResponseEntity.badRequest().body(e.getErrors());
+        } catch (TournamentNotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (InvalidPlayerAvailabilityException e) {
+            return ResponseEntity.internalServerError().body(e.getMessage());
+        }
+    }
+
     /**
      * Retrieve player availability for a Tournament.
      *
@@ -306,6 +446,22 @@ public class TournamentController {
         return ResponseEntity.ok(availabilities);
     }
 
+    /**
+     * Retrieve which Clubs in a Tournament can field a side: each joined
+     * club's available players against the number its format needs.
+     *
+     * @param tournamentId ID of the tournament.
+     * @return ResponseEntity with one SquadReadinessDTO per joined club and HTTP status.
+     */
+    @GetMapping("/{tournamentId}/readiness")
+    public ResponseEntity<?> getSquadReadiness(@PathVariable Long tournamentId) {
+        try {
+            return ResponseEntity.ok(tournamentService.getSquadReadiness(tournamentId));
+        } catch (TournamentNotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+
     /**
      * Retrieve Tournaments hosted by a specific Host.
      *
@@ -329,12 +485,10 @@ public class TournamentController {
     public ResponseEntity<?> submitVerification(@PathVariable Long id,
             @RequestBody VerificationDataDTO verificationData) {
         try {
-            // Use the `confirmationUrl` from `verificationData`
-            String[] parts = verificationData.getVerificationImage().split(",");
-            byte[] data = Base64.getDecoder().decode(parts[1]); // Skip the data URI prefix
-            MultipartFile file = new MockMultipartFile("file", id + "-verificationImage.jpg", "image/jpeg", data);
-
-            String imageUrl = this.amazonClient.uploadFile(file);
+            String imageUrl;
+            try (InputStream image = DataUri.open(verificationData.getVerificationImage())) {
+                imageUrl = objectStore.put(ObjectStore.newKey(id + "-verificationImage.jpg"), image, "image/jpeg");
+            }
             Tournament verifiedTournament = tournamentService.submitVerification(id, imageUrl, verificationData.getVenueBooked());
             return ResponseEntity.ok(verifiedTournament);
         } catch (Exception e) {
@@ -374,6 +528,53 @@ public class TournamentController {
         }
     }
 
+    /**
+     * Retrieve one page of the verification queue: the Tournaments with a
+     * verification status, oldest first.
+     *
+     * @param status Verification status to list.
+     * @param cursor nextCursor of the previous page; omit for the first page.
+     * @param size   Number of tournaments per page.
+     * @return ResponseEntity with the page and HTTP status.
+     */
+    @GetMapping("/verifications")
+    public ResponseEntity<VerificationPageDTO> getVerificationQueue(
+            @RequestParam(defaultValue = "PENDING") Tournament.VerificationStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(tournamentService.getVerificationQueue(status, cursor, size));
+    }
+
+    /**
+     * Approve every selected Tournament that is pending verification.
+     *
+     * @param tournamentIds IDs of the tournaments.
+     * @return ResponseEntity with the number of tournaments approved and HTTP status.
+     */
+    @PostMapping("/verifications/approve")
+    public ResponseEntity<?> approveVerifications(@RequestBody List<Long> tournamentIds) {
+        if (tournamentIds.size() > MAX_VERIFICATION_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body("At most " + MAX_VERIFICATION_BATCH_SIZE + " tournaments may be approved at once.");
+        }
+        return ResponseEntity.ok(Map.of("approved", tournamentService.approveVerifications(tournamentIds)));
+    }
+
+    /**
+     * Reject every selected Tournament that is pending verification.
+     *
+     * @param tournamentIds IDs of the tournaments.
+     * @return ResponseEntity with the number of tournaments rejected and HTTP status.
+     */
+    @PostMapping("/verifications/reject")
+    public ResponseEntity<?> rejectVerifications(@RequestBody List<Long> tournamentIds) {
+        if (tournamentIds.size() > MAX_VERIFICATION_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body("At most " + MAX_VERIFICATION_BATCH_SIZE + " tournaments may be rejected at once.");
+        }
+        return ResponseEntity.ok(Map.of("rejected", tournamentService.rejectVerifications(tournamentIds)));
+    }
+
     /**
      * Retrieve all Tournaments pending verification.
      *
@@ -405,7 +606,9 @@ public class TournamentController {
     }
 
     /**
-     * Handle Stripe webhook events for payment processing.
+     * Handle Stripe webhook events for payment processing. Completed
+     * checkouts are recorded once each and applied in the background, so
+     * Stripe is answered without waiting for the tournament update.
      *
      * @param payload   The webhook payload from Stripe.
      * @param sigHeader The Stripe-Signature header.
@@ -416,42 +619,11 @@ public class TournamentController {
             @RequestBody String payload,
             @RequestHeader("Stripe-Signature") String sigHeader) {
         try {
-            String endpointSecret = System.getenv("STRIPE_WEBHOOK_SECRET");
-            if (endpointSecret == null || endpointSecret.isEmpty()) {
-                Dotenv dotenv = Dotenv.load();
-                endpointSecret = dotenv.get("STRIPE_WEBHOOK_SECRET");
-            }
-
-            if (endpointSecret == null || endpointSecret.isEmpty()) {
-                throw new IllegalStateException("Missing Stripe webhook secret");
-            }
-
-            Event event = Webhook.constructEvent(payload, sigHeader, endpointSecret);
-
-            if ("checkout.session.completed".equals(event.getType())) {
-                // Get the object from the event
-                Object stripeObject = event.getDataObjectDeserializer()
-                    .deserializeUnsafe();
-                    
-                if (stripeObject instanceof Session) {
-                    Session session = (Session) stripeObject;
-                    String tournamentId = session.getClientReferenceId();
-                    
-                    if (tournamentId != null) {
-                        try {
-                            tournamentService.updateTournamentPaymentStatus(Long.parseLong(tournamentId));
-                            return ResponseEntity.ok().build();
-                        } catch (TournamentNotFoundException e) {
-                            return ResponseEntity.status(404).body("Tournament not found");
-                        } catch (Exception e) {
-                            return ResponseEntity.status(500).body("Error updating tournament");
-                        }
-                    }
-                } else {
-                    return ResponseEntity.status(400).body("Unexpected object type in webhook");
-                }
-            }
-
+            /*
+             * A stored or repeated event is acknowledged straight away; the
+             * payment is applied in the background
+             */
+            stripeWebhookReceiver.receive(payload, sigHeader);
             return ResponseEntity.ok().build();
         } catch (SignatureVerificationException e) {
             return ResponseEntity.status(400).body("Webhook signature verification failed: " + e.getMessage());
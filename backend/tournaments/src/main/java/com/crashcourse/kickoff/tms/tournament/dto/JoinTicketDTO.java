@@ -0,0 +1,24 @@
+package com.crashcourse.kickoff.tms.tournament.dto;
+
+import com.crashcourse.kickoff.tms.tournament.model.JoinTicketStatus;
+
+import lombok.*;
+
+/**
+ * State of a queued request to join a tournament. While the ticket is
+ * QUEUED, position is the number of requests for the same tournament
+ * still ahead of it; once JOINED it carries the tournament, and once
+ * REJECTED the reason the join failed.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JoinTicketDTO {
+    private String ticketId;
+    private Long tournamentId;
+    private Long clubId;
+    private JoinTicketStatus status;
+    private Integer position;
+    private TournamentResponseDTO tournament;
+    private String message;
+}
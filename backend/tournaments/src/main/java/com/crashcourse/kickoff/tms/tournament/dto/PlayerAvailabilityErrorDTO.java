@@ -0,0 +1,16 @@
+package com.crashcourse.kickoff.tms.tournament.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Why one player's line of an availability sheet was refused.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerAvailabilityErrorDTO {
+    private Long playerId;
+    private String message;
+}
@@ -0,0 +1,19 @@
+package com.crashcourse.kickoff.tms.tournament.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Whether a club in a tournament has enough available players to field a
+ * side in the tournament's format.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SquadReadinessDTO {
+    private Long clubId;
+    private int availablePlayers;
+    private int requiredPlayers;
+    private boolean ready;
+}
@@ -85,4 +85,10 @@ public class TournamentCreateDTO {
     @Min(value = 0, message = "Maximum rank cannot be negative")
     private Integer maxRank;
 
+    /**
+     * How clubs are seeded into the bracket.
+     * This field is optional; clubs are seeded by Elo if it is null.
+     */
+    private SeedingMethod seedingMethod;
+
 }
@@ -0,0 +1,17 @@
+package com.crashcourse.kickoff.tms.tournament.dto;
+
+import java.util.List;
+
+import lombok.*;
+
+/**
+ * One page of the tournament listing. Pass nextCursor back to get the
+ * following page; it is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TournamentPageDTO {
+    private List<TournamentSummaryDTO> tournaments;
+    private String nextCursor;
+}
@@ -3,7 +3,7 @@ package com.crashcourse.kickoff.tms.tournament.dto;
 import java.time.LocalDateTime;
 import java.util.List;
 
-import com.crashcourse.kickoff.tms.bracket.model.Bracket;
+import com.crashcourse.kickoff.tms.bracket.dto.BracketView;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -52,5 +52,5 @@ public class TournamentResponseDTO {
         private String name;
     }
 
-    private Bracket bracket;
+    private BracketView bracket;
 }
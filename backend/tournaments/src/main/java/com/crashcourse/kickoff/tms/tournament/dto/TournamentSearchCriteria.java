@@ -0,0 +1,37 @@
+package com.crashcourse.kickoff.tms.tournament.dto;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+
+import lombok.*;
+
+/**
+ * Optional filters for the tournament listing; a null field does not filter.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TournamentSearchCriteria {
+
+    // Start of the tournament is on or after this time
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    // Start of the tournament is before this time
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    private Long locationId;
+    private TournamentFormat tournamentFormat;
+    private KnockoutFormat knockoutFormat;
+
+    // Only tournaments that still have room for another club
+    private Boolean openSlots;
+
+    // Only tournaments whose rank band admits a club with this Elo
+    private Double elo;
+}
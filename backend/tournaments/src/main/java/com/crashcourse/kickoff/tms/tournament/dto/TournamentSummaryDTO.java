@@ -0,0 +1,37 @@
+package com.crashcourse.kickoff.tms.tournament.dto;
+
+import java.time.LocalDateTime;
+
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+
+import lombok.*;
+
+/**
+ * Slim view of a Tournament for listings. Built straight from the query,
+ * without loading joined clubs, availability or the bracket.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TournamentSummaryDTO {
+    private Long id;
+    private String name;
+    private boolean isOver;
+
+    private LocalDateTime startDateTime;
+    private LocalDateTime endDateTime;
+
+    private Long locationId;
+    private String locationName;
+
+    private Integer maxTeams;
+    private TournamentFormat tournamentFormat;
+    private KnockoutFormat knockoutFormat;
+
+    private Integer minRank;
+    private Integer maxRank;
+
+    private Integer joinedCount;
+    private Long host;
+}
@@ -0,0 +1,17 @@
+package com.crashcourse.kickoff.tms.tournament.dto;
+
+import java.util.List;
+
+import lombok.*;
+
+/**
+ * One page of the verification queue. Pass nextCursor back to get the
+ * following page; it is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VerificationPageDTO {
+    private List<VerificationSummaryDTO> tournaments;
+    private String nextCursor;
+}
@@ -0,0 +1,28 @@
+package com.crashcourse.kickoff.tms.tournament.dto;
+
+import java.time.LocalDateTime;
+
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What the moderation screen shows of a tournament awaiting or past
+ * verification, read straight from the tournament row and its location.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerificationSummaryDTO {
+    private Long id;
+    private String name;
+    private Long host;
+    private LocalDateTime startDateTime;
+    private String locationName;
+    private Tournament.VerificationStatus verificationStatus;
+    private String verificationImageUrl;
+    private boolean venueBooked;
+    private boolean verificationPaid;
+}
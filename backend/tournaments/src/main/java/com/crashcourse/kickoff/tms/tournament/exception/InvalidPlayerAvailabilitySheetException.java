@@ -0,0 +1,22 @@
+package com.crashcourse.kickoff.tms.tournament.exception;
+
+import java.util.List;
+
+import com.crashcourse.kickoff.tms.tournament.dto.PlayerAvailabilityErrorDTO;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when any line of an availability sheet is refused, in
+ * which case none of the sheet is saved.
+ */
+@Getter
+public class InvalidPlayerAvailabilitySheetException extends RuntimeException {
+
+    private final List<PlayerAvailabilityErrorDTO> errors;
+
+    public InvalidPlayerAvailabilitySheetException(List<PlayerAvailabilityErrorDTO> errors) {
+        super("Availability was refused for " + errors.size() + " player(s).");
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,14 @@
+package com.crashcourse.kickoff.tms.tournament.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a tournament's join queue has no room for another request.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class JoinQueueFullException extends RuntimeException {
+    public JoinQueueFullException(Long tournamentId) {
+        super("Too many clubs are joining tournament " + tournamentId + " right now, please try again shortly.");
+    }
+}
@@ -0,0 +1,14 @@
+package com.crashcourse.kickoff.tms.tournament.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a join ticket is unknown or has expired.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class JoinTicketNotFoundException extends RuntimeException {
+    public JoinTicketNotFoundException(String ticketId) {
+        super("Join ticket not found: " + ticketId);
+    }
+}
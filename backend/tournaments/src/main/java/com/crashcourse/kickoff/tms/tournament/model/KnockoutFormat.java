@@ -2,9 +2,11 @@ package com.crashcourse.kickoff.tms.tournament.model;
 
 /*
  * Handles all the possible knockout formats
- * KIV: LEAGUE, ROUND_ROBIN, PLAYOFFS
+ * ROUND_ROBIN is a league: every club plays every other club once
+ * SWISS pairs clubs on equal points each round, without eliminations
+ * KIV: PLAYOFFS
  */
 
 public enum KnockoutFormat {
-    SINGLE_ELIM, DOUBLE_ELIM;
+    SINGLE_ELIM, DOUBLE_ELIM, ROUND_ROBIN, SWISS;
 }
@@ -5,10 +5,17 @@ import lombok.*;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
+/*
+ * A player answers once per tournament; a new answer replaces the old one
+ * in place, which is what lets a whole sheet be written as one upsert
+ */
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(name = "player_availability",
+        uniqueConstraints = @UniqueConstraint(name = "uk_player_availability_tournament_player",
+                columnNames = { "tournament_id", "player_id" }))
 public class PlayerAvailability {
 
     @Id
@@ -0,0 +1,12 @@
+package com.crashcourse.kickoff.tms.tournament.model;
+
+/*
+ * How clubs are seeded into a knockout bracket
+ * ELO: strongest club is seed 1
+ * RANDOM: an open draw, repeatable from the tournament's ID
+ * POTS: clubs are split into pots by Elo and drawn at random within each pot
+ */
+
+public enum SeedingMethod {
+    ELO, RANDOM, POTS;
+}
@@ -0,0 +1,60 @@
+package com.crashcourse.kickoff.tms.tournament.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * A verified Stripe payment event waiting to be applied, and the record
+ * that it has been received. The unique Stripe event ID is what makes a
+ * redelivered event a no-op: its row is already here, so it is neither
+ * stored nor applied again. Rows are applied later by StripeWebhookWorker.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "stripe_webhook_inbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stripe_webhook_event_id", columnNames = "event_id"),
+        indexes = @Index(name = "idx_stripe_webhook_status_id", columnList = "status, id"))
+public class StripeWebhookEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private String eventId;
+
+    @Column(length = 64)
+    private String eventType;
+
+    private Long tournamentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private StripeWebhookStatus status = StripeWebhookStatus.PENDING;
+
+    private int attempts;
+
+    /*
+     * When a failed event may be tried again; null until it first fails
+     */
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime receivedAt;
+    private LocalDateTime processedAt;
+
+    public static StripeWebhookEvent of(String eventId, String eventType, Long tournamentId) {
+        StripeWebhookEvent event = new StripeWebhookEvent();
+        event.setEventId(eventId);
+        event.setEventType(eventType);
+        event.setTournamentId(tournamentId);
+        event.setReceivedAt(LocalDateTime.now());
+        return event;
+    }
+}
@@ -0,0 +1,7 @@
+package com.crashcourse.kickoff.tms.tournament.model;
+
+public enum StripeWebhookStatus {
+    PENDING,
+    PROCESSED,
+    FAILED
+}
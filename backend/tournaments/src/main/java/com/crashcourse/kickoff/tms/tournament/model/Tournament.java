@@ -8,17 +8,47 @@ import com.crashcourse.kickoff.tms.location.model.Location;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.crashcourse.kickoff.tms.bracket.model.Bracket;
 
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/*
+ * Fetch plans: to-one associations are joined; collections are joined only
+ * when a single tournament is loaded, and otherwise read for every loaded
+ * tournament in one subselect, so a list never multiplies its rows
+ */
+@NamedEntityGraph(name = Tournament.SUMMARY_GRAPH, attributeNodes = {
+        @NamedAttributeNode("location"),
+        @NamedAttributeNode("bracket")
+})
+@NamedEntityGraph(name = Tournament.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("location"),
+        @NamedAttributeNode("bracket"),
+        @NamedAttributeNode("joinedClubIds")
+})
+@NamedEntityGraph(name = Tournament.HOST_DASHBOARD_GRAPH, attributeNodes = {
+        @NamedAttributeNode("location"),
+        @NamedAttributeNode("bracket"),
+        @NamedAttributeNode("playerAvailabilities")
+})
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_tournament_start_date_time_id", columnList = "start_date_time, id"),
+        @Index(name = "idx_tournament_verification_status_id", columnList = "verification_status, id")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Tournament {
 
+    public static final String SUMMARY_GRAPH = "Tournament.summary";
+    public static final String DETAIL_GRAPH = "Tournament.detail";
+    public static final String HOST_DASHBOARD_GRAPH = "Tournament.hostDashboard";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -36,6 +66,9 @@ public class Tournament {
     private Integer maxTeams = 0;
     private TournamentFormat tournamentFormat;
     private KnockoutFormat knockoutFormat;
+
+    @Enumerated(EnumType.STRING)
+    private SeedingMethod seedingMethod;
     private List<Float> prizePool;
 
     private Integer minRank;
@@ -60,10 +93,18 @@ public class Tournament {
     @ElementCollection
     @CollectionTable(name = "tournament_club_ids", joinColumns = @JoinColumn(name = "tournament_id"))
     @Column(name = "club_id")
+    @Fetch(FetchMode.SUBSELECT)
     private List<Long> joinedClubIds = new ArrayList<>();
 
+    /*
+     * Kept in step with joinedClubIds, so listings can show open slots
+     * without loading the collection
+     */
+    private Integer joinedCount = 0;
+
     @JsonManagedReference
-    @OneToMany(mappedBy = "tournament", cascade = CascadeType.ALL)  
+    @OneToMany(mappedBy = "tournament", cascade = CascadeType.ALL)
+    @Fetch(FetchMode.SUBSELECT)
     private List<PlayerAvailability> playerAvailabilities = new ArrayList<>();
 
     @OneToOne(mappedBy = "tournament", cascade = CascadeType.ALL, orphanRemoval = true)
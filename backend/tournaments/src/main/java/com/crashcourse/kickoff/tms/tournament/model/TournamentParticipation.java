@@ -0,0 +1,48 @@
+package com.crashcourse.kickoff.tms.tournament.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * One club taking part in one tournament, with the tournament's dates
+ * copied in. The indexes lead with the club and cover every column the
+ * "my tournaments" filters read, so each filter is a single index range
+ * scan instead of a search through every tournament's joined clubs.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "tournament_participation",
+        uniqueConstraints = @UniqueConstraint(columnNames = { "tournament_id", "club_id" }),
+        indexes = {
+                @Index(name = "idx_participation_club_start",
+                        columnList = "club_id, start_date_time, end_date_time, tournament_id"),
+                @Index(name = "idx_participation_club_end", columnList = "club_id, end_date_time, tournament_id")
+        })
+public class TournamentParticipation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tournament_id")
+    private Long tournamentId;
+
+    @Column(name = "club_id")
+    private Long clubId;
+
+    private LocalDateTime startDateTime;
+    private LocalDateTime endDateTime;
+
+    public static TournamentParticipation of(Tournament tournament, Long clubId) {
+        TournamentParticipation participation = new TournamentParticipation();
+        participation.setTournamentId(tournament.getId());
+        participation.setClubId(clubId);
+        participation.setStartDateTime(tournament.getStartDateTime());
+        participation.setEndDateTime(tournament.getEndDateTime());
+        return participation;
+    }
+}
@@ -0,0 +1,81 @@
+package com.crashcourse.kickoff.tms.tournament.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.crashcourse.kickoff.tms.tournament.dto.PlayerAvailabilityDTO;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes a club's availability sheet for a tournament as one JDBC batch of
+ * a single upsert, so a whole squad costs one round trip to the database
+ * (with rewriteBatchedStatements on MySQL) instead of a read and a write per
+ * player. The upsert relies on the unique (tournament_id, player_id)
+ * constraint on player_availability. Callers are expected to run this
+ * inside their own transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PlayerAvailabilityBatchRepository {
+
+    private static final String UPSERT_MYSQL =
+            "INSERT INTO player_availability (tournament_id, player_id, club_id, available) VALUES (?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE club_id = VALUES(club_id), available = VALUES(available)";
+
+    /*
+     * The in-memory database used for development and tests has no
+     * ON DUPLICATE KEY, but merges on a key column list instead
+     */
+    private static final String UPSERT_H2 =
+            "MERGE INTO player_availability (tournament_id, player_id, club_id, available) "
+                    + "KEY (tournament_id, player_id) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile String upsert;
+
+    /**
+     * Inserts or replaces the availability of every player in the sheet.
+     *
+     * @param tournamentId ID of the tournament.
+     * @param sheet        One line per player, no player twice.
+     */
+    public void upsertAll(Long tournamentId, List<PlayerAvailabilityDTO> sheet) {
+        if (sheet.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(upsert(), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                PlayerAvailabilityDTO line = sheet.get(i);
+                ps.setLong(1, tournamentId);
+                ps.setLong(2, line.getPlayerId());
+                ps.setLong(3, line.getClubId());
+                ps.setBoolean(4, line.isAvailable());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return sheet.size();
+            }
+        });
+    }
+
+    private String upsert() {
+        String statement = upsert;
+        if (statement == null) {
+            String database = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            statement = "H2".equalsIgnoreCase(database) ? UPSERT_H2 : UPSERT_MYSQL;
+            upsert = statement;
+        }
+        return statement;
+    }
+}
@@ -2,6 +2,8 @@ package com.crashcourse.kickoff.tms.tournament.repository;
 
 import com.crashcourse.kickoff.tms.tournament.model.PlayerAvailability;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +14,8 @@ public interface PlayerAvailabilityRepository extends JpaRepository<PlayerAvaila
     List<PlayerAvailability> findByTournamentId(Long tournamentId);
     Optional<PlayerAvailability> findByTournamentIdAndPlayerId(Long tournamentId, Long playerId);
     List<PlayerAvailability> findByTournamentIdAndClubIdAndAvailableTrue(Long tournamentId, Long clubId);
+
+    // Player ID, club ID and availability of every answer for a tournament, without the tournament
+    @Query("SELECT a.playerId, a.clubId, a.available FROM PlayerAvailability a WHERE a.tournament.id = :tournamentId")
+    List<Object[]> findRosterByTournamentId(@Param("tournamentId") Long tournamentId);
 }
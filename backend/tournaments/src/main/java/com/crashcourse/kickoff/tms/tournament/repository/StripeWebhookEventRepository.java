@@ -0,0 +1,32 @@
+package com.crashcourse.kickoff.tms.tournament.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.crashcourse.kickoff.tms.tournament.model.StripeWebhookEvent;
+import com.crashcourse.kickoff.tms.tournament.model.StripeWebhookStatus;
+
+/**
+ * Repository interface for the Stripe webhook inbox.
+ */
+@Repository
+public interface StripeWebhookEventRepository extends JpaRepository<StripeWebhookEvent, Long> {
+
+    /*
+     * Oldest first, so payments are applied in the order Stripe delivered
+     * them; events waiting out a retry backoff are left until they are due
+     */
+    @Query("SELECT e FROM StripeWebhookEvent e WHERE e.status = :status "
+            + "AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now) ORDER BY e.id")
+    List<StripeWebhookEvent> findDue(@Param("status") StripeWebhookStatus status, @Param("now") LocalDateTime now,
+            Limit limit);
+
+    Optional<StripeWebhookEvent> findByEventId(String eventId);
+}
@@ -0,0 +1,44 @@
+package com.crashcourse.kickoff.tms.tournament.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.crashcourse.kickoff.tms.tournament.exception.InvalidCursorException;
+
+import lombok.Value;
+
+/**
+ * Position in the tournament listing: the start time and ID of the last
+ * tournament on a page. The start time is null once the listing has reached
+ * the tournaments without one. Clients see it as an opaque string.
+ */
+@Value
+public class TournamentCursor {
+
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime startDateTime;
+    Long id;
+
+    public String encode() {
+        String position = (startDateTime != null ? startDateTime.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TournamentCursor decode(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            String start = position.substring(0, separator);
+            return new TournamentCursor(start.isEmpty() ? null : LocalDateTime.parse(start),
+                    Long.valueOf(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
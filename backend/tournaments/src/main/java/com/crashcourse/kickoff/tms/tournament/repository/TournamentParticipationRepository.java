@@ -0,0 +1,57 @@
+package com.crashcourse.kickoff.tms.tournament.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.crashcourse.kickoff.tms.tournament.model.TournamentParticipation;
+
+/**
+ * Repository interface for TournamentParticipation entities. Rows are
+ * written alongside Tournament.joinedClubIds and read by the club filters
+ * in TournamentRepository.
+ */
+@Repository
+public interface TournamentParticipationRepository extends JpaRepository<TournamentParticipation, Long> {
+
+    boolean existsByTournamentIdAndClubId(Long tournamentId, Long clubId);
+
+    /*
+     * Dates are copied from the tournament row in the same statement
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tournament_participation (tournament_id, club_id, start_date_time, end_date_time) "
+            + "SELECT t.id, :clubId, t.start_date_time, t.end_date_time FROM tournament t WHERE t.id = :tournamentId",
+            nativeQuery = true)
+    int insertParticipation(@Param("tournamentId") Long tournamentId, @Param("clubId") Long clubId);
+
+    @Modifying
+    @Query("DELETE FROM TournamentParticipation p WHERE p.tournamentId = :tournamentId AND p.clubId = :clubId")
+    int deleteParticipation(@Param("tournamentId") Long tournamentId, @Param("clubId") Long clubId);
+
+    @Modifying
+    @Query("DELETE FROM TournamentParticipation p WHERE p.tournamentId = :tournamentId")
+    int deleteByTournament(@Param("tournamentId") Long tournamentId);
+
+    /*
+     * The dates are copied from the tournament, so they follow it when it is rescheduled
+     */
+    @Modifying
+    @Query("UPDATE TournamentParticipation p SET p.startDateTime = :startDateTime, p.endDateTime = :endDateTime "
+            + "WHERE p.tournamentId = :tournamentId")
+    int reschedule(@Param("tournamentId") Long tournamentId, @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("endDateTime") LocalDateTime endDateTime);
+
+    // Adds rows for clubs that joined before the participation table existed
+    @Modifying
+    @Query(value = "INSERT INTO tournament_participation (tournament_id, club_id, start_date_time, end_date_time) "
+            + "SELECT DISTINCT c.tournament_id, c.club_id, t.start_date_time, t.end_date_time "
+            + "FROM tournament_club_ids c JOIN tournament t ON t.id = c.tournament_id "
+            + "WHERE NOT EXISTS (SELECT 1 FROM tournament_participation p "
+            + "WHERE p.tournament_id = c.tournament_id AND p.club_id = c.club_id)", nativeQuery = true)
+    int backfill();
+}
@@ -1,12 +1,18 @@
 package com.crashcourse.kickoff.tms.tournament.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.crashcourse.kickoff.tms.tournament.dto.VerificationSummaryDTO;
 import com.crashcourse.kickoff.tms.tournament.model.Tournament;  
 
 /*
@@ -16,20 +22,95 @@ import com.crashcourse.kickoff.tms.tournament.model.Tournament;
 
 @Repository
 public interface TournamentRepository extends JpaRepository<Tournament, Long> {
+    /*
+     * The club filters range-scan the participation table's club indexes
+     * and then read the matching tournaments by ID
+     */
     // Find upcoming tournaments for a specific club
-    @Query("SELECT t FROM Tournament t WHERE :clubId MEMBER OF t.joinedClubIds AND t.startDateTime > CURRENT_TIMESTAMP")
+    @EntityGraph(Tournament.SUMMARY_GRAPH)
+    @Query("SELECT t FROM Tournament t WHERE t.id IN (SELECT p.tournamentId FROM TournamentParticipation p "
+            + "WHERE p.clubId = :clubId AND p.startDateTime > CURRENT_TIMESTAMP)")
     List<Tournament> findUpcomingTournamentsForClub(@Param("clubId") Long clubId);
 
     // Find current tournaments for a specific club
-    @Query("SELECT t FROM Tournament t WHERE :clubId MEMBER OF t.joinedClubIds AND t.startDateTime <= CURRENT_TIMESTAMP AND t.endDateTime >= CURRENT_TIMESTAMP")
+    @EntityGraph(Tournament.SUMMARY_GRAPH)
+    @Query("SELECT t FROM Tournament t WHERE t.id IN (SELECT p.tournamentId FROM TournamentParticipation p "
+            + "WHERE p.clubId = :clubId AND p.startDateTime <= CURRENT_TIMESTAMP AND p.endDateTime >= CURRENT_TIMESTAMP)")
     List<Tournament> findCurrentTournamentsForClub(@Param("clubId") Long clubId);
 
     // Find past tournaments for a specific club
-    @Query("SELECT t FROM Tournament t WHERE :clubId MEMBER OF t.joinedClubIds AND t.endDateTime < CURRENT_TIMESTAMP")
+    @EntityGraph(Tournament.SUMMARY_GRAPH)
+    @Query("SELECT t FROM Tournament t WHERE t.id IN (SELECT p.tournamentId FROM TournamentParticipation p "
+            + "WHERE p.clubId = :clubId AND p.endDateTime < CURRENT_TIMESTAMP)")
     List<Tournament> findPastTournamentsForClub(@Param("clubId") Long clubId);
 
+    // Summary plan for listing every tournament
+    @Override
+    @EntityGraph(Tournament.SUMMARY_GRAPH)
+    List<Tournament> findAll();
+
+    // Detail plan for a single tournament, loaded in one select
+    @EntityGraph(Tournament.DETAIL_GRAPH)
+    @Query("SELECT t FROM Tournament t WHERE t.id = :id")
+    Optional<Tournament> findDetailById(@Param("id") Long id);
+
+    // Host dashboard plan, with player availability for every hosted tournament
+    @EntityGraph(Tournament.HOST_DASHBOARD_GRAPH)
     List<Tournament> findByHost(Long host);
 
     List<Tournament> findByVerificationStatus(Tournament.VerificationStatus status);
 
+    /*
+     * The verification queue is a range scan of
+     * idx_tournament_verification_status_id, continuing after the last ID
+     * of the previous page
+     */
+    @Query("SELECT new com.crashcourse.kickoff.tms.tournament.dto.VerificationSummaryDTO("
+            + "t.id, t.name, t.host, t.startDateTime, l.name, t.verificationStatus, t.verificationImageUrl, "
+            + "t.venueBooked, t.verificationPaid) "
+            + "FROM Tournament t LEFT JOIN t.location l "
+            + "WHERE t.verificationStatus = :status AND t.id > :afterId ORDER BY t.id")
+    List<VerificationSummaryDTO> findVerificationQueue(@Param("status") Tournament.VerificationStatus status,
+            @Param("afterId") Long afterId, Limit limit);
+
+    // Moves the listed tournaments that are in one status to another, in one statement
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Tournament t SET t.verificationStatus = :to "
+            + "WHERE t.id IN :ids AND t.verificationStatus = :from")
+    int updateVerificationStatus(@Param("ids") Collection<Long> ids,
+            @Param("from") Tournament.VerificationStatus from, @Param("to") Tournament.VerificationStatus to);
+
+    /*
+     * Slots are reserved and released with single conditional updates, so
+     * concurrent joins can never take the count past maxTeams and never
+     * overwrite each other's changes
+     */
+    @Modifying
+    @Query("UPDATE Tournament t SET t.joinedCount = t.joinedCount + 1 "
+            + "WHERE t.id = :tournamentId AND t.joinedCount < t.maxTeams")
+    int reserveSlot(@Param("tournamentId") Long tournamentId);
+
+    @Modifying
+    @Query("UPDATE Tournament t SET t.joinedCount = t.joinedCount - 1 "
+            + "WHERE t.id = :tournamentId AND t.joinedCount > 0")
+    int releaseSlot(@Param("tournamentId") Long tournamentId);
+
+    // Adds one club to joinedClubIds without loading or rewriting the collection
+    @Modifying(clearAutomatically = true)
+    @Query(value = "INSERT INTO tournament_club_ids (tournament_id, club_id) VALUES (:tournamentId, :clubId)",
+            nativeQuery = true)
+    int addJoinedClub(@Param("tournamentId") Long tournamentId, @Param("clubId") Long clubId);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM tournament_club_ids WHERE tournament_id = :tournamentId AND club_id = :clubId",
+            nativeQuery = true)
+    int removeJoinedClub(@Param("tournamentId") Long tournamentId, @Param("clubId") Long clubId);
+
+    // Fills in the joined count of tournaments saved before the column existed
+    @Modifying
+    @Query(value = "UPDATE tournament t SET joined_count = "
+            + "(SELECT COUNT(*) FROM tournament_club_ids c WHERE c.tournament_id = t.id) "
+            + "WHERE t.joined_count IS NULL", nativeQuery = true)
+    int backfillJoinedCounts();
+
 }
@@ -0,0 +1,155 @@
+package com.crashcourse.kickoff.tms.tournament.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Repository;
+
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentSearchCriteria;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentSummaryDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keyset-paginated tournament listing.
+ *
+ * Pages are ordered by (start_date_time, id) and continue from the last row
+ * of the previous page rather than from an offset, so every page is a range
+ * scan of idx_tournament_start_date_time_id of the same length no matter how
+ * deep into the listing it is. Tournaments without a start time come last,
+ * in ID order, read by a second query only once the dated ones run out.
+ * Only the filters that are set are added to the query, and rows are read
+ * straight into summaries.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TournamentSearchRepository {
+
+    private static final String SELECT_SUMMARY =
+            "SELECT new com.crashcourse.kickoff.tms.tournament.dto.TournamentSummaryDTO("
+                    + "t.id, t.name, t.isOver, t.startDateTime, t.endDateTime, l.id, l.name, t.maxTeams, "
+                    + "t.tournamentFormat, t.knockoutFormat, t.minRank, t.maxRank, t.joinedCount, t.host) "
+                    + "FROM Tournament t LEFT JOIN t.location l";
+
+    /*
+     * Not over, no bracket yet and starting in the future
+     */
+    private static final String OPEN =
+            " WHERE t.isOver = false AND t.startDateTime > :now"
+                    + " AND NOT EXISTS (SELECT b.id FROM Bracket b WHERE b.tournament = t)";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Returns up to limit tournaments matching the criteria, starting after
+     * the cursor.
+     *
+     * @param criteria Filters to apply.
+     * @param after    Position to continue from, or null for the first page.
+     * @param limit    Maximum number of tournaments to return.
+     * @return Matching tournaments in (startDateTime, id) order, those
+     *         without a start time last.
+     */
+    public List<TournamentSummaryDTO> search(TournamentSearchCriteria criteria, TournamentCursor after, int limit) {
+        StringBuilder filters = new StringBuilder();
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (criteria.getFrom() != null) {
+            filters.append(" AND t.startDateTime >= :from");
+            parameters.put("from", criteria.getFrom());
+        }
+        if (criteria.getTo() != null) {
+            filters.append(" AND t.startDateTime < :to");
+            parameters.put("to", criteria.getTo());
+        }
+        if (criteria.getLocationId() != null) {
+            filters.append(" AND t.location.id = :locationId");
+            parameters.put("locationId", criteria.getLocationId());
+        }
+        if (criteria.getTournamentFormat() != null) {
+            filters.append(" AND t.tournamentFormat = :tournamentFormat");
+            parameters.put("tournamentFormat", criteria.getTournamentFormat());
+        }
+        if (criteria.getKnockoutFormat() != null) {
+            filters.append(" AND t.knockoutFormat = :knockoutFormat");
+            parameters.put("knockoutFormat", criteria.getKnockoutFormat());
+        }
+        if (Boolean.TRUE.equals(criteria.getOpenSlots())) {
+            filters.append(" AND t.joinedCount < t.maxTeams");
+        }
+        if (criteria.getElo() != null) {
+            /*
+             * Rank bounds are whole numbers, so compare them with the Elo rounded outwards
+             */
+            filters.append(" AND (t.minRank IS NULL OR t.minRank <= :eloFloor)"
+                    + " AND (t.maxRank IS NULL OR t.maxRank >= :eloCeiling)");
+            parameters.put("eloFloor", (int) Math.floor(criteria.getElo()));
+            parameters.put("eloCeiling", (int) Math.ceil(criteria.getElo()));
+        }
+
+        List<TournamentSummaryDTO> tournaments = new ArrayList<>();
+        boolean afterUndated = after != null && after.getStartDateTime() == null;
+        if (!afterUndated) {
+            StringBuilder jpql = new StringBuilder(SELECT_SUMMARY).append(" WHERE t.startDateTime IS NOT NULL").append(filters);
+            Map<String, Object> datedParameters = new HashMap<>(parameters);
+            if (after != null) {
+                jpql.append(" AND (t.startDateTime > :afterStart OR (t.startDateTime = :afterStart AND t.id > :afterId))");
+                datedParameters.put("afterStart", after.getStartDateTime());
+                datedParameters.put("afterId", after.getId());
+            }
+            jpql.append(" ORDER BY t.startDateTime, t.id");
+            tournaments.addAll(list(jpql.toString(), datedParameters, limit));
+        }
+
+        /*
+         * A start time window leaves out every tournament without one
+         */
+        if (tournaments.size() < limit && criteria.getFrom() == null && criteria.getTo() == null) {
+            StringBuilder jpql = new StringBuilder(SELECT_SUMMARY).append(" WHERE t.startDateTime IS NULL").append(filters);
+            if (afterUndated) {
+                jpql.append(" AND t.id > :afterId");
+                parameters.put("afterId", after.getId());
+            }
+            jpql.append(" ORDER BY t.id");
+            tournaments.addAll(list(jpql.toString(), parameters, limit - tournaments.size()));
+        }
+        return tournaments;
+    }
+
+    private List<TournamentSummaryDTO> list(String jpql, Map<String, Object> parameters, int limit) {
+        TypedQuery<TournamentSummaryDTO> query = entityManager.createQuery(jpql, TournamentSummaryDTO.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Returns every tournament that clubs can still join, full or not.
+     *
+     * @param now Tournaments starting after this are upcoming.
+     */
+    public List<TournamentSummaryDTO> findOpen(LocalDateTime now) {
+        return entityManager.createQuery(SELECT_SUMMARY + OPEN, TournamentSummaryDTO.class)
+                .setParameter("now", now)
+                .getResultList();
+    }
+
+    /**
+     * Returns the tournament if clubs can still join it, full or not.
+     *
+     * @param id  ID of the tournament.
+     * @param now Tournaments starting after this are upcoming.
+     */
+    public Optional<TournamentSummaryDTO> findOpenById(Long id, LocalDateTime now) {
+        return entityManager.createQuery(SELECT_SUMMARY + OPEN + " AND t.id = :id", TournamentSummaryDTO.class)
+                .setParameter("now", now)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+}
@@ -0,0 +1,30 @@
+package com.crashcourse.kickoff.tms.tournament.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.crashcourse.kickoff.tms.tournament.exception.InvalidCursorException;
+
+import lombok.Value;
+
+/**
+ * Position in the verification queue: the ID of the last tournament on a
+ * page. Clients see it as an opaque string.
+ */
+@Value
+public class VerificationCursor {
+
+    Long id;
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static VerificationCursor decode(String cursor) {
+        try {
+            return new VerificationCursor(Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
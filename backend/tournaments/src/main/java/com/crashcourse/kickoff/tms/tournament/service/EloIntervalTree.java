@@ -0,0 +1,162 @@
+package com.crashcourse.kickoff.tms.tournament.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentSummaryDTO;
+
+/**
+ * Tournaments indexed by their [minRank, maxRank] Elo range, so the ones
+ * whose range contains a given Elo are found in O(log n + k) for k matches.
+ *
+ * An interval tree: a treap ordered by (minRank, id), where each node also
+ * holds the highest maxRank beneath it. A search skips every subtree whose
+ * highest maxRank is below the Elo, and every right subtree once minRank is
+ * above it. A missing bound is open on that side.
+ *
+ * Not thread-safe; TournamentEligibilityIndex guards it.
+ */
+final class EloIntervalTree {
+
+    private static final class Node {
+        final TournamentSummaryDTO tournament;
+        final long id;
+        final double low;
+        final double high;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        double maxHigh;
+        Node left;
+        Node right;
+
+        Node(TournamentSummaryDTO tournament) {
+            this.tournament = tournament;
+            this.id = tournament.getId();
+            this.low = tournament.getMinRank() != null ? tournament.getMinRank() : Double.NEGATIVE_INFINITY;
+            this.high = tournament.getMaxRank() != null ? tournament.getMaxRank() : Double.POSITIVE_INFINITY;
+            this.maxHigh = high;
+        }
+    }
+
+    private Node root;
+    private final Map<Long, Node> byId = new HashMap<>();
+
+    int size() {
+        return byId.size();
+    }
+
+    TournamentSummaryDTO get(Long id) {
+        Node node = byId.get(id);
+        return node != null ? node.tournament : null;
+    }
+
+    /**
+     * Adds a tournament, or replaces the one with the same ID.
+     */
+    void put(TournamentSummaryDTO tournament) {
+        remove(tournament.getId());
+        Node node = new Node(tournament);
+        Node[] parts = split(root, node.low, node.id);
+        root = merge(merge(parts[0], node), parts[1]);
+        byId.put(node.id, node);
+    }
+
+    void remove(Long id) {
+        Node node = byId.remove(id);
+        if (node == null) {
+            return;
+        }
+        Node[] parts = split(root, node.low, node.id);
+        /*
+         * The tournament is the first node of the second part
+         */
+        root = merge(parts[0], removeFirst(parts[1]));
+    }
+
+    /**
+     * Passes every tournament whose range contains the Elo to the action, in
+     * no particular order.
+     */
+    void forEachContaining(double elo, Consumer<TournamentSummaryDTO> action) {
+        forEachContaining(root, elo, action);
+    }
+
+    private static void forEachContaining(Node node, double elo, Consumer<TournamentSummaryDTO> action) {
+        while (node != null && node.maxHigh >= elo) {
+            forEachContaining(node.left, elo, action);
+            if (node.low > elo) {
+                return;
+            }
+            if (node.high >= elo) {
+                action.accept(node.tournament);
+            }
+            node = node.right;
+        }
+    }
+
+    /*
+     * True if the first key is ordered before the second
+     */
+    private static boolean before(double low, long id, double otherLow, long otherId) {
+        return low < otherLow || (low == otherLow && id < otherId);
+    }
+
+    /*
+     * Splits into the nodes ordered before (low, id) and the rest
+     */
+    private static Node[] split(Node node, double low, long id) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (before(node.low, node.id, low, id)) {
+            Node[] parts = split(node.right, low, id);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+        Node[] parts = split(node.left, low, id);
+        node.left = parts[1];
+        update(node);
+        parts[1] = node;
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node removeFirst(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeFirst(node.left);
+        update(node);
+        return node;
+    }
+
+    private static void update(Node node) {
+        double maxHigh = node.high;
+        if (node.left != null) {
+            maxHigh = Math.max(maxHigh, node.left.maxHigh);
+        }
+        if (node.right != null) {
+            maxHigh = Math.max(maxHigh, node.right.maxHigh);
+        }
+        node.maxHigh = maxHigh;
+    }
+}
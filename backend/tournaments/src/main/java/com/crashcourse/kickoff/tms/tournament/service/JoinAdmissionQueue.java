@@ -0,0 +1,279 @@
+package com.crashcourse.kickoff.tms.tournament.service;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.crashcourse.kickoff.tms.tournament.dto.JoinTicketDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentJoinDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentResponseDTO;
+import com.crashcourse.kickoff.tms.tournament.exception.JoinQueueFullException;
+import com.crashcourse.kickoff.tms.tournament.exception.JoinTicketNotFoundException;
+import com.crashcourse.kickoff.tms.tournament.model.JoinTicketStatus;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Admission queue in front of joinTournamentAsClub.
+ *
+ * Every tournament with requests waiting has its own bounded FIFO queue, so
+ * a rush on one tournament cannot crowd out joins for the others. A queue is
+ * dropped as soon as it drains, and no more than MAX_QUEUED requests wait
+ * across all tournaments, so memory stays bounded whatever tournament IDs
+ * are posted. A fixed pool of workers takes requests off the queues in the
+ * order they arrived, which caps how many joins reach the database and the
+ * clubs service at once, however many captains click at the same moment.
+ * Once a tournament's queue, or the whole admission queue, is full, further
+ * requests are turned away with JoinQueueFullException.
+ *
+ * A request waits briefly for its own result. If the result is not ready in
+ * time, or the queue was already deep when the request arrived, it gets back
+ * a QUEUED ticket to poll instead.
+ */
+@Component
+public class JoinAdmissionQueue {
+
+    static final int WORKERS = 8;
+    static final int QUEUE_CAPACITY = 500;
+    static final int MAX_QUEUED = 5000;
+    static final int DEEP_QUEUE = 2 * WORKERS;
+    static final long INLINE_WAIT_MILLIS = 2000;
+
+    /*
+     * Finished tickets are kept this long for clients to poll
+     */
+    static final long TICKET_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    static final long PURGE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    public static final int RETRY_AFTER_SECONDS = 2;
+
+    private final TournamentService tournamentService;
+    private final int queueCapacity;
+    private final int maxQueued;
+    private final int deepQueue;
+    private final long inlineWaitMillis;
+    private final ExecutorService workers;
+
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurge = new AtomicLong(System.currentTimeMillis());
+
+    @Autowired
+    public JoinAdmissionQueue(TournamentService tournamentService) {
+        this(tournamentService, WORKERS, QUEUE_CAPACITY, MAX_QUEUED, DEEP_QUEUE, INLINE_WAIT_MILLIS);
+    }
+
+    JoinAdmissionQueue(TournamentService tournamentService, int workers, int queueCapacity, int maxQueued,
+            int deepQueue, long inlineWaitMillis) {
+        this.tournamentService = tournamentService;
+        this.queueCapacity = queueCapacity;
+        this.maxQueued = maxQueued;
+        this.deepQueue = deepQueue;
+        this.inlineWaitMillis = inlineWaitMillis;
+        /*
+         * One task is submitted per queued request, so the pool's own queue
+         * never holds more than maxQueued tasks
+         */
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueued), Thread.ofPlatform().name("tournament-join-", 1).factory());
+    }
+
+    /**
+     * Queues a request to join a tournament.
+     *
+     * @param dto      TournamentJoinDTO containing join data.
+     * @param jwtToken Token of the captain, forwarded to the clubs service.
+     * @return The ticket, already JOINED or REJECTED if the join finished while
+     *         the request waited, otherwise QUEUED.
+     * @throws JoinQueueFullException if the tournament's queue, or the whole
+     *                                admission queue, is full.
+     */
+    public JoinTicketDTO admit(TournamentJoinDTO dto, String jwtToken) {
+        purgeExpiredTickets();
+
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            throw new JoinQueueFullException(dto.getTournamentId());
+        }
+
+        Ticket ticket;
+        int ahead;
+        while (true) {
+            Lane lane = lanes.computeIfAbsent(dto.getTournamentId(), Lane::new);
+            synchronized (lane) {
+                /*
+                 * A lane that drained in the meantime has left the map; a
+                 * fresh one takes its place
+                 */
+                if (lane.closed) {
+                    continue;
+                }
+                ticket = new Ticket(UUID.randomUUID().toString(), lane, dto, jwtToken);
+                ahead = lane.queue.size();
+                if (ahead >= queueCapacity) {
+                    queued.decrementAndGet();
+                    throw new JoinQueueFullException(dto.getTournamentId());
+                }
+                lane.queue.add(ticket);
+                ticket.sequence = ++lane.admitted;
+                break;
+            }
+        }
+        Lane lane = ticket.lane;
+        tickets.put(ticket.id, ticket);
+        workers.execute(() -> runNext(lane));
+
+        if (ahead < deepQueue) {
+            try {
+                ticket.done.await(inlineWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        JoinTicketDTO view = toDTO(ticket);
+        if (view.getStatus() != JoinTicketStatus.QUEUED) {
+            /*
+             * Answered in the response itself, so nobody will poll for it
+             */
+            tickets.remove(ticket.id);
+        }
+        return view;
+    }
+
+    /**
+     * Returns the current state of a ticket.
+     *
+     * @param ticketId ID of the ticket returned by admit.
+     * @return The ticket.
+     * @throws JoinTicketNotFoundException if the ticket is unknown or has expired.
+     */
+    public JoinTicketDTO getTicket(String ticketId) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null || ticket.isExpired(System.currentTimeMillis())) {
+            throw new JoinTicketNotFoundException(ticketId);
+        }
+        return toDTO(ticket);
+    }
+
+    /*
+     * Each task a worker runs takes the oldest request of one tournament, so
+     * requests are served in the order they were admitted
+     */
+    private void runNext(Lane lane) {
+        Ticket ticket;
+        synchronized (lane) {
+            ticket = lane.queue.poll();
+            if (ticket == null) {
+                return;
+            }
+            lane.started++;
+            if (lane.queue.isEmpty()) {
+                lane.closed = true;
+                lanes.remove(lane.tournamentId, lane);
+            }
+        }
+        queued.decrementAndGet();
+
+        try {
+            ticket.tournament = tournamentService.joinTournamentAsClub(ticket.request, ticket.jwtToken);
+        } catch (RuntimeException e) {
+            ticket.failure = e.getMessage();
+        } finally {
+            ticket.jwtToken = null;
+            ticket.completedAt = System.currentTimeMillis();
+            ticket.done.countDown();
+        }
+    }
+
+    private JoinTicketDTO toDTO(Ticket ticket) {
+        JoinTicketStatus status;
+        Integer position = null;
+        if (ticket.done.getCount() > 0) {
+            status = JoinTicketStatus.QUEUED;
+            synchronized (ticket.lane) {
+                position = (int) Math.max(0, ticket.sequence - ticket.lane.started - 1);
+            }
+        } else if (ticket.tournament != null) {
+            status = JoinTicketStatus.JOINED;
+        } else {
+            status = JoinTicketStatus.REJECTED;
+        }
+        return new JoinTicketDTO(ticket.id, ticket.request.getTournamentId(), ticket.request.getClubId(), status,
+                position, ticket.tournament, ticket.failure);
+    }
+
+    private void purgeExpiredTickets() {
+        long now = System.currentTimeMillis();
+        long last = lastPurge.get();
+        if (now - last < PURGE_INTERVAL_MILLIS || !lastPurge.compareAndSet(last, now)) {
+            return;
+        }
+        tickets.values().removeIf(ticket -> ticket.isExpired(now));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /*
+     * Tournaments that currently have requests waiting
+     */
+    int openLanes() {
+        return lanes.size();
+    }
+
+    /*
+     * Queue of one tournament, grown as requests arrive; everything is
+     * guarded by the lane. A closed lane has drained and left the map, and
+     * takes no more requests
+     */
+    private static final class Lane {
+        private final Long tournamentId;
+        private final Queue<Ticket> queue = new ArrayDeque<>();
+        private long admitted;
+        private long started;
+        private boolean closed;
+
+        private Lane(Long tournamentId) {
+            this.tournamentId = tournamentId;
+        }
+    }
+
+    private static final class Ticket {
+        private final String id;
+        private final Lane lane;
+        private final TournamentJoinDTO request;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private long sequence;
+        private volatile String jwtToken;
+        private volatile TournamentResponseDTO tournament;
+        private volatile String failure;
+        private volatile long completedAt;
+
+        private Ticket(String id, Lane lane, TournamentJoinDTO request, String jwtToken) {
+            this.id = id;
+            this.lane = lane;
+            this.request = request;
+            this.jwtToken = jwtToken;
+        }
+
+        private boolean isExpired(long now) {
+            return completedAt != 0 && now - completedAt > TICKET_TTL_MILLIS;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.crashcourse.kickoff.tms.tournament.service;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Removes duplicate answers from player_availability, keeping each
+ * player's latest answer per tournament, so that the unique
+ * (tournament_id, player_id) constraint can be added to a database that
+ * was written before it existed.
+ *
+ * The schema is updated when the EntityManagerFactory starts, so unlike
+ * TournamentBackfill this runs before it rather than once the application
+ * is ready. It only deletes anything while the table exists without the
+ * unique key, so it runs once, on the first start after the upgrade; on a
+ * new database, or once the key is in place, it only reads the metadata.
+ */
+@Component
+@RequiredArgsConstructor
+public class PlayerAvailabilityDedupe {
+
+    private static final String TABLE = "player_availability";
+
+    private static final Set<String> UNIQUE_KEY_COLUMNS = Set.of("tournament_id", "player_id");
+
+    /*
+     * The IDs to keep are read through a derived table, which MySQL
+     * materialises, since it will not delete from a table the same
+     * statement reads directly
+     */
+    private static final String DELETE_DUPLICATES =
+            "DELETE FROM player_availability WHERE id NOT IN ("
+                    + "SELECT latest.id FROM (SELECT MAX(id) AS id FROM player_availability "
+                    + "GROUP BY tournament_id, player_id) latest)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void dedupeBeforeUniqueKey() {
+        if (needsDedupe()) {
+            dedupe();
+        }
+    }
+
+    private void dedupe() {
+        jdbcTemplate.update(DELETE_DUPLICATES);
+    }
+
+    /**
+     * @return Whether player_availability exists without a unique key on
+     *         (tournament_id, player_id), so that it may hold duplicates.
+     */
+    public boolean needsDedupe() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? TABLE.toUpperCase() : TABLE;
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), table, null)) {
+                if (!tables.next()) {
+                    return false;
+                }
+            }
+
+            Map<String, Set<String>> uniqueIndexes = new HashMap<>();
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, true, true)) {
+                while (indexes.next()) {
+                    String column = indexes.getString("COLUMN_NAME");
+                    if (column != null) {
+                        uniqueIndexes.computeIfAbsent(indexes.getString("INDEX_NAME"), name -> new HashSet<>())
+                                .add(column.toLowerCase());
+                    }
+                }
+            }
+            return !uniqueIndexes.containsValue(UNIQUE_KEY_COLUMNS);
+        }));
+    }
+
+    @Component
+    static class SchemaUpdateDependsOnDedupe extends EntityManagerFactoryDependsOnPostProcessor {
+        SchemaUpdateDependsOnDedupe() {
+            super(PlayerAvailabilityDedupe.class);
+        }
+    }
+}
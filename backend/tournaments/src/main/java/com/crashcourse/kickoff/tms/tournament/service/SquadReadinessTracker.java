@@ -0,0 +1,296 @@
+package com.crashcourse.kickoff.tms.tournament.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.crashcourse.kickoff.tms.tournament.dto.PlayerAvailabilityDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.SquadReadinessDTO;
+import com.crashcourse.kickoff.tms.tournament.exception.TournamentNotFoundException;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.repository.PlayerAvailabilityRepository;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * How many players each club of a tournament has available, kept in memory
+ * so that telling which clubs can field a side costs one pass over the
+ * clubs instead of reading every availability answer.
+ *
+ * A tournament's squads are loaded the first time its readiness is asked
+ * for; the least recently used tournament is dropped once
+ * MAX_TRACKED_TOURNAMENTS are held. Availability answers, joins and leaves
+ * made through this instance are applied to tracked tournaments as they
+ * commit. A tournament is reloaded when it is asked about after
+ * REFRESH_MILLIS, which picks up changes made through other instances.
+ */
+@Component
+@RequiredArgsConstructor
+public class SquadReadinessTracker {
+
+    static final int MAX_TRACKED_TOURNAMENTS = 1000;
+    static final long REFRESH_MILLIS = 60_000;
+
+    private final TournamentRepository tournamentRepository;
+    private final PlayerAvailabilityRepository playerAvailabilityRepository;
+
+    /*
+     * Access ordered, so the eldest entry is the least recently used
+     * tournament; guarded by itself
+     */
+    private final Map<Long, Squads> tracked = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Squads> eldest) {
+            return size() > MAX_TRACKED_TOURNAMENTS;
+        }
+    };
+
+    /**
+     * Returns how ready each club in a tournament is. Callers should not be
+     * in a transaction, so that a load sees everything committed before it.
+     *
+     * @param tournamentId ID of the tournament.
+     * @return One SquadReadinessDTO per joined club, in the order they joined.
+     * @throws TournamentNotFoundException if the tournament does not exist.
+     */
+    public List<SquadReadinessDTO> getReadiness(Long tournamentId) {
+        Squads squads;
+        synchronized (tracked) {
+            squads = tracked.computeIfAbsent(tournamentId, id -> new Squads());
+        }
+
+        /*
+         * One load at a time per tournament; whoever waited finds it loaded
+         */
+        synchronized (squads.loadLock) {
+            if (squads.needsLoad(System.currentTimeMillis())) {
+                load(tournamentId, squads);
+            }
+        }
+        return squads.readiness();
+    }
+
+    private void load(Long tournamentId, Squads squads) {
+        squads.beginLoad();
+        try {
+            Tournament tournament = tournamentRepository.findDetailById(tournamentId).orElse(null);
+            if (tournament == null) {
+                synchronized (tracked) {
+                    tracked.remove(tournamentId, squads);
+                }
+                throw new TournamentNotFoundException(tournamentId);
+            }
+            List<Object[]> roster = playerAvailabilityRepository.findRosterByTournamentId(tournamentId);
+            squads.load(tournament.getTournamentFormat().getNumberOfPlayers(), tournament.getJoinedClubIds(), roster,
+                    System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            squads.abortLoad();
+            throw e;
+        }
+    }
+
+    /**
+     * Applies availability answers once the current transaction commits.
+     *
+     * @param tournamentId ID of the tournament.
+     * @param answers      Answers with a player and club ID each.
+     */
+    public void availabilityAfterCommit(Long tournamentId, List<PlayerAvailabilityDTO> answers) {
+        afterCommit(tournamentId, squads -> answers.forEach(
+                answer -> squads.answer(answer.getPlayerId(), answer.getClubId(), answer.isAvailable())));
+    }
+
+    /**
+     * Counts a club in once the current transaction commits.
+     */
+    public void clubJoinedAfterCommit(Long tournamentId, Long clubId) {
+        afterCommit(tournamentId, squads -> squads.join(clubId));
+    }
+
+    /**
+     * Counts a club out once the current transaction commits.
+     */
+    public void clubLeftAfterCommit(Long tournamentId, Long clubId) {
+        afterCommit(tournamentId, squads -> squads.leave(clubId));
+    }
+
+    /**
+     * Stops tracking a tournament once the current transaction commits.
+     */
+    public void forgetAfterCommit(Long tournamentId) {
+        runAfterCommit(() -> {
+            synchronized (tracked) {
+                tracked.remove(tournamentId);
+            }
+        });
+    }
+
+    private void afterCommit(Long tournamentId, Consumer<Squads> change) {
+        runAfterCommit(() -> {
+            Squads squads;
+            synchronized (tracked) {
+                squads = tracked.get(tournamentId);
+            }
+            if (squads != null) {
+                squads.apply(change);
+            }
+        });
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * The squads of one tournament. While it is being loaded, changes are
+     * also logged, to be applied again on top of what the load read.
+     */
+    static final class Squads {
+        final Object loadLock = new Object();
+
+        private int requiredPlayers;
+        private boolean loaded;
+        private long loadedAt;
+
+        private final Set<Long> joinedClubIds = new LinkedHashSet<>();
+        private final Map<Long, ClubSquad> clubs = new HashMap<>();
+        private final Map<Long, Long> playerClubs = new HashMap<>();
+
+        private List<Consumer<Squads>> changesDuringLoad;
+
+        synchronized boolean needsLoad(long now) {
+            return !loaded || now - loadedAt >= REFRESH_MILLIS;
+        }
+
+        synchronized void beginLoad() {
+            changesDuringLoad = new ArrayList<>();
+        }
+
+        synchronized void abortLoad() {
+            changesDuringLoad = null;
+        }
+
+        /**
+         * @param roster Player ID, club ID and availability of every answer.
+         */
+        synchronized void load(int requiredPlayers, List<Long> joinedClubIds, List<Object[]> roster, long now) {
+            this.requiredPlayers = requiredPlayers;
+            this.joinedClubIds.clear();
+            this.joinedClubIds.addAll(joinedClubIds);
+            clubs.clear();
+            playerClubs.clear();
+            for (Object[] row : roster) {
+                answer((Long) row[0], (Long) row[1], (Boolean) row[2]);
+            }
+            changesDuringLoad.forEach(change -> change.accept(this));
+            changesDuringLoad = null;
+            loaded = true;
+            loadedAt = now;
+        }
+
+        synchronized void apply(Consumer<Squads> change) {
+            change.accept(this);
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(change);
+            }
+        }
+
+        /*
+         * Callers hold the monitor
+         */
+        void answer(Long playerId, Long clubId, boolean available) {
+            Long previousClubId = playerClubs.put(playerId, clubId);
+            if (previousClubId != null && !previousClubId.equals(clubId)) {
+                ClubSquad previous = clubs.get(previousClubId);
+                previous.remove(playerId);
+                if (previous.isEmpty()) {
+                    clubs.remove(previousClubId);
+                }
+            }
+            clubs.computeIfAbsent(clubId, id -> new ClubSquad()).put(playerId, available);
+        }
+
+        void join(Long clubId) {
+            joinedClubIds.add(clubId);
+        }
+
+        void leave(Long clubId) {
+            joinedClubIds.remove(clubId);
+        }
+
+        synchronized List<SquadReadinessDTO> readiness() {
+            List<SquadReadinessDTO> readiness = new ArrayList<>(joinedClubIds.size());
+            for (Long clubId : joinedClubIds) {
+                ClubSquad squad = clubs.get(clubId);
+                int available = squad != null ? squad.availableCount() : 0;
+                readiness.add(new SquadReadinessDTO(clubId, available, requiredPlayers, available >= requiredPlayers));
+            }
+            return readiness;
+        }
+    }
+
+    /**
+     * One club's answers for one tournament. Each player who has answered
+     * holds a roster slot; a bit per slot says whether they are available,
+     * and the count of set bits is kept alongside.
+     */
+    static final class ClubSquad {
+        private final Map<Long, Integer> slots = new HashMap<>();
+        private final BitSet taken = new BitSet();
+        private final BitSet available = new BitSet();
+        private int availableCount;
+
+        void put(Long playerId, boolean isAvailable) {
+            Integer slot = slots.get(playerId);
+            if (slot == null) {
+                slot = taken.nextClearBit(0);
+                taken.set(slot);
+                slots.put(playerId, slot);
+            }
+            if (available.get(slot) != isAvailable) {
+                available.set(slot, isAvailable);
+                availableCount += isAvailable ? 1 : -1;
+            }
+        }
+
+        void remove(Long playerId) {
+            Integer slot = slots.remove(playerId);
+            if (slot == null) {
+                return;
+            }
+            if (available.get(slot)) {
+                available.clear(slot);
+                availableCount--;
+            }
+            taken.clear(slot);
+        }
+
+        boolean isEmpty() {
+            return slots.isEmpty();
+        }
+
+        int availableCount() {
+            return availableCount;
+        }
+    }
+}
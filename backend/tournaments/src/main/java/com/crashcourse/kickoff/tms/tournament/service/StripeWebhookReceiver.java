@@ -0,0 +1,95 @@
+package com.crashcourse.kickoff.tms.tournament.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.crashcourse.kickoff.tms.tournament.model.StripeWebhookEvent;
+import com.crashcourse.kickoff.tms.tournament.repository.StripeWebhookEventRepository;
+import com.stripe.exception.StripeException;
+import com.stripe.model.Event;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.Webhook;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+/**
+ * Takes in Stripe webhook deliveries: checks the signature, stores each
+ * completed checkout once in the webhook inbox, and leaves applying it to
+ * StripeWebhookWorker, so Stripe gets its answer without waiting on the
+ * tournament update and has no reason to deliver again.
+ *
+ * The endpoint secret is read once, from the environment or else from
+ * .env, when the application starts.
+ */
+@Component
+public class StripeWebhookReceiver {
+
+    static final String CHECKOUT_SESSION_COMPLETED = "checkout.session.completed";
+
+    public enum Outcome {
+        ACCEPTED,
+        DUPLICATE,
+        IGNORED
+    }
+
+    private final StripeWebhookEventRepository stripeWebhookEventRepository;
+    private final StripeWebhookWorker stripeWebhookWorker;
+    private final String endpointSecret;
+
+    public StripeWebhookReceiver(StripeWebhookEventRepository stripeWebhookEventRepository,
+            StripeWebhookWorker stripeWebhookWorker,
+            @Value("${STRIPE_WEBHOOK_SECRET:}") String endpointSecret) {
+        this.stripeWebhookEventRepository = stripeWebhookEventRepository;
+        this.stripeWebhookWorker = stripeWebhookWorker;
+        if (endpointSecret == null || endpointSecret.isEmpty()) {
+            endpointSecret = Dotenv.configure().ignoreIfMissing().load().get("STRIPE_WEBHOOK_SECRET");
+        }
+        this.endpointSecret = endpointSecret;
+    }
+
+    /**
+     * Verifies a delivery and stores it if it is a completed checkout that
+     * has not been received before.
+     *
+     * @param payload   The raw request body.
+     * @param sigHeader The Stripe-Signature header.
+     * @return ACCEPTED if the event was stored, DUPLICATE if it had been
+     *         already, IGNORED if there is nothing to apply.
+     * @throws IllegalStateException    if no endpoint secret is configured.
+     * @throws IllegalArgumentException if a checkout event holds something
+     *                                  other than a session.
+     * @throws StripeException          if the signature or payload is invalid.
+     */
+    public Outcome receive(String payload, String sigHeader) throws StripeException {
+        if (endpointSecret == null || endpointSecret.isEmpty()) {
+            throw new IllegalStateException("Missing Stripe webhook secret");
+        }
+        Event event = Webhook.constructEvent(payload, sigHeader, endpointSecret);
+        if (!CHECKOUT_SESSION_COMPLETED.equals(event.getType())) {
+            return Outcome.IGNORED;
+        }
+
+        Object stripeObject = event.getDataObjectDeserializer().deserializeUnsafe();
+        if (!(stripeObject instanceof Session session)) {
+            throw new IllegalArgumentException("Unexpected object type in webhook");
+        }
+        Long tournamentId;
+        try {
+            tournamentId = Long.valueOf(session.getClientReferenceId());
+        } catch (NumberFormatException e) {
+            /*
+             * Not a tournament checkout
+             */
+            return Outcome.IGNORED;
+        }
+
+        try {
+            stripeWebhookEventRepository.saveAndFlush(StripeWebhookEvent.of(event.getId(), event.getType(), tournamentId));
+        } catch (DataIntegrityViolationException e) {
+            return Outcome.DUPLICATE;
+        }
+        stripeWebhookWorker.wake();
+        return Outcome.ACCEPTED;
+    }
+}
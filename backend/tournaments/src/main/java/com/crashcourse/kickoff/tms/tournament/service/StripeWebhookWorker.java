@@ -0,0 +1,138 @@
+package com.crashcourse.kickoff.tms.tournament.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.crashcourse.kickoff.tms.tournament.exception.TournamentNotFoundException;
+import com.crashcourse.kickoff.tms.tournament.model.StripeWebhookEvent;
+import com.crashcourse.kickoff.tms.tournament.model.StripeWebhookStatus;
+import com.crashcourse.kickoff.tms.tournament.repository.StripeWebhookEventRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies the payments in the Stripe webhook inbox in the background, so
+ * the webhook can be answered as soon as an event is stored.
+ *
+ * Events are taken oldest first, a batch at a time, and each marks its
+ * tournament's verification as paid. A single thread runs the worker, woken
+ * whenever an event is stored and otherwise every few seconds; wake-ups that
+ * arrive while a pass is already waiting to run share that pass. An event
+ * for a tournament that does not exist is set aside as FAILED at once; one
+ * that fails for any other reason is retried on a later pass once its
+ * backoff has passed, which doubles with each attempt, up to MAX_ATTEMPTS.
+ * Marking a tournament paid twice changes nothing, so an event applied
+ * again after a crash does no harm.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StripeWebhookWorker {
+
+    static final int BATCH_SIZE = 100;
+    static final int MAX_ATTEMPTS = 10;
+    static final long POLL_INTERVAL_MILLIS = 5000;
+    static final long MIN_BACKOFF_MILLIS = 1000;
+    static final long MAX_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final StripeWebhookEventRepository stripeWebhookEventRepository;
+    private final TournamentService tournamentService;
+
+    @Value("${payments.webhook.worker.enabled:true}")
+    private boolean enabled;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("stripe-webhook-worker").factory());
+
+    /*
+     * Set while a pass is queued and has not started yet
+     */
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            executor.scheduleWithFixedDelay(this::drain, 0, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Applies newly stored events now instead of at the next poll.
+     */
+    public void wake() {
+        if (enabled && drainScheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        try {
+            BatchResult result;
+            do {
+                result = processBatch();
+            } while (result.failed() == 0 && result.taken() == BATCH_SIZE);
+        } catch (RuntimeException e) {
+            /*
+             * The events stay pending and are taken again at the next poll
+             */
+            log.warn("Stripe webhook inbox pass failed", e);
+        }
+    }
+
+    /**
+     * Applies one batch of pending events that are due.
+     *
+     * @return How many events were taken, and how many of them are to be retried.
+     */
+    BatchResult processBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<StripeWebhookEvent> events = stripeWebhookEventRepository
+                .findDue(StripeWebhookStatus.PENDING, now, Limit.of(BATCH_SIZE));
+        int failed = 0;
+        for (StripeWebhookEvent event : events) {
+            try {
+                tournamentService.updateTournamentPaymentStatus(event.getTournamentId());
+                event.setStatus(StripeWebhookStatus.PROCESSED);
+                event.setProcessedAt(LocalDateTime.now());
+            } catch (TournamentNotFoundException e) {
+                event.setStatus(StripeWebhookStatus.FAILED);
+                event.setLastError(e.getMessage());
+            } catch (RuntimeException e) {
+                failed++;
+                event.setAttempts(event.getAttempts() + 1);
+                String error = e.getMessage();
+                event.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+                if (event.getAttempts() >= MAX_ATTEMPTS) {
+                    event.setStatus(StripeWebhookStatus.FAILED);
+                } else {
+                    long backoff = MIN_BACKOFF_MILLIS << Math.min(event.getAttempts() - 1, 16);
+                    event.setNextAttemptAt(now.plus(Math.min(backoff, MAX_BACKOFF_MILLIS), ChronoUnit.MILLIS));
+                }
+            }
+        }
+        stripeWebhookEventRepository.saveAll(events);
+        return new BatchResult(events.size(), failed);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    record BatchResult(int taken, int failed) {
+    }
+}
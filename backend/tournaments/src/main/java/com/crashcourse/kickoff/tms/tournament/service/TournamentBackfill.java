@@ -0,0 +1,31 @@
+package com.crashcourse.kickoff.tms.tournament.service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentParticipationRepository;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Fills in data derived from Tournament.joinedClubIds for tournaments
+ * created before it was kept: the joined count and the participation rows.
+ * Once every tournament has them, this changes nothing on startup.
+ */
+@Component
+@RequiredArgsConstructor
+public class TournamentBackfill {
+
+    private final TournamentRepository tournamentRepository;
+    private final TournamentParticipationRepository tournamentParticipationRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        tournamentRepository.backfillJoinedCounts();
+        tournamentParticipationRepository.backfill();
+    }
+}
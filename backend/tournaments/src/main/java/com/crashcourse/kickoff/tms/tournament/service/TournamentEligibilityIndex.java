@@ -0,0 +1,249 @@
+package com.crashcourse.kickoff.tms.tournament.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentSummaryDTO;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentCursor;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentSearchRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The tournaments clubs can still join, indexed by Elo range, so finding
+ * the ones a club's Elo fits never touches the database.
+ *
+ * The index is loaded when the application starts and kept up to date as
+ * tournaments are created, changed, joined, started and deleted through
+ * this instance: once a change commits, that one tournament is reloaded on
+ * the index's own thread, so the request that made the change neither waits
+ * for it nor holds a second connection. It is reloaded in full every
+ * REFRESH_MILLIS as well, which drops tournaments that have since begun and
+ * picks up changes made through other instances.
+ */
+@Slf4j
+@Component
+public class TournamentEligibilityIndex {
+
+    static final long REFRESH_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final Comparator<TournamentSummaryDTO> START_ORDER = Comparator
+            .comparing(TournamentSummaryDTO::getStartDateTime)
+            .thenComparing(TournamentSummaryDTO::getId);
+
+    private final TournamentSearchRepository tournamentSearchRepository;
+    private final TransactionTemplate reloadTransaction;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /*
+     * Guarded by lock. While a full reload reads the database, reloaded
+     * tournaments are also logged here, to be applied again to the new tree
+     */
+    private EloIntervalTree tree = new EloIntervalTree();
+    private List<Reloaded> reloadedDuringRebuild;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("tournament-eligibility-refresh").factory());
+
+    /*
+     * A null tournament means it can no longer be joined
+     */
+    private record Reloaded(Long id, TournamentSummaryDTO tournament) {
+    }
+
+    public TournamentEligibilityIndex(TournamentSearchRepository tournamentSearchRepository,
+            PlatformTransactionManager transactionManager) {
+        this.tournamentSearchRepository = tournamentSearchRepository;
+        this.reloadTransaction = new TransactionTemplate(transactionManager);
+        this.reloadTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuild();
+        executor.scheduleWithFixedDelay(this::refresh, REFRESH_MILLIS, REFRESH_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void refresh() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            /*
+             * The current index is kept until the next refresh
+             */
+            log.warn("Tournament eligibility index refresh failed", e);
+        }
+    }
+
+    /**
+     * Reloads every open tournament from the database. Searches are served
+     * from the old index until the new one is ready.
+     */
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            reloadedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<TournamentSummaryDTO> tournaments;
+        try {
+            tournaments = reloadTransaction.execute(status -> tournamentSearchRepository.findOpen(LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                reloadedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        EloIntervalTree rebuilt = new EloIntervalTree();
+        tournaments.forEach(rebuilt::put);
+
+        lock.writeLock().lock();
+        try {
+            reloadedDuringRebuild.forEach(reloaded -> apply(rebuilt, reloaded));
+            reloadedDuringRebuild = null;
+            tree = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reloads a tournament once the current transaction commits, or straight
+     * away if there is none.
+     *
+     * @param tournamentId ID of the tournament that changed.
+     */
+    public void refreshAfterCommit(Long tournamentId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(() -> reload(tournamentId));
+                }
+            });
+        } else {
+            executor.execute(() -> reload(tournamentId));
+        }
+    }
+
+    /*
+     * Runs on the index's one thread, so reloads are applied in the order
+     * their changes committed
+     */
+    private void reload(Long tournamentId) {
+        TournamentSummaryDTO tournament;
+        try {
+            tournament = reloadTransaction.execute(status -> tournamentSearchRepository
+                    .findOpenById(tournamentId, LocalDateTime.now())
+                    .orElse(null));
+        } catch (RuntimeException e) {
+            /*
+             * The next full refresh catches the change up
+             */
+            log.warn("Tournament eligibility index reload of tournament {} failed", tournamentId, e);
+            return;
+        }
+        Reloaded reloaded = new Reloaded(tournamentId, tournament);
+
+        lock.writeLock().lock();
+        try {
+            apply(tree, reloaded);
+            if (reloadedDuringRebuild != null) {
+                reloadedDuringRebuild.add(reloaded);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(EloIntervalTree target, Reloaded reloaded) {
+        if (reloaded.tournament() == null) {
+            target.remove(reloaded.id());
+        } else {
+            target.put(reloaded.tournament());
+        }
+    }
+
+    /**
+     * Returns upcoming tournaments with an open slot whose Elo range contains
+     * the Elo, in order of start time.
+     *
+     * @param elo   Elo of the club.
+     * @param after Position to continue from, or null for the first page.
+     * @param limit Maximum number of tournaments to return.
+     * @return Up to limit tournaments in (startDateTime, id) order.
+     */
+    public List<TournamentSummaryDTO> findEligible(double elo, TournamentCursor after, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        /*
+         * The latest of the earliest tournaments found so far is on top
+         */
+        PriorityQueue<TournamentSummaryDTO> earliest = new PriorityQueue<>(limit + 1, START_ORDER.reversed());
+
+        lock.readLock().lock();
+        try {
+            tree.forEachContaining(elo, tournament -> {
+                if (!tournament.getStartDateTime().isAfter(now)
+                        || !hasOpenSlot(tournament)
+                        || (after != null && !isAfter(tournament, after))) {
+                    return;
+                }
+                earliest.add(tournament);
+                if (earliest.size() > limit) {
+                    earliest.poll();
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<TournamentSummaryDTO> tournaments = new ArrayList<>(earliest);
+        tournaments.sort(START_ORDER);
+        return tournaments;
+    }
+
+    private static boolean hasOpenSlot(TournamentSummaryDTO tournament) {
+        int joined = tournament.getJoinedCount() != null ? tournament.getJoinedCount() : 0;
+        return tournament.getMaxTeams() != null && joined < tournament.getMaxTeams();
+    }
+
+    /*
+     * Every tournament here has a start time, so none comes after a
+     * position among the tournaments without one
+     */
+    private static boolean isAfter(TournamentSummaryDTO tournament, TournamentCursor after) {
+        if (after.getStartDateTime() == null) {
+            return false;
+        }
+        int byStart = tournament.getStartDateTime().compareTo(after.getStartDateTime());
+        return byStart > 0 || (byStart == 0 && tournament.getId() > after.getId());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
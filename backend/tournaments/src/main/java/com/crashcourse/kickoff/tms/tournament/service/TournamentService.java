@@ -3,12 +3,17 @@ package com.crashcourse.kickoff.tms.tournament.service;
 import java.util.List;
 
 import com.crashcourse.kickoff.tms.bracket.dto.MatchUpdateDTO;
+import com.crashcourse.kickoff.tms.bracket.model.LeagueStanding;
 import com.crashcourse.kickoff.tms.bracket.model.Match;
 import com.crashcourse.kickoff.tms.tournament.dto.PlayerAvailabilityDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.SquadReadinessDTO;
 import com.crashcourse.kickoff.tms.tournament.dto.TournamentCreateDTO;
 import com.crashcourse.kickoff.tms.tournament.dto.TournamentJoinDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentPageDTO;
 import com.crashcourse.kickoff.tms.tournament.dto.TournamentResponseDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentSearchCriteria;
 import com.crashcourse.kickoff.tms.tournament.dto.TournamentUpdateDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.VerificationPageDTO;
 import com.crashcourse.kickoff.tms.tournament.model.PlayerAvailability;
 import com.crashcourse.kickoff.tms.tournament.model.Tournament;
 import com.crashcourse.kickoff.tms.tournament.model.TournamentFilter;
@@ -21,12 +26,18 @@ public interface TournamentService {
 
     List<Tournament> getAllTournaments();
 
+    TournamentPageDTO searchTournaments(TournamentSearchCriteria criteria, String cursor, int size);
+
+    TournamentPageDTO getEligibleTournaments(double elo, String cursor, int size);
+
     TournamentResponseDTO updateTournament(Long tournamentId, TournamentUpdateDTO tournamentUpdateDTO);
 
     TournamentResponseDTO startTournament(Long tournamentId, String jwtToken);
     
     Match updateMatchInTournament(Long tournamentId, Long matchId, MatchUpdateDTO matchUpdateDTO, String token);
 
+    List<LeagueStanding> getLeagueStandings(Long tournamentId);
+
     void deleteTournament(Long tournamentId);
 
     TournamentResponseDTO joinTournamentAsClub(TournamentJoinDTO tournamentJoinDTO, String token);
@@ -41,8 +52,12 @@ public interface TournamentService {
 
     PlayerAvailability updatePlayerAvailability(PlayerAvailabilityDTO dto);
 
+    List<PlayerAvailabilityDTO> updatePlayerAvailabilities(Long tournamentId, List<PlayerAvailabilityDTO> sheet);
+
     List<PlayerAvailabilityDTO> getPlayerAvailabilityForTournament(Long tournamentId);
 
+    List<SquadReadinessDTO> getSquadReadiness(Long tournamentId);
+
     List<Tournament> getHostedTournaments(Long host);
 
     Tournament submitVerification(Long id, String confirmationUrl, boolean venueBooked);
@@ -51,6 +66,12 @@ public interface TournamentService {
     List<Tournament> getPendingVerifications();
     List<Tournament> getApprovedVerifications();
     List<Tournament> getRejectedVerifications();
+
+    VerificationPageDTO getVerificationQueue(Tournament.VerificationStatus status, String cursor, int size);
+
+    int approveVerifications(List<Long> tournamentIds);
+
+    int rejectVerifications(List<Long> tournamentIds);
     Tournament findById(Long id);
     void updateTournamentPaymentStatus(Long tournamentId);
 
@@ -1,20 +1,36 @@
 package com.crashcourse.kickoff.tms.tournament.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.crashcourse.kickoff.tms.bracket.dto.BracketView;
 import com.crashcourse.kickoff.tms.bracket.dto.MatchUpdateDTO;
 import com.crashcourse.kickoff.tms.bracket.model.Bracket;
+import com.crashcourse.kickoff.tms.bracket.model.LeagueStanding;
 import com.crashcourse.kickoff.tms.bracket.model.Match;
+import com.crashcourse.kickoff.tms.bracket.model.MatchScore;
 import com.crashcourse.kickoff.tms.bracket.repository.MatchRepository;
 import com.crashcourse.kickoff.tms.bracket.service.BracketService;
+import com.crashcourse.kickoff.tms.bracket.service.LeagueService;
 import com.crashcourse.kickoff.tms.bracket.service.MatchService;
+import com.crashcourse.kickoff.tms.bracket.service.SwissService;
 import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.client.Deadline;
 import com.crashcourse.kickoff.tms.client.exception.ClubProfileNotFoundAtClientException;
 import com.crashcourse.kickoff.tms.club.ClubProfile;
 import com.crashcourse.kickoff.tms.location.model.Location;
@@ -22,18 +38,27 @@ import com.crashcourse.kickoff.tms.location.repository.LocationRepository;
 import com.crashcourse.kickoff.tms.security.JwtTokenProvider;
 import com.crashcourse.kickoff.tms.security.JwtUtil;
 import com.crashcourse.kickoff.tms.tournament.dto.PlayerAvailabilityDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.PlayerAvailabilityErrorDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.SquadReadinessDTO;
 import com.crashcourse.kickoff.tms.tournament.dto.TournamentCreateDTO;
 import com.crashcourse.kickoff.tms.tournament.dto.TournamentJoinDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentPageDTO;
 import com.crashcourse.kickoff.tms.tournament.dto.TournamentResponseDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentSearchCriteria;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentSummaryDTO;
 import com.crashcourse.kickoff.tms.tournament.dto.TournamentUpdateDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.VerificationPageDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.VerificationSummaryDTO;
 import com.crashcourse.kickoff.tms.tournament.exception.BlacklistedFromTournamentException;
 import com.crashcourse.kickoff.tms.tournament.exception.BracketAlreadyCreatedException;
 import com.crashcourse.kickoff.tms.tournament.exception.ClubAlreadyJoinedException;
 import com.crashcourse.kickoff.tms.tournament.exception.ClubEloTooHighException;
 import com.crashcourse.kickoff.tms.tournament.exception.ClubEloTooLowException;
 import com.crashcourse.kickoff.tms.tournament.exception.ClubNotJoinedException;
+import com.crashcourse.kickoff.tms.tournament.exception.InvalidCursorException;
 import com.crashcourse.kickoff.tms.tournament.exception.InvalidJoinRoleException;
 import com.crashcourse.kickoff.tms.tournament.exception.InvalidPlayerAvailabilityException;
+import com.crashcourse.kickoff.tms.tournament.exception.InvalidPlayerAvailabilitySheetException;
 import com.crashcourse.kickoff.tms.tournament.exception.InvalidWinningClubException;
 import com.crashcourse.kickoff.tms.tournament.exception.LocationNotFoundException;
 import com.crashcourse.kickoff.tms.tournament.exception.MatchNotFoundException;
@@ -41,11 +66,17 @@ import com.crashcourse.kickoff.tms.tournament.exception.NoClubIndicateAvailabili
 import com.crashcourse.kickoff.tms.tournament.exception.TournamentFullException;
 import com.crashcourse.kickoff.tms.tournament.exception.TournamentHasNoClubsException;
 import com.crashcourse.kickoff.tms.tournament.exception.TournamentNotFoundException;
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
 import com.crashcourse.kickoff.tms.tournament.model.PlayerAvailability;
 import com.crashcourse.kickoff.tms.tournament.model.Tournament;
 import com.crashcourse.kickoff.tms.tournament.model.TournamentFilter;
+import com.crashcourse.kickoff.tms.tournament.repository.PlayerAvailabilityBatchRepository;
 import com.crashcourse.kickoff.tms.tournament.repository.PlayerAvailabilityRepository;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentCursor;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentParticipationRepository;
 import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentSearchRepository;
+import com.crashcourse.kickoff.tms.tournament.repository.VerificationCursor;
 
 import lombok.RequiredArgsConstructor;
 
@@ -57,13 +88,23 @@ import lombok.RequiredArgsConstructor;
 @Transactional
 public class TournamentServiceImpl implements TournamentService {
 
+    static final int MAX_PAGE_SIZE = 100;
+
     private final TournamentRepository tournamentRepository;
+    private final TournamentSearchRepository tournamentSearchRepository;
+    private final TournamentParticipationRepository tournamentParticipationRepository;
     private final LocationRepository locationRepository;
     private final MatchRepository matchRepository;
     private final PlayerAvailabilityRepository playerAvailabilityRepository;
+    private final PlayerAvailabilityBatchRepository playerAvailabilityBatchRepository;
 
     private final BracketService bracketService;
     private final MatchService matchService;
+    private final LeagueService leagueService;
+    private final SwissService swissService;
+
+    private final TournamentEligibilityIndex tournamentEligibilityIndex;
+    private final SquadReadinessTracker squadReadinessTracker;
 
     private final JwtUtil jwtUtil;
 
@@ -87,6 +128,7 @@ public class TournamentServiceImpl implements TournamentService {
     public TournamentResponseDTO createTournament(TournamentCreateDTO dto, Long userIdFromToken) {
         Tournament tournament = mapToEntity(dto, userIdFromToken);
         Tournament savedTournament = tournamentRepository.save(tournament);
+        tournamentEligibilityIndex.refreshAfterCommit(savedTournament.getId());
         return mapToResponseDTO(savedTournament);
     }
 
@@ -101,7 +143,7 @@ public class TournamentServiceImpl implements TournamentService {
     @Override
     @Transactional(readOnly = true)
     public TournamentResponseDTO getTournamentById(Long id) {
-        Tournament tournament = tournamentRepository.findById(id)
+        Tournament tournament = tournamentRepository.findDetailById(id)
                 .orElseThrow(() -> new TournamentNotFoundException(id));
         return mapToResponseDTO(tournament);
     }
@@ -117,6 +159,65 @@ public class TournamentServiceImpl implements TournamentService {
         return tournamentRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of tournament summaries matching the criteria, in
+     * order of start time.
+     *
+     * @param criteria Filters to apply; null fields do not filter.
+     * @param cursor   Cursor from the previous page, or null for the first page.
+     * @param size     Number of tournaments per page, capped at MAX_PAGE_SIZE.
+     * @return The page, with the cursor of the next page if there is one.
+     * @throws InvalidCursorException if the cursor is malformed.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TournamentPageDTO searchTournaments(TournamentSearchCriteria criteria, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TournamentCursor after = cursor != null && !cursor.isBlank() ? TournamentCursor.decode(cursor) : null;
+
+        /*
+         * One extra row tells whether there is a next page, without counting
+         */
+        List<TournamentSummaryDTO> tournaments = tournamentSearchRepository.search(criteria, after, pageSize + 1);
+        return toPage(tournaments, pageSize);
+    }
+
+    /**
+     * Retrieves one page of the upcoming tournaments with an open slot that a
+     * club with the given Elo may join, in order of start time. Served from
+     * TournamentEligibilityIndex without querying the database.
+     *
+     * @param elo    Elo of the club.
+     * @param cursor Cursor from the previous page, or null for the first page.
+     * @param size   Number of tournaments per page, capped at MAX_PAGE_SIZE.
+     * @return The page, with the cursor of the next page if there is one.
+     * @throws InvalidCursorException if the cursor is malformed.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TournamentPageDTO getEligibleTournaments(double elo, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TournamentCursor after = cursor != null && !cursor.isBlank() ? TournamentCursor.decode(cursor) : null;
+
+        List<TournamentSummaryDTO> tournaments = tournamentEligibilityIndex.findEligible(elo, after, pageSize + 1);
+        return toPage(tournaments, pageSize);
+    }
+
+    /*
+     * Cuts the extra row off a page of pageSize + 1, and points the cursor at
+     * the last row kept
+     */
+    private static TournamentPageDTO toPage(List<TournamentSummaryDTO> tournaments, int pageSize) {
+        if (tournaments.size() <= pageSize) {
+            return new TournamentPageDTO(tournaments, null);
+        }
+
+        List<TournamentSummaryDTO> page = tournaments.subList(0, pageSize);
+        TournamentSummaryDTO last = page.get(pageSize - 1);
+        return new TournamentPageDTO(List.copyOf(page),
+                new TournamentCursor(last.getStartDateTime(), last.getId()).encode());
+    }
+
     /**
      * Updates an existing Tournament.
      *
@@ -148,6 +249,8 @@ public class TournamentServiceImpl implements TournamentService {
         existingTournament.setMaxRank(dto.getMaxRank());
 
         Tournament updatedTournament = tournamentRepository.save(existingTournament);
+        tournamentParticipationRepository.reschedule(id, dto.getStartDateTime(), dto.getEndDateTime());
+        tournamentEligibilityIndex.refreshAfterCommit(id);
         return mapToResponseDTO(updatedTournament);
     }
 
@@ -180,6 +283,7 @@ public class TournamentServiceImpl implements TournamentService {
         Bracket bracket = bracketService.createBracket(id, tournament.getJoinedClubIds(), jwtToken);
         tournament.setBracket(bracket);
         Tournament savedTournament = tournamentRepository.save(tournament);
+        tournamentEligibilityIndex.refreshAfterCommit(id);
         return mapToResponseDTO(savedTournament);
     }
 
@@ -208,31 +312,42 @@ public class TournamentServiceImpl implements TournamentService {
         Match match = matchRepository.findById(matchId)
                 .orElseThrow(() -> new MatchNotFoundException(matchId));
 
+        /*
+         * Kept so a corrected league or Swiss result can be taken back out of the standings
+         */
+        boolean isLeague = tournament.getKnockoutFormat() == KnockoutFormat.ROUND_ROBIN;
+        boolean isSwiss = tournament.getKnockoutFormat() == KnockoutFormat.SWISS;
+        MatchScore previousScore = MatchScore.of(match);
+
         Long club1Id = matchUpdateDTO.getClub1Id();
         Long club2Id = matchUpdateDTO.getClub2Id();
 
         /*
-         * Validation for Club1 - microservice interaction handled in ClubServiceClient
+         * Validation for Club1 and Club2 - microservice interaction handled in ClubServiceClient,
+         * both lookups are sent together
          */
-        ClubProfile clubProfile = clubServiceClient.getClubProfileById(club1Id, jwtToken);
+        Deadline deadline = ClubServiceClient.newDeadline();
+        CompletableFuture<ClubProfile> club1Call = clubServiceClient.getClubProfileByIdAsync(club1Id, jwtToken, deadline);
+        CompletableFuture<ClubProfile> club2Call = clubServiceClient.getClubProfileByIdAsync(club2Id, jwtToken, deadline);
+
+        ClubProfile clubProfile = ClubServiceClient.await(club1Call);
         if (clubProfile == null) {
             throw new ClubProfileNotFoundAtClientException(club1Id);
         }
 
-        /*
-         * Validation for Club2
-         */
-        clubProfile = clubServiceClient.getClubProfileById(club2Id, jwtToken);
+        clubProfile = ClubServiceClient.await(club2Call);
         if (clubProfile == null) {
             throw new ClubProfileNotFoundAtClientException(club2Id);
         }
 
         /*
-         * Validation for Winning Club
+         * Validation for Winning Club - a league or Swiss match may be drawn with no winner
          */
         Long winningClubId = matchUpdateDTO.getWinningClubId();
-        if (!winningClubId.equals(matchUpdateDTO.getClub1Id()) &&
-                !winningClubId.equals(matchUpdateDTO.getClub2Id())) {
+        boolean leagueDraw = (isLeague || isSwiss) && winningClubId == null
+                && matchUpdateDTO.getClub1Score() == matchUpdateDTO.getClub2Score();
+        if (!leagueDraw && (winningClubId == null || (!winningClubId.equals(matchUpdateDTO.getClub1Id()) &&
+                !winningClubId.equals(matchUpdateDTO.getClub2Id())))) {
             throw new InvalidWinningClubException(winningClubId);
         }
 
@@ -252,13 +367,39 @@ public class TournamentServiceImpl implements TournamentService {
         match.setOver(matchUpdateDTO.isOver());
 
         /*
-         * Update Elo
+         * Update Elo once per match, when it is first finished; the update
+         * is sent to the clubs service once this result commits
          */
-        matchService.updateElo(matchUpdateDTO, jwtToken);
+        if (match.isOver() && match.getCompletedAt() == null) {
+            match.setCompletedAt(LocalDateTime.now());
+            matchService.queueEloUpdate(match.getId(), matchUpdateDTO);
+        }
 
+        if (isLeague) {
+            return leagueService.recordResult(tournament, match, previousScore);
+        }
+        if (isSwiss) {
+            return swissService.recordResult(tournament, match, previousScore, jwtToken);
+        }
         return bracketService.updateMatch(tournament, match, matchUpdateDTO);
     }
 
+    /**
+     * Retrieves the standings of a round-robin or Swiss Tournament.
+     * The table is kept up to date as results come in, so this does not
+     * go back over the fixtures.
+     *
+     * @param tournamentId ID of the tournament.
+     * @return Standings ordered from first to last.
+     * @throws TournamentNotFoundException if the tournament does not exist.
+     */
+    @Override
+    public List<LeagueStanding> getLeagueStandings(Long tournamentId) {
+        Tournament tournament = tournamentRepository.findById(tournamentId)
+                .orElseThrow(() -> new TournamentNotFoundException(tournamentId));
+        return leagueService.getStandings(tournament);
+    }
+
     /**
      * Deletes a Tournament by its ID.
      *
@@ -271,7 +412,10 @@ public class TournamentServiceImpl implements TournamentService {
         if (!tournamentRepository.existsById(id)) {
             throw new TournamentNotFoundException(id);
         }
+        tournamentParticipationRepository.deleteByTournament(id);
         tournamentRepository.deleteById(id);
+        tournamentEligibilityIndex.refreshAfterCommit(id);
+        squadReadinessTracker.forgetAfterCommit(id);
     }
 
     /**
@@ -297,6 +441,7 @@ public class TournamentServiceImpl implements TournamentService {
         tournament.setMaxTeams(dto.getMaxTeams());
         tournament.setTournamentFormat(dto.getTournamentFormat());
         tournament.setKnockoutFormat(dto.getKnockoutFormat());
+        tournament.setSeedingMethod(dto.getSeedingMethod());
         tournament.setPrizePool(dto.getPrizePool());
         tournament.setMinRank(dto.getMinRank());
         tournament.setMaxRank(dto.getMaxRank());
@@ -316,6 +461,19 @@ public class TournamentServiceImpl implements TournamentService {
      * @return TournamentResponseDTO containing tournament data.
      */
     private TournamentResponseDTO mapToResponseDTO(Tournament tournament) {
+        return mapToResponseDTO(tournament,
+                tournament.getBracket() != null ? bracketService.getBracketView(tournament) : null);
+    }
+
+    /**
+     * Maps Tournament entity to TournamentResponseDTO, with a bracket view
+     * that has already been read.
+     *
+     * @param tournament  Tournament entity.
+     * @param bracketView View of the tournament's bracket, or null if it has none.
+     * @return TournamentResponseDTO containing tournament data.
+     */
+    private TournamentResponseDTO mapToResponseDTO(Tournament tournament, BracketView bracketView) {
         TournamentResponseDTO.LocationDTO locationDTO = new TournamentResponseDTO.LocationDTO(
                 tournament.getLocation().getId(),
                 tournament.getLocation().getName());
@@ -339,7 +497,7 @@ public class TournamentServiceImpl implements TournamentService {
                 tournament.getHost(),
                 tournament.getVerificationStatus() != null ? tournament.getVerificationStatus().toString() : null,
                 tournament.getVenueBooked(),
-                tournament.getBracket());
+                bracketView);
     }
 
     /**
@@ -368,11 +526,18 @@ public class TournamentServiceImpl implements TournamentService {
          */
         Long clubId = dto.getClubId();
 
-        if (!clubServiceClient.verifyNoPenaltyStatus(clubId)) {
+        /*
+         * Penalty check and profile lookup are independent, so send them together
+         */
+        Deadline deadline = ClubServiceClient.newDeadline();
+        CompletableFuture<Boolean> penaltyCheck = clubServiceClient.verifyNoPenaltyStatusAsync(clubId, deadline);
+        CompletableFuture<ClubProfile> profileCall = clubServiceClient.getClubProfileByIdAsync(clubId, jwtToken, deadline);
+
+        if (!ClubServiceClient.await(penaltyCheck)) {
             throw new BlacklistedFromTournamentException();
         }
 
-        ClubProfile clubProfile = clubServiceClient.getClubProfileById(clubId, jwtToken);
+        ClubProfile clubProfile = ClubServiceClient.await(profileCall);
         if (clubProfile == null) {
             throw new ClubProfileNotFoundAtClientException(clubId);
         }
@@ -390,11 +555,15 @@ public class TournamentServiceImpl implements TournamentService {
             // RuntimeException();
         }
 
-        if (tournament.getJoinedClubIds() != null && tournament.getJoinedClubIds().contains(clubId)) {
+        /*
+         * Cheap early checks; the slot reservation and the unique participation
+         * row below are what actually hold under concurrent joins
+         */
+        if (tournamentParticipationRepository.existsByTournamentIdAndClubId(tournamentId, clubId)) {
             throw new ClubAlreadyJoinedException("Club has already joined the tournament.");
         }
 
-        if (tournament.getJoinedClubIds().size() >= tournament.getMaxTeams()) {
+        if (tournament.getJoinedCount() != null && tournament.getJoinedCount() >= tournament.getMaxTeams()) {
             throw new TournamentFullException("Tournament is already full.");
         }
 
@@ -409,8 +578,27 @@ public class TournamentServiceImpl implements TournamentService {
             throw new ClubEloTooHighException(tournament.getMaxRank());
         }
 
-        tournament.getJoinedClubIds().add(clubId);
-        Tournament updatedTournament = tournamentRepository.save(tournament);
+        /*
+         * Reserve a slot with one conditional update, then record the club.
+         * The tournament row is only locked from here until commit, after
+         * every call to the clubs service has returned. A second join by the
+         * same club fails on the participation table's unique key, and the
+         * rollback gives its slot back.
+         */
+        if (tournamentRepository.reserveSlot(tournamentId) == 0) {
+            throw new TournamentFullException("Tournament is already full.");
+        }
+        try {
+            tournamentParticipationRepository.insertParticipation(tournamentId, clubId);
+        } catch (DataIntegrityViolationException e) {
+            throw new ClubAlreadyJoinedException("Club has already joined the tournament.");
+        }
+        tournamentRepository.addJoinedClub(tournamentId, clubId);
+        tournamentEligibilityIndex.refreshAfterCommit(tournamentId);
+        squadReadinessTracker.clubJoinedAfterCommit(tournamentId, clubId);
+
+        Tournament updatedTournament = tournamentRepository.findDetailById(tournamentId)
+                .orElseThrow(() -> new TournamentNotFoundException(tournamentId));
         return mapToResponseDTO(updatedTournament);
     }
 
@@ -424,18 +612,20 @@ public class TournamentServiceImpl implements TournamentService {
      *                                     tournament.
      */
     public void removeClubFromTournament(Long tournamentId, Long clubId) {
-        Tournament tournament = tournamentRepository.findById(tournamentId)
+        tournamentRepository.findById(tournamentId)
                 .orElseThrow(() -> new TournamentNotFoundException(tournamentId));
 
-        if (!tournament.getJoinedClubIds().contains(clubId)) {
+        /*
+         * Deleting the participation row decides whether the club was in the
+         * tournament, so two concurrent removals free only one slot
+         */
+        if (tournamentParticipationRepository.deleteParticipation(tournamentId, clubId) == 0) {
             throw new ClubNotJoinedException(clubId);
         }
-
-        // Remove the club from the tournament
-        tournament.getJoinedClubIds().remove(clubId);
-
-        // Save the tournament after modification
-        tournamentRepository.save(tournament);
+        tournamentRepository.releaseSlot(tournamentId);
+        tournamentRepository.removeJoinedClub(tournamentId, clubId);
+        tournamentEligibilityIndex.refreshAfterCommit(tournamentId);
+        squadReadinessTracker.clubLeftAfterCommit(tournamentId, clubId);
     }
 
     /**
@@ -496,8 +686,12 @@ public class TournamentServiceImpl implements TournamentService {
                 throw new IllegalArgumentException("Invalid filter type");
         }
 
+        /*
+         * Bracket views for the whole page are read together, not one tournament at a time
+         */
+        Map<Long, BracketView> bracketViews = bracketService.getBracketViews(tournaments);
         return tournaments.stream()
-                .map(this::mapToResponseDTO)
+                .map(tournament -> mapToResponseDTO(tournament, bracketViews.get(tournament.getId())))
                 .collect(Collectors.toList());
     }
 
@@ -535,10 +729,63 @@ public class TournamentServiceImpl implements TournamentService {
         } catch (Exception e) {
             throw new InvalidPlayerAvailabilityException();
         }
+        squadReadinessTracker.availabilityAfterCommit(dto.getTournamentId(), List.of(dto));
 
         return playerAvailability;
     }
 
+    /**
+     * Updates the availability of many players for a Tournament at once, such
+     * as a club's whole squad. Every line is checked before anything is
+     * written; if any is refused, none are saved. The tournament is looked up
+     * once and the sheet is written as a single batched upsert.
+     *
+     * @param tournamentId ID of the tournament.
+     * @param sheet        One PlayerAvailabilityDTO per player. Their
+     *                     tournamentId may be left out, but must match if given.
+     * @return The saved sheet, in request order.
+     * @throws TournamentNotFoundException             if the tournament does not exist.
+     * @throws InvalidPlayerAvailabilitySheetException if any line is refused,
+     *                                                 with the reason for each.
+     * @throws InvalidPlayerAvailabilityException      if saving fails.
+     */
+    @Override
+    public List<PlayerAvailabilityDTO> updatePlayerAvailabilities(Long tournamentId, List<PlayerAvailabilityDTO> sheet) {
+        List<PlayerAvailabilityErrorDTO> errors = new ArrayList<>();
+        Set<Long> playerIds = new HashSet<>();
+        for (PlayerAvailabilityDTO line : sheet) {
+            Long playerId = line.getPlayerId();
+            if (playerId == null) {
+                errors.add(new PlayerAvailabilityErrorDTO(null, "Player ID is required."));
+            } else if (!playerIds.add(playerId)) {
+                errors.add(new PlayerAvailabilityErrorDTO(playerId, "Player appears more than once in the sheet."));
+            } else if (line.getClubId() == null) {
+                errors.add(new PlayerAvailabilityErrorDTO(playerId, new NoClubIndicateAvailabilityException().getMessage()));
+            } else if (line.getTournamentId() != null && !line.getTournamentId().equals(tournamentId)) {
+                errors.add(new PlayerAvailabilityErrorDTO(playerId,
+                        "Availability is for tournament " + line.getTournamentId() + ", not " + tournamentId + "."));
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new InvalidPlayerAvailabilitySheetException(errors);
+        }
+
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new TournamentNotFoundException(tournamentId);
+        }
+
+        try {
+            playerAvailabilityBatchRepository.upsertAll(tournamentId, sheet);
+        } catch (DataAccessException e) {
+            throw new InvalidPlayerAvailabilityException();
+        }
+        squadReadinessTracker.availabilityAfterCommit(tournamentId, sheet);
+
+        return sheet.stream()
+                .map(line -> new PlayerAvailabilityDTO(tournamentId, line.getPlayerId(), line.getClubId(), line.isAvailable()))
+                .toList();
+    }
+
     /**
      * Retrieves player availability for a Tournament.
      *
@@ -557,6 +804,21 @@ public class TournamentServiceImpl implements TournamentService {
                 .toList();
     }
 
+    /**
+     * Retrieves which Clubs in a Tournament have enough available players to
+     * field a side in its format. Served from memory once the tournament has
+     * been asked about.
+     *
+     * @param tournamentId ID of the tournament.
+     * @return One SquadReadinessDTO per joined club.
+     * @throws TournamentNotFoundException if the tournament does not exist.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<SquadReadinessDTO> getSquadReadiness(Long tournamentId) {
+        return squadReadinessTracker.getReadiness(tournamentId);
+    }
+
     /**
      * Retrieves Tournaments hosted by a specific Host.
      *
@@ -650,6 +912,72 @@ public class TournamentServiceImpl implements TournamentService {
         return tournamentRepository.findByVerificationStatus(Tournament.VerificationStatus.REJECTED);
     }
 
+    /**
+     * Retrieves one page of the Tournaments with a verification status, oldest
+     * first, as slim summaries for the moderation screen.
+     *
+     * @param status Verification status to list.
+     * @param cursor Cursor from the previous page, or null for the first page.
+     * @param size   Number of tournaments per page, capped at MAX_PAGE_SIZE.
+     * @return The page, with the cursor of the next page if there is one.
+     * @throws InvalidCursorException if the cursor is malformed.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public VerificationPageDTO getVerificationQueue(Tournament.VerificationStatus status, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Long afterId = cursor != null && !cursor.isBlank() ? VerificationCursor.decode(cursor).getId() : 0L;
+
+        /*
+         * One extra row tells whether there is a next page, without counting
+         */
+        List<VerificationSummaryDTO> tournaments = tournamentRepository.findVerificationQueue(status, afterId,
+                Limit.of(pageSize + 1));
+        if (tournaments.size() <= pageSize) {
+            return new VerificationPageDTO(tournaments, null);
+        }
+        List<VerificationSummaryDTO> page = tournaments.subList(0, pageSize);
+        return new VerificationPageDTO(List.copyOf(page), new VerificationCursor(page.get(pageSize - 1).getId()).encode());
+    }
+
+    /**
+     * Approves every listed Tournament that is pending verification, in one
+     * update.
+     *
+     * @param tournamentIds IDs of the tournaments.
+     * @return The number of tournaments approved. Tournaments that do not
+     *         exist or are not pending are left as they are.
+     */
+    @Override
+    public int approveVerifications(List<Long> tournamentIds) {
+        return decideVerifications(tournamentIds, Tournament.VerificationStatus.APPROVED);
+    }
+
+    /**
+     * Rejects every listed Tournament that is pending verification, in one
+     * update.
+     *
+     * @param tournamentIds IDs of the tournaments.
+     * @return The number of tournaments rejected. Tournaments that do not
+     *         exist or are not pending are left as they are.
+     */
+    @Override
+    public int rejectVerifications(List<Long> tournamentIds) {
+        return decideVerifications(tournamentIds, Tournament.VerificationStatus.REJECTED);
+    }
+
+    /*
+     * Only pending tournaments are decided, so a selection made on a stale
+     * screen cannot undo another admin's decision
+     */
+    private int decideVerifications(List<Long> tournamentIds, Tournament.VerificationStatus decision) {
+        if (tournamentIds.isEmpty()) {
+            return 0;
+        }
+        return tournamentRepository.updateVerificationStatus(new HashSet<>(tournamentIds),
+                Tournament.VerificationStatus.PENDING, decision);
+    }
+
     /**
      * Retrieves a Tournament by its ID.
      *
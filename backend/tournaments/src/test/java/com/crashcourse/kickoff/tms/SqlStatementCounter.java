@@ -0,0 +1,74 @@
+package com.crashcourse.kickoff.tms;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Test configuration that wraps the application DataSource and counts every
+ * statement sent to the database. A JDBC batch counts as one statement, since
+ * it is one round trip.
+ *
+ * Import it into a Spring Boot test and call {@link #reset()} before the code
+ * under test and {@link #count()} after it.
+ */
+@TestConfiguration
+public class SqlStatementCounter {
+
+    private static final AtomicInteger STATEMENTS = new AtomicInteger();
+
+    public static void reset() {
+        STATEMENTS.set(0);
+    }
+
+    public static int count() {
+        return STATEMENTS.get();
+    }
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return proxy(DataSource.class, dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static <T> T proxy(Class<T> type, T target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            if (target instanceof Statement && name.startsWith("execute")) {
+                STATEMENTS.incrementAndGet();
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (result instanceof Connection connection && method.getReturnType() == Connection.class) {
+                return proxy(Connection.class, connection);
+            }
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                @SuppressWarnings("unchecked")
+                Class<Statement> returnType = (Class<Statement>) method.getReturnType();
+                return proxy(returnType, statement);
+            }
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+}
@@ -0,0 +1,213 @@
+package com.crashcourse.kickoff.tms.bracket;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crashcourse.kickoff.tms.SqlStatementCounter;
+import com.crashcourse.kickoff.tms.bracket.dto.MatchUpdateDTO;
+import com.crashcourse.kickoff.tms.bracket.model.Bracket;
+import com.crashcourse.kickoff.tms.bracket.model.Match;
+import com.crashcourse.kickoff.tms.bracket.model.Round;
+import com.crashcourse.kickoff.tms.bracket.repository.MatchRepository;
+import com.crashcourse.kickoff.tms.bracket.service.BracketService;
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.club.ClubRatingProfile;
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+
+/**
+ * Integration tests for bracket creation and result propagation.
+ * Checks that the bracket is written, and results are moved on, with a fixed
+ * number of SQL statements however many clubs have joined.
+ */
+@SpringBootTest
+@Import(SqlStatementCounter.class)
+class BracketCreationTest {
+
+    @Autowired
+    private BracketService bracketService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private ClubServiceClient clubServiceClient;
+
+    private static final String JWT_TOKEN = "Bearer token";
+
+    @BeforeEach
+    void setUp() {
+        // Club N has an Elo of 1000 + N, so club N is seed (maxClubId - N + 1)
+        when(clubServiceClient.getClubRatingProfiles(anyCollection(), anyString())).thenAnswer(invocation -> {
+            Collection<Long> clubIds = invocation.getArgument(0);
+            List<ClubRatingProfile> profiles = new ArrayList<>();
+            for (Long clubId : clubIds) {
+                profiles.add(new ClubRatingProfile(clubId, true, "Club " + clubId, 1000.0 + clubId, 200.0, 0L, clubId, false));
+            }
+            return profiles;
+        });
+    }
+
+    private Long createTournament(int numberOfClubs) {
+        Tournament tournament = new Tournament();
+        tournament.setName("Open Qualifier " + numberOfClubs);
+        tournament.setStartDateTime(LocalDateTime.now().plusDays(1));
+        tournament.setEndDateTime(LocalDateTime.now().plusDays(2));
+        tournament.setMaxTeams(numberOfClubs);
+        tournament.setTournamentFormat(TournamentFormat.FIVE_SIDE);
+        tournament.setKnockoutFormat(KnockoutFormat.SINGLE_ELIM);
+        return tournamentRepository.save(tournament).getId();
+    }
+
+    private List<Long> clubIds(int numberOfClubs) {
+        List<Long> clubIds = new ArrayList<>();
+        for (long i = 1; i <= numberOfClubs; i++) {
+            clubIds.add(i);
+        }
+        return clubIds;
+    }
+
+    private int countStatementsForBracket(int numberOfClubs) {
+        Long tournamentId = createTournament(numberOfClubs);
+        List<Long> clubIds = clubIds(numberOfClubs);
+
+        SqlStatementCounter.reset();
+        transactionTemplate.executeWithoutResult(status -> bracketService.createBracket(tournamentId, clubIds, JWT_TOKEN));
+        return SqlStatementCounter.count();
+    }
+
+    @Test
+    void createBracket_MoreClubs_StatementCountStaysFlat() {
+        // Warm up so one-off metadata lookups do not count against the first size
+        countStatementsForBracket(4);
+
+        int statementsFor8 = countStatementsForBracket(8);
+        int statementsFor64 = countStatementsForBracket(64);
+        int statementsFor256 = countStatementsForBracket(256);
+
+        assertEquals(statementsFor8, statementsFor64, "Statement count should not grow with the number of clubs");
+        assertEquals(statementsFor8, statementsFor256, "Statement count should not grow with the number of clubs");
+        assertTrue(statementsFor8 <= 8, "Bracket creation should take a handful of statements, not one per match");
+    }
+
+    @Test
+    void createBracket_WithByes_SeedsAndPromotesByesBeforeWriting() {
+        Long tournamentId = createTournament(6);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Bracket bracket = bracketService.createBracket(tournamentId, clubIds(6), JWT_TOKEN);
+
+            assertNotNull(bracket.getId(), "Bracket should be persisted");
+            assertEquals(3, bracket.getRounds().size(), "6 clubs should need 3 rounds");
+
+            Round firstRound = bracket.getRounds().stream()
+                    .filter(r -> r.getRoundNumber() == 3L)
+                    .findFirst()
+                    .orElseThrow();
+            Round secondRound = bracket.getRounds().stream()
+                    .filter(r -> r.getRoundNumber() == 2L)
+                    .findFirst()
+                    .orElseThrow();
+            firstRound.getMatches().sort(Comparator.comparing(Match::getMatchNumber));
+            secondRound.getMatches().sort(Comparator.comparing(Match::getMatchNumber));
+
+            // Seeds 1 and 2 (clubs 6 and 5) get byes in a bracket of 8
+            Match seedOneMatch = firstRound.getMatches().get(0);
+            assertEquals(6L, seedOneMatch.getClub1Id());
+            assertNull(seedOneMatch.getClub2Id());
+            assertTrue(seedOneMatch.isOver(), "Bye match should be over");
+            assertEquals(6L, seedOneMatch.getWinningClubId());
+
+            assertEquals(6L, secondRound.getMatches().get(0).getClub1Id(), "Bye winner should be promoted");
+            assertEquals(4, firstRound.getMatches().size());
+        });
+    }
+
+    private Long createBracket(int numberOfClubs) {
+        Long tournamentId = createTournament(numberOfClubs);
+        transactionTemplate.executeWithoutResult(status -> bracketService.createBracket(tournamentId, clubIds(numberOfClubs), JWT_TOKEN));
+        return tournamentId;
+    }
+
+    /*
+     * Submits the result of the first match of the first round and
+     * returns the number of statements it took
+     */
+    private int countStatementsForFirstResult(Long tournamentId, int numberOfRounds) {
+        return transactionTemplate.execute(status -> {
+            Tournament tournament = tournamentRepository.findById(tournamentId).orElseThrow();
+            Long bracketId = tournament.getBracket().getId();
+            Match match = matchRepository
+                    .findByBracketIdAndBracketPosition(bracketId, Match.bracketPositionOf(numberOfRounds, 1))
+                    .orElseThrow();
+
+            MatchUpdateDTO dto = new MatchUpdateDTO(true, match.getClub1Id(), match.getClub2Id(), 2, 1, match.getClub1Id());
+            match.setClub1Score(2);
+            match.setClub2Score(1);
+            match.setWinningClubId(match.getClub1Id());
+
+            SqlStatementCounter.reset();
+            bracketService.updateMatch(tournament, match, dto);
+            matchRepository.flush();
+            return SqlStatementCounter.count();
+        });
+    }
+
+    @Test
+    void createBracket_StoresHeapPositions() {
+        Long tournamentId = createBracket(8);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Bracket bracket = tournamentRepository.findById(tournamentId).orElseThrow().getBracket();
+            for (Round round : bracket.getRounds()) {
+                for (Match match : round.getMatches()) {
+                    assertEquals(bracket.getId(), match.getBracketId());
+                    assertEquals(Match.bracketPositionOf(round.getRoundNumber(), match.getMatchNumber()),
+                            match.getBracketPosition());
+                }
+            }
+        });
+    }
+
+    @Test
+    void updateMatch_LargerBracket_PropagatesWithSameStatementCount() {
+        Long smallTournamentId = createBracket(8);
+        Long largeTournamentId = createBracket(256);
+
+        int statementsFor8 = countStatementsForFirstResult(smallTournamentId, 3);
+        int statementsFor256 = countStatementsForFirstResult(largeTournamentId, 8);
+
+        assertEquals(statementsFor8, statementsFor256, "Propagating a result should not depend on bracket size");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Long bracketId = tournamentRepository.findById(largeTournamentId).orElseThrow().getBracket().getId();
+            Match firstMatch = matchRepository
+                    .findByBracketIdAndBracketPosition(bracketId, Match.bracketPositionOf(8, 1)).orElseThrow();
+            Match nextMatch = matchRepository
+                    .findByBracketIdAndBracketPosition(bracketId, Match.bracketPositionOf(7, 1)).orElseThrow();
+
+            assertTrue(firstMatch.isOver());
+            assertEquals(firstMatch.getClub1Id(), nextMatch.getClub1Id(), "Winner should move into slot 1 of the next match");
+        });
+    }
+}
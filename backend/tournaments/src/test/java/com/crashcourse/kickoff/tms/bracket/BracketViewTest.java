@@ -0,0 +1,150 @@
+package com.crashcourse.kickoff.tms.bracket;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crashcourse.kickoff.tms.SqlStatementCounter;
+import com.crashcourse.kickoff.tms.bracket.dto.BracketView;
+import com.crashcourse.kickoff.tms.bracket.dto.BracketView.MatchView;
+import com.crashcourse.kickoff.tms.bracket.dto.BracketView.RoundView;
+import com.crashcourse.kickoff.tms.bracket.dto.MatchUpdateDTO;
+import com.crashcourse.kickoff.tms.bracket.model.Match;
+import com.crashcourse.kickoff.tms.bracket.repository.MatchRepository;
+import com.crashcourse.kickoff.tms.bracket.service.BracketService;
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.club.ClubRatingProfile;
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+
+/**
+ * Integration tests for the cached bracket view: reads are served without
+ * touching the database, and results are patched in rather than rebuilt.
+ */
+@SpringBootTest
+@Import(SqlStatementCounter.class)
+class BracketViewTest {
+
+    @Autowired
+    private BracketService bracketService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private ClubServiceClient clubServiceClient;
+
+    private static final String JWT_TOKEN = "Bearer token";
+
+    @BeforeEach
+    void setUp() {
+        when(clubServiceClient.getClubRatingProfiles(anyCollection(), anyString())).thenAnswer(invocation -> {
+            Collection<Long> clubIds = invocation.getArgument(0);
+            List<ClubRatingProfile> profiles = new ArrayList<>();
+            for (Long clubId : clubIds) {
+                profiles.add(new ClubRatingProfile(clubId, true, "Club " + clubId, 1000.0 + clubId, 200.0, 0L, clubId, false));
+            }
+            return profiles;
+        });
+    }
+
+    private Long createBracket(int numberOfClubs) {
+        Tournament tournament = new Tournament();
+        tournament.setName("Bracket View " + numberOfClubs);
+        tournament.setStartDateTime(LocalDateTime.now().plusDays(1));
+        tournament.setEndDateTime(LocalDateTime.now().plusDays(2));
+        tournament.setMaxTeams(numberOfClubs);
+        tournament.setTournamentFormat(TournamentFormat.FIVE_SIDE);
+        tournament.setKnockoutFormat(KnockoutFormat.SINGLE_ELIM);
+        Long tournamentId = tournamentRepository.save(tournament).getId();
+
+        List<Long> clubIds = new ArrayList<>();
+        for (long i = 1; i <= numberOfClubs; i++) {
+            clubIds.add(i);
+        }
+        transactionTemplate.executeWithoutResult(status -> bracketService.createBracket(tournamentId, clubIds, JWT_TOKEN));
+        return tournamentId;
+    }
+
+    /*
+     * Counts only the statements issued for the view, not for loading the tournament
+     */
+    private BracketView readView(Long tournamentId, int[] statements) {
+        return transactionTemplate.execute(status -> {
+            Tournament tournament = tournamentRepository.findById(tournamentId).orElseThrow();
+            SqlStatementCounter.reset();
+            BracketView view = bracketService.getBracketView(tournament);
+            statements[0] = SqlStatementCounter.count();
+            return view;
+        });
+    }
+
+    @Test
+    void getBracketView_AfterCreateBracket_ServedWithoutQueries() {
+        Long tournamentId = createBracket(64);
+        int[] statements = new int[1];
+
+        BracketView view = readView(tournamentId, statements);
+
+        assertEquals(0, statements[0], "A freshly created bracket should already be cached");
+        assertEquals(6, view.getRounds().size());
+        assertEquals(64 - 1, view.getRounds().stream().mapToInt(round -> round.getMatches().size()).sum());
+        assertSame(view, readView(tournamentId, statements), "Repeated reads should share one view");
+    }
+
+    @Test
+    void updateMatch_CachedView_PatchedWithResultAndNextMatch() {
+        Long tournamentId = createBracket(8);
+        BracketView before = readView(tournamentId, new int[1]);
+
+        Long firstMatchId = transactionTemplate.execute(status -> {
+            Tournament tournament = tournamentRepository.findById(tournamentId).orElseThrow();
+            Match match = matchRepository.findByBracketIdAndBracketPosition(tournament.getBracket().getId(), 4L).orElseThrow();
+            match.setClub1Score(2);
+            match.setClub2Score(1);
+            match.setWinningClubId(match.getClub1Id());
+            bracketService.updateMatch(tournament, match,
+                    new MatchUpdateDTO(true, match.getClub1Id(), match.getClub2Id(), 2, 1, match.getClub1Id()));
+            return match.getId();
+        });
+
+        int[] statements = new int[1];
+        BracketView after = readView(tournamentId, statements);
+        assertEquals(0, statements[0], "The view should be patched, not rebuilt from the database");
+
+        Map<Long, MatchView> byPosition = new HashMap<>();
+        for (RoundView round : after.getRounds()) {
+            for (MatchView match : round.getMatches()) {
+                byPosition.put(match.getBracketPosition(), match);
+            }
+        }
+        MatchView played = byPosition.get(4L);
+        assertEquals(firstMatchId, played.getId());
+        assertTrue(played.isOver());
+        assertEquals(2, played.getClub1Score());
+        assertEquals(played.getWinningClubId(), byPosition.get(2L).getClub1Id(), "Winner should appear in the next match");
+
+        RoundView untouchedFinal = after.getRounds().get(after.getRounds().size() - 1);
+        assertSame(before.getRounds().get(before.getRounds().size() - 1), untouchedFinal,
+                "Rounds without changes should be shared with the previous view");
+    }
+}
@@ -0,0 +1,254 @@
+package com.crashcourse.kickoff.tms.bracket;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crashcourse.kickoff.tms.SqlStatementCounter;
+import com.crashcourse.kickoff.tms.bracket.dto.MatchUpdateDTO;
+import com.crashcourse.kickoff.tms.bracket.model.Bracket;
+import com.crashcourse.kickoff.tms.bracket.model.BracketStage;
+import com.crashcourse.kickoff.tms.bracket.model.DoubleEliminationBracket;
+import com.crashcourse.kickoff.tms.bracket.model.Match;
+import com.crashcourse.kickoff.tms.bracket.model.Round;
+import com.crashcourse.kickoff.tms.bracket.service.BracketService;
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.club.ClubRatingProfile;
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+
+/**
+ * Integration tests for double-elimination brackets.
+ * Plays whole brackets through BracketService.updateMatch and checks that
+ * every club but the champion goes out after its second loss, with or
+ * without byes.
+ */
+@SpringBootTest
+@Import(SqlStatementCounter.class)
+class DoubleEliminationBracketTest {
+
+    @Autowired
+    private BracketService bracketService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private ClubServiceClient clubServiceClient;
+
+    private static final String JWT_TOKEN = "Bearer token";
+
+    @BeforeEach
+    void setUp() {
+        when(clubServiceClient.getClubRatingProfiles(anyCollection(), anyString())).thenAnswer(invocation -> {
+            Collection<Long> clubIds = invocation.getArgument(0);
+            List<ClubRatingProfile> profiles = new ArrayList<>();
+            for (Long clubId : clubIds) {
+                profiles.add(new ClubRatingProfile(clubId, true, "Club " + clubId, 1000.0 + clubId, 200.0, 0L, clubId, false));
+            }
+            return profiles;
+        });
+    }
+
+    private Long createBracket(int numberOfClubs) {
+        Tournament tournament = new Tournament();
+        tournament.setName("Double Elimination " + numberOfClubs);
+        tournament.setStartDateTime(LocalDateTime.now().plusDays(1));
+        tournament.setEndDateTime(LocalDateTime.now().plusDays(2));
+        tournament.setMaxTeams(numberOfClubs);
+        tournament.setTournamentFormat(TournamentFormat.FIVE_SIDE);
+        tournament.setKnockoutFormat(KnockoutFormat.DOUBLE_ELIM);
+        Long tournamentId = tournamentRepository.save(tournament).getId();
+
+        List<Long> clubIds = new ArrayList<>();
+        for (long i = 1; i <= numberOfClubs; i++) {
+            clubIds.add(i);
+        }
+
+        SqlStatementCounter.reset();
+        transactionTemplate.executeWithoutResult(status -> bracketService.createBracket(tournamentId, clubIds, JWT_TOKEN));
+        return tournamentId;
+    }
+
+    /*
+     * Plays the bracket to the end, one result per transaction.
+     * The stronger club wins, except in every third match by position.
+     * Returns the number of losses for each club.
+     */
+    private Map<Long, Integer> playOut(Long tournamentId) {
+        Map<Long, Integer> losses = new HashMap<>();
+        for (int played = 0; played < 1000; played++) {
+            Boolean playedOne = transactionTemplate.execute(status -> {
+                Tournament tournament = tournamentRepository.findById(tournamentId).orElseThrow();
+                Match match = tournament.getBracket().getRounds().stream()
+                        .flatMap(round -> round.getMatches().stream())
+                        .filter(m -> !m.isOver() && m.getClub1Id() != null && m.getClub2Id() != null)
+                        .min(Comparator.comparing(Match::getBracketPosition))
+                        .orElse(null);
+                if (match == null) {
+                    return false;
+                }
+
+                Long stronger = Math.max(match.getClub1Id(), match.getClub2Id());
+                Long weaker = Math.min(match.getClub1Id(), match.getClub2Id());
+                boolean upset = match.getBracketPosition() % 3 == 0;
+                Long winningClubId = upset ? weaker : stronger;
+                losses.merge(upset ? stronger : weaker, 1, Integer::sum);
+
+                match.setWinningClubId(winningClubId);
+                bracketService.updateMatch(tournament, match,
+                        new MatchUpdateDTO(true, match.getClub1Id(), match.getClub2Id(), 1, 0, winningClubId));
+                return true;
+            });
+            if (!playedOne) {
+                return losses;
+            }
+        }
+        fail("Bracket did not finish");
+        return losses;
+    }
+
+    private void assertPlayedOut(Long tournamentId, int numberOfClubs, Map<Long, Integer> losses) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Tournament tournament = tournamentRepository.findById(tournamentId).orElseThrow();
+            Bracket bracket = tournament.getBracket();
+            assertTrue(tournament.isOver(), "Tournament should be over");
+            assertNotNull(bracket.getWinningClubId());
+
+            for (Round round : bracket.getRounds()) {
+                for (Match match : round.getMatches()) {
+                    assertTrue(match.isOver(), "Match at position " + match.getBracketPosition() + " was never settled");
+                }
+            }
+        });
+
+        /*
+         * The reset means even the grand final loser has lost twice
+         */
+        Long championId = transactionTemplate.execute(
+                status -> tournamentRepository.findById(tournamentId).orElseThrow().getBracket().getWinningClubId());
+        for (long clubId = 1; clubId <= numberOfClubs; clubId++) {
+            int clubLosses = losses.getOrDefault(clubId, 0);
+            if (clubId == championId) {
+                assertTrue(clubLosses <= 1, "Champion " + clubId + " won after two losses");
+            } else {
+                assertEquals(2, clubLosses, "Club " + clubId + " should go out on its second loss");
+            }
+        }
+    }
+
+    @Test
+    void createBracket_DoubleElim_BuildsWinnersLosersAndGrandFinal() {
+        Long tournamentId = createBracket(8);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Bracket bracket = tournamentRepository.findById(tournamentId).orElseThrow().getBracket();
+            assertInstanceOf(DoubleEliminationBracket.class, bracket);
+
+            Map<BracketStage, Integer> matchesPerStage = new EnumMap<>(BracketStage.class);
+            for (Round round : bracket.getRounds()) {
+                matchesPerStage.merge(round.getStage(), round.getMatches().size(), Integer::sum);
+            }
+            assertEquals(7, matchesPerStage.get(BracketStage.WINNERS));
+            assertEquals(6, matchesPerStage.get(BracketStage.LOSERS));
+            assertEquals(2, matchesPerStage.get(BracketStage.GRAND_FINAL));
+        });
+    }
+
+    /*
+     * Plays the next playable match, the club in the given slot winning
+     */
+    private Match playNext(Long tournamentId, int winningSlot) {
+        return transactionTemplate.execute(status -> {
+            Tournament tournament = tournamentRepository.findById(tournamentId).orElseThrow();
+            Match match = tournament.getBracket().getRounds().stream()
+                    .flatMap(round -> round.getMatches().stream())
+                    .filter(m -> !m.isOver() && m.getClub1Id() != null && m.getClub2Id() != null)
+                    .min(Comparator.comparing(Match::getBracketPosition))
+                    .orElseThrow();
+            Long winningClubId = winningSlot == 1 ? match.getClub1Id() : match.getClub2Id();
+            match.setWinningClubId(winningClubId);
+            return bracketService.updateMatch(tournament, match,
+                    new MatchUpdateDTO(true, match.getClub1Id(), match.getClub2Id(), 1, 0, winningClubId));
+        });
+    }
+
+    @Test
+    void updateMatch_GrandFinalLostByUnbeatenClub_ResetDecidesIt() {
+        Long tournamentId = createBracket(2);
+
+        Match winnersFinal = playNext(tournamentId, 1);
+        Match grandFinal = playNext(tournamentId, 2);
+        assertFalse(tournamentRepository.findById(tournamentId).orElseThrow().isOver(),
+                "The unbeaten club has only lost once");
+
+        Match reset = playNext(tournamentId, 1);
+        assertEquals(grandFinal.getWinnerNextPosition(), reset.getBracketPosition());
+        assertEquals(winnersFinal.getClub2Id(), reset.getWinningClubId());
+        transactionTemplate.executeWithoutResult(status -> {
+            Tournament tournament = tournamentRepository.findById(tournamentId).orElseThrow();
+            assertTrue(tournament.isOver());
+            assertEquals(winnersFinal.getClub2Id(), tournament.getBracket().getWinningClubId());
+        });
+    }
+
+    @Test
+    void updateMatch_GrandFinalWonByUnbeatenClub_ResetNotPlayed() {
+        Long tournamentId = createBracket(2);
+
+        Match winnersFinal = playNext(tournamentId, 1);
+        playNext(tournamentId, 1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Tournament tournament = tournamentRepository.findById(tournamentId).orElseThrow();
+            assertTrue(tournament.isOver());
+            assertEquals(winnersFinal.getClub1Id(), tournament.getBracket().getWinningClubId());
+            assertTrue(tournament.getBracket().getRounds().stream()
+                    .flatMap(round -> round.getMatches().stream())
+                    .allMatch(Match::isOver), "The reset should be settled unplayed");
+        });
+    }
+
+    @Test
+    void createBracket_DoubleElimMoreClubs_StatementCountStaysFlat() {
+        createBracket(4);
+        createBracket(8);
+        int statementsFor8 = SqlStatementCounter.count();
+        createBracket(64);
+        int statementsFor64 = SqlStatementCounter.count();
+
+        assertEquals(statementsFor8, statementsFor64, "All matches should be written in one batch");
+    }
+
+    @Test
+    void updateMatch_DoubleElimFullBracket_EveryClubOutAfterTwoLosses() {
+        Long tournamentId = createBracket(8);
+        Map<Long, Integer> losses = playOut(tournamentId);
+        assertPlayedOut(tournamentId, 8, losses);
+    }
+
+    @Test
+    void updateMatch_DoubleElimWithByes_EveryClubOutAfterTwoLosses() {
+        for (int numberOfClubs : new int[] { 3, 5, 6, 11 }) {
+            Long tournamentId = createBracket(numberOfClubs);
+            Map<Long, Integer> losses = playOut(tournamentId);
+            assertPlayedOut(tournamentId, numberOfClubs, losses);
+        }
+    }
+}
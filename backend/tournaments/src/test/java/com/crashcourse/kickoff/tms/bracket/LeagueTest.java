@@ -0,0 +1,160 @@
+package com.crashcourse.kickoff.tms.bracket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crashcourse.kickoff.tms.SqlStatementCounter;
+import com.crashcourse.kickoff.tms.bracket.model.*;
+import com.crashcourse.kickoff.tms.bracket.service.BracketService;
+import com.crashcourse.kickoff.tms.bracket.service.LeagueService;
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+
+/**
+ * Integration tests for round-robin leagues: fixture generation and the
+ * incrementally maintained league table.
+ */
+@SpringBootTest
+@Import(SqlStatementCounter.class)
+class LeagueTest {
+
+    @Autowired
+    private BracketService bracketService;
+
+    @Autowired
+    private LeagueService leagueService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private ClubServiceClient clubServiceClient;
+
+    private static final String JWT_TOKEN = "Bearer token";
+
+    private Long createLeague(int numberOfClubs) {
+        Tournament tournament = new Tournament();
+        tournament.setName("Weekend League " + numberOfClubs);
+        tournament.setStartDateTime(LocalDateTime.now().plusDays(1));
+        tournament.setEndDateTime(LocalDateTime.now().plusDays(2));
+        tournament.setMaxTeams(numberOfClubs);
+        tournament.setTournamentFormat(TournamentFormat.FIVE_SIDE);
+        tournament.setKnockoutFormat(KnockoutFormat.ROUND_ROBIN);
+        Long tournamentId = tournamentRepository.save(tournament).getId();
+
+        List<Long> clubIds = new ArrayList<>();
+        for (long i = 1; i <= numberOfClubs; i++) {
+            clubIds.add(i);
+        }
+
+        SqlStatementCounter.reset();
+        transactionTemplate.executeWithoutResult(status -> bracketService.createBracket(tournamentId, clubIds, JWT_TOKEN));
+        return tournamentId;
+    }
+
+    /*
+     * Records a score the same way updateMatchInTournament does
+     */
+    private void recordResult(Long tournamentId, long club1Id, long club2Id, int club1Score, int club2Score) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Tournament tournament = tournamentRepository.findById(tournamentId).orElseThrow();
+            Match match = tournament.getBracket().getRounds().stream()
+                    .flatMap(round -> round.getMatches().stream())
+                    .filter(m -> Set.of(m.getClub1Id(), m.getClub2Id()).equals(Set.of(club1Id, club2Id)))
+                    .findFirst()
+                    .orElseThrow();
+
+            MatchScore previousScore = MatchScore.of(match);
+            boolean swapped = match.getClub1Id() != club1Id;
+            match.setClub1Score(swapped ? club2Score : club1Score);
+            match.setClub2Score(swapped ? club1Score : club2Score);
+            match.setOver(true);
+            leagueService.recordResult(tournament, match, previousScore);
+        });
+    }
+
+    private List<LeagueStanding> standings(Long tournamentId) {
+        return transactionTemplate.execute(status ->
+                leagueService.getStandings(tournamentRepository.findById(tournamentId).orElseThrow()));
+    }
+
+    @Test
+    void createLeague_OddNumberOfClubs_EveryPairMeetsOnce() {
+        int numberOfClubs = 41;
+        Long tournamentId = createLeague(numberOfClubs);
+        int statements = SqlStatementCounter.count();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Bracket bracket = tournamentRepository.findById(tournamentId).orElseThrow().getBracket();
+            assertInstanceOf(LeagueBracket.class, bracket);
+            assertEquals(numberOfClubs, bracket.getRounds().size(), "An odd league needs n rounds, each with one bye");
+
+            Set<String> pairs = new HashSet<>();
+            for (Round round : bracket.getRounds()) {
+                Set<Long> playingThisRound = new HashSet<>();
+                for (Match match : round.getMatches()) {
+                    assertTrue(playingThisRound.add(match.getClub1Id()), "Club plays twice in one round");
+                    assertTrue(playingThisRound.add(match.getClub2Id()), "Club plays twice in one round");
+                    long low = Math.min(match.getClub1Id(), match.getClub2Id());
+                    long high = Math.max(match.getClub1Id(), match.getClub2Id());
+                    assertTrue(pairs.add(low + "-" + high), "Pair " + low + "-" + high + " meets twice");
+                }
+            }
+            assertEquals(numberOfClubs * (numberOfClubs - 1) / 2, pairs.size());
+        });
+
+        assertTrue(statements <= 12, "Fixtures should be written in batches, took " + statements + " statements");
+        assertEquals(numberOfClubs, standings(tournamentId).size());
+    }
+
+    @Test
+    void recordResult_FullLeague_TableUpdatedIncrementallyWithHeadToHead() {
+        Long tournamentId = createLeague(4);
+
+        recordResult(tournamentId, 2, 1, 1, 0);
+        recordResult(tournamentId, 1, 3, 1, 0);
+        recordResult(tournamentId, 3, 2, 1, 0);
+        recordResult(tournamentId, 1, 4, 0, 0);
+        recordResult(tournamentId, 2, 4, 0, 0);
+
+        // Entered wrongly first, then corrected
+        recordResult(tournamentId, 3, 4, 0, 0);
+        recordResult(tournamentId, 3, 4, 2, 0);
+
+        List<LeagueStanding> table = standings(tournamentId);
+        assertEquals(List.of(3L, 2L, 1L, 4L), table.stream().map(LeagueStanding::getClubId).toList(),
+                "Clubs 1 and 2 are level on points, goal difference and goals, so head-to-head decides");
+
+        LeagueStanding leader = table.get(0);
+        assertEquals(3, leader.getPlayed(), "A corrected result must not be counted twice");
+        assertEquals(6, leader.getPoints());
+        assertEquals(2, leader.getWon());
+        assertEquals(1, leader.getLost());
+        assertEquals(2, leader.getGoalDifference());
+
+        LeagueStanding last = table.get(3);
+        assertEquals(2, last.getDrawn());
+        assertEquals(2, last.getPoints());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Tournament tournament = tournamentRepository.findById(tournamentId).orElseThrow();
+            assertTrue(tournament.isOver(), "League should finish once every fixture is played");
+            assertEquals(3L, tournament.getBracket().getWinningClubId());
+        });
+    }
+}
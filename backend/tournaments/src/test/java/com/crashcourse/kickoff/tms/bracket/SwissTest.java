@@ -0,0 +1,176 @@
+package com.crashcourse.kickoff.tms.bracket;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crashcourse.kickoff.tms.bracket.model.*;
+import com.crashcourse.kickoff.tms.bracket.service.BracketService;
+import com.crashcourse.kickoff.tms.bracket.service.LeagueService;
+import com.crashcourse.kickoff.tms.bracket.service.SwissService;
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.club.ClubRatingProfile;
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+
+/**
+ * Integration tests for Swiss tournaments: rounds are drawn one at a time
+ * as results come in, until ceil(log2 n) rounds have been played.
+ */
+@SpringBootTest
+class SwissTest {
+
+    @Autowired
+    private BracketService bracketService;
+
+    @Autowired
+    private SwissService swissService;
+
+    @Autowired
+    private LeagueService leagueService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private ClubServiceClient clubServiceClient;
+
+    private static final String JWT_TOKEN = "Bearer token";
+
+    @BeforeEach
+    void setUp() {
+        when(clubServiceClient.getClubRatingProfiles(anyCollection(), anyString())).thenAnswer(invocation -> {
+            Collection<Long> clubIds = invocation.getArgument(0);
+            List<ClubRatingProfile> profiles = new ArrayList<>();
+            for (Long clubId : clubIds) {
+                profiles.add(new ClubRatingProfile(clubId, true, "Club " + clubId, 1000.0 + clubId, 200.0, 0L, clubId, false));
+            }
+            return profiles;
+        });
+    }
+
+    private Long createSwiss(int numberOfClubs) {
+        Tournament tournament = new Tournament();
+        tournament.setName("Swiss Open " + numberOfClubs);
+        tournament.setStartDateTime(LocalDateTime.now().plusDays(1));
+        tournament.setEndDateTime(LocalDateTime.now().plusDays(2));
+        tournament.setMaxTeams(numberOfClubs);
+        tournament.setTournamentFormat(TournamentFormat.FIVE_SIDE);
+        tournament.setKnockoutFormat(KnockoutFormat.SWISS);
+        Long tournamentId = tournamentRepository.save(tournament).getId();
+
+        List<Long> clubIds = new ArrayList<>();
+        for (long i = 1; i <= numberOfClubs; i++) {
+            clubIds.add(i);
+        }
+        transactionTemplate.executeWithoutResult(status -> bracketService.createBracket(tournamentId, clubIds, JWT_TOKEN));
+        return tournamentId;
+    }
+
+    /*
+     * Plays every drawn match, one result per transaction, until none are
+     * left. The higher club ID wins, except every fourth match is drawn.
+     */
+    private void playOut(Long tournamentId) {
+        for (int played = 0; played < 1000; played++) {
+            boolean draw = played % 4 == 3;
+            Boolean playedOne = transactionTemplate.execute(status -> {
+                Tournament tournament = tournamentRepository.findById(tournamentId).orElseThrow();
+                Match match = tournament.getBracket().getRounds().stream()
+                        .flatMap(round -> round.getMatches().stream())
+                        .filter(m -> !m.isOver())
+                        .findFirst()
+                        .orElse(null);
+                if (match == null) {
+                    return false;
+                }
+
+                MatchScore previousScore = MatchScore.of(match);
+                boolean club1Wins = match.getClub1Id() > match.getClub2Id();
+                match.setClub1Score(draw ? 1 : club1Wins ? 2 : 0);
+                match.setClub2Score(draw ? 1 : club1Wins ? 0 : 2);
+                match.setWinningClubId(draw ? null : Math.max(match.getClub1Id(), match.getClub2Id()));
+                match.setOver(true);
+                swissService.recordResult(tournament, match, previousScore, JWT_TOKEN);
+                return true;
+            });
+            if (!playedOne) {
+                return;
+            }
+        }
+        fail("Swiss tournament did not finish");
+    }
+
+    @Test
+    void createBracket_Swiss_DrawsOnlyTheFirstRound() {
+        Long tournamentId = createSwiss(8);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Bracket bracket = tournamentRepository.findById(tournamentId).orElseThrow().getBracket();
+            assertInstanceOf(SwissBracket.class, bracket);
+            assertEquals(3, ((SwissBracket) bracket).getNumberOfRounds());
+            assertEquals(1, bracket.getRounds().size());
+
+            Round firstRound = bracket.getRounds().get(0);
+            assertEquals(4, firstRound.getMatches().size());
+            Match topBoard = firstRound.getMatches().stream()
+                    .filter(m -> m.getClub1Id() == 8L || m.getClub2Id() == 8L)
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(Set.of(8L, 4L), Set.of(topBoard.getClub1Id(), topBoard.getClub2Id()),
+                    "Highest Elo meets the top of the bottom half");
+        });
+    }
+
+    @Test
+    void recordResult_FullSwiss_EveryRoundDrawnWithoutRematches() {
+        int numberOfClubs = 11;
+        Long tournamentId = createSwiss(numberOfClubs);
+        playOut(tournamentId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Tournament tournament = tournamentRepository.findById(tournamentId).orElseThrow();
+            Bracket bracket = tournament.getBracket();
+            assertEquals(4, bracket.getRounds().size());
+            assertTrue(tournament.isOver(), "Tournament should finish after the last round");
+
+            Set<String> pairs = new HashSet<>();
+            Map<Long, Integer> byes = new HashMap<>();
+            for (Round round : bracket.getRounds()) {
+                Set<Long> playingThisRound = new HashSet<>();
+                for (Match match : round.getMatches()) {
+                    assertTrue(playingThisRound.add(match.getClub1Id()), "Club plays twice in one round");
+                    if (match.getClub2Id() == null) {
+                        byes.merge(match.getClub1Id(), 1, Integer::sum);
+                        continue;
+                    }
+                    assertTrue(playingThisRound.add(match.getClub2Id()), "Club plays twice in one round");
+                    long low = Math.min(match.getClub1Id(), match.getClub2Id());
+                    long high = Math.max(match.getClub1Id(), match.getClub2Id());
+                    assertTrue(pairs.add(low + "-" + high), "Pair " + low + "-" + high + " meets twice");
+                }
+                assertEquals(numberOfClubs, playingThisRound.size());
+            }
+            assertTrue(byes.values().stream().allMatch(count -> count == 1), "No club should sit out twice");
+
+            List<LeagueStanding> standings = leagueService.getStandings(tournament);
+            assertEquals(standings.get(0).getClubId(), bracket.getWinningClubId());
+            assertEquals(4, standings.get(0).getPlayed());
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package com.crashcourse.kickoff.tms.bracket.seeding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.crashcourse.kickoff.tms.club.ClubRatingProfile;
+
+/**
+ * JMH benchmarks for seeding a full first round: the recursive, boxed
+ * implementation BracketServiceImpl used before, against the seeding
+ * strategies on primitive arrays with cached seed-order tables.
+ *
+ * Not run by the test suite. To run:
+ * mvn test-compile exec:java -Dexec.mainClass=com.crashcourse.kickoff.tms.bracket.seeding.SeedingBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeedingBenchmark {
+
+    @Param({ "8", "16", "32", "64", "128", "256", "512", "1024", "2048", "4096" })
+    public int bracketSize;
+
+    private List<ClubRatingProfile> clubs;
+    private double[] ratings;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(bracketSize);
+        clubs = new ArrayList<>(bracketSize);
+        ratings = new double[bracketSize];
+        for (int i = 0; i < bracketSize; i++) {
+            double elo = 800 + random.nextInt(1200);
+            clubs.add(new ClubRatingProfile((long) i + 1, true, "Club " + (i + 1), elo, 200.0, 0L, (long) i + 1, false));
+            ratings[i] = elo;
+        }
+    }
+
+    @Benchmark
+    public Long[] recursiveBoxed() {
+        List<ClubRatingProfile> sorted = new ArrayList<>(clubs);
+        sorted.sort(Comparator.comparingDouble(ClubRatingProfile::getElo).reversed());
+
+        List<Integer> seedPositions = recursiveSeedOrder(bracketSize);
+        Long[] slots = new Long[bracketSize];
+        for (int slot = 0; slot < slots.length; slot++) {
+            int seed = seedPositions.get(slot);
+            slots[slot] = seed <= sorted.size() ? sorted.get(seed - 1).getId() : null;
+        }
+        return slots;
+    }
+
+    @Benchmark
+    public long[] eloCachedPrimitive() {
+        return place(new EloSeeding());
+    }
+
+    @Benchmark
+    public long[] randomCachedPrimitive() {
+        return place(new RandomSeeding(bracketSize));
+    }
+
+    @Benchmark
+    public long[] potsCachedPrimitive() {
+        return place(new PotSeeding(PotSeeding.DEFAULT_NUMBER_OF_POTS, bracketSize));
+    }
+
+    private long[] place(SeedingStrategy strategy) {
+        int[] clubBySeed = strategy.rank(ratings);
+        int[] seedOrder = SeedOrder.of(bracketSize);
+        long[] slots = new long[bracketSize];
+        for (int slot = 0; slot < slots.length; slot++) {
+            slots[slot] = clubs.get(clubBySeed[seedOrder[slot] - 1]).getId();
+        }
+        return slots;
+    }
+
+    /*
+     * The seed order as BracketServiceImpl used to build it, kept as the baseline
+     */
+    static List<Integer> recursiveSeedOrder(int bracketSize) {
+        if (bracketSize == 1) {
+            List<Integer> seed = new ArrayList<>();
+            seed.add(1);
+            return seed;
+        }
+
+        List<Integer> prevSeeds = recursiveSeedOrder(bracketSize / 2);
+        List<Integer> mirroredSeeds = new ArrayList<>();
+        for (int seed : prevSeeds) {
+            mirroredSeeds.add(bracketSize + 1 - seed);
+        }
+
+        List<Integer> combinedSeeds = new ArrayList<>();
+        for (int i = 0; i < prevSeeds.size(); i++) {
+            combinedSeeds.add(prevSeeds.get(i));
+            combinedSeeds.add(mirroredSeeds.get(i));
+        }
+        return combinedSeeds;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SeedingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
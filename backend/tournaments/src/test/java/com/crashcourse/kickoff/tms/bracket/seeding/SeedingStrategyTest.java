@@ -0,0 +1,65 @@
+package com.crashcourse.kickoff.tms.bracket.seeding;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SeedingStrategyTest {
+
+    private static final double[] RATINGS = { 1100, 1500, 900, 1300, 1500, 1000, 1200, 1400 };
+
+    @Test
+    void of_PowersOfTwoUpTo4096_MatchesRecursiveSeedOrder() {
+        for (int bracketSize = 1; bracketSize <= 4096; bracketSize *= 2) {
+            int[] expected = SeedingBenchmark.recursiveSeedOrder(bracketSize).stream().mapToInt(Integer::intValue).toArray();
+            assertArrayEquals(expected, SeedOrder.of(bracketSize), "Bracket size " + bracketSize);
+        }
+        assertSame(SeedOrder.of(64), SeedOrder.of(64), "Tables should be built once and shared");
+        assertThrows(IllegalArgumentException.class, () -> SeedOrder.of(12));
+    }
+
+    @Test
+    void bracketSizeFor_VariousCounts_SmallestPowerOfTwo() {
+        assertEquals(1, SeedOrder.bracketSizeFor(1));
+        assertEquals(2, SeedOrder.bracketSizeFor(2));
+        assertEquals(8, SeedOrder.bracketSizeFor(5));
+        assertEquals(8, SeedOrder.bracketSizeFor(8));
+        assertEquals(4096, SeedOrder.bracketSizeFor(4000));
+    }
+
+    @Test
+    void rank_EloSeeding_HighestFirstAndStableOnTies() {
+        int[] order = new EloSeeding().rank(RATINGS);
+        assertArrayEquals(new int[] { 1, 4, 7, 3, 6, 0, 5, 2 }, order);
+    }
+
+    @Test
+    void rank_RandomSeeding_SameSeedSameDraw() {
+        int[] first = new RandomSeeding(42).rank(RATINGS);
+        int[] second = new RandomSeeding(42).rank(RATINGS);
+
+        assertArrayEquals(first, second);
+        int[] sorted = first.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 4, 5, 6, 7 }, sorted, "Every club gets exactly one seed");
+    }
+
+    @Test
+    void rank_PotSeeding_EachPotKeepsItsSeeds() {
+        int[] order = new PotSeeding(4, 7).rank(RATINGS);
+
+        // Pots by Elo: {1, 4}, {7, 3}, {6, 0}, {5, 2}
+        List<List<Integer>> pots = List.of(List.of(1, 4), List.of(7, 3), List.of(6, 0), List.of(5, 2));
+        for (int pot = 0; pot < pots.size(); pot++) {
+            List<Integer> drawn = new ArrayList<>();
+            drawn.add(order[2 * pot]);
+            drawn.add(order[2 * pot + 1]);
+            assertTrue(drawn.containsAll(pots.get(pot)), "Pot " + (pot + 1) + " drew " + drawn);
+        }
+        assertArrayEquals(order, new PotSeeding(4, 7).rank(RATINGS));
+    }
+}
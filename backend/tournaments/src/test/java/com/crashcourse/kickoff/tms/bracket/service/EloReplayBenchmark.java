@@ -0,0 +1,62 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.crashcourse.kickoff.tms.bracket.model.MatchHistory;
+import com.crashcourse.kickoff.tms.bracket.model.RatingParameters;
+
+/**
+ * JMH benchmark for replaying a match history with EloReplayEngine, by
+ * number of matches. The history is split into groups of 20 clubs that
+ * never meet each other, so the replay can rate the groups in parallel.
+ *
+ * Not run by the test suite. To run:
+ * mvn test-compile exec:java -Dexec.mainClass=com.crashcourse.kickoff.tms.bracket.service.EloReplayBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EloReplayBenchmark {
+
+    private static final int CLUBS_PER_GROUP = 20;
+
+    @Param({ "10000", "100000", "1000000" })
+    public int numberOfMatches;
+
+    private MatchHistory history;
+
+    @Setup
+    public void setUp() {
+        history = EloReplayEngineTest.randomHistory(numberOfMatches, numberOfMatches / 200, CLUBS_PER_GROUP, 1);
+    }
+
+    @Benchmark
+    public EloReplayEngine.Result replay() {
+        return EloReplayEngine.replay(history, RatingParameters.DEFAULT, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public EloReplayEngine.Result replaySingleThreaded() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            return EloReplayEngine.replay(history, RatingParameters.DEFAULT, single);
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EloReplayBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
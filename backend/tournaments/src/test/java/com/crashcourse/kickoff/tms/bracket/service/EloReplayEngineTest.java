@@ -0,0 +1,90 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.crashcourse.kickoff.tms.bracket.dto.MatchUpdateDTO;
+import com.crashcourse.kickoff.tms.bracket.model.MatchHistory;
+import com.crashcourse.kickoff.tms.bracket.model.RatingParameters;
+
+class EloReplayEngineTest {
+
+    private static final RatingParameters PARAMS = RatingParameters.DEFAULT;
+
+    /*
+     * Random history of isolated groups of clubs, with matches of all groups
+     * interleaved; EloReplayBenchmark replays a large one
+     */
+    static MatchHistory randomHistory(int matches, int groups, int clubsPerGroup, long seed) {
+        Random random = new Random(seed);
+        MatchHistory history = new MatchHistory();
+        for (int i = 0; i < matches; i++) {
+            long base = (long) random.nextInt(groups) * clubsPerGroup + 1;
+            long club1 = base + random.nextInt(clubsPerGroup);
+            long club2 = base + (club1 - base + 1 + random.nextInt(clubsPerGroup - 1)) % clubsPerGroup;
+            int club1Score = random.nextInt(5);
+            int club2Score = random.nextInt(5);
+            Long winner = null;
+            if (club1Score != club2Score || random.nextBoolean()) {
+                winner = club1Score >= club2Score ? club1 : club2;
+            }
+            history.add(club1, club2, club1Score, club2Score, winner);
+        }
+        return history;
+    }
+
+    @Test
+    void replay_MatchesMatchServiceRatings() {
+        MatchServiceImpl matchService = new MatchServiceImpl(null, null, null, null);
+        MatchHistory history = new MatchHistory();
+        history.add(1L, 2L, 3, 1, 1L);
+        history.add(3L, 4L, 0, 0, null);
+        history.add(2L, 1L, 2, 2, 1L);
+
+        EloReplayEngine.Result result = EloReplayEngine.replay(history, PARAMS, ForkJoinPool.commonPool());
+
+        double[] first = matchService.calculateNewRatings(
+                new MatchUpdateDTO(true, 1L, 2L, 3, 1, 1L),
+                500, 200, 500, 200);
+        double[] third = matchService.calculateNewRatings(
+                new MatchUpdateDTO(true, 2L, 1L, 2, 2, 1L),
+                first[2], first[3], first[0], first[1]);
+        double[] second = matchService.calculateNewRatings(
+                new MatchUpdateDTO(true, 3L, 4L, 0, 0, null),
+                500, 200, 500, 200);
+
+        assertEquals(2, result.components());
+        assertEquals(2, result.largestComponentMatches());
+        assertArrayEquals(new double[] { third[2], third[0], second[0], second[2] }, result.elo());
+        assertArrayEquals(new double[] { third[3], third[1], second[1], second[3] }, result.ratingDeviation());
+    }
+
+    @Test
+    void replay_ParallelSameAsSingleThreaded() {
+        MatchHistory history = randomHistory(20_000, 200, 12, 42);
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        EloReplayEngine.Result sequential = EloReplayEngine.replay(history, PARAMS, single);
+        single.shutdown();
+        EloReplayEngine.Result parallel = EloReplayEngine.replay(history, PARAMS, ForkJoinPool.commonPool());
+
+        assertEquals(200, parallel.components());
+        assertArrayEquals(sequential.elo(), parallel.elo());
+        assertArrayEquals(sequential.ratingDeviation(), parallel.ratingDeviation());
+    }
+
+    @Test
+    void replay_OtherParameters_ChangesRatings() {
+        MatchHistory history = randomHistory(1_000, 10, 8, 7);
+        RatingParameters gentler = new RatingParameters(15, 0, 50, 400, 1.0, 0.5, 30.0, 500, 200);
+
+        double[] live = EloReplayEngine.replay(history, PARAMS, ForkJoinPool.commonPool()).elo();
+        double[] replayed = EloReplayEngine.replay(history, gentler, ForkJoinPool.commonPool()).elo();
+
+        assertFalse(Arrays.equals(live, replayed));
+    }
+}
@@ -0,0 +1,124 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.crashcourse.kickoff.tms.bracket.dto.RatingDiffDTO;
+import com.crashcourse.kickoff.tms.bracket.dto.RatingReplayDTO;
+import com.crashcourse.kickoff.tms.bracket.model.Match;
+import com.crashcourse.kickoff.tms.bracket.model.RatingParameters;
+import com.crashcourse.kickoff.tms.bracket.repository.MatchRepository;
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.club.ClubRatingProfile;
+
+/**
+ * Replays matches stored in the database. Other tests share the database,
+ * so only the clubs saved here are checked.
+ */
+@SpringBootTest
+class RatingReplayServiceTest {
+
+    @Autowired
+    private RatingReplayService ratingReplayService;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @MockBean
+    private ClubServiceClient clubServiceClient;
+
+    private static final String JWT_TOKEN = "Bearer token";
+    private static final long CLUB_A = 9_100_001L;
+    private static final long CLUB_B = 9_100_002L;
+    private static final long CLUB_C = 9_100_003L;
+
+    private final List<Long> matchIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        saveMatch(CLUB_A, CLUB_B, 2, 0, CLUB_A, true, now.minusHours(1));
+        saveMatch(CLUB_B, CLUB_C, 1, 0, CLUB_B, true, now.minusHours(2));
+        saveMatch(CLUB_A, CLUB_C, 1, 1, null, true, now);
+        saveMatch(CLUB_A, CLUB_C, 5, 0, CLUB_A, false, null);
+        saveMatch(CLUB_A, null, 0, 0, CLUB_A, true, now);
+
+        when(clubServiceClient.getClubRatingProfiles(anyCollection(), anyString())).thenAnswer(invocation -> {
+            Collection<Long> clubIds = invocation.getArgument(0);
+            List<ClubRatingProfile> profiles = new ArrayList<>();
+            for (Long clubId : clubIds) {
+                boolean found = clubId == CLUB_A || clubId == CLUB_B;
+                profiles.add(new ClubRatingProfile(clubId, found, null, found ? 600.0 : null,
+                        found ? 100.0 : null, found ? 0L : null, null, false));
+            }
+            return profiles;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchRepository.deleteAllById(matchIds);
+        matchIds.clear();
+    }
+
+    private void saveMatch(Long club1Id, Long club2Id, int club1Score, int club2Score, Long winningClubId,
+            boolean over, LocalDateTime completedAt) {
+        Match match = new Match();
+        match.setClub1Id(club1Id);
+        match.setClub2Id(club2Id);
+        match.setClub1Score(club1Score);
+        match.setClub2Score(club2Score);
+        match.setWinningClubId(winningClubId);
+        match.setOver(over);
+        match.setCompletedAt(completedAt);
+        matchIds.add(matchRepository.save(match).getId());
+    }
+
+    private static Optional<RatingDiffDTO> diffFor(RatingReplayDTO replay, long clubId) {
+        return replay.getDiffs().stream().filter(diff -> diff.getClubId() == clubId).findFirst();
+    }
+
+    @Test
+    void replay_FinishedMatchesInOrderPlayed_DiffAgainstCurrentRatings() {
+        RatingReplayDTO replay = ratingReplayService.replay(RatingParameters.DEFAULT, Integer.MAX_VALUE, JWT_TOKEN);
+
+        /*
+         * B beat C before A beat B; then A and C drew
+         */
+        double[] elo = new double[3];
+        double[] rd = new double[3];
+        Arrays.fill(elo, 500);
+        Arrays.fill(rd, 200);
+        RatingCalculator.rate(RatingParameters.DEFAULT, elo, rd, 1, 2, 1, 0, RatingCalculator.CLUB1_WON);
+        RatingCalculator.rate(RatingParameters.DEFAULT, elo, rd, 0, 1, 2, 0, RatingCalculator.CLUB1_WON);
+        RatingCalculator.rate(RatingParameters.DEFAULT, elo, rd, 0, 2, 1, 1, RatingCalculator.DRAW);
+
+        RatingDiffDTO clubA = diffFor(replay, CLUB_A).orElseThrow();
+        assertEquals(elo[0], clubA.getReplayedElo());
+        assertEquals(rd[0], clubA.getReplayedRatingDeviation());
+        assertEquals(elo[0] - 600.0, clubA.getEloChange());
+        assertEquals(elo[1], diffFor(replay, CLUB_B).orElseThrow().getReplayedElo());
+        assertTrue(diffFor(replay, CLUB_C).isEmpty(), "A club missing from the clubs service has nothing to diff");
+        assertTrue(replay.getClubsMissing() >= 1);
+    }
+
+    @Test
+    void replay_Limit_KeepsLargestChanges() {
+        RatingReplayDTO replay = ratingReplayService.replay(RatingParameters.DEFAULT, 1, JWT_TOKEN);
+
+        assertEquals(1, replay.getDiffs().size());
+        assertEquals(replay.getMaxAbsoluteEloChange(), Math.abs(replay.getDiffs().get(0).getEloChange()));
+        assertTrue(replay.getClubsChanged() >= 2);
+    }
+}
@@ -0,0 +1,307 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crashcourse.kickoff.tms.bracket.dto.MatchUpdateDTO;
+import com.crashcourse.kickoff.tms.bracket.model.Match;
+import com.crashcourse.kickoff.tms.bracket.model.RatingUpdateEvent;
+import com.crashcourse.kickoff.tms.bracket.model.RatingUpdateStatus;
+import com.crashcourse.kickoff.tms.bracket.repository.MatchRepository;
+import com.crashcourse.kickoff.tms.bracket.repository.RatingUpdateEventRepository;
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.client.exception.ClubRatingUpdateFailedException;
+import com.crashcourse.kickoff.tms.club.ClubProfile;
+import com.crashcourse.kickoff.tms.club.ClubRatingProfile;
+import com.crashcourse.kickoff.tms.club.ClubRatingUpdate;
+import com.crashcourse.kickoff.tms.club.ClubRatingUpdateResult;
+import com.crashcourse.kickoff.tms.location.model.Location;
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+import com.crashcourse.kickoff.tms.tournament.service.TournamentService;
+
+/**
+ * Integration tests for the rating update outbox. The background dispatcher
+ * is switched off for tests, so each test drives it one batch at a time.
+ */
+@SpringBootTest
+class RatingUpdateDispatcherTest {
+
+    @Autowired
+    private RatingUpdateDispatcher dispatcher;
+
+    @Autowired
+    private RatingUpdateEventRepository ratingUpdateEventRepository;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private BracketService bracketService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private ClubServiceClient clubServiceClient;
+
+    private static final String JWT_TOKEN = "Bearer token";
+    private static final double ELO = 1500.0;
+    private static final double RATING_DEVIATION = 200.0;
+
+    @BeforeEach
+    void setUp() {
+        ratingUpdateEventRepository.deleteAll();
+        when(clubServiceClient.getClubRatingProfiles(anyCollection(), anyString())).thenAnswer(invocation -> {
+            Collection<Long> clubIds = invocation.getArgument(0);
+            List<ClubRatingProfile> profiles = new ArrayList<>();
+            for (Long clubId : clubIds) {
+                profiles.add(new ClubRatingProfile(clubId, true, "Club " + clubId, ELO, RATING_DEVIATION, 0L, clubId, false));
+            }
+            return profiles;
+        });
+    }
+
+    private RatingUpdateEvent queue(Long club1Id, Long club2Id, int club1Score, int club2Score) {
+        MatchUpdateDTO result = new MatchUpdateDTO(true, club1Id, club2Id, club1Score, club2Score,
+                club1Score > club2Score ? club1Id : club2Id);
+        return ratingUpdateEventRepository.save(RatingUpdateEvent.of(null, result));
+    }
+
+    @Test
+    void updateMatchInTournament_ClubsServiceUnavailable_ResultSavedAndQueued() {
+        Location location = new Location();
+        location.setName("Outbox Ground");
+        location.setTournaments(new ArrayList<>());
+        Tournament tournament = new Tournament();
+        tournament.setName("Outbox Cup");
+        tournament.setLocation(location);
+        tournament.setStartDateTime(LocalDateTime.now().plusDays(1));
+        tournament.setEndDateTime(LocalDateTime.now().plusDays(2));
+        tournament.setMaxTeams(4);
+        tournament.setTournamentFormat(TournamentFormat.FIVE_SIDE);
+        tournament.setKnockoutFormat(KnockoutFormat.SINGLE_ELIM);
+        Long tournamentId = tournamentRepository.save(tournament).getId();
+        Match match = transactionTemplate.execute(status -> {
+            Long bracketId = bracketService.createBracket(tournamentId, List.of(801L, 802L, 803L, 804L), JWT_TOKEN).getId();
+            return matchRepository.findByBracketIdAndBracketPosition(bracketId, 2L).orElseThrow();
+        });
+        when(clubServiceClient.getClubProfileByIdAsync(anyLong(), anyString(), any())).thenAnswer(invocation -> {
+            Long clubId = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(
+                    new ClubProfile(clubId, "Club " + clubId, "", ELO, clubId, List.of(), RATING_DEVIATION));
+        });
+
+        MatchUpdateDTO result = new MatchUpdateDTO(true, match.getClub1Id(), match.getClub2Id(), 2, 1, match.getClub1Id());
+        transactionTemplate.executeWithoutResult(
+                status -> tournamentService.updateMatchInTournament(tournamentId, match.getId(), result, JWT_TOKEN));
+
+        assertEquals(match.getClub1Id(), matchRepository.findById(match.getId()).orElseThrow().getWinningClubId());
+        List<RatingUpdateEvent> queued = ratingUpdateEventRepository.findAll();
+        assertEquals(1, queued.size());
+        assertEquals(match.getId(), queued.get(0).getMatchId());
+        assertEquals(RatingUpdateStatus.PENDING, queued.get(0).getStatus());
+        verify(clubServiceClient, never()).updateClubRatings(anyList(), anyString());
+    }
+
+    /*
+     * Answers a batch rating update, reporting the given clubs with the given status
+     */
+    private void answerRatingUpdates(Map<Long, String> statuses) {
+        when(clubServiceClient.updateClubRatings(anyList(), anyString())).thenAnswer(ratingUpdateResults(statuses));
+    }
+
+    private static Answer<List<ClubRatingUpdateResult>> ratingUpdateResults(Map<Long, String> statuses) {
+        return invocation -> {
+            List<ClubRatingUpdate> updates = invocation.getArgument(0);
+            List<ClubRatingUpdateResult> results = new ArrayList<>();
+            for (ClubRatingUpdate update : updates) {
+                results.add(new ClubRatingUpdateResult(update.getClubId(),
+                        statuses.getOrDefault(update.getClubId(), ClubRatingUpdateResult.UPDATED), null));
+            }
+            return results;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<ClubRatingUpdate>> sentBatches(int expectedRequests) {
+        ArgumentCaptor<List<ClubRatingUpdate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(clubServiceClient, times(expectedRequests)).updateClubRatings(captor.capture(), anyString());
+        return captor.getAllValues();
+    }
+
+    @Test
+    void dispatchBatch_ClubInTwoResults_RatedInOrderAndSentInOneRequest() {
+        RatingUpdateEvent first = queue(1L, 2L, 3, 1);
+        RatingUpdateEvent second = queue(1L, 3L, 2, 0);
+        answerRatingUpdates(Map.of());
+
+        RatingUpdateDispatcher.BatchResult batch = dispatcher.dispatchBatch();
+
+        assertEquals(new RatingUpdateDispatcher.BatchResult(2, 0), batch);
+        double[] afterFirst = matchService.calculateNewRatings(first.toMatchUpdate(),
+                ELO, RATING_DEVIATION, ELO, RATING_DEVIATION);
+        double[] afterSecond = matchService.calculateNewRatings(second.toMatchUpdate(),
+                afterFirst[0], afterFirst[1], ELO, RATING_DEVIATION);
+        List<ClubRatingUpdate> sent = sentBatches(1).get(0);
+        assertEquals(3, sent.size(), "Each club should be sent once");
+        assertTrue(sent.contains(new ClubRatingUpdate(1L, afterSecond[0], afterSecond[1], second.getMatchId(), 0L,
+                RatingUpdateDispatcher.idempotencyKey(second, 0L))));
+        ratingUpdateEventRepository.findAll()
+                .forEach(event -> assertEquals(RatingUpdateStatus.SENT, event.getStatus()));
+        assertEquals(new RatingUpdateDispatcher.BatchResult(0, 0), dispatcher.dispatchBatch());
+    }
+
+    @Test
+    void dispatchBatch_OneClubRejected_RetriesOnlyThatClubWithSameRating() {
+        RatingUpdateEvent event = queue(11L, 12L, 0, 4);
+        answerRatingUpdates(Map.of(12L, "NOT_FOUND"));
+
+        assertEquals(new RatingUpdateDispatcher.BatchResult(1, 1), dispatcher.dispatchBatch());
+
+        RatingUpdateEvent pending = ratingUpdateEventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(RatingUpdateStatus.PENDING, pending.getStatus());
+        assertEquals(1, pending.getAttempts());
+        assertTrue(pending.isClub1Sent());
+        assertFalse(pending.isClub2Sent());
+        assertNotNull(pending.getLastError());
+
+        answerRatingUpdates(Map.of());
+        assertEquals(new RatingUpdateDispatcher.BatchResult(1, 0), dispatcher.dispatchBatch());
+
+        List<List<ClubRatingUpdate>> sent = sentBatches(2);
+        assertEquals(List.of(new ClubRatingUpdate(12L, pending.getClub2Elo(), pending.getClub2RatingDeviation(),
+                pending.getMatchId(), 0L, RatingUpdateDispatcher.idempotencyKey(event, 0L))),
+                sent.get(1));
+        assertEquals(RatingUpdateStatus.SENT, ratingUpdateEventRepository.findById(event.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void dispatchBatch_ClubMovedOnBetweenPasses_OnlyThatClubRatedAgain() {
+        RatingUpdateEvent event = queue(51L, 52L, 2, 1);
+        answerRatingUpdates(Map.of(52L, "NOT_FOUND"));
+        assertEquals(new RatingUpdateDispatcher.BatchResult(1, 1), dispatcher.dispatchBatch());
+
+        /*
+         * Another result for club 52 is written before the next pass
+         */
+        when(clubServiceClient.getClubRatingProfiles(anyCollection(), anyString())).thenAnswer(invocation -> {
+            Collection<Long> clubIds = invocation.getArgument(0);
+            List<ClubRatingProfile> profiles = new ArrayList<>();
+            for (Long clubId : clubIds) {
+                profiles.add(clubId == 52L
+                        ? new ClubRatingProfile(clubId, true, "Club 52", 1700.0, 90.0, 3L, clubId, false)
+                        : new ClubRatingProfile(clubId, true, "Club " + clubId, ELO, RATING_DEVIATION, 1L, clubId, false));
+            }
+            return profiles;
+        });
+        when(clubServiceClient.updateClubRatings(anyList(), anyString())).thenAnswer(invocation -> {
+            List<ClubRatingUpdate> updates = invocation.getArgument(0);
+            return updates.stream()
+                    .map(update -> update.getExpectedVersion() == 3L
+                            ? new ClubRatingUpdateResult(update.getClubId(), ClubRatingUpdateResult.UPDATED, 4L)
+                            : new ClubRatingUpdateResult(update.getClubId(), ClubRatingUpdateResult.CONFLICT, 3L))
+                    .toList();
+        });
+
+        assertEquals(new RatingUpdateDispatcher.BatchResult(1, 0), dispatcher.dispatchBatch());
+
+        double[] rated = matchService.calculateNewRatings(event.toMatchUpdate(), ELO, RATING_DEVIATION, 1700.0, 90.0);
+        List<List<ClubRatingUpdate>> sent = sentBatches(3);
+        assertEquals(0L, sent.get(1).get(0).getExpectedVersion(),
+                "The version the rating was worked out from should be sent, not the one read later");
+        assertEquals(List.of(new ClubRatingUpdate(52L, rated[2], rated[3], null, 3L, RatingUpdateDispatcher.idempotencyKey(event, 3L))),
+                sent.get(2), "Only the club that moved on should be rated again");
+        RatingUpdateEvent dispatched = ratingUpdateEventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(RatingUpdateStatus.SENT, dispatched.getStatus());
+        assertEquals(3L, dispatched.getClub2RatingVersion());
+    }
+
+    @Test
+    void dispatchBatch_ClubAlreadyHasUpdate_CountedAsSent() {
+        RatingUpdateEvent event = queue(41L, 42L, 3, 2);
+        answerRatingUpdates(Map.of(41L, ClubRatingUpdateResult.DUPLICATE));
+
+        assertEquals(new RatingUpdateDispatcher.BatchResult(1, 0), dispatcher.dispatchBatch());
+
+        assertEquals(RatingUpdateStatus.SENT, ratingUpdateEventRepository.findById(event.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void dispatchBatch_ClubMovedOnBeforeWrite_RatedAgainFromNewRating() {
+        RatingUpdateEvent event = queue(31L, 32L, 2, 0);
+        when(clubServiceClient.getClubRatingProfiles(eq(Set.of(31L)), anyString())).thenReturn(
+                List.of(new ClubRatingProfile(31L, true, "Club 31", 1600.0, 150.0, 5L, 31L, false)));
+        List<String> club31Statuses = new ArrayList<>(List.of(ClubRatingUpdateResult.CONFLICT, ClubRatingUpdateResult.UPDATED));
+        when(clubServiceClient.updateClubRatings(anyList(), anyString())).thenAnswer(invocation -> {
+            List<ClubRatingUpdate> updates = invocation.getArgument(0);
+            List<ClubRatingUpdateResult> results = new ArrayList<>();
+            for (ClubRatingUpdate update : updates) {
+                String status = update.getClubId() == 31L ? club31Statuses.remove(0) : ClubRatingUpdateResult.UPDATED;
+                results.add(new ClubRatingUpdateResult(update.getClubId(), status, update.getExpectedVersion() + 1));
+            }
+            return results;
+        });
+
+        assertEquals(new RatingUpdateDispatcher.BatchResult(1, 0), dispatcher.dispatchBatch());
+
+        double[] rated = matchService.calculateNewRatings(event.toMatchUpdate(), 1600.0, 150.0, ELO, RATING_DEVIATION);
+        List<List<ClubRatingUpdate>> sent = sentBatches(2);
+        assertEquals(List.of(new ClubRatingUpdate(31L, rated[0], rated[1], null, 5L, RatingUpdateDispatcher.idempotencyKey(event, 5L)),
+                new ClubRatingUpdate(32L, rated[2], rated[3], null, 1L, RatingUpdateDispatcher.idempotencyKey(event, 1L))), sent.get(1),
+                "Both clubs should be rated again, the one already written under its new version");
+        RatingUpdateEvent dispatched = ratingUpdateEventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(RatingUpdateStatus.SENT, dispatched.getStatus());
+        assertEquals(rated[0], dispatched.getClub1Elo());
+        assertEquals(0, dispatched.getAttempts());
+    }
+
+    @Test
+    void dispatchBatch_ResponseLost_SameUpdatesSentAgain() {
+        RatingUpdateEvent event = queue(21L, 22L, 1, 1);
+        when(clubServiceClient.updateClubRatings(anyList(), anyString()))
+                .thenThrow(new ClubRatingUpdateFailedException(List.of(21L, 22L), "Clubs service unavailable"))
+                .thenAnswer(ratingUpdateResults(Map.of(21L, ClubRatingUpdateResult.DUPLICATE)));
+
+        assertEquals(new RatingUpdateDispatcher.BatchResult(1, 1), dispatcher.dispatchBatch());
+
+        RatingUpdateEvent pending = ratingUpdateEventRepository.findById(event.getId()).orElseThrow();
+        assertFalse(pending.isClub1Sent());
+        assertFalse(pending.isClub2Sent());
+        assertTrue(pending.isRated(), "Ratings should be kept for the retry");
+
+        /*
+         * Club 21 got its update although the response never came back
+         */
+        assertEquals(new RatingUpdateDispatcher.BatchResult(1, 0), dispatcher.dispatchBatch());
+
+        List<List<ClubRatingUpdate>> sent = sentBatches(2);
+        assertEquals(sent.get(0), sent.get(1), "The retry should carry the same versions and idempotency keys");
+        assertEquals(RatingUpdateStatus.SENT, ratingUpdateEventRepository.findById(event.getId()).orElseThrow().getStatus());
+    }
+}
@@ -0,0 +1,71 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark for pairing the last round of a Swiss tournament, where
+ * score groups are smallest and the most rematches have to be avoided, by
+ * number of clubs. Every earlier round is played out in the setup with
+ * seeded random results weighted by Elo.
+ *
+ * Not run by the test suite. To run:
+ * mvn test-compile exec:java -Dexec.mainClass=com.crashcourse.kickoff.tms.bracket.service.SwissPairingBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwissPairingBenchmark {
+
+    @Param({ "64", "128", "256", "512", "1024", "2048", "4096" })
+    public int numberOfClubs;
+
+    private SwissPairing pairing;
+    private int[] points;
+    private double[] elo;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(numberOfClubs);
+        elo = new double[numberOfClubs];
+        for (int club = 0; club < numberOfClubs; club++) {
+            elo[club] = 800 + random.nextInt(800);
+        }
+        points = new int[numberOfClubs];
+        pairing = new SwissPairing(numberOfClubs);
+
+        for (int round = 1; round < SwissPairing.numberOfRounds(numberOfClubs); round++) {
+            int[] opponent = pairing.pair(points, elo);
+            for (int club = 0; club < numberOfClubs; club++) {
+                int other = opponent[club];
+                if (other == SwissPairing.BYE) {
+                    points[club] += 3;
+                    pairing.recordBye(club);
+                } else if (club < other) {
+                    pairing.recordPairing(club, other);
+                    double expected = 1 / (1 + Math.pow(10, (elo[other] - elo[club]) / 400));
+                    points[random.nextDouble() < expected ? club : other] += 3;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] pairLastRound() {
+        return pairing.pair(points, elo);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SwissPairingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,110 @@
+package com.crashcourse.kickoff.tms.bracket.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the Swiss pairing engine. Whole tournaments are simulated
+ * in memory with seeded random results; SwissPairingBenchmark times it.
+ */
+class SwissPairingTest {
+
+    /*
+     * Plays every round of a Swiss tournament, checking each round as it goes
+     */
+    private void simulate(int numberOfClubs, long seed) {
+        Random random = new Random(seed);
+        double[] elo = new double[numberOfClubs];
+        for (int club = 0; club < numberOfClubs; club++) {
+            elo[club] = 800 + random.nextInt(800);
+        }
+        int[] points = new int[numberOfClubs];
+        int[] byes = new int[numberOfClubs];
+        SwissPairing pairing = new SwissPairing(numberOfClubs);
+
+        for (int round = 1; round <= SwissPairing.numberOfRounds(numberOfClubs); round++) {
+            int[] opponent = pairing.pair(points, elo);
+
+            int byesThisRound = 0;
+            for (int club = 0; club < numberOfClubs; club++) {
+                int other = opponent[club];
+                if (other == SwissPairing.BYE) {
+                    byesThisRound++;
+                    byes[club]++;
+                    points[club] += 3;
+                    pairing.recordBye(club);
+                    continue;
+                }
+                assertEquals(club, opponent[other], "Pairing is not symmetric");
+                if (club < other) {
+                    assertFalse(pairing.havePlayed(club, other), "Clubs " + club + " and " + other + " meet twice");
+                    pairing.recordPairing(club, other);
+
+                    double expected = 1 / (1 + Math.pow(10, (elo[other] - elo[club]) / 400));
+                    int winner = random.nextDouble() < expected ? club : other;
+                    points[winner] += 3;
+                }
+            }
+            assertEquals(numberOfClubs % 2, byesThisRound);
+        }
+
+        for (int club = 0; club < numberOfClubs; club++) {
+            assertTrue(byes[club] <= 1, "Club " + club + " sat out twice");
+        }
+    }
+
+    @Test
+    void numberOfRounds_VariousSizes_CeilLog2() {
+        assertEquals(0, SwissPairing.numberOfRounds(1));
+        assertEquals(1, SwissPairing.numberOfRounds(2));
+        assertEquals(2, SwissPairing.numberOfRounds(3));
+        assertEquals(9, SwissPairing.numberOfRounds(500));
+        assertEquals(9, SwissPairing.numberOfRounds(512));
+        assertEquals(10, SwissPairing.numberOfRounds(513));
+    }
+
+    @Test
+    void pair_FirstRound_TopHalfMeetsBottomHalfByElo() {
+        SwissPairing pairing = new SwissPairing(4);
+        int[] opponent = pairing.pair(new int[4], new double[] { 1000, 1400, 1200, 1100 });
+
+        // Ranked 1, 2, 3, 0 by Elo: first meets third, second meets fourth
+        assertEquals(3, opponent[1]);
+        assertEquals(0, opponent[2]);
+    }
+
+    @Test
+    void pair_SecondRound_PairsWithinScoreGroupWithoutRematch() {
+        SwissPairing pairing = new SwissPairing(4);
+        pairing.recordPairing(0, 1);
+        pairing.recordPairing(2, 3);
+
+        // 0 and 2 won; the winners meet, and so do the losers
+        int[] opponent = pairing.pair(new int[] { 3, 0, 3, 0 }, new double[] { 1000, 1000, 1000, 1000 });
+
+        assertEquals(2, opponent[0]);
+        assertEquals(3, opponent[1]);
+    }
+
+    @Test
+    void pair_OddNumberOfClubs_ByeGoesToLowestRankedWithoutOne() {
+        SwissPairing pairing = new SwissPairing(3);
+        pairing.recordPairing(0, 1);
+        pairing.recordBye(2);
+
+        int[] opponent = pairing.pair(new int[] { 3, 0, 3 }, new double[] { 1200, 1100, 1000 });
+
+        assertEquals(SwissPairing.BYE, opponent[1], "Club 2 already sat out, so the next lowest sits out");
+        assertEquals(2, opponent[0]);
+    }
+
+    @Test
+    void pair_FullTournaments_NoRematchesAndOneByeAtMost() {
+        for (int numberOfClubs : new int[] { 2, 3, 5, 8, 17, 64, 101 }) {
+            simulate(numberOfClubs, numberOfClubs);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.crashcourse.kickoff.tms.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.crashcourse.kickoff.tms.client.exception.ClubProfileNotFoundAtClientException;
+import com.crashcourse.kickoff.tms.club.ClubProfile;
+import com.crashcourse.kickoff.tms.security.JwtTokenProvider;
+
+@ExtendWith(MockitoExtension.class)
+class ClubServiceClientTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private static final String JWT_TOKEN = "Bearer token";
+
+    @Test
+    void getClubProfileByIdAsync_TwoSlowCalls_TakeAboutOneRoundTrip() {
+        // Arrange
+        ClubServiceClient clubServiceClient = new ClubServiceClient(restTemplate, new JwtTokenProvider());
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(ClubProfile.class)))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(500);
+                    return new ResponseEntity<>(new ClubProfile(), HttpStatus.OK);
+                });
+
+        // Act
+        long start = System.nanoTime();
+        CompletableFuture<ClubProfile> club1Call = clubServiceClient.getClubProfileByIdAsync(1L, JWT_TOKEN);
+        CompletableFuture<ClubProfile> club2Call = clubServiceClient.getClubProfileByIdAsync(2L, JWT_TOKEN);
+        ClubProfile club1 = ClubServiceClient.await(club1Call);
+        ClubProfile club2 = ClubServiceClient.await(club2Call);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertNotNull(club1);
+        assertNotNull(club2);
+        assertTrue(elapsedMillis < 1000, "Calls should overlap, took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void getClubProfileByIdAsync_ClientError_ThrowsClubProfileNotFoundAtClientException() {
+        // Arrange
+        ClubServiceClient clubServiceClient = new ClubServiceClient(restTemplate, new JwtTokenProvider());
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(ClubProfile.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        // Act
+        CompletableFuture<ClubProfile> clubCall = clubServiceClient.getClubProfileByIdAsync(1L, JWT_TOKEN);
+
+        // Assert
+        assertThrows(ClubProfileNotFoundAtClientException.class, () -> ClubServiceClient.await(clubCall));
+    }
+
+    @Test
+    void getClubProfileByIdAsync_DeadlinePasses_FailsAndInterruptsTheCall() throws Exception {
+        // Arrange
+        ClubServiceClient clubServiceClient = new ClubServiceClient(restTemplate, new JwtTokenProvider());
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(ClubProfile.class)))
+                .thenAnswer(invocation -> {
+                    try {
+                        Thread.sleep(5000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return new ResponseEntity<>(new ClubProfile(), HttpStatus.OK);
+                });
+
+        // Act
+        Deadline deadline = Deadline.in(200);
+        CompletableFuture<ClubProfile> slowCall = clubServiceClient.getClubProfileByIdAsync(1L, JWT_TOKEN, deadline);
+        assertThrows(ClubProfileNotFoundAtClientException.class, () -> ClubServiceClient.await(slowCall));
+        CompletableFuture<ClubProfile> lateCall = clubServiceClient.getClubProfileByIdAsync(2L, JWT_TOKEN, deadline);
+
+        // Assert
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "The timed out call should be interrupted");
+        assertThrows(ClubProfileNotFoundAtClientException.class, () -> ClubServiceClient.await(lateCall));
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(ClubProfile.class));
+    }
+}
@@ -0,0 +1,123 @@
+package com.crashcourse.kickoff.tms.client.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+
+@ExtendWith(MockitoExtension.class)
+class S3ObjectStoreTest {
+
+    @Mock
+    private AmazonS3 s3client;
+
+    private S3ObjectStore objectStore;
+
+    @BeforeEach
+    void setUp() {
+        objectStore = new S3ObjectStore(s3client, "bucket", "https://s3.example.com");
+
+        InitiateMultipartUploadResult initiated = new InitiateMultipartUploadResult();
+        initiated.setUploadId("upload-1");
+        lenient().when(s3client.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initiated);
+        lenient().when(s3client.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag("etag-" + request.getPartNumber());
+            return result;
+        });
+    }
+
+    /*
+     * Produces length bytes without holding them
+     */
+    private static InputStream content(long length) {
+        return new InputStream() {
+            private long remaining = length;
+
+            @Override
+            public int read() {
+                return remaining-- > 0 ? (int) (remaining & 0x7F) : -1;
+            }
+        };
+    }
+
+    @Test
+    void put_SmallerThanAPart_OnePut() throws IOException {
+        String url = objectStore.put("key.jpg", new ByteArrayInputStream(new byte[1000]), "image/jpeg");
+
+        assertEquals("https://s3.example.com/bucket/key.jpg", url);
+        ArgumentCaptor<PutObjectRequest> put = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3client).putObject(put.capture());
+        assertEquals(1000, put.getValue().getMetadata().getContentLength());
+        assertEquals("image/jpeg", put.getValue().getMetadata().getContentType());
+        verify(s3client, never()).initiateMultipartUpload(any());
+    }
+
+    @Test
+    void put_LargerThanSmallBufferButUnderAPart_OnePut() throws IOException {
+        int length = 3 * S3ObjectStore.SMALL_SIZE + 7;
+
+        objectStore.put("scan.pdf", content(length), "application/pdf");
+
+        ArgumentCaptor<PutObjectRequest> put = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3client).putObject(put.capture());
+        assertEquals(length, put.getValue().getMetadata().getContentLength());
+        assertEquals(length, put.getValue().getInputStream().readAllBytes().length);
+        verify(s3client, never()).initiateMultipartUpload(any());
+    }
+
+    @Test
+    void put_LargerThanAPart_UploadedInParts() throws IOException {
+        long length = 2L * S3ObjectStore.PART_SIZE + 10;
+
+        objectStore.put("big.bin", content(length), "application/octet-stream");
+
+        ArgumentCaptor<UploadPartRequest> parts = ArgumentCaptor.forClass(UploadPartRequest.class);
+        verify(s3client, times(3)).uploadPart(parts.capture());
+        assertEquals(List.of((long) S3ObjectStore.PART_SIZE, (long) S3ObjectStore.PART_SIZE, 10L),
+                parts.getAllValues().stream().map(UploadPartRequest::getPartSize).toList());
+        assertEquals(List.of(1, 2, 3), parts.getAllValues().stream().map(UploadPartRequest::getPartNumber).toList());
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3client).completeMultipartUpload(complete.capture());
+        assertEquals("upload-1", complete.getValue().getUploadId());
+        assertEquals(3, complete.getValue().getPartETags().size());
+        verify(s3client, never()).putObject(any(PutObjectRequest.class));
+    }
+
+    @Test
+    void put_PartFails_UploadAborted() {
+        when(s3client.uploadPart(argThat(request -> request != null && request.getPartNumber() == 2)))
+                .thenThrow(new AmazonServiceException("Slow down"));
+
+        assertThrows(IOException.class,
+                () -> objectStore.put("big.bin", content(3L * S3ObjectStore.PART_SIZE), "application/octet-stream"));
+
+        verify(s3client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3client, never()).completeMultipartUpload(any());
+    }
+}
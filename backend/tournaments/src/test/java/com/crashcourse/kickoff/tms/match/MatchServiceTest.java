@@ -10,30 +10,35 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.crashcourse.kickoff.tms.bracket.dto.MatchUpdateDTO;
 import com.crashcourse.kickoff.tms.bracket.model.Match;
+import com.crashcourse.kickoff.tms.bracket.model.RatingUpdateEvent;
+import com.crashcourse.kickoff.tms.bracket.model.RatingUpdateStatus;
 import com.crashcourse.kickoff.tms.bracket.model.Round;
 import com.crashcourse.kickoff.tms.bracket.repository.MatchRepository;
+import com.crashcourse.kickoff.tms.bracket.repository.RatingUpdateEventRepository;
 import com.crashcourse.kickoff.tms.bracket.repository.RoundRepository;
 import com.crashcourse.kickoff.tms.bracket.service.MatchServiceImpl;
-import com.crashcourse.kickoff.tms.client.ClubServiceClient;
-import com.crashcourse.kickoff.tms.club.ClubProfile;
 
 import jakarta.persistence.EntityNotFoundException;
 
 @ExtendWith(MockitoExtension.class)
 class MatchServiceTest {
 
-    @Mock
-    private ClubServiceClient clubServiceClient;
-
     @Mock
     private MatchRepository matchRepository;
 
     @Mock
     private RoundRepository roundRepository;
 
+    @Mock
+    private RatingUpdateEventRepository ratingUpdateEventRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MatchServiceImpl matchService;
 
@@ -103,310 +108,142 @@ class MatchServiceTest {
         verify(matchRepository, never()).save(any(Match.class));
     }
 
+    // ================= queueEloUpdate =================
     @Test
-    void testUpdateElo_HighEloClubBeatsLowEloClubMarginally() {
+    void queueEloUpdate_FinishedMatch_SavesAndPublishesPendingEvent() {
         // Arrange
-        ClubProfile highEloClub = new ClubProfile();
-        highEloClub.setId(1L);
-        highEloClub.setElo(2000);
-        highEloClub.setRatingDeviation(50);
-
-        ClubProfile lowEloClub = new ClubProfile();
-        lowEloClub.setId(2L);
-        lowEloClub.setElo(500);
-        lowEloClub.setRatingDeviation(50);
-
-        when(clubServiceClient.getClubProfileById(1L, "jwtToken")).thenReturn(highEloClub);
-        when(clubServiceClient.getClubProfileById(2L, "jwtToken")).thenReturn(lowEloClub);
-
-        MatchUpdateDTO matchUpdateDTO = new MatchUpdateDTO(true, 1L, 2L, 2, 0, 1L);
+        MatchUpdateDTO matchUpdateDTO = new MatchUpdateDTO(true, 1L, 2L, 2, 1, 1L);
+        when(ratingUpdateEventRepository.save(any(RatingUpdateEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        matchService.updateElo(matchUpdateDTO, "jwtToken");
+        matchService.queueEloUpdate(100L, matchUpdateDTO);
 
         // Capture Arguments
-        ArgumentCaptor<Double> highEloClubRatingCaptor = ArgumentCaptor.forClass(Double.class);
-        ArgumentCaptor<Double> highEloClubRDCaptor = ArgumentCaptor.forClass(Double.class);
+        ArgumentCaptor<RatingUpdateEvent> eventCaptor = ArgumentCaptor.forClass(RatingUpdateEvent.class);
+        verify(ratingUpdateEventRepository, times(1)).save(eventCaptor.capture());
+        RatingUpdateEvent event = eventCaptor.getValue();
 
-        ArgumentCaptor<Double> lowEloClubRatingCaptor = ArgumentCaptor.forClass(Double.class);
-        ArgumentCaptor<Double> lowEloClubRDCaptor = ArgumentCaptor.forClass(Double.class);
+        // Assert
+        assertEquals(100L, event.getMatchId(), "The event should be for the updated match.");
+        assertEquals(1L, event.getClub1Id());
+        assertEquals(2L, event.getClub2Id());
+        assertEquals(2, event.getClub1Score());
+        assertEquals(1, event.getClub2Score());
+        assertEquals(1L, event.getWinningClubId());
+        assertEquals(RatingUpdateStatus.PENDING, event.getStatus(), "The event should wait to be sent.");
+        assertFalse(event.isRated(), "New ratings should only be worked out when the event is sent.");
 
         // Verify interactions
-        verify(clubServiceClient).updateClubRating(eq(1L), highEloClubRatingCaptor.capture(), highEloClubRDCaptor.capture(), eq("jwtToken"));
-        verify(clubServiceClient).updateClubRating(eq(2L), lowEloClubRatingCaptor.capture(), lowEloClubRDCaptor.capture(), eq("jwtToken"));
+        verify(eventPublisher, times(1)).publishEvent(event);
+    }
 
-        double highEloClubNewElo = highEloClubRatingCaptor.getValue();
-        double highEloClubNewRD = highEloClubRDCaptor.getValue();
+    // ================= calculateNewRatings =================
+    @Test
+    void calculateNewRatings_HighEloClubBeatsLowEloClubMarginally() {
+        // Arrange
+        double highEloClubElo = 2000;
+        MatchUpdateDTO matchUpdateDTO = new MatchUpdateDTO(true, 1L, 2L, 2, 0, 1L);
 
-        double lowEloClubNewElo = lowEloClubRatingCaptor.getValue();
-        double lowEloClubNewRD = lowEloClubRDCaptor.getValue();
+        // Act
+        double[] newRatings = matchService.calculateNewRatings(matchUpdateDTO, highEloClubElo, 50, 500, 50);
 
         // Print the final ratings for verification
-        printFinalRatings("testUpdateElo_HighEloClubBeatsLowEloClubMarginally", highEloClubNewElo, highEloClubNewRD, lowEloClubNewElo, lowEloClubNewRD);
-
-        // Determine if the high-rated club's Elo increased or decreased
-        boolean highEloClubIncreased = highEloClubNewElo > highEloClub.getElo();
+        printFinalRatings("calculateNewRatings_HighEloClubBeatsLowEloClubMarginally", newRatings[0], newRatings[1], newRatings[2], newRatings[3]);
 
         // Assert
-        assertTrue(highEloClubIncreased, "High Elo club's rating should still increase after beating a much lower-rated opponent.");
+        assertTrue(newRatings[0] > highEloClubElo, "High Elo club's rating should still increase after beating a much lower-rated opponent.");
     }
 
     @Test
-    void testUpdateElo_BigVictoryAgainstHigherRatedOpponent() {
+    void calculateNewRatings_BigVictoryAgainstHigherRatedOpponent() {
         // Arrange
-        ClubProfile underdogClub = new ClubProfile();
-        underdogClub.setId(1L);
-        underdogClub.setElo(1500);
-        underdogClub.setRatingDeviation(200);
-
-        ClubProfile favoriteClub = new ClubProfile();
-        favoriteClub.setId(2L);
-        favoriteClub.setElo(1600);
-        favoriteClub.setRatingDeviation(30);
-
-        when(clubServiceClient.getClubProfileById(1L, "jwtToken")).thenReturn(underdogClub);
-        when(clubServiceClient.getClubProfileById(2L, "jwtToken")).thenReturn(favoriteClub);
-
+        double underdogElo = 1500;
         MatchUpdateDTO matchUpdateDTO = new MatchUpdateDTO(true, 1L, 2L, 5, 1, 1L);
 
         // Act
-        matchService.updateElo(matchUpdateDTO, "jwtToken");
-
-        // Capture Arguments
-        ArgumentCaptor<Double> underdogClubRatingCaptor = ArgumentCaptor.forClass(Double.class);
-        ArgumentCaptor<Double> underdogClubRDCaptor = ArgumentCaptor.forClass(Double.class);
-
-        ArgumentCaptor<Double> favoriteClubRatingCaptor = ArgumentCaptor.forClass(Double.class);
-        ArgumentCaptor<Double> favoriteClubRDCaptor = ArgumentCaptor.forClass(Double.class);
-
-        // Verify interactions
-        verify(clubServiceClient).updateClubRating(eq(1L), underdogClubRatingCaptor.capture(), underdogClubRDCaptor.capture(), eq("jwtToken"));
-        verify(clubServiceClient).updateClubRating(eq(2L), favoriteClubRatingCaptor.capture(), favoriteClubRDCaptor.capture(), eq("jwtToken"));
-
-        double underdogNewElo = underdogClubRatingCaptor.getValue();
-        double underdogNewRD = underdogClubRDCaptor.getValue();
-
-        double favoriteNewElo = favoriteClubRatingCaptor.getValue();
-        double favoriteNewRD = favoriteClubRDCaptor.getValue();
+        double[] newRatings = matchService.calculateNewRatings(matchUpdateDTO, underdogElo, 200, 1600, 30);
 
         // Print the final ratings for verification
-        printFinalRatings("testUpdateElo_BigVictoryAgainstHigherRatedOpponent", underdogNewElo, underdogNewRD, favoriteNewElo, favoriteNewRD);
+        printFinalRatings("calculateNewRatings_BigVictoryAgainstHigherRatedOpponent", newRatings[0], newRatings[1], newRatings[2], newRatings[3]);
 
         // Assert that the underdog's rating increased
-        assertTrue(underdogNewElo > underdogClub.getElo(), "Underdog's rating should increase after a big win against a higher-rated opponent.");
+        assertTrue(newRatings[0] > underdogElo, "Underdog's rating should increase after a big win against a higher-rated opponent.");
     }
 
     @Test
-    void testUpdateElo_SmallVictoryAgainstLowerRatedOpponent() {
+    void calculateNewRatings_SmallVictoryAgainstLowerRatedOpponent() {
         // Arrange
-        ClubProfile favoriteClub = new ClubProfile();
-        favoriteClub.setId(1L);
-        favoriteClub.setElo(1600);
-        favoriteClub.setRatingDeviation(30);
-
-        ClubProfile underdogClub = new ClubProfile();
-        underdogClub.setId(2L);
-        underdogClub.setElo(1500);
-        underdogClub.setRatingDeviation(200);
-
-        when(clubServiceClient.getClubProfileById(1L, "jwtToken")).thenReturn(favoriteClub);
-        when(clubServiceClient.getClubProfileById(2L, "jwtToken")).thenReturn(underdogClub);
-
+        double favoriteElo = 1600;
         MatchUpdateDTO matchUpdateDTO = new MatchUpdateDTO(true, 1L, 2L, 2, 1, 1L);
 
         // Act
-        matchService.updateElo(matchUpdateDTO, "jwtToken");
-
-        // Capture Arguments
-        ArgumentCaptor<Double> favoriteClubRatingCaptor = ArgumentCaptor.forClass(Double.class);
-        ArgumentCaptor<Double> favoriteClubRDCaptor = ArgumentCaptor.forClass(Double.class);
-
-        ArgumentCaptor<Double> underdogClubRatingCaptor = ArgumentCaptor.forClass(Double.class);
-        ArgumentCaptor<Double> underdogClubRDCaptor = ArgumentCaptor.forClass(Double.class);
-
-        // Verify interactions
-        verify(clubServiceClient).updateClubRating(eq(1L), favoriteClubRatingCaptor.capture(), favoriteClubRDCaptor.capture(), eq("jwtToken"));
-        verify(clubServiceClient).updateClubRating(eq(2L), underdogClubRatingCaptor.capture(), underdogClubRDCaptor.capture(), eq("jwtToken"));
-
-        double favoriteNewElo = favoriteClubRatingCaptor.getValue();
-        double favoriteNewRD = favoriteClubRDCaptor.getValue();
-
-        double underdogNewElo = underdogClubRatingCaptor.getValue();
-        double underdogNewRD = underdogClubRDCaptor.getValue();
+        double[] newRatings = matchService.calculateNewRatings(matchUpdateDTO, favoriteElo, 30, 1500, 200);
 
         // Print the final ratings for verification
-        printFinalRatings("testUpdateElo_SmallVictoryAgainstLowerRatedOpponent", favoriteNewElo, favoriteNewRD, underdogNewElo, underdogNewRD);
+        printFinalRatings("calculateNewRatings_SmallVictoryAgainstLowerRatedOpponent", newRatings[0], newRatings[1], newRatings[2], newRatings[3]);
 
         // Assert that the favorite's rating did not decrease
-        assertTrue(favoriteNewElo >= favoriteClub.getElo(), "Favorite's rating should not decrease after winning.");
+        assertTrue(newRatings[0] >= favoriteElo, "Favorite's rating should not decrease after winning.");
     }
 
     @Test
-    void testUpdateElo_PenaltyWinAgainstSimilarRatedOpponent() {
+    void calculateNewRatings_PenaltyWinAgainstSimilarRatedOpponent() {
         // Arrange
-        ClubProfile club1 = new ClubProfile();
-        club1.setId(1L);
-        club1.setElo(1500);
-        club1.setRatingDeviation(50);
-
-        ClubProfile club2 = new ClubProfile();
-        club2.setId(2L);
-        club2.setElo(1500);
-        club2.setRatingDeviation(50);
-
-        when(clubServiceClient.getClubProfileById(1L, "jwtToken")).thenReturn(club1);
-        when(clubServiceClient.getClubProfileById(2L, "jwtToken")).thenReturn(club2);
-
+        double club1Elo = 1500;
         MatchUpdateDTO matchUpdateDTO = new MatchUpdateDTO(true, 1L, 2L, 1, 1, 1L);
 
         // Act
-        matchService.updateElo(matchUpdateDTO, "jwtToken");
-
-        // Capture Arguments
-        ArgumentCaptor<Double> club1RatingCaptor = ArgumentCaptor.forClass(Double.class);
-        ArgumentCaptor<Double> club1RDCaptor = ArgumentCaptor.forClass(Double.class);
-
-        ArgumentCaptor<Double> club2RatingCaptor = ArgumentCaptor.forClass(Double.class);
-        ArgumentCaptor<Double> club2RDCaptor = ArgumentCaptor.forClass(Double.class);
-
-        // Verify interactions
-        verify(clubServiceClient).updateClubRating(eq(1L), club1RatingCaptor.capture(), club1RDCaptor.capture(), eq("jwtToken"));
-        verify(clubServiceClient).updateClubRating(eq(2L), club2RatingCaptor.capture(), club2RDCaptor.capture(), eq("jwtToken"));
-
-        double club1NewElo = club1RatingCaptor.getValue();
-        double club1NewRD = club1RDCaptor.getValue();
-
-        double club2NewElo = club2RatingCaptor.getValue();
-        double club2NewRD = club2RDCaptor.getValue();
+        double[] newRatings = matchService.calculateNewRatings(matchUpdateDTO, club1Elo, 50, 1500, 50);
 
         // Print the final ratings for verification
-        printFinalRatings("testUpdateElo_PenaltyWinAgainstSimilarRatedOpponent", club1NewElo, club1NewRD, club2NewElo, club2NewRD);
+        printFinalRatings("calculateNewRatings_PenaltyWinAgainstSimilarRatedOpponent", newRatings[0], newRatings[1], newRatings[2], newRatings[3]);
 
         // Assert that the rating change is minimal
-        assertTrue(Math.abs(club1NewElo - club1.getElo()) < 10, "Rating should not change significantly after a penalty win against a similar-rated opponent.");
+        assertTrue(Math.abs(newRatings[0] - club1Elo) < 10, "Rating should not change significantly after a penalty win against a similar-rated opponent.");
     }
 
     @Test
-    void testUpdateElo_BigLossAgainstLowerRatedOpponent() {
+    void calculateNewRatings_BigLossAgainstLowerRatedOpponent() {
         // Arrange
-        ClubProfile favoriteClub = new ClubProfile();
-        favoriteClub.setId(1L);
-        favoriteClub.setElo(1600);
-        favoriteClub.setRatingDeviation(30);
-
-        ClubProfile underdogClub = new ClubProfile();
-        underdogClub.setId(2L);
-        underdogClub.setElo(1500);
-        underdogClub.setRatingDeviation(200);
-
-        when(clubServiceClient.getClubProfileById(1L, "jwtToken")).thenReturn(favoriteClub);
-        when(clubServiceClient.getClubProfileById(2L, "jwtToken")).thenReturn(underdogClub);
-
+        double favoriteElo = 1600;
         MatchUpdateDTO matchUpdateDTO = new MatchUpdateDTO(true, 1L, 2L, 0, 5, 2L);
 
         // Act
-        matchService.updateElo(matchUpdateDTO, "jwtToken");
-
-        // Capture Arguments
-        ArgumentCaptor<Double> favoriteClubRatingCaptor = ArgumentCaptor.forClass(Double.class);
-        ArgumentCaptor<Double> favoriteClubRDCaptor = ArgumentCaptor.forClass(Double.class);
-
-        ArgumentCaptor<Double> underdogClubRatingCaptor = ArgumentCaptor.forClass(Double.class);
-        ArgumentCaptor<Double> underdogClubRDCaptor = ArgumentCaptor.forClass(Double.class);
-
-        // Verify interactions
-        verify(clubServiceClient).updateClubRating(eq(1L), favoriteClubRatingCaptor.capture(), favoriteClubRDCaptor.capture(), eq("jwtToken"));
-        verify(clubServiceClient).updateClubRating(eq(2L), underdogClubRatingCaptor.capture(), underdogClubRDCaptor.capture(), eq("jwtToken"));
-
-        double favoriteNewElo = favoriteClubRatingCaptor.getValue();
-        double favoriteNewRD = favoriteClubRDCaptor.getValue();
-
-        double underdogNewElo = underdogClubRatingCaptor.getValue();
-        double underdogNewRD = underdogClubRDCaptor.getValue();
+        double[] newRatings = matchService.calculateNewRatings(matchUpdateDTO, favoriteElo, 30, 1500, 200);
 
         // Print the final ratings for verification
-        printFinalRatings("testUpdateElo_BigLossAgainstLowerRatedOpponent", favoriteNewElo, favoriteNewRD, underdogNewElo, underdogNewRD);
+        printFinalRatings("calculateNewRatings_BigLossAgainstLowerRatedOpponent", newRatings[0], newRatings[1], newRatings[2], newRatings[3]);
 
         // Assert that the favorite's rating decreased
-        assertTrue(favoriteNewElo < favoriteClub.getElo(), "Favorite's rating should decrease after a big loss against a lower-rated opponent.");
+        assertTrue(newRatings[0] < favoriteElo, "Favorite's rating should decrease after a big loss against a lower-rated opponent.");
     }
 
     @Test
-    void testUpdateElo_BigWinHighRatingDeviationImpact() {
+    void calculateNewRatings_BigWinHighRatingDeviationImpact() {
         // Arrange
-        ClubProfile highRDClub = new ClubProfile();
-        highRDClub.setId(1L);
-        highRDClub.setElo(1500);
-        highRDClub.setRatingDeviation(300); // High RD
-
-        ClubProfile lowRDClub = new ClubProfile();
-        lowRDClub.setId(2L);
-        lowRDClub.setElo(1500);
-        lowRDClub.setRatingDeviation(50); // Low RD
-
-        when(clubServiceClient.getClubProfileById(1L, "jwtToken")).thenReturn(highRDClub);
-        when(clubServiceClient.getClubProfileById(2L, "jwtToken")).thenReturn(lowRDClub);
-
+        double highRDClubElo = 1500;
         MatchUpdateDTO matchUpdateDTO = new MatchUpdateDTO(true, 1L, 2L, 9, 1, 1L);
 
         // Act
-        matchService.updateElo(matchUpdateDTO, "jwtToken");
-
-        // Capture Arguments
-        ArgumentCaptor<Double> highRDClubRatingCaptor = ArgumentCaptor.forClass(Double.class);
-        ArgumentCaptor<Double> highRDClubRDCaptor = ArgumentCaptor.forClass(Double.class);
-
-        ArgumentCaptor<Double> lowRDClubRatingCaptor = ArgumentCaptor.forClass(Double.class);
-        ArgumentCaptor<Double> lowRDClubRDCaptor = ArgumentCaptor.forClass(Double.class);
-
-        // Verify interactions
-        verify(clubServiceClient).updateClubRating(eq(1L), highRDClubRatingCaptor.capture(), highRDClubRDCaptor.capture(), eq("jwtToken"));
-        verify(clubServiceClient).updateClubRating(eq(2L), lowRDClubRatingCaptor.capture(), lowRDClubRDCaptor.capture(), eq("jwtToken"));
-
-        double highRDClubNewElo = highRDClubRatingCaptor.getValue();
-        double highRDClubNewRD = highRDClubRDCaptor.getValue();
-
-        double lowRDClubNewElo = lowRDClubRatingCaptor.getValue();
-        double lowRDClubNewRD = lowRDClubRDCaptor.getValue();
+        double[] newRatings = matchService.calculateNewRatings(matchUpdateDTO, highRDClubElo, 300, 1500, 50);
 
         // Print the final ratings for verification
-        printFinalRatings("testUpdateElo_BigWinHighRatingDeviationImpact", highRDClubNewElo, highRDClubNewRD, lowRDClubNewElo, lowRDClubNewRD);
+        printFinalRatings("calculateNewRatings_BigWinHighRatingDeviationImpact", newRatings[0], newRatings[1], newRatings[2], newRatings[3]);
 
         // Assert that the high RD club's rating changed significantly
-        assertTrue(Math.abs(highRDClubNewElo - highRDClub.getElo()) > 10, "High RD club's rating should change significantly after a big win.");
+        assertTrue(Math.abs(newRatings[0] - highRDClubElo) > 10, "High RD club's rating should change significantly after a big win.");
     }
 
     @Test
-    void testUpdateElo_WinningTeamAlwaysGainsAtLeastOneElo() {
+    void calculateNewRatings_WinningTeamAlwaysGainsAtLeastOneElo() {
         // Arrange
-        ClubProfile highRatedClub = new ClubProfile();
-        highRatedClub.setId(1L);
-        highRatedClub.setElo(2000);
-        highRatedClub.setRatingDeviation(50);
-
-        ClubProfile lowRatedClub = new ClubProfile();
-        lowRatedClub.setId(2L);
-        lowRatedClub.setElo(1000);
-        lowRatedClub.setRatingDeviation(50);
-
-        when(clubServiceClient.getClubProfileById(1L, "jwtToken")).thenReturn(highRatedClub);
-        when(clubServiceClient.getClubProfileById(2L, "jwtToken")).thenReturn(lowRatedClub);
-
+        double highRatedClubElo = 2000;
         MatchUpdateDTO matchUpdateDTO = new MatchUpdateDTO(true, 1L, 2L, 1, 0, 1L);
 
         // Act
-        matchService.updateElo(matchUpdateDTO, "jwtToken");
-
-        // Capture Arguments
-        ArgumentCaptor<Double> highRatedClubEloCaptor = ArgumentCaptor.forClass(Double.class);
-        ArgumentCaptor<Double> highRatedClubRDCaptor = ArgumentCaptor.forClass(Double.class);
-
-        // Verify interactions
-        verify(clubServiceClient).updateClubRating(eq(1L), highRatedClubEloCaptor.capture(), highRatedClubRDCaptor.capture(), eq("jwtToken"));
-
-        double newElo = highRatedClubEloCaptor.getValue();
+        double[] newRatings = matchService.calculateNewRatings(matchUpdateDTO, highRatedClubElo, 50, 1000, 50);
 
         // Assert that the winning team gained at least 1 Elo point
-        assertTrue(newElo - highRatedClub.getElo() >= 1.0, "Winning team should gain at least 1 Elo point.");
+        assertTrue(newRatings[0] - highRatedClubElo >= 1.0, "Winning team should gain at least 1 Elo point.");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package com.crashcourse.kickoff.tms.tournament;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.stripe.net.Webhook;
+
+/**
+ * Replays recorded Stripe webhook payloads against a running instance, for
+ * load testing the webhook. Each payload is signed afresh with the endpoint
+ * secret, as Stripe would, and can be sent several times over to exercise
+ * the handling of redeliveries.
+ *
+ * Not run by the test suite. The payload file holds one event per line, as
+ * logged or exported from Stripe. To run, with STRIPE_WEBHOOK_SECRET set to
+ * the instance's secret:
+ * mvn test-compile exec:java -Dexec.mainClass=com.crashcourse.kickoff.tms.tournament.StripeWebhookReplay -Dexec.classpathScope=test
+ *     -Dexec.args="http://localhost:8080/api/v1/tournaments/webhook events.jsonl [concurrency] [copies]"
+ */
+public class StripeWebhookReplay {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: StripeWebhookReplay <webhook url> <payload file> [concurrency] [copies]");
+            System.exit(1);
+        }
+        String secret = System.getenv("STRIPE_WEBHOOK_SECRET");
+        if (secret == null || secret.isEmpty()) {
+            System.err.println("STRIPE_WEBHOOK_SECRET is not set");
+            System.exit(1);
+        }
+        URI endpoint = URI.create(args[0]);
+        List<String> payloads = Files.readAllLines(Path.of(args[1])).stream()
+                .filter(line -> !line.isBlank())
+                .toList();
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int copies = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+
+        HttpClient client = HttpClient.newHttpClient();
+        Semaphore inFlight = new Semaphore(concurrency);
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int copy = 0; copy < copies; copy++) {
+                for (String payload : payloads) {
+                    inFlight.acquire();
+                    executor.execute(() -> {
+                        long sent = System.nanoTime();
+                        int status;
+                        try {
+                            HttpRequest request = HttpRequest.newBuilder(endpoint)
+                                    .header("Content-Type", "application/json")
+                                    .header("Stripe-Signature", signatureHeader(payload, secret))
+                                    .POST(HttpRequest.BodyPublishers.ofString(payload))
+                                    .build();
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        } finally {
+                            inFlight.release();
+                        }
+                        latencies.add(System.nanoTime() - sent);
+                        statuses.computeIfAbsent(status, key -> new AtomicInteger()).incrementAndGet();
+                    });
+                }
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        System.out.printf("Sent %d deliveries in %d ms (%.0f/s)%n", sorted.length, elapsedMillis,
+                sorted.length * 1000.0 / Math.max(1, elapsedMillis));
+        System.out.println("Responses by status (-1 = no response): " + new TreeMap<>(statuses));
+        if (sorted.length > 0) {
+            System.out.printf("Latency ms: p50 %.1f, p95 %.1f, p99 %.1f, max %.1f%n",
+                    percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                    sorted[sorted.length - 1] / 1e6);
+        }
+    }
+
+    /**
+     * Signs a payload the way Stripe does, for the current time.
+     */
+    public static String signatureHeader(String payload, String secret) throws Exception {
+        long timestamp = Webhook.Util.getTimeNow();
+        String signature = Webhook.Util.computeHmacSha256(secret, timestamp + "." + payload);
+        return "t=" + timestamp + "," + Webhook.Signature.EXPECTED_SCHEME + "=" + signature;
+    }
+
+    private static double percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,138 @@
+package com.crashcourse.kickoff.tms.tournament;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.tournament.dto.PlayerAvailabilityDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.SquadReadinessDTO;
+import com.crashcourse.kickoff.tms.tournament.exception.InvalidPlayerAvailabilitySheetException;
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+import com.crashcourse.kickoff.tms.tournament.service.PlayerAvailabilityDedupe;
+import com.crashcourse.kickoff.tms.tournament.service.TournamentService;
+
+/**
+ * Integration tests for saving a whole availability sheet at once, against
+ * the real upsert.
+ */
+@SpringBootTest
+class TournamentAvailabilityTest {
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private PlayerAvailabilityDedupe playerAvailabilityDedupe;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ClubServiceClient clubServiceClient;
+
+    private Long saveTournament(Long... joinedClubIds) {
+        Tournament tournament = new Tournament();
+        tournament.setName("Availability Cup");
+        tournament.setStartDateTime(LocalDateTime.now().plusDays(7));
+        tournament.setEndDateTime(LocalDateTime.now().plusDays(8));
+        tournament.setMaxTeams(8);
+        tournament.setTournamentFormat(TournamentFormat.FIVE_SIDE);
+        tournament.setKnockoutFormat(KnockoutFormat.SINGLE_ELIM);
+        tournament.getJoinedClubIds().addAll(List.of(joinedClubIds));
+        tournament.setJoinedCount(joinedClubIds.length);
+        return tournamentRepository.save(tournament).getId();
+    }
+
+    private Map<Long, Boolean> availability(Long tournamentId) {
+        Map<Long, Boolean> available = new HashMap<>();
+        tournamentService.getPlayerAvailabilityForTournament(tournamentId)
+                .forEach(dto -> available.put(dto.getPlayerId(), dto.isAvailable()));
+        return available;
+    }
+
+    @Test
+    void updatePlayerAvailabilities_SheetSavedTwice_AnswersReplacedInPlace() {
+        Long tournamentId = saveTournament();
+        tournamentService.updatePlayerAvailability(new PlayerAvailabilityDTO(tournamentId, 1L, 10L, false));
+
+        tournamentService.updatePlayerAvailabilities(tournamentId, List.of(
+                new PlayerAvailabilityDTO(null, 1L, 10L, true),
+                new PlayerAvailabilityDTO(null, 2L, 10L, true),
+                new PlayerAvailabilityDTO(null, 3L, 10L, false)));
+        tournamentService.updatePlayerAvailabilities(tournamentId, List.of(
+                new PlayerAvailabilityDTO(null, 2L, 10L, false),
+                new PlayerAvailabilityDTO(null, 4L, 10L, true)));
+
+        assertEquals(Map.of(1L, true, 2L, false, 3L, false, 4L, true), availability(tournamentId));
+        assertEquals(4, tournamentService.getPlayerAvailabilityForTournament(tournamentId).size());
+    }
+
+    @Test
+    void updatePlayerAvailabilities_OneLineRefused_NothingSaved() {
+        Long tournamentId = saveTournament();
+
+        InvalidPlayerAvailabilitySheetException exception = assertThrows(InvalidPlayerAvailabilitySheetException.class,
+                () -> tournamentService.updatePlayerAvailabilities(tournamentId, List.of(
+                        new PlayerAvailabilityDTO(null, 1L, 10L, true),
+                        new PlayerAvailabilityDTO(null, 2L, null, true))));
+
+        assertEquals(1, exception.getErrors().size());
+        assertEquals(2L, exception.getErrors().get(0).getPlayerId());
+        assertEquals(Map.of(), availability(tournamentId));
+    }
+
+    @Test
+    void getSquadReadiness_SheetSavedAfterLoad_ClubBecomesReady() {
+        Long tournamentId = saveTournament(10L, 20L);
+        tournamentService.updatePlayerAvailabilities(tournamentId, List.of(
+                new PlayerAvailabilityDTO(null, 1L, 20L, true)));
+
+        assertEquals(List.of(new SquadReadinessDTO(10L, 0, 5, false), new SquadReadinessDTO(20L, 1, 5, false)),
+                tournamentService.getSquadReadiness(tournamentId));
+
+        List<PlayerAvailabilityDTO> sheet = new ArrayList<>();
+        for (long playerId = 11; playerId <= 15; playerId++) {
+            sheet.add(new PlayerAvailabilityDTO(null, playerId, 10L, true));
+        }
+        tournamentService.updatePlayerAvailabilities(tournamentId, sheet);
+        tournamentService.updatePlayerAvailability(new PlayerAvailabilityDTO(tournamentId, 1L, 20L, false));
+
+        assertEquals(List.of(new SquadReadinessDTO(10L, 5, 5, true), new SquadReadinessDTO(20L, 0, 5, false)),
+                tournamentService.getSquadReadiness(tournamentId));
+    }
+
+    @Test
+    void dedupe_AnswersSavedBeforeTheConstraint_LatestKept() {
+        Long tournamentId = saveTournament();
+        assertFalse(playerAvailabilityDedupe.needsDedupe(), "Nothing should be deleted once the unique key is in place");
+        jdbcTemplate.execute("ALTER TABLE player_availability DROP CONSTRAINT uk_player_availability_tournament_player");
+        try {
+            String insert = "INSERT INTO player_availability (tournament_id, player_id, club_id, available) VALUES (?, ?, ?, ?)";
+            jdbcTemplate.update(insert, tournamentId, 1L, 10L, true);
+            jdbcTemplate.update(insert, tournamentId, 1L, 10L, false);
+            jdbcTemplate.update(insert, tournamentId, 2L, 10L, true);
+
+            assertTrue(playerAvailabilityDedupe.needsDedupe());
+            playerAvailabilityDedupe.dedupeBeforeUniqueKey();
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE player_availability ADD CONSTRAINT uk_player_availability_tournament_player "
+                    + "UNIQUE (tournament_id, player_id)");
+        }
+
+        assertEquals(Map.of(1L, false, 2L, true), availability(tournamentId));
+    }
+}
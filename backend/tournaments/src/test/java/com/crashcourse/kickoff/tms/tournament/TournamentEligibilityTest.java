@@ -0,0 +1,171 @@
+package com.crashcourse.kickoff.tms.tournament;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.location.model.Location;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentPageDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentSummaryDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentUpdateDTO;
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+import com.crashcourse.kickoff.tms.tournament.service.TournamentEligibilityIndex;
+import com.crashcourse.kickoff.tms.tournament.service.TournamentService;
+
+/**
+ * Integration tests for finding the tournaments an Elo fits. Other tests
+ * share the database, and tournaments without an Elo band fit any Elo, so
+ * each test only checks the tournaments it saved, in a band no other test
+ * uses.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TournamentEligibilityTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TournamentEligibilityIndex tournamentEligibilityIndex;
+
+    @MockBean
+    private ClubServiceClient clubServiceClient;
+
+    private static final double ELO = 900_050;
+    private static final LocalDateTime START = LocalDateTime.of(2400, 1, 1, 0, 0);
+
+    private final Set<Long> saved = new HashSet<>();
+
+    private Tournament newTournament(String name, LocalDateTime start, Integer minRank, Integer maxRank,
+            int maxTeams, int joined) {
+        Tournament tournament = new Tournament();
+        tournament.setName(name);
+        tournament.setStartDateTime(start);
+        tournament.setEndDateTime(start.plusDays(1));
+        tournament.setMaxTeams(maxTeams);
+        tournament.setTournamentFormat(TournamentFormat.FIVE_SIDE);
+        tournament.setKnockoutFormat(KnockoutFormat.SINGLE_ELIM);
+        tournament.setMinRank(minRank);
+        tournament.setMaxRank(maxRank);
+        for (long club = 1; club <= joined; club++) {
+            tournament.getJoinedClubIds().add(club);
+        }
+        tournament.setJoinedCount(joined);
+        return tournament;
+    }
+
+    private Tournament saveTournament(String name, LocalDateTime start, Integer minRank, Integer maxRank,
+            int maxTeams, int joined) {
+        Tournament tournament = tournamentRepository.save(newTournament(name, start, minRank, maxRank, maxTeams, joined));
+        saved.add(tournament.getId());
+        return tournament;
+    }
+
+    /*
+     * Every page for the Elo, keeping only this test's tournaments
+     */
+    private List<Long> eligible(double elo, int pageSize) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            TournamentPageDTO page = tournamentService.getEligibleTournaments(elo, cursor, pageSize);
+            page.getTournaments().stream()
+                    .map(TournamentSummaryDTO::getId)
+                    .filter(saved::contains)
+                    .forEach(ids::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    /*
+     * Changes reach the index shortly after they commit
+     */
+    private void awaitEligible(List<Long> expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!eligible(ELO, 20).equals(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(expected, eligible(ELO, 20));
+    }
+
+    @BeforeEach
+    void setUp() {
+        saved.clear();
+    }
+
+    @Test
+    void getEligibleTournaments_AfterRebuild_OnlyUpcomingOpenTournamentsInBand() {
+        Tournament later = saveTournament("Later", START.plusDays(3), 900_000, 900_100, 8, 0);
+        Tournament first = saveTournament("First", START.plusDays(1), 900_000, 900_050, 8, 7);
+        Tournament sameStart = saveTournament("Same Start", START.plusDays(3), 900_050, 900_060, 8, 0);
+        saveTournament("Full", START.plusDays(2), 900_000, 900_100, 4, 4);
+        Tournament aboveBand = saveTournament("Above Band", START.plusDays(2), 900_051, 900_100, 8, 0);
+        saveTournament("Below Band", START.plusDays(2), 900_000, 900_049, 8, 0);
+        saveTournament("Already Begun", LocalDateTime.now().minusDays(1), 900_000, 900_100, 8, 0);
+
+        tournamentEligibilityIndex.rebuild();
+
+        assertEquals(List.of(first.getId(), later.getId(), sameStart.getId()), eligible(ELO, 2));
+        assertEquals(List.of(aboveBand.getId(), later.getId()), eligible(ELO + 20, 100));
+    }
+
+    @Test
+    void getEligibleTournaments_CreatedUpdatedAndDeleted_IndexFollowsWithoutRebuild() throws Exception {
+        Location location = new Location();
+        location.setName("Eligibility Arena");
+        location.setTournaments(new ArrayList<>());
+        Tournament tournament = newTournament("Moving Band", START.plusDays(5), 800_000, 800_100, 8, 0);
+        tournament.setLocation(location);
+        tournament = tournamentRepository.save(tournament);
+        saved.add(tournament.getId());
+        tournamentService.updateTournament(tournament.getId(), new TournamentUpdateDTO("Moving Band",
+                START.plusDays(5), START.plusDays(6), tournament.getLocation(), null, 900_000, 900_100));
+
+        awaitEligible(List.of(tournament.getId()));
+
+        tournamentService.deleteTournament(tournament.getId());
+
+        awaitEligible(List.of());
+    }
+
+    @Test
+    void eligibleEndpoint_PagedOverHttp() throws Exception {
+        Tournament tournament = saveTournament("Over HTTP", START.plusDays(7), 900_000, 900_100, 8, 0);
+        tournamentEligibilityIndex.rebuild();
+
+        URI uri = new URI("http://localhost:" + port + "/api/v1/tournaments/eligible?elo=" + ELO + "&size=100");
+        ResponseEntity<TournamentPageDTO> response = restTemplate.getForEntity(uri, TournamentPageDTO.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().getTournaments().stream()
+                .anyMatch(summary -> summary.getId().equals(tournament.getId())));
+
+        URI badCursor = new URI("http://localhost:" + port + "/api/v1/tournaments/eligible?elo=1500&cursor=%25%25");
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity(badCursor, String.class).getStatusCode());
+    }
+}
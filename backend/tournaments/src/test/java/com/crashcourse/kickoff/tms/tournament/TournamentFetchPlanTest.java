@@ -0,0 +1,230 @@
+package com.crashcourse.kickoff.tms.tournament;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crashcourse.kickoff.tms.SqlStatementCounter;
+import com.crashcourse.kickoff.tms.bracket.service.BracketService;
+import com.crashcourse.kickoff.tms.bracket.service.BracketViewCache;
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.club.ClubRatingProfile;
+import com.crashcourse.kickoff.tms.location.model.Location;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentResponseDTO;
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.PlayerAvailability;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFilter;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentParticipation;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentParticipationRepository;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+import com.crashcourse.kickoff.tms.tournament.service.TournamentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Integration tests for the tournament fetch plans. Each endpoint must read
+ * its tournaments in a fixed number of statements, however many tournaments
+ * it returns. Responses are serialized inside the transaction, as they are
+ * with open-in-view, so anything Jackson loads lazily is counted too.
+ */
+@SpringBootTest
+@Import(SqlStatementCounter.class)
+class TournamentFetchPlanTest {
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private BracketService bracketService;
+
+    @Autowired
+    private BracketViewCache bracketViewCache;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TournamentParticipationRepository tournamentParticipationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ClubServiceClient clubServiceClient;
+
+    private static final String JWT_TOKEN = "Bearer token";
+    private static final int CLUBS_PER_TOURNAMENT = 8;
+
+    private static long nextOwnerId = 90_000;
+
+    @BeforeEach
+    void setUp() {
+        when(clubServiceClient.getClubRatingProfiles(anyCollection(), anyString())).thenAnswer(invocation -> {
+            Collection<Long> clubIds = invocation.getArgument(0);
+            List<ClubRatingProfile> profiles = new ArrayList<>();
+            for (Long clubId : clubIds) {
+                profiles.add(new ClubRatingProfile(clubId, true, "Club " + clubId, 1000.0 + clubId, 200.0, 0L, clubId, false));
+            }
+            return profiles;
+        });
+    }
+
+    /*
+     * Tournaments for one host, each at its own location, with a started
+     * bracket and player availability; the first club joins all of them
+     */
+    private List<Long> createTournaments(Long host, Long sharedClubId, int numberOfTournaments) {
+        List<Long> tournamentIds = new ArrayList<>();
+        for (int i = 0; i < numberOfTournaments; i++) {
+            Location location = new Location();
+            location.setName("Fetch Plan Stadium " + host + "-" + i);
+            location.setTournaments(new ArrayList<>());
+
+            Tournament tournament = new Tournament();
+            tournament.setName("Fetch Plan Cup " + host + "-" + i);
+            tournament.setStartDateTime(LocalDateTime.now().plusDays(1));
+            tournament.setEndDateTime(LocalDateTime.now().plusDays(2));
+            tournament.setMaxTeams(CLUBS_PER_TOURNAMENT);
+            tournament.setTournamentFormat(TournamentFormat.FIVE_SIDE);
+            tournament.setKnockoutFormat(KnockoutFormat.SINGLE_ELIM);
+            tournament.setHost(host);
+            tournament.setLocation(location);
+            location.getTournaments().add(tournament);
+
+            List<Long> clubIds = new ArrayList<>();
+            clubIds.add(sharedClubId);
+            for (int club = 1; club < CLUBS_PER_TOURNAMENT; club++) {
+                clubIds.add(nextOwnerId++);
+            }
+            tournament.setJoinedClubIds(new ArrayList<>(clubIds));
+
+            PlayerAvailability availability = new PlayerAvailability();
+            availability.setTournament(tournament);
+            availability.setPlayerId(nextOwnerId++);
+            availability.setClubId(sharedClubId);
+            availability.setAvailable(true);
+            tournament.getPlayerAvailabilities().add(availability);
+
+            Tournament saved = tournamentRepository.save(tournament);
+            clubIds.forEach(clubId -> tournamentParticipationRepository.save(TournamentParticipation.of(saved, clubId)));
+            Long tournamentId = saved.getId();
+            transactionTemplate.executeWithoutResult(status -> bracketService.createBracket(tournamentId, clubIds, JWT_TOKEN));
+            tournamentIds.add(tournamentId);
+        }
+
+        /*
+         * Measure the cold path, where the bracket views are read from the database
+         */
+        tournamentIds.forEach(bracketViewCache::evict);
+        return tournamentIds;
+    }
+
+    private int countStatements(Supplier<Object> endpoint) {
+        return transactionTemplate.execute(status -> {
+            SqlStatementCounter.reset();
+            try {
+                objectMapper.writeValueAsString(endpoint.get());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return SqlStatementCounter.count();
+        });
+    }
+
+    @Test
+    void getTournamentsForClub_SummaryPlan_StatementsDoNotGrowWithTournaments() {
+        Long fewClubId = nextOwnerId++;
+        Long manyClubId = nextOwnerId++;
+        createTournaments(nextOwnerId++, fewClubId, 2);
+        createTournaments(nextOwnerId++, manyClubId, 10);
+
+        int few = countStatements(() -> tournamentService.getTournamentsForClub(fewClubId, TournamentFilter.UPCOMING));
+        int many = countStatements(() -> tournamentService.getTournamentsForClub(manyClubId, TournamentFilter.UPCOMING));
+
+        /*
+         * Tournaments with location and bracket, joined club IDs, rounds, matches
+         */
+        assertEquals(few, many, "Summary statements should not depend on the number of tournaments");
+        assertTrue(many <= 4, "Expected at most 4 statements but was " + many);
+
+        List<TournamentResponseDTO> tournaments = tournamentService.getTournamentsForClub(manyClubId, TournamentFilter.UPCOMING);
+        assertEquals(10, tournaments.size());
+        for (TournamentResponseDTO tournament : tournaments) {
+            assertEquals(CLUBS_PER_TOURNAMENT, tournament.getJoinedClubIds().size());
+            assertEquals(CLUBS_PER_TOURNAMENT - 1,
+                    tournament.getBracket().getRounds().stream().mapToInt(round -> round.getMatches().size()).sum());
+        }
+    }
+
+    @Test
+    void getAllTournaments_SummaryPlan_StatementsAreBounded() {
+        createTournaments(nextOwnerId++, nextOwnerId++, 6);
+
+        int statements = countStatements(() -> tournamentService.getAllTournaments());
+
+        /*
+         * Tournaments with location and bracket, joined club IDs, player availability, rounds, matches
+         */
+        assertTrue(statements <= 5, "Expected at most 5 statements but was " + statements);
+    }
+
+    @Test
+    void getTournamentById_DetailPlan_SingleSelectPlusBracketView() {
+        Long tournamentId = createTournaments(nextOwnerId++, nextOwnerId++, 1).get(0);
+
+        int cold = countStatements(() -> tournamentService.getTournamentById(tournamentId));
+        int cached = countStatements(() -> tournamentService.getTournamentById(tournamentId));
+
+        /*
+         * One select for the tournament, its location, bracket and clubs; the
+         * bracket view adds its rounds and matches until it is cached
+         */
+        assertEquals(1, cached, "A cached bracket view should leave only the detail select");
+        assertEquals(3, cold);
+
+        TournamentResponseDTO tournament = tournamentService.getTournamentById(tournamentId);
+        assertEquals(CLUBS_PER_TOURNAMENT, tournament.getJoinedClubIds().size());
+        assertNotNull(tournament.getLocation().getName());
+        assertEquals(3, tournament.getBracket().getRounds().size());
+    }
+
+    @Test
+    void getHostedTournaments_HostDashboardPlan_StatementsDoNotGrowWithTournaments() {
+        Long fewHost = nextOwnerId++;
+        Long manyHost = nextOwnerId++;
+        createTournaments(fewHost, nextOwnerId++, 2);
+        createTournaments(manyHost, nextOwnerId++, 10);
+
+        int few = countStatements(() -> tournamentService.getHostedTournaments(fewHost));
+        int many = countStatements(() -> tournamentService.getHostedTournaments(manyHost));
+
+        /*
+         * Tournaments with location, bracket and player availability, joined club IDs, rounds, matches
+         */
+        assertEquals(few, many, "Host dashboard statements should not depend on the number of tournaments");
+        assertTrue(many <= 4, "Expected at most 4 statements but was " + many);
+
+        List<Tournament> hosted = transactionTemplate.execute(status -> {
+            List<Tournament> tournaments = tournamentService.getHostedTournaments(manyHost);
+            tournaments.forEach(tournament -> assertEquals(1, tournament.getPlayerAvailabilities().size()));
+            return tournaments;
+        });
+        assertEquals(10, hosted.size());
+    }
+}
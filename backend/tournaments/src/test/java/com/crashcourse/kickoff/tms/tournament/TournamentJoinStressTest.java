@@ -0,0 +1,151 @@
+package com.crashcourse.kickoff.tms.tournament;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.club.ClubProfile;
+import com.crashcourse.kickoff.tms.location.model.Location;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentJoinDTO;
+import com.crashcourse.kickoff.tms.tournament.exception.ClubAlreadyJoinedException;
+import com.crashcourse.kickoff.tms.tournament.exception.TournamentFullException;
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+import com.crashcourse.kickoff.tms.tournament.service.TournamentService;
+
+/**
+ * Stress tests for joining a tournament during a registration rush. Every
+ * join is started at the same moment; the tournament must end up with
+ * exactly as many clubs as it has slots, and its joined count, joined
+ * clubs and participation rows must agree.
+ */
+@SpringBootTest
+class TournamentJoinStressTest {
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ClubServiceClient clubServiceClient;
+
+    private static final String JWT_TOKEN = "Bearer token";
+    private static final int THREADS = 64;
+
+    @BeforeEach
+    void setUp() {
+        when(clubServiceClient.verifyNoPenaltyStatusAsync(anyLong(), any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(clubServiceClient.getClubProfileByIdAsync(anyLong(), anyString(), any())).thenAnswer(invocation -> {
+            Long clubId = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(
+                    new ClubProfile(clubId, "Club " + clubId, "", 1500.0, 1L, List.of(), 200.0));
+        });
+    }
+
+    private Long saveTournament(int maxTeams) {
+        Location location = new Location();
+        location.setName("Rush Arena");
+        location.setTournaments(new ArrayList<>());
+
+        Tournament tournament = new Tournament();
+        tournament.setLocation(location);
+        tournament.setName("Registration Rush");
+        tournament.setStartDateTime(LocalDateTime.now().plusDays(7));
+        tournament.setEndDateTime(LocalDateTime.now().plusDays(8));
+        tournament.setMaxTeams(maxTeams);
+        tournament.setTournamentFormat(TournamentFormat.FIVE_SIDE);
+        tournament.setKnockoutFormat(KnockoutFormat.SINGLE_ELIM);
+        return tournamentRepository.save(tournament).getId();
+    }
+
+    /*
+     * Runs every join at once and tallies the outcomes by exception type
+     */
+    private Map<String, Integer> joinAtOnce(Long tournamentId, List<Long> clubIds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Map<String, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+        List<Future<?>> joins = new ArrayList<>();
+        for (Long clubId : clubIds) {
+            joins.add(executor.submit(() -> {
+                start.await();
+                String outcome;
+                try {
+                    tournamentService.joinTournamentAsClub(new TournamentJoinDTO(clubId, tournamentId), JWT_TOKEN);
+                    outcome = "joined";
+                } catch (RuntimeException e) {
+                    outcome = e.getClass().getSimpleName();
+                }
+                outcomes.computeIfAbsent(outcome, key -> new AtomicInteger()).incrementAndGet();
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> join : joins) {
+            join.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        Map<String, Integer> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.get()));
+        return counts;
+    }
+
+    private void assertConsistent(Long tournamentId, int expectedClubs) {
+        assertEquals(expectedClubs, tournamentRepository.findById(tournamentId).orElseThrow().getJoinedCount());
+        assertEquals(expectedClubs, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tournament_club_ids WHERE tournament_id = ?", Integer.class, tournamentId));
+        assertEquals(expectedClubs, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tournament_participation WHERE tournament_id = ?", Integer.class, tournamentId));
+    }
+
+    @Test
+    void joinTournamentAsClub_ThousandSimultaneousJoins_NeverOversubscribed() throws Exception {
+        int slots = 100;
+        int joins = 1000;
+        Long tournamentId = saveTournament(slots);
+        List<Long> clubIds = new ArrayList<>();
+        for (long clubId = 1; clubId <= joins; clubId++) {
+            clubIds.add(50_000 + clubId);
+        }
+
+        Map<String, Integer> outcomes = joinAtOnce(tournamentId, clubIds);
+
+        assertEquals(slots, outcomes.get("joined"));
+        assertEquals(joins - slots, outcomes.get(TournamentFullException.class.getSimpleName()));
+        assertConsistent(tournamentId, slots);
+    }
+
+    @Test
+    void joinTournamentAsClub_SameClubJoinsConcurrently_JoinedOnce() throws Exception {
+        Long tournamentId = saveTournament(16);
+        Long clubId = 60_000L;
+
+        Map<String, Integer> outcomes = joinAtOnce(tournamentId, Collections.nCopies(50, clubId));
+
+        assertEquals(1, outcomes.get("joined"));
+        assertEquals(49, outcomes.get(ClubAlreadyJoinedException.class.getSimpleName()));
+        assertConsistent(tournamentId, 1);
+    }
+}
@@ -0,0 +1,152 @@
+package com.crashcourse.kickoff.tms.tournament;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.club.ClubProfile;
+import com.crashcourse.kickoff.tms.location.model.Location;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentJoinDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentResponseDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentUpdateDTO;
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFilter;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+import com.crashcourse.kickoff.tms.tournament.service.TournamentBackfill;
+import com.crashcourse.kickoff.tms.tournament.service.TournamentService;
+
+/**
+ * Integration tests for the club-to-tournament participation table behind
+ * the "my tournaments" filters.
+ */
+@SpringBootTest
+class TournamentParticipationTest {
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TournamentBackfill tournamentBackfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ClubServiceClient clubServiceClient;
+
+    private static final String JWT_TOKEN = "Bearer token";
+
+    private static long nextClubId = 70_000;
+
+    @BeforeEach
+    void setUp() {
+        when(clubServiceClient.verifyNoPenaltyStatusAsync(anyLong(), any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(clubServiceClient.getClubProfileByIdAsync(anyLong(), anyString(), any())).thenAnswer(invocation -> {
+            Long clubId = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(
+                    new ClubProfile(clubId, "Club " + clubId, "", 1500.0, 1L, List.of(), 200.0));
+        });
+    }
+
+    private Long saveTournament(LocalDateTime start, LocalDateTime end) {
+        Location location = new Location();
+        location.setName("Participation Ground");
+        location.setTournaments(new ArrayList<>());
+
+        Tournament tournament = new Tournament();
+        tournament.setName("Participation Cup");
+        tournament.setStartDateTime(start);
+        tournament.setEndDateTime(end);
+        tournament.setLocation(location);
+        tournament.setMaxTeams(8);
+        tournament.setTournamentFormat(TournamentFormat.FIVE_SIDE);
+        tournament.setKnockoutFormat(KnockoutFormat.SINGLE_ELIM);
+        return tournamentRepository.save(tournament).getId();
+    }
+
+    private List<Long> tournamentIds(Long clubId, TournamentFilter filter) {
+        return tournamentService.getTournamentsForClub(clubId, filter).stream().map(TournamentResponseDTO::getId).toList();
+    }
+
+    @Test
+    void joinTournamentAsClub_EachFilter_FindsTournamentsByDate() {
+        LocalDateTime now = LocalDateTime.now();
+        Long past = saveTournament(now.minusDays(10), now.minusDays(9));
+        Long current = saveTournament(now.minusDays(1), now.plusDays(1));
+        Long upcoming = saveTournament(now.plusDays(9), now.plusDays(10));
+        Long clubId = nextClubId++;
+        for (Long tournamentId : List.of(past, current, upcoming)) {
+            tournamentService.joinTournamentAsClub(new TournamentJoinDTO(clubId, tournamentId), JWT_TOKEN);
+        }
+
+        assertEquals(List.of(past), tournamentIds(clubId, TournamentFilter.PAST));
+        assertEquals(List.of(current), tournamentIds(clubId, TournamentFilter.CURRENT));
+        assertEquals(List.of(upcoming), tournamentIds(clubId, TournamentFilter.UPCOMING));
+        assertTrue(tournamentIds(nextClubId++, TournamentFilter.UPCOMING).isEmpty());
+    }
+
+    @Test
+    void removeClubFromTournament_JoinedClub_NoLongerListed() {
+        LocalDateTime now = LocalDateTime.now();
+        Long tournamentId = saveTournament(now.plusDays(3), now.plusDays(4));
+        Long leaving = nextClubId++;
+        Long staying = nextClubId++;
+        tournamentService.joinTournamentAsClub(new TournamentJoinDTO(leaving, tournamentId), JWT_TOKEN);
+        tournamentService.joinTournamentAsClub(new TournamentJoinDTO(staying, tournamentId), JWT_TOKEN);
+
+        tournamentService.removeClubFromTournament(tournamentId, leaving);
+
+        assertTrue(tournamentIds(leaving, TournamentFilter.UPCOMING).isEmpty());
+        assertEquals(List.of(tournamentId), tournamentIds(staying, TournamentFilter.UPCOMING));
+    }
+
+    @Test
+    void updateTournament_Rescheduled_MovesBetweenFilters() {
+        LocalDateTime now = LocalDateTime.now();
+        Long tournamentId = saveTournament(now.plusDays(3), now.plusDays(4));
+        Long clubId = nextClubId++;
+        tournamentService.joinTournamentAsClub(new TournamentJoinDTO(clubId, tournamentId), JWT_TOKEN);
+
+        Long locationId = tournamentRepository.findById(tournamentId).orElseThrow().getLocation().getId();
+        TournamentUpdateDTO update = new TournamentUpdateDTO();
+        update.setName("Participation Cup");
+        update.setStartDateTime(now.minusHours(1));
+        update.setEndDateTime(now.plusHours(1));
+        update.setLocation(new Location(locationId, "Participation Ground", null));
+        tournamentService.updateTournament(tournamentId, update);
+
+        assertTrue(tournamentIds(clubId, TournamentFilter.UPCOMING).isEmpty());
+        assertEquals(List.of(tournamentId), tournamentIds(clubId, TournamentFilter.CURRENT));
+    }
+
+    @Test
+    void backfill_ClubJoinedBeforeParticipationTable_Listed() {
+        LocalDateTime now = LocalDateTime.now();
+        Long tournamentId = saveTournament(now.plusDays(5), now.plusDays(6));
+        Long clubId = nextClubId++;
+        jdbcTemplate.update("INSERT INTO tournament_club_ids (tournament_id, club_id) VALUES (?, ?)", tournamentId, clubId);
+        assertTrue(tournamentIds(clubId, TournamentFilter.UPCOMING).isEmpty());
+
+        tournamentBackfill.backfill();
+        tournamentBackfill.backfill();
+
+        assertEquals(List.of(tournamentId), tournamentIds(clubId, TournamentFilter.UPCOMING));
+    }
+}
@@ -0,0 +1,255 @@
+package com.crashcourse.kickoff.tms.tournament;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crashcourse.kickoff.tms.SqlStatementCounter;
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.location.model.Location;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentPageDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentSearchCriteria;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentSummaryDTO;
+import com.crashcourse.kickoff.tms.tournament.exception.InvalidCursorException;
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+import com.crashcourse.kickoff.tms.tournament.service.TournamentBackfill;
+import com.crashcourse.kickoff.tms.tournament.service.TournamentService;
+
+/**
+ * Integration tests for the keyset-paginated tournament listing. Each test
+ * works in its own date window, so tournaments saved by other tests do not
+ * show up in its pages.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(SqlStatementCounter.class)
+class TournamentSearchTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TournamentBackfill tournamentBackfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private ClubServiceClient clubServiceClient;
+
+    private static int nextWindow = 0;
+
+    /*
+     * A month-long window far in the future that no other test uses
+     */
+    private static LocalDateTime newWindow() {
+        return LocalDateTime.of(2300, 1, 1, 0, 0).plusMonths(nextWindow++);
+    }
+
+    private Tournament saveTournament(String name, LocalDateTime start, Location location, int maxTeams, int joined) {
+        Tournament tournament = new Tournament();
+        tournament.setName(name);
+        tournament.setStartDateTime(start);
+        tournament.setEndDateTime(start.plusDays(1));
+        tournament.setLocation(location);
+        tournament.setMaxTeams(maxTeams);
+        tournament.setTournamentFormat(TournamentFormat.FIVE_SIDE);
+        tournament.setKnockoutFormat(KnockoutFormat.SINGLE_ELIM);
+        for (long club = 1; club <= joined; club++) {
+            tournament.getJoinedClubIds().add(club);
+        }
+        tournament.setJoinedCount(joined);
+        return tournamentRepository.save(tournament);
+    }
+
+    private Location newLocation(String name) {
+        Location location = new Location();
+        location.setName(name);
+        location.setTournaments(new ArrayList<>());
+        return location;
+    }
+
+    private TournamentSearchCriteria window(LocalDateTime from) {
+        TournamentSearchCriteria criteria = new TournamentSearchCriteria();
+        criteria.setFrom(from);
+        criteria.setTo(from.plusMonths(1));
+        return criteria;
+    }
+
+    @Test
+    void searchTournaments_WalkAllPages_EveryTournamentOnceInStartOrder() {
+        LocalDateTime from = newWindow();
+        List<Long> expected = new ArrayList<>();
+        /*
+         * Pairs share a start time, so the ID has to break the tie
+         */
+        for (int i = 0; i < 25; i++) {
+            expected.add(saveTournament("Paged " + i, from.plusHours(i / 2), null, 8, 0).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TournamentPageDTO page = tournamentService.searchTournaments(window(from), cursor, 10);
+            page.getTournaments().forEach(tournament -> seen.add(tournament.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void searchTournaments_Filters_OnlyMatchingSummaries() {
+        LocalDateTime from = newWindow();
+        /*
+         * Saved together so that both tournaments share the managed location
+         */
+        Tournament open = transactionTemplate.execute(status -> {
+            Tournament saved = saveTournament("Open", from.plusDays(1), newLocation("Search Arena"), 8, 3);
+            saveTournament("Full", from.plusDays(2), saved.getLocation(), 4, 4);
+            return saved;
+        });
+        Tournament elsewhere = saveTournament("Elsewhere", from.plusDays(3), newLocation("Other Arena"), 8, 0);
+        Tournament banded = saveTournament("Banded", from.plusDays(4), null, 8, 0);
+        banded.setMinRank(1200);
+        banded.setMaxRank(1400);
+        banded.setKnockoutFormat(KnockoutFormat.SWISS);
+        tournamentRepository.save(banded);
+
+        TournamentSearchCriteria openSlots = window(from);
+        openSlots.setOpenSlots(true);
+        openSlots.setLocationId(open.getLocation().getId());
+        List<TournamentSummaryDTO> openAtLocation = tournamentService.searchTournaments(openSlots, null, 20).getTournaments();
+        assertEquals(1, openAtLocation.size());
+        TournamentSummaryDTO summary = openAtLocation.get(0);
+        assertEquals(open.getId(), summary.getId());
+        assertEquals(3, summary.getJoinedCount());
+        assertEquals("Search Arena", summary.getLocationName());
+
+        TournamentSearchCriteria eloTooLow = window(from);
+        eloTooLow.setElo(1199.5);
+        List<Long> admitting1199 = tournamentService.searchTournaments(eloTooLow, null, 20).getTournaments()
+                .stream().map(TournamentSummaryDTO::getId).toList();
+        assertTrue(admitting1199.contains(elsewhere.getId()), "Tournaments without a band admit any Elo");
+        assertFalse(admitting1199.contains(banded.getId()));
+
+        TournamentSearchCriteria swissInBand = window(from);
+        swissInBand.setElo(1400.0);
+        swissInBand.setKnockoutFormat(KnockoutFormat.SWISS);
+        List<TournamentSummaryDTO> swiss = tournamentService.searchTournaments(swissInBand, null, 20).getTournaments();
+        assertEquals(List.of(banded.getId()), swiss.stream().map(TournamentSummaryDTO::getId).toList());
+    }
+
+    @Test
+    void searchTournaments_DeepPage_SingleStatement() {
+        LocalDateTime from = newWindow();
+        for (int i = 0; i < 30; i++) {
+            saveTournament("Deep " + i, from.plusHours(i), null, 8, 0);
+        }
+        String cursor = tournamentService.searchTournaments(window(from), null, 25).getNextCursor();
+
+        SqlStatementCounter.reset();
+        TournamentPageDTO page = tournamentService.searchTournaments(window(from), cursor, 25);
+
+        assertEquals(1, SqlStatementCounter.count(), "A page should be read in one select, without a count");
+        assertEquals(5, page.getTournaments().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void searchTournaments_NoStartTime_ListedLastInIdOrder() {
+        /*
+         * Saved together so that every tournament shares the managed location
+         */
+        List<Tournament> saved = transactionTemplate.execute(status -> {
+            Tournament later = saveTournament("Dated later", newWindow(), newLocation("Undated Arena"), 8, 0);
+            Tournament earlier = saveTournament("Dated earlier", LocalDateTime.of(2299, 6, 1, 0, 0), later.getLocation(), 8, 0);
+            List<Tournament> tournaments = new ArrayList<>(List.of(earlier, later));
+            for (int i = 0; i < 3; i++) {
+                Tournament undated = new Tournament();
+                undated.setName("Undated " + i);
+                undated.setLocation(later.getLocation());
+                undated.setMaxTeams(8);
+                undated.setJoinedCount(0);
+                tournaments.add(tournamentRepository.save(undated));
+            }
+            return tournaments;
+        });
+
+        TournamentSearchCriteria atLocation = new TournamentSearchCriteria();
+        atLocation.setLocationId(saved.get(0).getLocation().getId());
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TournamentPageDTO page = tournamentService.searchTournaments(atLocation, cursor, 2);
+            page.getTournaments().forEach(tournament -> seen.add(tournament.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(saved.stream().map(Tournament::getId).toList(), seen);
+    }
+
+    @Test
+    void searchTournaments_MalformedCursor_ThrowsInvalidCursorException() {
+        assertThrows(InvalidCursorException.class,
+                () -> tournamentService.searchTournaments(new TournamentSearchCriteria(), "not-a-cursor", 10));
+    }
+
+    @Test
+    void searchEndpoint_QueryParameters_BoundToCriteria() throws Exception {
+        LocalDateTime from = newWindow();
+        Tournament tournament = saveTournament("Over HTTP", from.plusDays(1), null, 8, 0);
+
+        URI uri = new URI("http://localhost:" + port + "/api/v1/tournaments/search?from=" + from
+                + "&to=" + from.plusMonths(1) + "&knockoutFormat=SINGLE_ELIM&openSlots=true&size=5");
+        ResponseEntity<TournamentPageDTO> response = restTemplate.getForEntity(uri, TournamentPageDTO.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(tournament.getId()),
+                response.getBody().getTournaments().stream().map(TournamentSummaryDTO::getId).toList());
+
+        URI badCursor = new URI("http://localhost:" + port + "/api/v1/tournaments/search?cursor=%25%25");
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity(badCursor, String.class).getStatusCode());
+    }
+
+    @Test
+    void backfill_TournamentWithoutJoinedCount_CountedFromJoinedClubs() {
+        Tournament tournament = saveTournament("Legacy", newWindow(), null, 8, 5);
+        jdbcTemplate.update("UPDATE tournament SET joined_count = NULL WHERE id = ?", tournament.getId());
+
+        tournamentBackfill.backfill();
+
+        assertEquals(5, tournamentRepository.findById(tournament.getId()).orElseThrow().getJoinedCount());
+    }
+}
@@ -12,17 +12,23 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import com.crashcourse.kickoff.tms.tournament.dto.*;
 import com.crashcourse.kickoff.tms.tournament.model.*;
 import com.crashcourse.kickoff.tms.tournament.repository.*;
+import com.crashcourse.kickoff.tms.tournament.service.SquadReadinessTracker;
+import com.crashcourse.kickoff.tms.tournament.service.TournamentEligibilityIndex;
 import com.crashcourse.kickoff.tms.tournament.service.TournamentServiceImpl;
+import com.crashcourse.kickoff.tms.bracket.dto.BracketView;
 import com.crashcourse.kickoff.tms.bracket.dto.MatchUpdateDTO;
 import com.crashcourse.kickoff.tms.bracket.model.Bracket;
 import com.crashcourse.kickoff.tms.bracket.model.Match;
 import com.crashcourse.kickoff.tms.bracket.repository.MatchRepository;
 import com.crashcourse.kickoff.tms.bracket.service.BracketService;
+import com.crashcourse.kickoff.tms.bracket.service.LeagueService;
 import com.crashcourse.kickoff.tms.bracket.service.MatchService;
+import com.crashcourse.kickoff.tms.bracket.service.SwissService;
 import com.crashcourse.kickoff.tms.client.ClubServiceClient;
 import com.crashcourse.kickoff.tms.club.ClubProfile;
 import com.crashcourse.kickoff.tms.location.model.Location;
@@ -39,12 +45,18 @@ class TournamentServiceTest {
     @Mock
     private TournamentRepository tournamentRepository;
 
+    @Mock
+    private TournamentParticipationRepository tournamentParticipationRepository;
+
     @Mock
     private LocationRepository locationRepository;
 
     @Mock
     private PlayerAvailabilityRepository playerAvailabilityRepository;
 
+    @Mock
+    private PlayerAvailabilityBatchRepository playerAvailabilityBatchRepository;
+
     @Mock
     private ClubServiceClient clubServiceClient;
 
@@ -60,9 +72,21 @@ class TournamentServiceTest {
     @Mock
     private MatchService matchService;
 
+    @Mock
+    private LeagueService leagueService;
+
+    @Mock
+    private SwissService swissService;
+
     @Mock
     private MatchRepository matchRepository;
 
+    @Mock
+    private TournamentEligibilityIndex tournamentEligibilityIndex;
+
+    @Mock
+    private SquadReadinessTracker squadReadinessTracker;
+
     @InjectMocks
     private TournamentServiceImpl tournamentService;
 
@@ -269,7 +293,7 @@ class TournamentServiceTest {
         tournament.setBracket(null);
 
         // Mock repository behavior
-        when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
+        when(tournamentRepository.findDetailById(tournamentId)).thenReturn(Optional.of(tournament));
 
         // Act
         TournamentResponseDTO result = null;
@@ -302,7 +326,7 @@ class TournamentServiceTest {
         assertEquals(tournament.getBracket(), result.getBracket());
 
         // Verify interactions
-        verify(tournamentRepository, times(1)).findById(tournamentId);
+        verify(tournamentRepository, times(1)).findDetailById(tournamentId);
     }
 
     @Test
@@ -310,7 +334,7 @@ class TournamentServiceTest {
         // Arrange
         Long tournamentId = 2L;
 
-        when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.empty());
+        when(tournamentRepository.findDetailById(tournamentId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(TournamentNotFoundException.class, () -> {
@@ -318,7 +342,7 @@ class TournamentServiceTest {
         });
 
         // Verify interactions
-        verify(tournamentRepository, times(1)).findById(tournamentId);
+        verify(tournamentRepository, times(1)).findDetailById(tournamentId);
     }
 
     // ================= getAllTournaments =================
@@ -621,6 +645,9 @@ class TournamentServiceTest {
         when(bracketService.createBracket(tournamentId, tournament.getJoinedClubIds(), jwtToken)).thenReturn(bracket);
         when(tournamentRepository.save(any(Tournament.class))).thenReturn(tournament);
 
+        BracketView bracketView = new BracketView(301L, "Bracket", null, List.of());
+        when(bracketService.getBracketView(any(Tournament.class))).thenReturn(bracketView);
+
         // Act
         TournamentResponseDTO result = null;
         try {
@@ -638,7 +665,7 @@ class TournamentServiceTest {
         assertNotNull(result.getLocation());
         assertEquals(locationId, result.getLocation().getId());
         assertEquals(locationName, result.getLocation().getName());
-        assertEquals(tournament.getBracket(), result.getBracket());
+        assertEquals(bracketView, result.getBracket());
 
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
@@ -780,6 +807,7 @@ class TournamentServiceTest {
         String jwtToken = "valid.jwt.token";
 
         MatchUpdateDTO dto = new MatchUpdateDTO();
+        dto.setOver(true);
         dto.setClub1Id(1101L);
         dto.setClub2Id(1102L);
         dto.setWinningClubId(1101L);
@@ -812,8 +840,8 @@ class TournamentServiceTest {
 
         when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
         when(matchRepository.findById(matchId)).thenReturn(Optional.of(match));
-        when(clubServiceClient.getClubProfileById(1101L, jwtToken)).thenReturn(clubProfile1);
-        when(clubServiceClient.getClubProfileById(1102L, jwtToken)).thenReturn(clubProfile2);
+        when(clubServiceClient.getClubProfileByIdAsync(eq(1101L), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(clubProfile1));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(1102L), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(clubProfile2));
         when(bracketService.updateMatch(any(Tournament.class), any(Match.class), any(MatchUpdateDTO.class)))
                 .thenReturn(match);
 
@@ -836,12 +864,76 @@ class TournamentServiceTest {
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
         verify(matchRepository, times(1)).findById(matchId);
-        verify(clubServiceClient, times(1)).getClubProfileById(1101L, jwtToken);
-        verify(clubServiceClient, times(1)).getClubProfileById(1102L, jwtToken);
-        verify(matchService, times(1)).updateElo(dto, jwtToken);
+        verify(clubServiceClient, times(1)).getClubProfileByIdAsync(eq(1101L), eq(jwtToken), any());
+        verify(clubServiceClient, times(1)).getClubProfileByIdAsync(eq(1102L), eq(jwtToken), any());
+        verify(matchService, times(1)).queueEloUpdate(matchId, dto);
         verify(bracketService, times(1)).updateMatch(tournament, match, dto);
     }
 
+    @Test
+    void updateMatchInTournament_MatchNotOver_NoEloUpdateQueued() {
+        // Arrange
+        Long tournamentId = 17L;
+        Long matchId = 1008L;
+        String jwtToken = "valid.jwt.token";
+
+        MatchUpdateDTO dto = new MatchUpdateDTO(false, 1801L, 1802L, 1, 0, 1801L);
+
+        Tournament tournament = new Tournament();
+        tournament.setId(tournamentId);
+
+        Match match = new Match();
+        match.setId(matchId);
+        match.setClub1Id(1801L);
+        match.setClub2Id(1802L);
+
+        when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
+        when(matchRepository.findById(matchId)).thenReturn(Optional.of(match));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(1801L), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(new ClubProfile()));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(1802L), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(new ClubProfile()));
+        when(bracketService.updateMatch(tournament, match, dto)).thenReturn(match);
+
+        // Act
+        Match result = tournamentService.updateMatchInTournament(tournamentId, matchId, dto, jwtToken);
+
+        // Assert
+        assertFalse(result.isOver());
+        assertNull(result.getCompletedAt());
+        verify(matchService, never()).queueEloUpdate(anyLong(), any(MatchUpdateDTO.class));
+    }
+
+    @Test
+    void updateMatchInTournament_FinishedMatchCorrected_NoSecondEloUpdate() {
+        // Arrange
+        Long tournamentId = 18L;
+        Long matchId = 1009L;
+        String jwtToken = "valid.jwt.token";
+
+        MatchUpdateDTO dto = new MatchUpdateDTO(true, 1901L, 1902L, 2, 0, 1901L);
+
+        Tournament tournament = new Tournament();
+        tournament.setId(tournamentId);
+
+        Match match = new Match();
+        match.setId(matchId);
+        match.setClub1Id(1901L);
+        match.setClub2Id(1902L);
+        match.setOver(true);
+        match.setCompletedAt(LocalDateTime.now().minusHours(1));
+
+        when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
+        when(matchRepository.findById(matchId)).thenReturn(Optional.of(match));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(1901L), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(new ClubProfile()));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(1902L), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(new ClubProfile()));
+        when(bracketService.updateMatch(tournament, match, dto)).thenReturn(match);
+
+        // Act
+        tournamentService.updateMatchInTournament(tournamentId, matchId, dto, jwtToken);
+
+        // Assert
+        verify(matchService, never()).queueEloUpdate(anyLong(), any(MatchUpdateDTO.class));
+    }
+
     @Test
     void updateMatchInTournament_TournamentNotFound_ThrowsTournamentNotFoundException() {
         // Arrange
@@ -866,8 +958,8 @@ class TournamentServiceTest {
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
         verify(matchRepository, never()).findById(anyLong());
-        verify(clubServiceClient, never()).getClubProfileById(anyLong(), anyString());
-        verify(matchService, never()).updateElo(any(MatchUpdateDTO.class), anyString());
+        verify(clubServiceClient, never()).getClubProfileByIdAsync(anyLong(), anyString(), any());
+        verify(matchService, never()).queueEloUpdate(anyLong(), any(MatchUpdateDTO.class));
         verify(bracketService, never()).updateMatch(any(Tournament.class), any(Match.class), any(MatchUpdateDTO.class));
         verify(matchRepository, never()).save(any(Match.class));
     }
@@ -902,8 +994,8 @@ class TournamentServiceTest {
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
         verify(matchRepository, times(1)).findById(matchId);
-        verify(clubServiceClient, never()).getClubProfileById(anyLong(), anyString());
-        verify(matchService, never()).updateElo(any(MatchUpdateDTO.class), anyString());
+        verify(clubServiceClient, never()).getClubProfileByIdAsync(anyLong(), anyString(), any());
+        verify(matchService, never()).queueEloUpdate(anyLong(), any(MatchUpdateDTO.class));
         verify(bracketService, never()).updateMatch(any(Tournament.class), any(Match.class), any(MatchUpdateDTO.class));
         verify(matchRepository, never()).save(any(Match.class));
     }
@@ -944,7 +1036,8 @@ class TournamentServiceTest {
 
         when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
         when(matchRepository.findById(matchId)).thenReturn(Optional.of(match));
-        when(clubServiceClient.getClubProfileById(1401L, jwtToken)).thenReturn(clubProfile1);
+        when(clubServiceClient.getClubProfileByIdAsync(eq(1401L), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(clubProfile1));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(1402L), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(clubProfile2));
 
         // Act & Assert
         assertThrows(ClubProfileNotFoundAtClientException.class, () -> {
@@ -954,8 +1047,8 @@ class TournamentServiceTest {
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
         verify(matchRepository, times(1)).findById(matchId);
-        verify(clubServiceClient, times(1)).getClubProfileById(1401L, jwtToken);
-        verify(matchService, never()).updateElo(any(MatchUpdateDTO.class), anyString());
+        verify(clubServiceClient, times(1)).getClubProfileByIdAsync(eq(1401L), eq(jwtToken), any());
+        verify(matchService, never()).queueEloUpdate(anyLong(), any(MatchUpdateDTO.class));
         verify(bracketService, never()).updateMatch(any(Tournament.class), any(Match.class), any(MatchUpdateDTO.class));
         verify(matchRepository, never()).save(any(Match.class));
     }
@@ -997,8 +1090,8 @@ class TournamentServiceTest {
 
         when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
         when(matchRepository.findById(matchId)).thenReturn(Optional.of(match));
-        when(clubServiceClient.getClubProfileById(1501L, jwtToken)).thenReturn(clubProfile1);
-        when(clubServiceClient.getClubProfileById(1502L, jwtToken)).thenReturn(clubProfile2);
+        when(clubServiceClient.getClubProfileByIdAsync(eq(1501L), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(clubProfile1));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(1502L), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(clubProfile2));
 
         // Act & Assert
         assertThrows(ClubProfileNotFoundAtClientException.class, () -> {
@@ -1008,13 +1101,52 @@ class TournamentServiceTest {
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
         verify(matchRepository, times(1)).findById(matchId);
-        verify(clubServiceClient, times(1)).getClubProfileById(1501L, jwtToken);
-        verify(clubServiceClient, times(1)).getClubProfileById(1502L, jwtToken);
-        verify(matchService, never()).updateElo(any(MatchUpdateDTO.class), anyString());
+        verify(clubServiceClient, times(1)).getClubProfileByIdAsync(eq(1501L), eq(jwtToken), any());
+        verify(clubServiceClient, times(1)).getClubProfileByIdAsync(eq(1502L), eq(jwtToken), any());
+        verify(matchService, never()).queueEloUpdate(anyLong(), any(MatchUpdateDTO.class));
         verify(bracketService, never()).updateMatch(any(Tournament.class), any(Match.class), any(MatchUpdateDTO.class));
         verify(matchRepository, never()).save(any(Match.class));
     }
 
+    @Test
+    void updateMatchInTournament_LeagueDraw_RecordsResultInStandings() {
+        // Arrange
+        Long tournamentId = 16L;
+        Long matchId = 1007L;
+        String jwtToken = "valid.jwt.token";
+
+        MatchUpdateDTO dto = new MatchUpdateDTO(true, 1701L, 1702L, 1, 1, null);
+
+        Tournament tournament = new Tournament();
+        tournament.setId(tournamentId);
+        tournament.setKnockoutFormat(KnockoutFormat.ROUND_ROBIN);
+
+        Match match = new Match();
+        match.setId(matchId);
+        match.setClub1Id(1701L);
+        match.setClub2Id(1702L);
+
+        when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
+        when(matchRepository.findById(matchId)).thenReturn(Optional.of(match));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(1701L), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(new ClubProfile()));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(1702L), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(new ClubProfile()));
+        when(leagueService.recordResult(tournament, match, null)).thenReturn(match);
+
+        // Act
+        Match result = tournamentService.updateMatchInTournament(tournamentId, matchId, dto, jwtToken);
+
+        // Assert
+        assertTrue(result.isOver());
+        assertNull(result.getWinningClubId());
+        assertEquals(1, result.getClub1Score());
+        assertEquals(1, result.getClub2Score());
+
+        // Verify interactions
+        verify(matchService, times(1)).queueEloUpdate(matchId, dto);
+        verify(leagueService, times(1)).recordResult(tournament, match, null);
+        verify(bracketService, never()).updateMatch(any(Tournament.class), any(Match.class), any(MatchUpdateDTO.class));
+    }
+
     @Test
     void updateMatchInTournament_InvalidWinningClubId_ThrowsInvalidWinningClubException() {
         // Arrange
@@ -1055,8 +1187,8 @@ class TournamentServiceTest {
 
         when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
         when(matchRepository.findById(matchId)).thenReturn(Optional.of(match));
-        when(clubServiceClient.getClubProfileById(1601L, jwtToken)).thenReturn(clubProfile1);
-        when(clubServiceClient.getClubProfileById(1602L, jwtToken)).thenReturn(clubProfile2);
+        when(clubServiceClient.getClubProfileByIdAsync(eq(1601L), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(clubProfile1));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(1602L), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(clubProfile2));
 
         // Act & Assert
         assertThrows(InvalidWinningClubException.class, () -> {
@@ -1066,9 +1198,9 @@ class TournamentServiceTest {
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
         verify(matchRepository, times(1)).findById(matchId);
-        verify(clubServiceClient, times(1)).getClubProfileById(1601L, jwtToken);
-        verify(clubServiceClient, times(1)).getClubProfileById(1602L, jwtToken);
-        verify(matchService, never()).updateElo(any(MatchUpdateDTO.class), anyString());
+        verify(clubServiceClient, times(1)).getClubProfileByIdAsync(eq(1601L), eq(jwtToken), any());
+        verify(clubServiceClient, times(1)).getClubProfileByIdAsync(eq(1602L), eq(jwtToken), any());
+        verify(matchService, never()).queueEloUpdate(anyLong(), any(MatchUpdateDTO.class));
         verify(bracketService, never()).updateMatch(any(Tournament.class), any(Match.class), any(MatchUpdateDTO.class));
         verify(matchRepository, never()).save(any(Match.class));
     }
@@ -1159,11 +1291,15 @@ class TournamentServiceTest {
         clubProfile.setElo(50.0);
 
         when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
-        when(clubServiceClient.verifyNoPenaltyStatus(clubId)).thenReturn(true);
-        when(clubServiceClient.getClubProfileById(clubId, jwtToken)).thenReturn(clubProfile);
+        when(clubServiceClient.verifyNoPenaltyStatusAsync(eq(clubId), any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(clubId), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(clubProfile));
         when(jwtTokenProvider.getToken(jwtToken)).thenReturn("extracted.token");
         when(jwtUtil.extractUserId(anyString())).thenReturn(1001L);
-        when(tournamentRepository.save(any(Tournament.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(tournamentRepository.reserveSlot(tournamentId)).thenReturn(1);
+        when(tournamentRepository.findDetailById(tournamentId)).thenAnswer(invocation -> {
+            tournament.getJoinedClubIds().add(clubId);
+            return Optional.of(tournament);
+        });
 
 
         // Act
@@ -1183,11 +1319,14 @@ class TournamentServiceTest {
 
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
-        verify(clubServiceClient, times(1)).verifyNoPenaltyStatus(clubId);
-        verify(clubServiceClient, times(1)).getClubProfileById(clubId, jwtToken);
+        verify(clubServiceClient, times(1)).verifyNoPenaltyStatusAsync(eq(clubId), any());
+        verify(clubServiceClient, times(1)).getClubProfileByIdAsync(eq(clubId), eq(jwtToken), any());
         verify(jwtTokenProvider, times(1)).getToken(jwtToken);
         verify(jwtUtil, times(1)).extractUserId("extracted.token");
-        verify(tournamentRepository, times(1)).save(tournament);
+        verify(tournamentRepository, times(1)).reserveSlot(tournamentId);
+        verify(tournamentParticipationRepository, times(1)).insertParticipation(tournamentId, clubId);
+        verify(tournamentRepository, times(1)).addJoinedClub(tournamentId, clubId);
+        verify(tournamentRepository, never()).save(any(Tournament.class));
     }
 
     @Test
@@ -1210,8 +1349,8 @@ class TournamentServiceTest {
 
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
-        verify(clubServiceClient, never()).verifyNoPenaltyStatus(anyLong());
-        verify(clubServiceClient, never()).getClubProfileById(anyLong(), anyString());
+        verify(clubServiceClient, never()).verifyNoPenaltyStatusAsync(anyLong(), any());
+        verify(clubServiceClient, never()).getClubProfileByIdAsync(anyLong(), anyString(), any());
         verify(jwtTokenProvider, never()).getToken(anyString());
         verify(jwtUtil, never()).extractUserId(anyString());
         verify(tournamentRepository, never()).save(any(Tournament.class));
@@ -1238,11 +1377,12 @@ class TournamentServiceTest {
         tournament.setVerificationStatus(Tournament.VerificationStatus.APPROVED);
         tournament.setLocation(new Location(20L, "Stadium B", new ArrayList<>()));
 
-        when(clubServiceClient.verifyNoPenaltyStatus(clubId)).thenReturn(true);
-        when(clubServiceClient.getClubProfileById(clubId, jwtToken)).thenReturn(new ClubProfile());
+        when(clubServiceClient.verifyNoPenaltyStatusAsync(eq(clubId), any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(clubId), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(new ClubProfile()));
         when(jwtTokenProvider.getToken(jwtToken)).thenReturn("valid.jwt.token");
         when(jwtUtil.extractUserId(anyString())).thenReturn(300L);
         when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
+        when(tournamentParticipationRepository.existsByTournamentIdAndClubId(tournamentId, clubId)).thenReturn(true);
 
         // Act & Assert
         assertThrows(ClubAlreadyJoinedException.class, () -> {
@@ -1251,11 +1391,12 @@ class TournamentServiceTest {
 
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
-        verify(clubServiceClient).verifyNoPenaltyStatus(anyLong());
-        verify(clubServiceClient).getClubProfileById(anyLong(), anyString());
+        verify(clubServiceClient).verifyNoPenaltyStatusAsync(anyLong(), any());
+        verify(clubServiceClient).getClubProfileByIdAsync(anyLong(), anyString(), any());
         verify(jwtTokenProvider).getToken(anyString());
         verify(jwtUtil).extractUserId(anyString());
         verify(tournamentRepository, never()).save(any(Tournament.class));
+        verify(tournamentRepository, never()).reserveSlot(anyLong());
     }
 
     @Test
@@ -1274,13 +1415,14 @@ class TournamentServiceTest {
         tournament.setName("Local Cup");
         tournament.setMaxTeams(4);
         tournament.setJoinedClubIds(new ArrayList<>(Arrays.asList(401L, 402L, 403L, 404L))); // Already full
+        tournament.setJoinedCount(4);
         tournament.setMinRank(5);
         tournament.setMaxRank(90);
         tournament.setVerificationStatus(Tournament.VerificationStatus.APPROVED);
         tournament.setLocation(new Location(30L, "Stadium C", new ArrayList<>()));
 
-        when(clubServiceClient.verifyNoPenaltyStatus(clubId)).thenReturn(true);
-        when(clubServiceClient.getClubProfileById(clubId, jwtToken)).thenReturn(new ClubProfile());
+        when(clubServiceClient.verifyNoPenaltyStatusAsync(eq(clubId), any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(clubId), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(new ClubProfile()));
         when(jwtTokenProvider.getToken(jwtToken)).thenReturn("valid.jwt.token");
         when(jwtUtil.extractUserId(anyString())).thenReturn(300L);
         when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
@@ -1292,11 +1434,39 @@ class TournamentServiceTest {
 
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
-        verify(clubServiceClient).verifyNoPenaltyStatus(anyLong());
-        verify(clubServiceClient).getClubProfileById(anyLong(), anyString());
+        verify(clubServiceClient).verifyNoPenaltyStatusAsync(anyLong(), any());
+        verify(clubServiceClient).getClubProfileByIdAsync(anyLong(), anyString(), any());
         verify(jwtTokenProvider).getToken(anyString());
         verify(jwtUtil).extractUserId(anyString());
         verify(tournamentRepository, never()).save(any(Tournament.class));
+        verify(tournamentRepository, never()).reserveSlot(anyLong());
+    }
+
+    @Test
+    void joinTournamentAsClub_LastSlotTakenConcurrently_ThrowsTournamentFullException() {
+        // Arrange
+        Long tournamentId = 5L;
+        Long clubId = 500L;
+        String jwtToken = "valid.jwt.token";
+
+        Tournament tournament = new Tournament();
+        tournament.setId(tournamentId);
+        tournament.setMaxTeams(4);
+        tournament.setJoinedCount(3); // Looked open when read
+
+        when(clubServiceClient.verifyNoPenaltyStatusAsync(eq(clubId), any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(clubId), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(new ClubProfile()));
+        when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
+        when(tournamentRepository.reserveSlot(tournamentId)).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(TournamentFullException.class, () -> {
+            tournamentService.joinTournamentAsClub(new TournamentJoinDTO(clubId, tournamentId), jwtToken);
+        });
+
+        // Verify interactions
+        verify(tournamentParticipationRepository, never()).insertParticipation(anyLong(), anyLong());
+        verify(tournamentRepository, never()).addJoinedClub(anyLong(), anyLong());
     }
 
     @Test
@@ -1321,7 +1491,7 @@ class TournamentServiceTest {
         tournament.setLocation(new Location(40L, "Stadium D", new ArrayList<>()));
 
         when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
-        when(clubServiceClient.verifyNoPenaltyStatus(clubId)).thenReturn(false);
+        when(clubServiceClient.verifyNoPenaltyStatusAsync(eq(clubId), any())).thenReturn(CompletableFuture.completedFuture(false));
 
         // Act & Assert
         assertThrows(BlacklistedFromTournamentException.class, () -> {
@@ -1330,8 +1500,9 @@ class TournamentServiceTest {
 
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
-        verify(clubServiceClient, times(1)).verifyNoPenaltyStatus(clubId);
-        verify(clubServiceClient, never()).getClubProfileById(anyLong(), anyString());
+        verify(clubServiceClient, times(1)).verifyNoPenaltyStatusAsync(eq(clubId), any());
+        // The profile lookup is sent alongside the penalty check, but its result is never used
+        verify(clubServiceClient, times(1)).getClubProfileByIdAsync(eq(clubId), eq(jwtToken), any());
         verify(jwtTokenProvider, never()).getToken(anyString());
         verify(jwtUtil, never()).extractUserId(anyString());
         verify(tournamentRepository, never()).save(any(Tournament.class));
@@ -1359,8 +1530,8 @@ class TournamentServiceTest {
         tournament.setLocation(new Location(50L, "Stadium E", new ArrayList<>()));
 
         when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
-        when(clubServiceClient.verifyNoPenaltyStatus(clubId)).thenReturn(true);
-        when(clubServiceClient.getClubProfileById(clubId, jwtToken)).thenReturn(null); // Club profile not found
+        when(clubServiceClient.verifyNoPenaltyStatusAsync(eq(clubId), any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(clubId), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(null)); // Club profile not found
 
         // Act & Assert
         assertThrows(ClubProfileNotFoundAtClientException.class, () -> {
@@ -1369,8 +1540,8 @@ class TournamentServiceTest {
 
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
-        verify(clubServiceClient, times(1)).verifyNoPenaltyStatus(clubId);
-        verify(clubServiceClient, times(1)).getClubProfileById(clubId, jwtToken);
+        verify(clubServiceClient, times(1)).verifyNoPenaltyStatusAsync(eq(clubId), any());
+        verify(clubServiceClient, times(1)).getClubProfileByIdAsync(eq(clubId), eq(jwtToken), any());
         verify(jwtTokenProvider, never()).getToken(anyString());
         verify(jwtUtil, never()).extractUserId(anyString());
         verify(tournamentRepository, never()).save(any(Tournament.class));
@@ -1403,8 +1574,8 @@ class TournamentServiceTest {
         clubProfile.setElo(40.0); // Below minRank
 
         when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
-        when(clubServiceClient.verifyNoPenaltyStatus(clubId)).thenReturn(true);
-        when(clubServiceClient.getClubProfileById(clubId, jwtToken)).thenReturn(clubProfile);
+        when(clubServiceClient.verifyNoPenaltyStatusAsync(eq(clubId), any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(clubId), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(clubProfile));
         when(jwtTokenProvider.getToken(jwtToken)).thenReturn("extracted.token");
         when(jwtUtil.extractUserId(anyString())).thenReturn(2001L);
 
@@ -1415,8 +1586,8 @@ class TournamentServiceTest {
 
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
-        verify(clubServiceClient, times(1)).verifyNoPenaltyStatus(clubId);
-        verify(clubServiceClient, times(1)).getClubProfileById(clubId, jwtToken);
+        verify(clubServiceClient, times(1)).verifyNoPenaltyStatusAsync(eq(clubId), any());
+        verify(clubServiceClient, times(1)).getClubProfileByIdAsync(eq(clubId), eq(jwtToken), any());
         verify(jwtTokenProvider, times(1)).getToken(jwtToken);
         verify(jwtUtil, times(1)).extractUserId("extracted.token");
         verify(tournamentRepository, never()).save(any(Tournament.class));
@@ -1449,8 +1620,8 @@ class TournamentServiceTest {
         clubProfile.setElo(120.0); // Above maxRank
 
         when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
-        when(clubServiceClient.verifyNoPenaltyStatus(clubId)).thenReturn(true);
-        when(clubServiceClient.getClubProfileById(clubId, jwtToken)).thenReturn(clubProfile);
+        when(clubServiceClient.verifyNoPenaltyStatusAsync(eq(clubId), any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(clubServiceClient.getClubProfileByIdAsync(eq(clubId), eq(jwtToken), any())).thenReturn(CompletableFuture.completedFuture(clubProfile));
         when(jwtTokenProvider.getToken(jwtToken)).thenReturn("extracted.token");
         when(jwtUtil.extractUserId(anyString())).thenReturn(2001L);
 
@@ -1461,8 +1632,8 @@ class TournamentServiceTest {
 
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
-        verify(clubServiceClient, times(1)).verifyNoPenaltyStatus(clubId);
-        verify(clubServiceClient, times(1)).getClubProfileById(clubId, jwtToken);
+        verify(clubServiceClient, times(1)).verifyNoPenaltyStatusAsync(eq(clubId), any());
+        verify(clubServiceClient, times(1)).getClubProfileByIdAsync(eq(clubId), eq(jwtToken), any());
         verify(jwtTokenProvider, times(1)).getToken(jwtToken);
         verify(jwtUtil, times(1)).extractUserId("extracted.token");
         verify(tournamentRepository, never()).save(any(Tournament.class));
@@ -1484,7 +1655,7 @@ class TournamentServiceTest {
         tournament.setLocation(new Location());
 
         when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
-        when(tournamentRepository.save(any(Tournament.class))).thenReturn(tournament);
+        when(tournamentParticipationRepository.deleteParticipation(tournamentId, clubId)).thenReturn(1);
 
         // Act
         try {
@@ -1493,13 +1664,12 @@ class TournamentServiceTest {
             fail("Exception should not be thrown");
         }
 
-        // Assert
-        assertFalse(tournament.getJoinedClubIds().contains(clubId));
-        assertEquals(Arrays.asList(102L, 103L), tournament.getJoinedClubIds());
-
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
-        verify(tournamentRepository, times(1)).save(tournament);
+        verify(tournamentParticipationRepository, times(1)).deleteParticipation(tournamentId, clubId);
+        verify(tournamentRepository, times(1)).releaseSlot(tournamentId);
+        verify(tournamentRepository, times(1)).removeJoinedClub(tournamentId, clubId);
+        verify(tournamentRepository, never()).save(any(Tournament.class));
     }
 
     @Test
@@ -1544,6 +1714,7 @@ class TournamentServiceTest {
         // Verify interactions
         verify(tournamentRepository, times(1)).findById(tournamentId);
         verify(tournamentRepository, never()).save(any(Tournament.class));
+        verify(tournamentRepository, never()).releaseSlot(anyLong());
     }
 
     // ================= getAllClubsInTournament =================
@@ -1872,6 +2043,65 @@ class TournamentServiceTest {
         verify(playerAvailabilityRepository, times(1)).save(existingAvailability);
     }
 
+    // ================= updatePlayerAvailabilities =================
+    @Test
+    void updatePlayerAvailabilities_ValidSheet_WrittenInOneBatch() {
+        // Arrange
+        Long tournamentId = 6L;
+        List<PlayerAvailabilityDTO> sheet = List.of(
+                new PlayerAvailabilityDTO(null, 101L, 201L, true),
+                new PlayerAvailabilityDTO(tournamentId, 102L, 201L, false));
+
+        when(tournamentRepository.existsById(tournamentId)).thenReturn(true);
+
+        // Act
+        List<PlayerAvailabilityDTO> result = tournamentService.updatePlayerAvailabilities(tournamentId, sheet);
+
+        // Assert
+        assertEquals(List.of(
+                new PlayerAvailabilityDTO(tournamentId, 101L, 201L, true),
+                new PlayerAvailabilityDTO(tournamentId, 102L, 201L, false)), result);
+        verify(tournamentRepository, times(1)).existsById(tournamentId);
+        verify(playerAvailabilityBatchRepository, times(1)).upsertAll(tournamentId, sheet);
+        verifyNoInteractions(playerAvailabilityRepository);
+    }
+
+    @Test
+    void updatePlayerAvailabilities_InvalidLines_NothingWrittenAndEachReported() {
+        // Arrange
+        Long tournamentId = 6L;
+        List<PlayerAvailabilityDTO> sheet = List.of(
+                new PlayerAvailabilityDTO(tournamentId, 101L, 201L, true),
+                new PlayerAvailabilityDTO(tournamentId, 102L, null, true),
+                new PlayerAvailabilityDTO(tournamentId, 101L, 201L, false),
+                new PlayerAvailabilityDTO(7L, 103L, 201L, true),
+                new PlayerAvailabilityDTO(tournamentId, null, 201L, true));
+
+        // Act
+        InvalidPlayerAvailabilitySheetException exception = assertThrows(InvalidPlayerAvailabilitySheetException.class,
+                () -> tournamentService.updatePlayerAvailabilities(tournamentId, sheet));
+
+        // Assert
+        assertEquals(Arrays.asList(102L, 101L, 103L, null), exception.getErrors().stream()
+                .map(PlayerAvailabilityErrorDTO::getPlayerId)
+                .toList());
+        verifyNoInteractions(tournamentRepository, playerAvailabilityBatchRepository);
+    }
+
+    @Test
+    void updatePlayerAvailabilities_TournamentNotFound_ThrowsTournamentNotFoundException() {
+        // Arrange
+        Long tournamentId = 6L;
+        List<PlayerAvailabilityDTO> sheet = List.of(new PlayerAvailabilityDTO(null, 101L, 201L, true));
+
+        when(tournamentRepository.existsById(tournamentId)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(TournamentNotFoundException.class,
+                () -> tournamentService.updatePlayerAvailabilities(tournamentId, sheet));
+        verifyNoInteractions(playerAvailabilityBatchRepository);
+    }
+
     @Test
     void getPlayerAvailabilityForTournament_ExistingTournamentWithAvailabilities_ReturnsPlayerAvailabilityDTOs() {
         // Arrange
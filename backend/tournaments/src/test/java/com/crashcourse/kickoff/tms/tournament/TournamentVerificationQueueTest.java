@@ -0,0 +1,121 @@
+package com.crashcourse.kickoff.tms.tournament;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.location.model.Location;
+import com.crashcourse.kickoff.tms.tournament.dto.VerificationPageDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.VerificationSummaryDTO;
+import com.crashcourse.kickoff.tms.tournament.exception.InvalidCursorException;
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament.VerificationStatus;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+import com.crashcourse.kickoff.tms.tournament.service.TournamentService;
+
+/**
+ * Integration tests for the paged verification queue and bulk decisions.
+ * Other tests share the database, so each test only checks the tournaments
+ * it saved.
+ */
+@SpringBootTest
+class TournamentVerificationQueueTest {
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @MockBean
+    private ClubServiceClient clubServiceClient;
+
+    private Long saveTournament(String name, VerificationStatus status) {
+        Location location = new Location();
+        location.setName("Verification Hall");
+        location.setTournaments(new ArrayList<>());
+
+        Tournament tournament = new Tournament();
+        tournament.setName(name);
+        tournament.setStartDateTime(LocalDateTime.now().plusDays(30));
+        tournament.setEndDateTime(LocalDateTime.now().plusDays(31));
+        tournament.setLocation(location);
+        tournament.setMaxTeams(8);
+        tournament.setTournamentFormat(TournamentFormat.FIVE_SIDE);
+        tournament.setKnockoutFormat(KnockoutFormat.SINGLE_ELIM);
+        tournament.setVerificationStatus(status);
+        tournament.setVerificationImageUrl("https://example.com/" + name + ".jpg");
+        return tournamentRepository.save(tournament).getId();
+    }
+
+    /*
+     * Every page of the queue, keeping only the given tournaments
+     */
+    private List<VerificationSummaryDTO> queue(VerificationStatus status, int pageSize, Set<Long> ids) {
+        List<VerificationSummaryDTO> tournaments = new ArrayList<>();
+        String cursor = null;
+        do {
+            VerificationPageDTO page = tournamentService.getVerificationQueue(status, cursor, pageSize);
+            assertTrue(page.getTournaments().size() <= pageSize);
+            page.getTournaments().stream()
+                    .filter(summary -> ids.contains(summary.getId()))
+                    .forEach(tournaments::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return tournaments;
+    }
+
+    @Test
+    void getVerificationQueue_PagedByStatus_OldestFirstAsSummaries() {
+        Long first = saveTournament("Queue First", VerificationStatus.PENDING);
+        Long approved = saveTournament("Queue Approved", VerificationStatus.APPROVED);
+        Long second = saveTournament("Queue Second", VerificationStatus.PENDING);
+        Long third = saveTournament("Queue Third", VerificationStatus.PENDING);
+        Set<Long> saved = Set.of(first, approved, second, third);
+
+        List<VerificationSummaryDTO> pending = queue(VerificationStatus.PENDING, 2, saved);
+
+        assertEquals(List.of(first, second, third), pending.stream().map(VerificationSummaryDTO::getId).toList());
+        VerificationSummaryDTO summary = pending.get(0);
+        assertEquals("Queue First", summary.getName());
+        assertEquals("Verification Hall", summary.getLocationName());
+        assertEquals("https://example.com/Queue First.jpg", summary.getVerificationImageUrl());
+        assertEquals(List.of(approved), queue(VerificationStatus.APPROVED, 100, saved).stream()
+                .map(VerificationSummaryDTO::getId).toList());
+        assertThrows(InvalidCursorException.class,
+                () -> tournamentService.getVerificationQueue(VerificationStatus.PENDING, "not a cursor", 20));
+    }
+
+    @Test
+    void approveAndRejectVerifications_Selection_OnlyPendingTournamentsDecided() {
+        Long approveA = saveTournament("Approve A", VerificationStatus.PENDING);
+        Long approveB = saveTournament("Approve B", VerificationStatus.PENDING);
+        Long reject = saveTournament("Reject", VerificationStatus.PENDING);
+        Long alreadyRejected = saveTournament("Already Rejected", VerificationStatus.REJECTED);
+        Long unpaid = saveTournament("Unpaid", VerificationStatus.AWAITING_PAYMENT);
+
+        assertEquals(2, tournamentService.approveVerifications(
+                List.of(approveA, approveB, approveB, alreadyRejected, unpaid, Long.MAX_VALUE)));
+        assertEquals(1, tournamentService.rejectVerifications(List.of(reject, approveA)));
+        assertEquals(0, tournamentService.rejectVerifications(List.of()));
+
+        Map<Long, VerificationStatus> statuses = new HashMap<>();
+        tournamentRepository.findAllById(List.of(approveA, approveB, reject, alreadyRejected, unpaid))
+                .forEach(tournament -> statuses.put(tournament.getId(), tournament.getVerificationStatus()));
+        assertEquals(Map.of(
+                approveA, VerificationStatus.APPROVED,
+                approveB, VerificationStatus.APPROVED,
+                reject, VerificationStatus.REJECTED,
+                alreadyRejected, VerificationStatus.REJECTED,
+                unpaid, VerificationStatus.AWAITING_PAYMENT), statuses);
+    }
+}
@@ -0,0 +1,75 @@
+package com.crashcourse.kickoff.tms.tournament.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentSummaryDTO;
+
+class EloIntervalTreeTest {
+
+    private static TournamentSummaryDTO tournament(long id, Integer minRank, Integer maxRank) {
+        TournamentSummaryDTO tournament = new TournamentSummaryDTO();
+        tournament.setId(id);
+        tournament.setMinRank(minRank);
+        tournament.setMaxRank(maxRank);
+        return tournament;
+    }
+
+    private static boolean contains(TournamentSummaryDTO tournament, double elo) {
+        return (tournament.getMinRank() == null || tournament.getMinRank() <= elo)
+                && (tournament.getMaxRank() == null || tournament.getMaxRank() >= elo);
+    }
+
+    private static Set<Long> containing(EloIntervalTree tree, double elo) {
+        Set<Long> ids = new HashSet<>();
+        tree.forEachContaining(elo, tournament -> assertTrue(ids.add(tournament.getId()), "Reported twice"));
+        return ids;
+    }
+
+    @Test
+    void forEachContaining_RandomRanges_SameAsScanningAll() {
+        Random random = new Random(11);
+        EloIntervalTree tree = new EloIntervalTree();
+        Map<Long, TournamentSummaryDTO> tournaments = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            long id = random.nextInt(1_000);
+            if (random.nextInt(8) == 0) {
+                tree.remove(id);
+                tournaments.remove(id);
+                continue;
+            }
+            int low = random.nextInt(2_000);
+            Integer minRank = random.nextInt(10) == 0 ? null : low;
+            Integer maxRank = random.nextInt(10) == 0 ? null : low + random.nextInt(400);
+            TournamentSummaryDTO tournament = tournament(id, minRank, maxRank);
+            tree.put(tournament);
+            tournaments.put(id, tournament);
+        }
+
+        assertEquals(tournaments.size(), tree.size());
+        for (double elo = -50; elo <= 2_500; elo += 37.5) {
+            double at = elo;
+            Set<Long> expected = new HashSet<>();
+            tournaments.values().stream()
+                    .filter(tournament -> contains(tournament, at))
+                    .forEach(tournament -> expected.add(tournament.getId()));
+            assertEquals(expected, containing(tree, elo), "Elo " + elo);
+        }
+    }
+
+    @Test
+    void put_SameId_ReplacesRange() {
+        EloIntervalTree tree = new EloIntervalTree();
+        tree.put(tournament(1, 1000, 1200));
+
+        tree.put(tournament(1, 1500, 1700));
+
+        assertEquals(Set.of(), containing(tree, 1100));
+        assertEquals(Set.of(1L), containing(tree, 1500));
+        assertEquals(Set.of(1L), containing(tree, 1700));
+        assertEquals(1, tree.size());
+    }
+}
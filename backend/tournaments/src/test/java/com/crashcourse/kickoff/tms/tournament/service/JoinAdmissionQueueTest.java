@@ -0,0 +1,169 @@
+package com.crashcourse.kickoff.tms.tournament.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.crashcourse.kickoff.tms.tournament.dto.JoinTicketDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentJoinDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.TournamentResponseDTO;
+import com.crashcourse.kickoff.tms.tournament.exception.JoinQueueFullException;
+import com.crashcourse.kickoff.tms.tournament.exception.JoinTicketNotFoundException;
+import com.crashcourse.kickoff.tms.tournament.exception.TournamentFullException;
+import com.crashcourse.kickoff.tms.tournament.model.JoinTicketStatus;
+
+class JoinAdmissionQueueTest {
+
+    private static final String JWT_TOKEN = "Bearer token";
+
+    private final TournamentService tournamentService = mock(TournamentService.class);
+    private JoinAdmissionQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        queue.shutdown();
+    }
+
+    private static TournamentResponseDTO joined(TournamentJoinDTO dto) {
+        TournamentResponseDTO tournament = new TournamentResponseDTO();
+        tournament.setId(dto.getTournamentId());
+        tournament.setJoinedClubIds(List.of(dto.getClubId()));
+        return tournament;
+    }
+
+    private JoinTicketDTO awaitFinished(String ticketId) throws InterruptedException {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            JoinTicketDTO ticket = queue.getTicket(ticketId);
+            if (ticket.getStatus() != JoinTicketStatus.QUEUED) {
+                return ticket;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Ticket " + ticketId + " never finished");
+    }
+
+    @Test
+    void admit_ShallowQueue_AnsweredInline() {
+        queue = new JoinAdmissionQueue(tournamentService, 2, 10, 100, 4, 5000);
+        when(tournamentService.joinTournamentAsClub(any(), eq(JWT_TOKEN)))
+                .thenAnswer(invocation -> joined(invocation.getArgument(0)));
+
+        JoinTicketDTO ticket = queue.admit(new TournamentJoinDTO(7L, 1L), JWT_TOKEN);
+
+        assertEquals(JoinTicketStatus.JOINED, ticket.getStatus());
+        assertEquals(List.of(7L), ticket.getTournament().getJoinedClubIds());
+        assertThrows(JoinTicketNotFoundException.class, () -> queue.getTicket(ticket.getTicketId()),
+                "A ticket answered inline should not be kept for polling");
+    }
+
+    @Test
+    void admit_JoinFails_RejectedWithReason() {
+        queue = new JoinAdmissionQueue(tournamentService, 2, 10, 100, 4, 5000);
+        when(tournamentService.joinTournamentAsClub(any(), eq(JWT_TOKEN)))
+                .thenThrow(new TournamentFullException("Tournament is already full."));
+
+        JoinTicketDTO ticket = queue.admit(new TournamentJoinDTO(7L, 1L), JWT_TOKEN);
+
+        assertEquals(JoinTicketStatus.REJECTED, ticket.getStatus());
+        assertEquals("Tournament is already full.", ticket.getMessage());
+        assertNull(ticket.getTournament());
+    }
+
+    @Test
+    void admit_QueueFull_ShedsLoadAndServesQueuedInOrder() throws Exception {
+        queue = new JoinAdmissionQueue(tournamentService, 1, 2, 100, 0, 0);
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> served = Collections.synchronizedList(new ArrayList<>());
+        when(tournamentService.joinTournamentAsClub(any(), eq(JWT_TOKEN))).thenAnswer(invocation -> {
+            TournamentJoinDTO dto = invocation.getArgument(0);
+            served.add(dto.getClubId());
+            firstStarted.countDown();
+            release.await();
+            return joined(dto);
+        });
+
+        JoinTicketDTO first = queue.admit(new TournamentJoinDTO(1L, 1L), JWT_TOKEN);
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        JoinTicketDTO second = queue.admit(new TournamentJoinDTO(2L, 1L), JWT_TOKEN);
+        JoinTicketDTO third = queue.admit(new TournamentJoinDTO(3L, 1L), JWT_TOKEN);
+
+        assertEquals(JoinTicketStatus.QUEUED, third.getStatus());
+        assertEquals(0, queue.getTicket(second.getTicketId()).getPosition());
+        assertEquals(1, queue.getTicket(third.getTicketId()).getPosition());
+        assertThrows(JoinQueueFullException.class, () -> queue.admit(new TournamentJoinDTO(4L, 1L), JWT_TOKEN));
+        assertEquals(JoinTicketStatus.QUEUED, queue.admit(new TournamentJoinDTO(5L, 2L), JWT_TOKEN).getStatus(),
+                "Another tournament has its own queue");
+
+        release.countDown();
+        for (JoinTicketDTO ticket : List.of(first, second, third)) {
+            assertEquals(JoinTicketStatus.JOINED, awaitFinished(ticket.getTicketId()).getStatus());
+        }
+        assertEquals(List.of(1L, 2L, 3L), served.subList(0, 3));
+    }
+
+    @Test
+    void admit_ManyTournaments_CappedOverallAndDrainedQueuesDropped() throws Exception {
+        queue = new JoinAdmissionQueue(tournamentService, 1, 10, 2, 0, 0);
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(tournamentService.joinTournamentAsClub(any(), eq(JWT_TOKEN))).thenAnswer(invocation -> {
+            firstStarted.countDown();
+            release.await();
+            return joined(invocation.getArgument(0));
+        });
+
+        JoinTicketDTO first = queue.admit(new TournamentJoinDTO(1L, 1L), JWT_TOKEN);
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        JoinTicketDTO second = queue.admit(new TournamentJoinDTO(2L, 2L), JWT_TOKEN);
+        JoinTicketDTO third = queue.admit(new TournamentJoinDTO(3L, 3L), JWT_TOKEN);
+        assertThrows(JoinQueueFullException.class, () -> queue.admit(new TournamentJoinDTO(4L, 4L), JWT_TOKEN),
+                "Waiting requests are capped across all tournaments");
+
+        release.countDown();
+        for (JoinTicketDTO ticket : List.of(first, second, third)) {
+            assertEquals(JoinTicketStatus.JOINED, awaitFinished(ticket.getTicketId()).getStatus());
+        }
+        assertEquals(0, queue.openLanes(), "Drained queues should not be kept");
+        assertNotNull(queue.admit(new TournamentJoinDTO(4L, 4L), JWT_TOKEN),
+                "Finished requests should free their place");
+    }
+
+    @Test
+    void admit_Rush_NeverExceedsWorkerBudget() throws Exception {
+        int workers = 3;
+        queue = new JoinAdmissionQueue(tournamentService, workers, 100, 1000, 0, 0);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(tournamentService.joinTournamentAsClub(any(), eq(JWT_TOKEN))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(2);
+            inFlight.decrementAndGet();
+            return joined(invocation.getArgument(0));
+        });
+
+        ExecutorService captains = Executors.newFixedThreadPool(32);
+        List<Future<JoinTicketDTO>> admissions = new ArrayList<>();
+        for (long clubId = 1; clubId <= 200; clubId++) {
+            TournamentJoinDTO dto = new TournamentJoinDTO(clubId, clubId % 4 + 1);
+            admissions.add(captains.submit(() -> queue.admit(dto, JWT_TOKEN)));
+        }
+        for (Future<JoinTicketDTO> admission : admissions) {
+            JoinTicketDTO ticket = admission.get(10, TimeUnit.SECONDS);
+            if (ticket.getStatus() == JoinTicketStatus.QUEUED) {
+                assertEquals(JoinTicketStatus.JOINED, awaitFinished(ticket.getTicketId()).getStatus());
+            }
+        }
+        captains.shutdown();
+
+        verify(tournamentService, times(200)).joinTournamentAsClub(any(), eq(JWT_TOKEN));
+        assertTrue(maxInFlight.get() <= workers, "At most " + workers + " joins should run at once");
+    }
+}
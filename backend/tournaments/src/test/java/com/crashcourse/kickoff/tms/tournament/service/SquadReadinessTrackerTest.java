@@ -0,0 +1,105 @@
+package com.crashcourse.kickoff.tms.tournament.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.crashcourse.kickoff.tms.tournament.dto.PlayerAvailabilityDTO;
+import com.crashcourse.kickoff.tms.tournament.dto.SquadReadinessDTO;
+import com.crashcourse.kickoff.tms.tournament.exception.TournamentNotFoundException;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+import com.crashcourse.kickoff.tms.tournament.repository.PlayerAvailabilityRepository;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SquadReadinessTrackerTest {
+
+    @Mock
+    private TournamentRepository tournamentRepository;
+
+    @Mock
+    private PlayerAvailabilityRepository playerAvailabilityRepository;
+
+    @InjectMocks
+    private SquadReadinessTracker tracker;
+
+    private static final Long TOURNAMENT_ID = 1L;
+
+    private void givenTournament(List<Long> joinedClubIds, List<Object[]> roster) {
+        Tournament tournament = new Tournament();
+        tournament.setId(TOURNAMENT_ID);
+        tournament.setTournamentFormat(TournamentFormat.FIVE_SIDE);
+        tournament.setJoinedClubIds(new ArrayList<>(joinedClubIds));
+        when(tournamentRepository.findDetailById(TOURNAMENT_ID)).thenReturn(Optional.of(tournament));
+        when(playerAvailabilityRepository.findRosterByTournamentId(TOURNAMENT_ID)).thenReturn(roster);
+    }
+
+    private static List<Object[]> roster(Long clubId, int available, int unavailable) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < available + unavailable; i++) {
+            rows.add(new Object[] { clubId * 100 + i, clubId, i < available });
+        }
+        return rows;
+    }
+
+    private static PlayerAvailabilityDTO answer(long playerId, long clubId, boolean available) {
+        return new PlayerAvailabilityDTO(TOURNAMENT_ID, playerId, clubId, available);
+    }
+
+    @Test
+    void getReadiness_Loaded_CountsAvailablePlayersOfJoinedClubs() {
+        List<Object[]> rows = new ArrayList<>(roster(10L, 5, 2));
+        rows.addAll(roster(20L, 4, 0));
+        rows.addAll(roster(30L, 9, 0));
+        givenTournament(List.of(10L, 20L, 40L), rows);
+
+        assertEquals(List.of(
+                new SquadReadinessDTO(10L, 5, 5, true),
+                new SquadReadinessDTO(20L, 4, 5, false),
+                new SquadReadinessDTO(40L, 0, 5, false)), tracker.getReadiness(TOURNAMENT_ID));
+    }
+
+    @Test
+    void getReadiness_ChangesAfterLoad_AppliedWithoutReloading() {
+        givenTournament(List.of(10L, 20L), roster(10L, 5, 0));
+        tracker.getReadiness(TOURNAMENT_ID);
+
+        /*
+         * Player 1000 drops out, 1001 changes their mind, 1002 moves club and
+         * 2000 answers twice
+         */
+        tracker.availabilityAfterCommit(TOURNAMENT_ID, List.of(
+                answer(1000, 10, false),
+                answer(2000, 20, true),
+                answer(2001, 20, true),
+                answer(2000, 20, true),
+                answer(1002, 20, true)));
+        tracker.availabilityAfterCommit(TOURNAMENT_ID, List.of(answer(1001, 10, false), answer(1001, 10, true)));
+        tracker.clubLeftAfterCommit(TOURNAMENT_ID, 10L);
+        tracker.clubJoinedAfterCommit(TOURNAMENT_ID, 30L);
+        tracker.clubJoinedAfterCommit(TOURNAMENT_ID, 10L);
+
+        assertEquals(List.of(
+                new SquadReadinessDTO(20L, 3, 5, false),
+                new SquadReadinessDTO(30L, 0, 5, false),
+                new SquadReadinessDTO(10L, 3, 5, false)), tracker.getReadiness(TOURNAMENT_ID));
+        verify(tournamentRepository, times(1)).findDetailById(TOURNAMENT_ID);
+    }
+
+    @Test
+    void getReadiness_UnknownTournament_ThrowsAndIsNotTracked() {
+        when(tournamentRepository.findDetailById(TOURNAMENT_ID)).thenReturn(Optional.empty());
+
+        assertThrows(TournamentNotFoundException.class, () -> tracker.getReadiness(TOURNAMENT_ID));
+        assertThrows(TournamentNotFoundException.class, () -> tracker.getReadiness(TOURNAMENT_ID));
+        verify(tournamentRepository, times(2)).findDetailById(TOURNAMENT_ID);
+    }
+}
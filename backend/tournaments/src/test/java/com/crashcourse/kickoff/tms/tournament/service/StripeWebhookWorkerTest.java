@@ -0,0 +1,194 @@
+package com.crashcourse.kickoff.tms.tournament.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.crashcourse.kickoff.tms.client.ClubServiceClient;
+import com.crashcourse.kickoff.tms.tournament.StripeWebhookReplay;
+import com.crashcourse.kickoff.tms.tournament.model.KnockoutFormat;
+import com.crashcourse.kickoff.tms.tournament.model.StripeWebhookEvent;
+import com.crashcourse.kickoff.tms.tournament.model.StripeWebhookStatus;
+import com.crashcourse.kickoff.tms.tournament.model.Tournament;
+import com.crashcourse.kickoff.tms.tournament.model.TournamentFormat;
+import com.crashcourse.kickoff.tms.tournament.repository.StripeWebhookEventRepository;
+import com.crashcourse.kickoff.tms.tournament.repository.TournamentRepository;
+import com.crashcourse.kickoff.tms.tournament.service.StripeWebhookReceiver.Outcome;
+import com.stripe.exception.SignatureVerificationException;
+
+/**
+ * Integration tests for the Stripe webhook inbox. The background worker is
+ * switched off for tests, so each test drives it one batch at a time.
+ */
+@SpringBootTest(properties = { "STRIPE_WEBHOOK_SECRET=" + StripeWebhookWorkerTest.SECRET,
+        "payments.webhook.worker.enabled=false" })
+class StripeWebhookWorkerTest {
+
+    static final String SECRET = "whsec_test_secret";
+
+    @Autowired
+    private StripeWebhookReceiver receiver;
+
+    @Autowired
+    private StripeWebhookWorker worker;
+
+    @Autowired
+    private StripeWebhookEventRepository stripeWebhookEventRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @MockBean
+    private ClubServiceClient clubServiceClient;
+
+    private static final String EVENT_PREFIX = "evt_" + UUID.randomUUID().toString().replace("-", "") + "_";
+
+    private Long saveTournament() {
+        Tournament tournament = new Tournament();
+        tournament.setName("Paid Cup");
+        tournament.setStartDateTime(LocalDateTime.now().plusDays(10));
+        tournament.setEndDateTime(LocalDateTime.now().plusDays(11));
+        tournament.setMaxTeams(8);
+        tournament.setTournamentFormat(TournamentFormat.FIVE_SIDE);
+        tournament.setKnockoutFormat(KnockoutFormat.SINGLE_ELIM);
+        return tournamentRepository.save(tournament).getId();
+    }
+
+    private static String payload(String eventId, String type, String clientReferenceId) {
+        return "{\"id\": \"" + eventId + "\", \"object\": \"event\", \"type\": \"" + type + "\", "
+                + "\"data\": {\"object\": {\"id\": \"cs_test_" + eventId + "\", \"object\": \"checkout.session\", "
+                + "\"client_reference_id\": \"" + clientReferenceId + "\"}}}";
+    }
+
+    private Outcome deliver(String payload) throws Exception {
+        return receiver.receive(payload, StripeWebhookReplay.signatureHeader(payload, SECRET));
+    }
+
+    @Test
+    void receive_RedeliveredCheckout_StoredOnceAndAppliedByWorker() throws Exception {
+        Long tournamentId = saveTournament();
+        String eventId = EVENT_PREFIX + "paid";
+        String payload = payload(eventId, "checkout.session.completed", tournamentId.toString());
+
+        assertEquals(Outcome.ACCEPTED, deliver(payload));
+        assertEquals(Outcome.DUPLICATE, deliver(payload));
+
+        StripeWebhookEvent stored = stripeWebhookEventRepository.findByEventId(eventId).orElseThrow();
+        assertEquals(StripeWebhookStatus.PENDING, stored.getStatus());
+        assertEquals(tournamentId, stored.getTournamentId());
+        assertFalse(tournamentRepository.findById(tournamentId).orElseThrow().isVerificationPaid());
+
+        worker.processBatch();
+
+        Tournament tournament = tournamentRepository.findById(tournamentId).orElseThrow();
+        assertTrue(tournament.isVerificationPaid());
+        assertEquals(Tournament.VerificationStatus.PAYMENT_COMPLETED, tournament.getVerificationStatus());
+        stored = stripeWebhookEventRepository.findByEventId(eventId).orElseThrow();
+        assertEquals(StripeWebhookStatus.PROCESSED, stored.getStatus());
+        assertNotNull(stored.getProcessedAt());
+    }
+
+    @Test
+    void receive_UnknownTournament_SetAsideAsFailed() throws Exception {
+        String eventId = EVENT_PREFIX + "unknown";
+
+        assertEquals(Outcome.ACCEPTED, deliver(payload(eventId, "checkout.session.completed", "" + Long.MAX_VALUE)));
+        worker.processBatch();
+
+        StripeWebhookEvent stored = stripeWebhookEventRepository.findByEventId(eventId).orElseThrow();
+        assertEquals(StripeWebhookStatus.FAILED, stored.getStatus());
+        assertNotNull(stored.getLastError());
+    }
+
+    @Test
+    void processBatch_FailedEvent_NotRetriedUntilDue() throws Exception {
+        Long tournamentId = saveTournament();
+        String eventId = EVENT_PREFIX + "retry";
+        TournamentService tournamentService = mock(TournamentService.class);
+        StripeWebhookWorker failingWorker = new StripeWebhookWorker(stripeWebhookEventRepository, tournamentService);
+        doThrow(new RuntimeException("Database unavailable")).doNothing()
+                .when(tournamentService).updateTournamentPaymentStatus(tournamentId);
+
+        assertEquals(Outcome.ACCEPTED, deliver(payload(eventId, "checkout.session.completed", tournamentId.toString())));
+        failingWorker.processBatch();
+        failingWorker.processBatch();
+
+        StripeWebhookEvent stored = stripeWebhookEventRepository.findByEventId(eventId).orElseThrow();
+        assertEquals(StripeWebhookStatus.PENDING, stored.getStatus());
+        assertEquals(1, stored.getAttempts());
+        assertTrue(stored.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        verify(tournamentService, times(1)).updateTournamentPaymentStatus(tournamentId);
+
+        /*
+         * Once the backoff has passed, the event is taken again
+         */
+        stored.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        stripeWebhookEventRepository.save(stored);
+        failingWorker.processBatch();
+
+        assertEquals(StripeWebhookStatus.PROCESSED,
+                stripeWebhookEventRepository.findByEventId(eventId).orElseThrow().getStatus());
+        verify(tournamentService, times(2)).updateTournamentPaymentStatus(tournamentId);
+    }
+
+    @Test
+    void receive_OtherEventsAndBadSignatures_NothingStored() throws Exception {
+        Long tournamentId = saveTournament();
+        String otherType = payload(EVENT_PREFIX + "other", "payment_intent.created", tournamentId.toString());
+        String noTournament = payload(EVENT_PREFIX + "notournament", "checkout.session.completed", "order-17");
+
+        assertEquals(Outcome.IGNORED, deliver(otherType));
+        assertEquals(Outcome.IGNORED, deliver(noTournament));
+        String forged = payload(EVENT_PREFIX + "forged", "checkout.session.completed", tournamentId.toString());
+        assertThrows(SignatureVerificationException.class,
+                () -> receiver.receive(forged, StripeWebhookReplay.signatureHeader(forged, "whsec_wrong")));
+
+        assertTrue(stripeWebhookEventRepository.findByEventId(EVENT_PREFIX + "other").isEmpty());
+        assertTrue(stripeWebhookEventRepository.findByEventId(EVENT_PREFIX + "notournament").isEmpty());
+        assertTrue(stripeWebhookEventRepository.findByEventId(EVENT_PREFIX + "forged").isEmpty());
+    }
+
+    @Test
+    void wake_ManyEventsWhileBusy_OnePassQueued() throws Exception {
+        StripeWebhookEventRepository repository = mock(StripeWebhookEventRepository.class);
+        StripeWebhookWorker busyWorker = new StripeWebhookWorker(repository, mock(TournamentService.class));
+        ReflectionTestUtils.setField(busyWorker, "enabled", true);
+        CountDownLatch firstPassStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger passes = new AtomicInteger();
+        when(repository.findDue(any(), any(), any())).thenAnswer(invocation -> {
+            if (passes.incrementAndGet() == 1) {
+                firstPassStarted.countDown();
+                release.await();
+            }
+            return List.of();
+        });
+
+        try {
+            busyWorker.wake();
+            assertTrue(firstPassStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 100; i++) {
+                busyWorker.wake();
+            }
+            release.countDown();
+            busyWorker.wake();
+            Thread.sleep(200);
+        } finally {
+            busyWorker.shutdown();
+        }
+
+        assertTrue(passes.get() <= 3, "Wake-ups while a pass is queued should share it, but ran " + passes.get());
+    }
+}
@@ -0,0 +1,164 @@
+package com.crashcourse.kickoff.tms.client.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+
+/**
+ * Stores objects in an S3 bucket, publicly readable.
+ *
+ * Content is first read into a SMALL_SIZE buffer, and anything that fits
+ * there is sent with one PUT. Larger content moves on to a PART_SIZE buffer,
+ * taken from a small pool so that uploads do not each allocate one. If it
+ * fits in a single part it is still sent with one PUT; anything larger goes
+ * up as a multipart upload, one part after another from the same buffer,
+ * and the upload is aborted if any part fails.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.backend", havingValue = "s3", matchIfMissing = true)
+public class S3ObjectStore implements ObjectStore {
+
+    /*
+     * The smallest part S3 accepts, other than the last
+     */
+    static final int PART_SIZE = 5 * 1024 * 1024;
+
+    /*
+     * Covers most profile pictures and verification images
+     */
+    static final int SMALL_SIZE = 64 * 1024;
+
+    /*
+     * Part buffers kept for reuse; uploads beyond this many at once
+     * allocate their own
+     */
+    private static final int PART_BUFFERS = 4;
+
+    private final BlockingQueue<byte[]> partBuffers = new ArrayBlockingQueue<>(PART_BUFFERS);
+
+    private final AmazonS3 s3client;
+    private final String bucketName;
+    private final String endpointUrl;
+
+    @Autowired
+    public S3ObjectStore(@Value("${amazonProperties.endpointUrl}") String endpointUrl,
+            @Value("${amazonProperties.bucketName}") String bucketName,
+            @Value("${amazonProperties.accessKey}") String accessKey,
+            @Value("${amazonProperties.secretKey}") String secretKey) {
+        this(AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials(accessKey, secretKey)))
+                .withRegion("ap-southeast-1")
+                .build(), bucketName, endpointUrl);
+    }
+
+    S3ObjectStore(AmazonS3 s3client, String bucketName, String endpointUrl) {
+        this.s3client = s3client;
+        this.bucketName = bucketName;
+        this.endpointUrl = endpointUrl;
+    }
+
+    @Override
+    public String put(String key, InputStream content, String contentType) throws IOException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        byte[] small = new byte[SMALL_SIZE];
+        int length = content.readNBytes(small, 0, SMALL_SIZE);
+
+        try {
+            if (length < SMALL_SIZE) {
+                putSingle(key, metadata, small, length);
+                return urlOf(key);
+            }
+
+            byte[] part = partBuffers.poll();
+            if (part == null) {
+                part = new byte[PART_SIZE];
+            }
+            try {
+                System.arraycopy(small, 0, part, 0, length);
+                length += content.readNBytes(part, length, PART_SIZE - length);
+                if (length < PART_SIZE) {
+                    putSingle(key, metadata, part, length);
+                } else {
+                    putMultipart(key, content, metadata, part);
+                }
+            } finally {
+                partBuffers.offer(part);
+            }
+        } catch (AmazonClientException e) {
+            throw new IOException("Could not store " + key + ": " + e.getMessage(), e);
+        }
+        return urlOf(key);
+    }
+
+    private void putSingle(String key, ObjectMetadata metadata, byte[] buffer, int length) {
+        metadata.setContentLength(length);
+        s3client.putObject(new PutObjectRequest(bucketName, key, new ByteArrayInputStream(buffer, 0, length),
+                metadata).withCannedAcl(CannedAccessControlList.PublicRead));
+    }
+
+    private String urlOf(String key) {
+        return endpointUrl + "/" + bucketName + "/" + key;
+    }
+
+    /*
+     * The buffer arrives full with the first part
+     */
+    private void putMultipart(String key, InputStream content, ObjectMetadata metadata, byte[] part)
+            throws IOException {
+        String uploadId = s3client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key, metadata)
+                .withCannedACL(CannedAccessControlList.PublicRead)).getUploadId();
+        try {
+            List<PartETag> partETags = new ArrayList<>();
+            int length = PART_SIZE;
+            while (length > 0) {
+                int partNumber = partETags.size() + 1;
+                partETags.add(s3client.uploadPart(new UploadPartRequest()
+                        .withBucketName(bucketName)
+                        .withKey(key)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partNumber)
+                        .withInputStream(new ByteArrayInputStream(part, 0, length))
+                        .withPartSize(length)).getPartETag());
+                length = content.readNBytes(part, 0, PART_SIZE);
+            }
+            s3client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+        } catch (IOException | RuntimeException e) {
+            s3client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String url) throws IOException {
+        try {
+            s3client.deleteObject(new DeleteObjectRequest(bucketName, ObjectStore.keyOf(url)));
+        } catch (AmazonClientException e) {
+            throw new IOException("Could not delete " + url + ": " + e.getMessage(), e);
+        }
+    }
+}
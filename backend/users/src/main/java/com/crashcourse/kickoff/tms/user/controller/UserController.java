@@ -1,14 +1,13 @@
 package com.crashcourse.kickoff.tms.user.controller;
 
-import java.util.Base64;
+import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.mock.web.MockMultipartFile;
-import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -20,7 +19,6 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
 
 import com.crashcourse.kickoff.tms.security.JwtUtil;
 import com.crashcourse.kickoff.tms.security.JwtAuthService;
@@ -34,7 +32,8 @@ import com.crashcourse.kickoff.tms.user.service.UserService;
 
 import lombok.RequiredArgsConstructor;
 
-import com.crashcourse.kickoff.tms.client.AmazonClient;
+import com.crashcourse.kickoff.tms.client.storage.DataUri;
+import com.crashcourse.kickoff.tms.client.storage.ObjectStore;
 
 @RestController
 @RequestMapping("/users")
@@ -44,7 +43,7 @@ public class UserController {
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
     private final JwtAuthService jwtAuthService;
-    private final AmazonClient amazonClient;
+    private final ObjectStore objectStore;
 
     /**
      * Retrieve all users.
@@ -246,14 +245,14 @@ public class UserController {
      * Upload a profile picture for a user.
      *
      * @param user_id        ID of the user.
-     * @param profilePicture Base64-encoded image data.
+     * @param profilePicture Base64 data URI of the image, streamed from the request body.
      * @param token          Authorization token from the request header.
      * @return ResponseEntity containing the image URL or an error message.
      * @throws Exception If an error occurs during the upload.
      */
     @PostMapping(value = "/{user_id}/upload", consumes = MediaType.TEXT_PLAIN_VALUE)
     public ResponseEntity<?> upload(@PathVariable Long user_id,
-        @RequestBody String profilePicture,
+        InputStream profilePicture,
         @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = true) String token) throws Exception {
         // CHANGE LATER, SHOULD CHECK LOGGED IN USER CORRESPONDS TO USER_ID
         ResponseEntity<String> authResponse = jwtAuthService.validateToken(token, user_id);
@@ -261,11 +260,11 @@ public class UserController {
             return authResponse;
 
         try {
-            // Use the `confirmationUrl` from `verificationData`
-            String[] parts = profilePicture.split(",");
-            byte[] data = Base64.getDecoder().decode(parts[1]); // Skip the data URI prefix
-            MultipartFile file = new MockMultipartFile("file", user_id + "-profilePicture.jpg", "image/jpeg", data);
-            String imageUrl = this.amazonClient.uploadFile(file);
+            /*
+             * Decoded as it is read from the request, never held whole
+             */
+            InputStream image = DataUri.open(profilePicture);
+            String imageUrl = objectStore.put(ObjectStore.newKey(user_id + "-profilePicture.jpg"), image, "image/jpeg");
             return ResponseEntity.ok(imageUrl);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
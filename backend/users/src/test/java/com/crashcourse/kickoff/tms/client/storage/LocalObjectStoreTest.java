@@ -0,0 +1,81 @@
+package com.crashcourse.kickoff.tms.client.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalObjectStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void put_ConcurrentUploadsOfOneName_KeptApart() throws Exception {
+        LocalObjectStore objectStore = new LocalObjectStore(root.toString(), "");
+        List<Future<String>> uploads = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 32; i++) {
+                byte[] content = ("upload " + i).getBytes(StandardCharsets.UTF_8);
+                uploads.add(executor.submit(() -> objectStore.put(ObjectStore.newKey("verification image.jpg"),
+                        new ByteArrayInputStream(content), "image/jpeg")));
+            }
+        }
+
+        Set<String> contents = new HashSet<>();
+        for (Future<String> upload : uploads) {
+            String url = upload.get();
+            assertTrue(url.endsWith("-verification_image.jpg"));
+            contents.add(Files.readString(root.resolve(ObjectStore.keyOf(url))));
+        }
+        assertEquals(32, contents.size());
+        try (var files = Files.list(root)) {
+            assertEquals(32, files.count());
+        }
+    }
+
+    @Test
+    void put_DataUri_StoredDecoded() throws IOException {
+        LocalObjectStore objectStore = new LocalObjectStore(root.toString(), "http://localhost:8082/objects");
+        byte[] image = new byte[100_000];
+        for (int i = 0; i < image.length; i++) {
+            image[i] = (byte) i;
+        }
+        String dataUri = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(image);
+
+        String url;
+        try (InputStream content = DataUri.open(new ByteArrayInputStream(dataUri.getBytes(StandardCharsets.US_ASCII)))) {
+            url = objectStore.put("picture.jpg", content, "image/jpeg");
+        }
+
+        assertEquals("http://localhost:8082/objects/picture.jpg", url);
+        assertArrayEquals(image, Files.readAllBytes(root.resolve("picture.jpg")));
+
+        objectStore.delete(url);
+        assertFalse(Files.exists(root.resolve("picture.jpg")));
+    }
+
+    @Test
+    void put_KeyOutsideRoot_Rejected() throws IOException {
+        LocalObjectStore objectStore = new LocalObjectStore(root.toString(), "");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> objectStore.put("../escaped.jpg", new ByteArrayInputStream(new byte[1]), "image/jpeg"));
+        assertThrows(IllegalArgumentException.class, () -> DataUri.open("not a data uri"));
+    }
+}